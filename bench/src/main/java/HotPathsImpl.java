@@ -0,0 +1,76 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Scanner;
+
+import pcbuilder.bench.HotPaths;
+
+/**
+ * Реалізація {@link HotPaths} у пакеті за замовчуванням, поруч із класами застосунку.
+ */
+public class HotPathsImpl implements HotPaths {
+    private static final PrintStream NULL_OUT = new PrintStream(OutputStream.nullOutputStream());
+
+    private Computer computer;
+    private Computer computerCopy;
+    private CPU cpu;
+    private CPU cpuCopy;
+    private ComponentCatalog catalog;
+    private BatchBuilder batchBuilder;
+    private BuildRequest request;
+    private String choices;
+
+    @Override
+    public void setup(int catalogSize) {
+        catalog = StubCatalog.create(catalogSize);
+        computer = new Computer(catalog.getCPUs().get(0), catalog.getMotherboards().get(0), catalog.getRAMs().get(0),
+                catalog.getStorages().get(0), catalog.getGPUs().get(0), catalog.getPSUs().get(0), catalog.getCases().get(0));
+        computerCopy = new Computer(computer);
+        cpu = catalog.getCPUs().get(catalogSize / 2);
+        cpuCopy = new CPU(cpu);
+        batchBuilder = new BatchBuilder(catalog);
+        String last = " #" + (catalogSize - 1);
+        request = BuildRequest.ofNames("CPU" + last, "Motherboard" + last, "RAM" + last, "Storage" + last,
+                "GPU" + last, "PSU" + last, "Case" + last);
+        choices = (catalogSize + " ").repeat(ComponentType.values().length);
+    }
+
+    @Override
+    public double totalPrice() {
+        return computer.getTotalPrice();
+    }
+
+    @Override
+    public Object copyComputer() {
+        return new Computer(computer);
+    }
+
+    @Override
+    public boolean computerEquals() {
+        return computer.equals(computerCopy);
+    }
+
+    @Override
+    public int componentHashCode() {
+        return cpu.hashCode();
+    }
+
+    @Override
+    public boolean componentEquals() {
+        return cpu.equals(cpuCopy);
+    }
+
+    @Override
+    public Object listCatalog() {
+        return catalog.getGPUs();
+    }
+
+    @Override
+    public Object assemblerBuild() {
+        return new ComputerAssembler(catalog, new Scanner(choices), NULL_OUT).buildComputer();
+    }
+
+    @Override
+    public Object batchBuild() {
+        return batchBuilder.build(request);
+    }
+}
@@ -0,0 +1,30 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Каталог-заглушка для бенчмарків: кожна категорія містить задану кількість компонентів у пам'яті,
+ * тож вимірювання не залежать від бази даних.
+ */
+final class StubCatalog {
+    private StubCatalog() {
+    }
+
+    static ComponentCatalog create(int size) {
+        List<CPU> cpus = generate(size, "CPU", CPU::new);
+        List<Motherboard> motherboards = generate(size, "Motherboard", Motherboard::new);
+        List<RAM> rams = generate(size, "RAM", RAM::new);
+        List<Storage> storages = generate(size, "Storage", Storage::new);
+        List<GPU> gpus = generate(size, "GPU", GPU::new);
+        List<PSU> psus = generate(size, "PSU", PSU::new);
+        List<Case> cases = generate(size, "Case", Case::new);
+        return new ComponentCatalog(() -> cpus, () -> motherboards, () -> rams, () -> storages,
+                () -> gpus, () -> psus, () -> cases);
+    }
+
+    static <T> List<T> generate(int size, String prefix, BiFunction<String, Double, T> factory) {
+        List<T> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) items.add(factory.apply(prefix + " #" + i, 50.0 + (i * 37 % 1000)));
+        return items;
+    }
+}
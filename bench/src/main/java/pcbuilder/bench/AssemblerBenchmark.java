@@ -0,0 +1,53 @@
+package pcbuilder.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки отримання каталогу та вибору компонентів через {@code ComputerAssembler}
+ * і {@code BatchBuilder} над каталогом-заглушкою в пам'яті.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AssemblerBenchmark {
+    @Param({"100", "10000"})
+    public int catalogSize;
+
+    private HotPaths paths;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        paths = HotPaths.create(catalogSize);
+    }
+
+    @Benchmark
+    public Object listCatalog() {
+        return paths.listCatalog();
+    }
+
+    @Benchmark
+    public Object assemblerBuildComputer() {
+        return paths.assemblerBuild();
+    }
+
+    @Benchmark
+    public Object batchBuild() {
+        return paths.batchBuild();
+    }
+}
@@ -0,0 +1,58 @@
+package pcbuilder.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки методів {@code Computer} та {@code equals}/{@code hashCode} компонентів.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComputerBenchmark {
+    private HotPaths paths;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        paths = HotPaths.create(16);
+    }
+
+    @Benchmark
+    public double totalPrice() {
+        return paths.totalPrice();
+    }
+
+    @Benchmark
+    public Object copyConstructor() {
+        return paths.copyComputer();
+    }
+
+    @Benchmark
+    public boolean computerEquals() {
+        return paths.computerEquals();
+    }
+
+    @Benchmark
+    public int componentHashCode() {
+        return paths.componentHashCode();
+    }
+
+    @Benchmark
+    public boolean componentEquals() {
+        return paths.componentEquals();
+    }
+}
@@ -0,0 +1,53 @@
+package pcbuilder.bench;
+
+/**
+ * Міст між бенчмарками та кодом застосунку.
+ * JMH не дозволяє бенчмарки в пакеті за замовчуванням, а класи з {@code dev/} лежать саме там
+ * і не можуть бути імпортовані з іменованого пакета. Тому реалізація цього інтерфейсу
+ * ({@code HotPathsImpl}) знаходиться в пакеті за замовчуванням і завантажується за назвою;
+ * виклики через інтерфейс мономорфні, тож JIT їх вбудовує.
+ */
+public interface HotPaths {
+
+    /**
+     * Завантажує реалізацію і готує дані заданого розміру.
+     *
+     * @param catalogSize кількість компонентів у кожній категорії каталогу-заглушки
+     * @return готовий до вимірювань об'єкт
+     */
+    static HotPaths create(int catalogSize) {
+        try {
+            HotPaths paths = (HotPaths) Class.forName("HotPathsImpl").getDeclaredConstructor().newInstance();
+            paths.setup(catalogSize);
+            return paths;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Не вдалося завантажити HotPathsImpl", e);
+        }
+    }
+
+    void setup(int catalogSize);
+
+    /** {@code Computer.getTotalPrice()}. */
+    double totalPrice();
+
+    /** Конструктор копіювання {@code Computer(Computer)}. */
+    Object copyComputer();
+
+    /** {@code Computer.equals} для рівних, але не тотожних об'єктів. */
+    boolean computerEquals();
+
+    /** {@code hashCode} компонента. */
+    int componentHashCode();
+
+    /** {@code equals} компонентів, рівних за значенням. */
+    boolean componentEquals();
+
+    /** Отримання списку категорії з кешованого каталогу. */
+    Object listCatalog();
+
+    /** Повний {@code ComputerAssembler.buildComputer()} із записаним вводом користувача. */
+    Object assemblerBuild();
+
+    /** Збирання одного комп'ютера через {@code BatchBuilder} за назвами компонентів. */
+    Object batchBuild();
+}
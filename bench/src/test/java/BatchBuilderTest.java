@@ -0,0 +1,137 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchBuilderTest {
+    private static final ComponentType[] TYPES = ComponentType.values();
+
+    /** Два SKU (ідентифікатори 1 і 2) у кожній категорії з назвами на кшталт {@code "CPU 1"}; ціна — 10 × id. */
+    private static Map<ComponentType, List<Component>> lists() {
+        Map<ComponentType, List<Component>> lists = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : TYPES) {
+            List<Component> list = new ArrayList<>();
+            for (int id = 1; id <= 2; id++) list.add(component(type, id, 10.0 * id));
+            lists.put(type, list);
+        }
+        return lists;
+    }
+
+    private static Component component(ComponentType type, int id, double price) {
+        String name = type + " " + id;
+        return switch (type) {
+            case CPU -> new CPU(id, name, price);
+            case MOTHERBOARD -> new Motherboard(id, name, price);
+            case RAM -> new RAM(id, name, price);
+            case STORAGE -> new Storage(id, name, price);
+            case GPU -> new GPU(id, name, price);
+            case PSU -> new PSU(id, name, price);
+            case CASE -> new Case(id, name, price);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> typed(Map<ComponentType, List<Component>> lists, ComponentType type) {
+        return (List<T>) (List<?>) lists.get(type);
+    }
+
+    private static ComponentCatalog catalog(Map<ComponentType, List<Component>> lists) {
+        return new ComponentCatalog(() -> typed(lists, ComponentType.CPU), () -> typed(lists, ComponentType.MOTHERBOARD),
+                () -> typed(lists, ComponentType.RAM), () -> typed(lists, ComponentType.STORAGE),
+                () -> typed(lists, ComponentType.GPU), () -> typed(lists, ComponentType.PSU),
+                () -> typed(lists, ComponentType.CASE));
+    }
+
+    @Test
+    void resolvesRequestsByIdAndByName() {
+        BatchBuilder builder = new BatchBuilder(catalog(lists()));
+        BuildRequest byIds = BuildRequest.ofIds(1, 2, 1, 2, 1, 2, 1);
+        BuildRequest byNames = BuildRequest.ofNames("CPU 2", "MOTHERBOARD 2", "RAM 2", "STORAGE 2",
+                "GPU 2", "PSU 2", "CASE 2");
+
+        List<BuildResult> results = builder.buildAll(List.of(byIds, byNames, byIds.withName(ComponentType.GPU, "GPU 2")));
+        assertEquals(3, results.size());
+        for (BuildResult result : results) {
+            assertTrue(result.isSuccess(), result.getError());
+            assertNull(result.getError());
+        }
+        assertSame(byIds, results.get(0).getRequest());
+        assertEquals(100.0, results.get(0).getComputer().getTotalPrice(), 1e-9);
+        assertEquals(2, results.get(0).getComputer().getMotherboard().getId());
+        assertEquals(140.0, results.get(1).getComputer().getTotalPrice(), 1e-9);
+        assertEquals(2, results.get(2).getComputer().getGpu().getId());
+    }
+
+    @Test
+    void unknownComponentsFailOnlyTheirRequest() {
+        BatchBuilder builder = new BatchBuilder(catalog(lists()));
+        BuildRequest valid = BuildRequest.ofIds(1, 1, 1, 1, 1, 1, 1);
+
+        List<BuildResult> results = builder.buildAll(Stream.of(
+                valid.withId(ComponentType.RAM, 9),
+                valid,
+                valid.withName(ComponentType.PSU, "PSU 9"),
+                null));
+        assertEquals(4, results.size());
+        assertFalse(results.get(0).isSuccess());
+        assertNull(results.get(0).getComputer());
+        assertEquals("Unknown " + ComponentType.RAM.getDisplayName() + " id: 9", results.get(0).getError());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals("Unknown " + ComponentType.PSU.getDisplayName() + ": 'PSU 9'", results.get(2).getError());
+        assertFalse(results.get(3).isSuccess());
+        assertNull(results.get(3).getRequest());
+    }
+
+    @Test
+    void sinkReceivesResultsInRequestOrder() {
+        BatchBuilder builder = new BatchBuilder(catalog(lists()));
+        List<BuildRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int id = i % 2 + 1;
+            requests.add(BuildRequest.ofIds(id, 1, 1, 1, 1, 1, 1));
+        }
+        List<BuildResult> seen = new ArrayList<>();
+        builder.buildAll(requests, seen::add);
+        assertEquals(requests.size(), seen.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assertSame(requests.get(i), seen.get(i).getRequest());
+            assertEquals(i % 2 + 1, seen.get(i).getComputer().getCpu().getId());
+        }
+        assertThrows(NullPointerException.class, () -> builder.buildAll(requests, null));
+    }
+
+    @Test
+    void catalogChangesAreSeenByTheNextBatch() {
+        Map<ComponentType, List<Component>> lists = lists();
+        ComponentCatalog catalog = catalog(lists);
+        BatchBuilder builder = new BatchBuilder(catalog);
+        BuildRequest request = BuildRequest.ofIds(1, 1, 1, 1, 1, 1, 1);
+        assertEquals(70.0, builder.build(request).getComputer().getTotalPrice(), 1e-9);
+
+        lists.put(ComponentType.CPU, List.of(new CPU(1, "CPU 1", 25.0)));
+        catalog.invalidate(ComponentType.CPU);
+        assertEquals(85.0, builder.build(request).getComputer().getTotalPrice(), 1e-9);
+    }
+
+    @Test
+    void versionedCatalogPinsOneVersionPerCall() {
+        VersionedCatalog versions = new VersionedCatalog(CatalogVersion.of(lists()));
+        BatchBuilder builder = new BatchBuilder(versions);
+        BuildRequest request = BuildRequest.ofIds(1, 1, 1, 1, 1, 1, 1);
+        CatalogVersion pinned = versions.current();
+
+        versions.setPrice(ComponentType.CASE, 1, 40.0);
+        assertEquals(100.0, builder.build(request).getComputer().getTotalPrice(), 1e-9);
+        assertEquals(70.0, builder.build(pinned, request).getComputer().getTotalPrice(), 1e-9);
+    }
+}
@@ -0,0 +1,87 @@
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BuildCodecTest {
+    private static Computer computer(int offset, double cpuPrice) {
+        return new Computer(new CPU(1 + offset, "Ryzen 7", cpuPrice), new Motherboard(2 + offset, "B650", 149.99),
+                new RAM(3 + offset, "32 GB", 89.99), new Storage(4 + offset, "2 TB", 99.99), new GPU(5 + offset, "RTX", 599.0),
+                new PSU(6 + offset, "750 W", 69.99), new Case(7 + offset, "Tower", 69.99));
+    }
+
+    @Test
+    void recordSurvivesRoundTripInAnyByteOrder() {
+        for (boolean withPrices : new boolean[]{false, true}) {
+            BuildRecord record = BuildRecord.of(computer(0, 299.99), withPrices);
+            ByteBuffer buffer = ByteBuffer.allocate(BuildCodec.recordSize(withPrices)).order(ByteOrder.BIG_ENDIAN);
+            BuildCodec.encode(record, buffer);
+            assertFalse(buffer.hasRemaining());
+            buffer.flip();
+            assertEquals(BuildCodec.recordSize(withPrices), BuildCodec.peekSize(buffer));
+            BuildRecord decoded = BuildCodec.decode(buffer);
+            assertEquals(record, decoded);
+            assertEquals(withPrices, decoded.hasPrices());
+            assertEquals(ByteOrder.BIG_ENDIAN, buffer.order());
+        }
+    }
+
+    @Test
+    void snapshotPricesAreRestoredOnlyWhenRequested() {
+        Computer saved = computer(0, 299.99);
+        Computer current = computer(0, 249.99);
+        ComponentResolver resolver = (type, id) -> current.getComponent(type).getId() == id ? current.getComponent(type) : null;
+        ByteBuffer buffer = ByteBuffer.allocate(BuildCodec.recordSize(true));
+        BuildCodec.encode(saved, true, buffer);
+
+        buffer.flip();
+        assertEquals(saved.getTotalPrice(), BuildCodec.decode(buffer, resolver, true).getTotalPrice(), 1e-9);
+        buffer.rewind();
+        assertEquals(current.getTotalPrice(), BuildCodec.decode(buffer, resolver, false).getTotalPrice(), 1e-9);
+    }
+
+    @Test
+    void batchesResumeAcrossSmallBuffers() {
+        List<BuildRecord> records = new ArrayList<>();
+        for (int i = 0; i < 25; i++) records.add(BuildRecord.of(computer(i * 10, 100 + i), i % 3 == 0));
+        ByteBuffer buffer = ByteBuffer.allocate(3 * BuildCodec.PRICED_RECORD_SIZE);
+        List<BuildRecord> decoded = new ArrayList<>();
+        int next = 0;
+        while (next < records.size()) {
+            int from = next;
+            next = BuildCodec.encodeAll(records, from, buffer);
+            assertTrue(next > from);
+            buffer.flip();
+            assertEquals(next - from, BuildCodec.decodeAll(buffer, decoded));
+            buffer.clear();
+        }
+        assertEquals(records, decoded);
+    }
+
+    @Test
+    void partialRecordLeavesPositionUnchanged() {
+        ByteBuffer buffer = ByteBuffer.allocate(BuildCodec.PRICED_RECORD_SIZE);
+        BuildCodec.encode(computer(0, 299.99), true, buffer);
+        buffer.flip().limit(BuildCodec.PRICED_RECORD_SIZE - 1);
+        assertThrows(BufferUnderflowException.class, () -> BuildCodec.decode(buffer));
+        assertEquals(0, buffer.position());
+        assertEquals(0, BuildCodec.decodeAll(buffer, new ArrayList<>()));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    void unknownVersionIsRejected() {
+        ByteBuffer buffer = ByteBuffer.allocate(BuildCodec.IDS_RECORD_SIZE);
+        BuildCodec.encode(computer(0, 299.99), false, buffer);
+        buffer.put(0, (byte) (BuildCodec.VERSION + 1)).flip();
+        assertThrows(IllegalArgumentException.class, () -> BuildCodec.decode(buffer));
+    }
+}
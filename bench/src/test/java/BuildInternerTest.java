@@ -0,0 +1,104 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BuildInternerTest {
+    /** Нова конфігурація з новими екземплярами компонентів; {@code cpu} і {@code gpu} обирають варіанти. */
+    private static Computer build(int cpu, int gpu) {
+        return new Computer(new CPU("CPU " + cpu, 100 + cpu), new Motherboard("MB", 149.99), new RAM("RAM", 89.99),
+                new Storage("SSD", 99.99), new GPU("GPU " + gpu, 400 + gpu), new PSU("PSU", 69.99), new Case("Case", 69.99));
+    }
+
+    @Test
+    void equalBuildsShareOneCanonicalInstance() {
+        BuildInterner interner = new BuildInterner();
+        Computer first = build(1, 1);
+        Computer same = build(1, 1);
+        Computer other = build(1, 2);
+        assertNotSame(first, same);
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(same));
+        assertSame(other, interner.intern(other));
+        assertSame(first, interner.intern(new Computer(same)));
+        assertEquals(2, interner.size());
+        assertEquals(4, interner.getRequestCount());
+        assertEquals(2, interner.getDuplicateCount());
+        assertTrue(interner.contains(build(1, 2)));
+        assertFalse(interner.contains(build(2, 2)));
+        assertFalse(interner.contains(null));
+
+        interner.clear();
+        assertEquals(0, interner.size());
+        assertEquals(0, interner.getRequestCount());
+        assertEquals(0, interner.getDuplicateCount());
+        assertThrows(NullPointerException.class, () -> interner.intern(null));
+        assertThrows(IllegalArgumentException.class, () -> new BuildInterner(-1));
+    }
+
+    @Test
+    void fingerprintsFollowEquality() {
+        Computer computer = build(1, 1);
+        assertEquals(build(1, 1).fingerprint(), computer.fingerprint());
+        assertEquals(build(1, 1).hashCode(), computer.hashCode());
+        assertEquals(new CPU(7, "Ryzen", 199.0).fingerprint(), new CPU(8, "Ryzen", 199.0).fingerprint());
+        assertNotEquals(new Storage("X", 10).fingerprint(), new Case("X", 10).fingerprint());
+        assertNotEquals(new Storage("X", 10).fingerprint(), new Storage("X", 10.01).fingerprint());
+
+        long before = computer.fingerprint();
+        computer.setCpu(new CPU("CPU 2", 102));
+        assertNotEquals(before, computer.fingerprint());
+        assertEquals(build(2, 1), computer);
+        assertEquals(build(2, 1).fingerprint(), computer.fingerprint());
+    }
+
+    @Test
+    void distinctBuildsGetDistinctFingerprints() {
+        Set<Long> fingerprints = new HashSet<>();
+        for (int cpu = 0; cpu < 200; cpu++) {
+            for (int gpu = 0; gpu < 200; gpu++) fingerprints.add(build(cpu, gpu).fingerprint());
+        }
+        assertEquals(200 * 200, fingerprints.size());
+    }
+
+    @Test
+    void concurrentInternersAgreeOnCanonicalInstances() throws InterruptedException {
+        BuildInterner interner = new BuildInterner(64);
+        int threads = 8;
+        Computer[][] seen = new Computer[threads][];
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers.add(Thread.ofPlatform().start(() -> {
+                Computer[] canonical = new Computer[50];
+                for (int round = 0; round < 20; round++) {
+                    for (int i = 0; i < canonical.length; i++) {
+                        Computer interned = interner.intern(build(i, i % 7));
+                        if (canonical[i] == null) canonical[i] = interned;
+                        else if (canonical[i] != interned) throw new AssertionError("Канонічний екземпляр змінився");
+                    }
+                }
+                seen[index] = canonical;
+            }));
+        }
+        for (Thread worker : workers) worker.join();
+
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < 50; i++) assertSame(seen[0][i], seen[t][i]);
+        }
+        assertEquals(50, interner.size());
+        assertEquals(threads * 20 * 50, interner.getRequestCount());
+        assertEquals(threads * 20 * 50 - 50, interner.getDuplicateCount());
+    }
+}
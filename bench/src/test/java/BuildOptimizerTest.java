@@ -0,0 +1,109 @@
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BuildOptimizerTest {
+    private static final ComponentType[] TYPES = ComponentType.values();
+    private static final String[] SOCKETS = {null, "AM5", "LGA1700"};
+    private static final String[] RAM_TYPES = {null, "DDR4", "DDR5"};
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterAll
+    static void shutdown() {
+        POOL.shutdown();
+    }
+
+    private static Component component(ComponentType type, int id, double price, Random random, boolean attributes) {
+        String name = type + " " + id;
+        String socket = attributes ? SOCKETS[random.nextInt(3)] : null;
+        String ramType = attributes ? RAM_TYPES[random.nextInt(3)] : null;
+        int watts = attributes ? random.nextInt(4) * 150 : 0;
+        return switch (type) {
+            case CPU -> new CPU(id, name, price, socket, watts);
+            case MOTHERBOARD -> new Motherboard(id, name, price, socket, ramType);
+            case RAM -> new RAM(id, name, price, ramType);
+            case STORAGE -> new Storage(id, name, price);
+            case GPU -> new GPU(id, name, price, watts);
+            case PSU -> new PSU(id, name, price, watts);
+            case CASE -> new Case(id, name, price);
+        };
+    }
+
+    /** Перебирає всі комбінації й повертає суми {@code k} найдорожчих сумісних збірок у межах бюджету. */
+    private static List<Double> bruteForce(List<List<Component>> lists, CompatibilityEngine engine, double budget, int k) {
+        List<Double> totals = new ArrayList<>();
+        int[] index = new int[TYPES.length];
+        while (true) {
+            Component[] parts = new Component[TYPES.length];
+            for (int t = 0; t < parts.length; t++) parts[t] = lists.get(t).get(index[t]);
+            Computer computer = new Computer((CPU) parts[0], (Motherboard) parts[1], (RAM) parts[2],
+                    (Storage) parts[3], (GPU) parts[4], (PSU) parts[5], (Case) parts[6]);
+            if (computer.getTotalPrice() <= budget && engine.check(computer).isEmpty()) totals.add(computer.getTotalPrice());
+            int d = TYPES.length - 1;
+            while (d >= 0 && ++index[d] == lists.get(d).size()) index[d--] = 0;
+            if (d < 0) break;
+        }
+        totals.sort(Comparator.reverseOrder());
+        return totals.subList(0, Math.min(k, totals.size()));
+    }
+
+    private static void assertMatchesBruteForce(long seed, boolean attributes) {
+        Random random = new Random(seed);
+        int found = 0;
+        for (int iteration = 0; iteration < 200; iteration++) {
+            Map<ComponentType, ComponentTable> tables = new EnumMap<>(ComponentType.class);
+            List<List<Component>> lists = new ArrayList<>();
+            for (ComponentType type : TYPES) {
+                ComponentTable.Builder builder = new ComponentTable.Builder(type);
+                int size = 1 + random.nextInt(4);
+                for (int id = 1; id <= size; id++) {
+                    builder.add(component(type, id, random.nextInt(50) + random.nextInt(100) / 100.0, random, attributes));
+                }
+                ComponentTable table = builder.build();
+                tables.put(type, table);
+                lists.add(table.toList());
+            }
+            CompatibilityEngine engine = new CompatibilityEngine(cast(lists.get(0)), cast(lists.get(1)),
+                    cast(lists.get(2)), cast(lists.get(5)));
+            ComponentStore store = new ComponentStore(tables);
+            double budget = random.nextInt(350);
+            int k = 1 + random.nextInt(5);
+            List<Double> expected = bruteForce(lists, engine, budget, k);
+            found += expected.size();
+            for (BuildOptimizer optimizer : new BuildOptimizer[]{new BuildOptimizer(store), new BuildOptimizer(store, POOL)}) {
+                List<Double> actual = new ArrayList<>();
+                for (Computer computer : optimizer.findBest(budget, k)) {
+                    assertTrue(engine.check(computer).isEmpty(), "Несумісна збірка: " + computer);
+                    actual.add(computer.getTotalPrice());
+                }
+                assertEquals(expected, actual, "Ітерація " + iteration + ", паралелізм " + optimizer.getParallelism());
+            }
+        }
+        assertTrue(found > 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Component> List<T> cast(List<Component> list) {
+        return (List<T>) list;
+    }
+
+    @Test
+    void findsSameBuildsAsBruteForce() {
+        assertMatchesBruteForce(42, false);
+    }
+
+    @Test
+    void respectsCompatibilityLikeBruteForce() {
+        assertMatchesBruteForce(7, true);
+    }
+}
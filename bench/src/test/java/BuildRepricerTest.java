@@ -0,0 +1,178 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BuildRepricerTest {
+    private static final ComponentType[] TYPES = ComponentType.values();
+
+    /** Каталог з двома SKU (ідентифікатори 1 і 2) у кожній категорії; ціна — 10 × id + номер категорії. */
+    private static VersionedCatalog catalog() {
+        Map<ComponentType, List<Component>> lists = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : TYPES) {
+            List<Component> list = new ArrayList<>();
+            for (int id = 1; id <= 2; id++) list.add(component(type, id, 10.0 * id + type.ordinal()));
+            lists.put(type, list);
+        }
+        return new VersionedCatalog(CatalogVersion.of(lists));
+    }
+
+    private static Component component(ComponentType type, int id, double price) {
+        String name = type + " " + id;
+        return switch (type) {
+            case CPU -> new CPU(id, name, price);
+            case MOTHERBOARD -> new Motherboard(id, name, price);
+            case RAM -> new RAM(id, name, price);
+            case STORAGE -> new Storage(id, name, price);
+            case GPU -> new GPU(id, name, price);
+            case PSU -> new PSU(id, name, price);
+            case CASE -> new Case(id, name, price);
+        };
+    }
+
+    /** Збірка з SKU {@code ids[t]} у категорії {@code t}. */
+    private static BuildRecord record(ComponentResolver catalog, int... ids) {
+        Component[] parts = new Component[TYPES.length];
+        for (ComponentType type : TYPES) parts[type.ordinal()] = catalog.findById(type, ids[type.ordinal()]);
+        Computer computer = new Computer((CPU) parts[0], (Motherboard) parts[1], (RAM) parts[2],
+                (Storage) parts[3], (GPU) parts[4], (PSU) parts[5], (Case) parts[6]);
+        return BuildRecord.of(computer, true);
+    }
+
+    private static double total(ComponentResolver catalog, int... ids) {
+        double total = 0;
+        for (ComponentType type : TYPES) total += catalog.findById(type, ids[type.ordinal()]).getPrice();
+        return total;
+    }
+
+    @Test
+    void passRepricesOnlyBuildsWithChangedComponents() {
+        VersionedCatalog catalog = catalog();
+        BuildRepricer repricer = new BuildRepricer(catalog);
+        int[] first = {1, 1, 1, 1, 1, 1, 1};
+        int[] second = {2, 1, 2, 2, 2, 2, 2};
+        int[] third = {2, 2, 2, 2, 2, 2, 2};
+        repricer.track(1, record(catalog, first));
+        repricer.track(2, record(catalog, second));
+        repricer.track(3, record(catalog, third));
+        assertEquals(2, repricer.getBuildCount(ComponentType.MOTHERBOARD, 1));
+
+        catalog.update(editor -> editor.setPrice(ComponentType.MOTHERBOARD, 1, 99.99).setPrice(ComponentType.CASE, 1, 5.0));
+        for (ComponentType type : TYPES) repricer.componentChanged(type, null, catalog.findById(type, 1));
+        long[] changed = repricer.repriceNow();
+        Arrays.sort(changed);
+        assertArrayEquals(new long[]{1, 2}, changed);
+
+        catalog.addChangeListener(repricer);
+        long batches = repricer.getBatchCount();
+        catalog.setPrice(ComponentType.MOTHERBOARD, 1, 109.99);
+        assertEquals(batches + 1, repricer.getBatchCount());
+        assertEquals(total(catalog, first), repricer.getTotalPrice(1), 1e-9);
+        assertEquals(total(catalog, second), repricer.getTotalPrice(2), 1e-9);
+        assertEquals(total(catalog, third), repricer.getTotalPrice(3), 1e-9);
+    }
+
+    @Test
+    void repriceNowReportsBuildsWhoseTotalChanged() {
+        VersionedCatalog catalog = catalog();
+        BuildRepricer repricer = new BuildRepricer(catalog);
+        repricer.track(10, record(catalog, 1, 1, 1, 1, 1, 1, 1));
+        repricer.track(20, record(catalog, 2, 2, 2, 2, 2, 2, 2));
+        catalog.setPrice(ComponentType.GPU, 2, 500.0);
+        repricer.componentChanged(ComponentType.GPU, null, catalog.findById(ComponentType.GPU, 2));
+        assertArrayEquals(new long[]{20}, repricer.repriceNow());
+        assertEquals(total(catalog, 2, 2, 2, 2, 2, 2, 2), repricer.getTotalPrice(20), 1e-9);
+        assertTrue(Double.isNaN(repricer.getTotalPrice(30)));
+    }
+
+    @Test
+    void pricesAboveIntegerCentsAreRepriced() {
+        VersionedCatalog catalog = catalog();
+        BuildRepricer repricer = new BuildRepricer(catalog);
+        AtomicInteger later = new AtomicInteger();
+        catalog.addChangeListener(repricer);
+        catalog.addChangeListener(new CatalogChangeListener() {
+            @Override
+            public void componentChanged(ComponentType type, Component previous, Component current) {
+            }
+
+            @Override
+            public void changesCompleted() {
+                later.incrementAndGet();
+            }
+        });
+        int[] ids = {1, 1, 1, 1, 1, 1, 1};
+        repricer.track(1, record(catalog, ids));
+        repricer.track(2, record(catalog, 2, 2, 2, 2, 2, 2, 2));
+
+        catalog.update(editor -> editor.setPrice(ComponentType.RAM, 1, 30.0).setPrice(ComponentType.GPU, 1, 50_000_000.0));
+        assertEquals(1, later.get());
+        assertEquals(total(catalog, ids), repricer.getTotalPrice(1), 1e-6);
+
+        catalog.setPrice(ComponentType.GPU, 1, 40.0);
+        assertEquals(total(catalog, ids), repricer.getTotalPrice(1), 1e-9);
+        assertEquals(total(catalog, 2, 2, 2, 2, 2, 2, 2), repricer.getTotalPrice(2), 1e-9);
+    }
+
+    @Test
+    void failedLookupKeepsBatchConsistent() {
+        VersionedCatalog catalog = catalog();
+        boolean[] failing = {false};
+        ComponentResolver resolver = (type, id) -> {
+            if (failing[0] && type == ComponentType.PSU) throw new IllegalStateException("unavailable");
+            return catalog.findById(type, id);
+        };
+        BuildRepricer repricer = new BuildRepricer(resolver);
+        int[] ids = {1, 1, 1, 1, 1, 1, 1};
+        repricer.track(1, record(catalog, ids));
+        double before = repricer.getTotalPrice(1);
+
+        catalog.update(editor -> editor.setPrice(ComponentType.CPU, 1, 70.0).setPrice(ComponentType.PSU, 1, 80.0));
+        failing[0] = true;
+        repricer.componentChanged(ComponentType.CPU, null, catalog.findById(ComponentType.CPU, 1));
+        repricer.componentChanged(ComponentType.PSU, null, catalog.findById(ComponentType.PSU, 1));
+        assertThrows(IllegalStateException.class, repricer::repriceNow);
+        // Залежно від порядку обходу процесор встигає або не встигає отримати нову ціну, але підсумок
+        // завжди відповідає вже застосованим цінам.
+        double partial = repricer.getTotalPrice(1);
+        assertTrue(Math.abs(partial - before) < 1e-9 || Math.abs(partial - (before + 60)) < 1e-9, "Підсумок: " + partial);
+
+        failing[0] = false;
+        repricer.repriceNow();
+        assertEquals(total(catalog, ids), repricer.getTotalPrice(1), 1e-9);
+    }
+
+    @Test
+    void untrackReleasesComponentsWithoutBuilds() {
+        VersionedCatalog catalog = catalog();
+        BuildRepricer repricer = new BuildRepricer(catalog);
+        repricer.track(1, record(catalog, 1, 1, 1, 1, 1, 1, 1));
+        repricer.track(2, record(catalog, 1, 2, 2, 2, 2, 2, 2));
+        assertEquals(13, repricer.getComponentCount());
+
+        assertTrue(repricer.untrack(2));
+        assertFalse(repricer.untrack(2));
+        assertEquals(7, repricer.getComponentCount());
+        assertEquals(0, repricer.getBuildCount(ComponentType.GPU, 2));
+        assertEquals(1, repricer.getBuildCount(ComponentType.CPU, 1));
+
+        repricer.track(1, record(catalog, 2, 2, 2, 2, 2, 2, 2));
+        assertEquals(7, repricer.getComponentCount());
+        catalog.addChangeListener(repricer);
+        catalog.setPrice(ComponentType.CASE, 2, 1.0);
+        assertEquals(total(catalog, 2, 2, 2, 2, 2, 2, 2), repricer.getTotalPrice(1), 1e-9);
+        assertTrue(repricer.untrack(1));
+        assertEquals(0, repricer.getComponentCount());
+        assertEquals(0, repricer.size());
+    }
+}
@@ -0,0 +1,187 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Перевіряє імпорт над вбудованою базою H2 у пам'яті. Явні ідентифікатори в записах починаються з 1000,
+ * щоб не перетинатися з ідентифікаторами, які база генерує для записів без ідентифікатора.
+ */
+class CatalogImporterTest {
+    private ConnectionPool pool;
+
+    private ConnectionPool database() throws SQLException {
+        pool = new ConnectionPool("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", 2, 8, 1_000);
+        Database.createSchema(pool);
+        return pool;
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        if (pool != null) pool.close();
+    }
+
+    /** Рядки таблиці у вигляді {@code назва=ціна}, упорядковані за назвою. */
+    private List<String> rows(String table) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT name, price FROM " + table + " ORDER BY name, id")) {
+            while (rs.next()) rows.add(rs.getString(1) + "=" + rs.getDouble(2));
+        }
+        return rows;
+    }
+
+    private String nameOf(String table, int id) throws SQLException {
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT name FROM " + table + " WHERE id = " + id)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @Test
+    void csvInsertsAndJsonUpsertsByIdAndByName() throws SQLException {
+        CatalogImporter importer = new CatalogImporter(database());
+
+        ImportResult first = importer.importCsv(new StringReader("""
+                category,id,name,price
+                CPU,,Ryzen 5 7600,199.99
+                cpu,1010,"Core i5, 14600K",289.00
+                GPU,,"RTX 4070 ""Super"" OC",549
+                """));
+        assertEquals(2, first.getInserted(ComponentType.CPU));
+        assertEquals(1, first.getInserted(ComponentType.GPU));
+        assertEquals(3, first.getWritten());
+        assertEquals(0, first.getRejected());
+        assertEquals(EnumSet.of(ComponentType.CPU, ComponentType.GPU), first.getAffectedTypes());
+        assertEquals(List.of("Core i5, 14600K=289.0", "Ryzen 5 7600=199.99"), rows("cpu"));
+        assertEquals(List.of("RTX 4070 \"Super\" OC=549.0"), rows("gpu"));
+
+        ImportResult second = importer.importJson(new StringReader("""
+                [{"category": "CPU", "name": "Ryzen 5 7600", "price": 189.99},
+                 {"category": "CPU", "id": 1010, "name": "Core i5 14600K", "price": 279, "stock": {"kyiv": 3}},
+                 {"category": "CPU", "id": 1011, "name": "Core i7 14700K", "price": 399, "tags": ["new"]},
+                 {"category": "GPU", "name": "RTX 4070 \\"Super\\" OC", "price": "n/a"}]
+                """));
+        assertEquals(2, second.getUpdated(ComponentType.CPU));
+        assertEquals(1, second.getInserted(ComponentType.CPU));
+        assertEquals(1, second.getRejected());
+        assertTrue(second.getErrors().get(0).startsWith("Запис 4: "), second.getErrors().get(0));
+        assertEquals(EnumSet.of(ComponentType.CPU), second.getAffectedTypes());
+        assertEquals(List.of("Core i5 14600K=279.0", "Core i7 14700K=399.0", "Ryzen 5 7600=189.99"), rows("cpu"));
+        assertEquals("Core i5 14600K", nameOf("cpu", 1010));
+        assertEquals(List.of("RTX 4070 \"Super\" OC=549.0"), rows("gpu"));
+    }
+
+    @Test
+    void insertOnlyModeRejectsExistingIds() throws SQLException {
+        CatalogImporter importer = new CatalogImporter(database(), CatalogImporter.DEFAULT_BATCH_SIZE, false);
+        importer.importCsv(new StringReader("id,name,price\n1001,Seasonic Focus,95\n"), ComponentType.PSU);
+
+        ImportResult result = importer.importCsv(new StringReader(
+                "id,name,price\n1001,Corsair RM750,110\n1002,Corsair RM850,130\n,Seasonic Focus,99\n"), ComponentType.PSU);
+        assertEquals(2, result.getInserted(ComponentType.PSU));
+        assertEquals(0, result.getUpdated(ComponentType.PSU));
+        assertEquals(List.of("Запис 1: Ідентифікатор 1001 уже існує"), result.getErrors());
+        assertEquals("Seasonic Focus", nameOf("psu", 1001));
+        assertEquals(List.of("Corsair RM850=130.0", "Seasonic Focus=99.0", "Seasonic Focus=95.0"), rows("psu"));
+    }
+
+    @Test
+    void invalidRecordsAreRejectedWithoutStoppingTheImport() throws SQLException {
+        CatalogImporter importer = new CatalogImporter(database());
+
+        ImportResult result = importer.importCsv(new StringReader("""
+                price,name,category,id
+                -1,Bad price,PSU,
+                80, ,PSU,
+                abc,Not a number,PSU,
+                Infinity,Endless,PSU,
+                90,Wrong type,GPU,
+                100,Negative id,PSU,-5
+                120,Corsair RM750,Psu,
+                60,Unknown,Toaster,
+
+                """), ComponentType.PSU);
+        assertEquals(1, result.getInserted(ComponentType.PSU));
+        assertEquals(7, result.getRejected());
+        assertEquals(7, result.getErrors().size());
+        assertEquals("Запис 1: Ціна не може бути від'ємною", result.getErrors().get(0));
+        assertEquals("Запис 2: Ім'я не може бути пустим", result.getErrors().get(1));
+        assertTrue(result.getErrors().get(2).startsWith("Запис 3: "));
+        assertEquals("Запис 4: Ціна має бути скінченним числом", result.getErrors().get(3));
+        assertEquals("Запис 5: Очікувалась категорія PSU", result.getErrors().get(4));
+        assertEquals("Запис 6: Ідентифікатор не може бути від'ємним", result.getErrors().get(5));
+        assertEquals("Запис 8: Невідома категорія: 'Toaster'", result.getErrors().get(6));
+        assertEquals(List.of("Corsair RM750=120.0"), rows("psu"));
+    }
+
+    @Test
+    void repeatedKeysKeepTheLastRecordAndNamesMatchTheSmallestId() throws SQLException {
+        CatalogImporter importer = new CatalogImporter(database());
+        execute("INSERT INTO ram (id, name, price) VALUES (1002, 'DDR5 32GB', 120), (1001, 'DDR5 32GB', 125)");
+
+        ImportResult result = importer.importCsv(new StringReader("""
+                id,name,price
+                1005,DDR4 16GB,50
+                ,DDR5 32GB,110
+                1005,DDR4 16GB Kit,48
+                ,DDR5 32GB,105
+                """), ComponentType.RAM);
+        assertEquals(1, result.getInserted(ComponentType.RAM));
+        assertEquals(1, result.getUpdated(ComponentType.RAM));
+        assertEquals("DDR4 16GB Kit", nameOf("ram", 1005));
+        assertEquals(List.of("DDR4 16GB Kit=48.0", "DDR5 32GB=105.0", "DDR5 32GB=120.0"), rows("ram"));
+    }
+
+    @Test
+    void failedBatchIsRolledBackAndEarlierBatchesStay() throws SQLException {
+        CatalogImporter importer = new CatalogImporter(database(), 2, true);
+        StringBuilder csv = new StringBuilder("name,price\n");
+        for (int i = 1; i <= 5; i++) csv.append("Case ").append(i).append(',').append(i * 10).append('\n');
+        csv.append("x".repeat(300)).append(",60\n");
+
+        DAOException failure = assertThrows(DAOException.class,
+                () -> importer.importCsv(new StringReader(csv.toString()), ComponentType.CASE));
+        assertTrue(failure.getMessage().endsWith("до помилки зафіксовано рядків: 4"), failure.getMessage());
+        assertEquals(List.of("Case 1=10.0", "Case 2=20.0", "Case 3=30.0", "Case 4=40.0"), rows("pc_case"));
+
+        ImportResult retry = importer.importCsv(new StringReader("name,price\nCase 5,50\n"), ComponentType.CASE);
+        assertEquals(1, retry.getInserted(ComponentType.CASE));
+    }
+
+    @Test
+    void rejectsMalformedInput() throws SQLException {
+        CatalogImporter importer = new CatalogImporter(database());
+
+        assertEquals(0, importer.importCsv(new StringReader("")).getWritten());
+        assertEquals(0, importer.importJson(new StringReader("[]")).getWritten());
+        assertThrows(IllegalArgumentException.class, () -> importer.importCsv(new StringReader("name,cost\nA,1\n")));
+        assertThrows(IllegalArgumentException.class, () -> importer.importCsv(new StringReader("name,price\nA,1\n")));
+        assertThrows(IllegalArgumentException.class,
+                () -> importer.importCsv(new StringReader("name,price\n\"A,1\n"), ComponentType.CASE));
+        assertThrows(IllegalArgumentException.class,
+                () -> importer.importJson(new StringReader("[{\"name\": \"A\", \"price\": 1}"), ComponentType.CASE));
+        assertThrows(IllegalArgumentException.class, () -> new CatalogImporter(pool, 0, true));
+        assertTrue(rows("pc_case").isEmpty());
+    }
+}
@@ -0,0 +1,105 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogIndexTest {
+    /** Сховище, в якому категорія PSU містить задані блоки живлення, а решта категорій порожні. */
+    private static CatalogIndex index(Component... psus) {
+        Map<ComponentType, ComponentTable> tables = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : ComponentType.values()) {
+            ComponentTable.Builder builder = new ComponentTable.Builder(type);
+            if (type == ComponentType.PSU) for (Component psu : psus) builder.add(psu);
+            tables.put(type, builder.build());
+        }
+        return new CatalogIndex(new ComponentStore(tables));
+    }
+
+    private static List<Integer> ids(List<Component> components) {
+        List<Integer> ids = new ArrayList<>();
+        for (Component component : components) ids.add(component.getId());
+        return ids;
+    }
+
+    @Test
+    void findsByExactNameAndId() {
+        CatalogIndex index = index(new PSU(1, "Corsair RM750", 110), new PSU(2, "Seasonic Focus", 95),
+                new PSU(3, "Corsair RM750", 99));
+
+        assertEquals(1, index.findByName(ComponentType.PSU, "Corsair RM750").getId());
+        assertEquals(2, index.findByName(ComponentType.PSU, "Seasonic Focus").getId());
+        assertNull(index.findByName(ComponentType.PSU, "Corsair"));
+        assertNull(index.findByName(ComponentType.PSU, null));
+        assertNull(index.findByName(ComponentType.CPU, "Corsair RM750"));
+
+        assertEquals("Seasonic Focus", index.findById(ComponentType.PSU, 2).getName());
+        assertNull(index.findById(ComponentType.PSU, 4));
+    }
+
+    @Test
+    void priceRangeIsInclusiveAndOrderedByPrice() {
+        CatalogIndex index = index(new PSU(1, "A", 150), new PSU(2, "B", 60), new PSU(3, "C", 80),
+                new PSU(4, "D", 120), new PSU(5, "E", 80), new PSU(6, "F", 151));
+
+        List<Component> range = index.findByPriceRange(ComponentType.PSU, 80, 150);
+        assertEquals(4, range.size());
+        assertTrue(range.get(0).getPrice() == 80 && range.get(1).getPrice() == 80);
+        assertEquals(List.of(4, 1), ids(range.subList(2, 4)));
+        assertTrue(index.findByPriceRange(ComponentType.PSU, 200, 300).isEmpty());
+        assertTrue(index.findByPriceRange(ComponentType.PSU, 150, 80).isEmpty());
+        assertEquals(6, index.findByPriceRange(ComponentType.PSU, 0, Double.MAX_VALUE).size());
+    }
+
+    @Test
+    void prefixSearchReturnsNamesAlphabetically() {
+        CatalogIndex index = index(new PSU(1, "Corsair RM850", 130), new PSU(2, "be quiet! Pure", 90),
+                new PSU(3, "Corsair CX650", 70), new PSU(4, "Cooler Master", 85), new PSU(5, "Corsair", 60));
+
+        assertEquals(List.of(5, 3, 1), ids(index.findByNamePrefix(ComponentType.PSU, "Corsair")));
+        assertEquals(List.of(4, 5, 3, 1), ids(index.findByNamePrefix(ComponentType.PSU, "Co")));
+        assertEquals(List.of(4, 5, 3, 1, 2), ids(index.findByNamePrefix(ComponentType.PSU, "")));
+        assertTrue(index.findByNamePrefix(ComponentType.PSU, "Corsair SF").isEmpty());
+        assertTrue(index.findByNamePrefix(ComponentType.PSU, "zzz").isEmpty());
+    }
+
+    @Test
+    void matchesLinearScanOnRandomCatalog() {
+        Random random = new Random(7);
+        List<Component> psus = new ArrayList<>();
+        for (int id = 1; id <= 2_000; id++) {
+            String name = "PSU-" + Integer.toString(random.nextInt(1_500), 36);
+            psus.add(new PSU(id, name, random.nextInt(30_000) / 100.0));
+        }
+        CatalogIndex index = index(psus.toArray(new Component[0]));
+        ComponentIndex psuIndex = index.index(ComponentType.PSU);
+        assertEquals(psus.size(), psuIndex.size());
+
+        for (int i = 0; i < 200; i++) {
+            String name = "PSU-" + Integer.toString(random.nextInt(1_500), 36);
+            Component expected = psus.stream().filter(p -> p.getName().equals(name)).findFirst().orElse(null);
+            Component actual = index.findByName(ComponentType.PSU, name);
+            assertEquals(expected == null ? null : expected.getId(), actual == null ? null : actual.getId());
+
+            String prefix = name.substring(0, Math.min(name.length(), 5 + random.nextInt(2)));
+            List<Integer> byPrefix = psus.stream().filter(p -> p.getName().startsWith(prefix))
+                    .sorted(Comparator.comparing(Component::getName).thenComparing(Component::getId))
+                    .map(Component::getId).toList();
+            assertEquals(byPrefix, ids(index.findByNamePrefix(ComponentType.PSU, prefix)));
+
+            double min = random.nextInt(30_000) / 100.0;
+            double max = min + random.nextInt(5_000) / 100.0;
+            long inRange = psus.stream().filter(p -> p.getPrice() >= min && p.getPrice() <= max).count();
+            List<Component> range = index.findByPriceRange(ComponentType.PSU, min, max);
+            assertEquals(inRange, range.size());
+            for (int j = 1; j < range.size(); j++) assertTrue(range.get(j - 1).getPrice() <= range.get(j).getPrice());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogSnapshotTest {
+    /** Зміщення першого дескриптора секції та розмір дескриптора у форматі знімка. */
+    private static final int DESCRIPTORS = 16;
+    private static final int DESCRIPTOR_SIZE = 48;
+
+    @TempDir
+    Path directory;
+
+    /** Сховище з {@code perType} SKU у кожній категорії з випадковими ідентифікаторами, цінами й характеристиками. */
+    private static ComponentStore store(int perType, long seed) {
+        Random random = new Random(seed);
+        String[] sockets = {"AM5", "LGA1700", null};
+        String[] ramTypes = {"DDR5", "DDR4", null};
+        Map<ComponentType, ComponentTable> tables = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : ComponentType.values()) {
+            ComponentTable.Builder builder = new ComponentTable.Builder(type);
+            for (int i = 0; i < perType; i++) {
+                String socket = null, ramType = null;
+                int watts = 0;
+                switch (type) {
+                    case CPU -> {
+                        socket = sockets[random.nextInt(3)];
+                        watts = random.nextInt(200);
+                    }
+                    case MOTHERBOARD -> {
+                        socket = sockets[random.nextInt(3)];
+                        ramType = ramTypes[random.nextInt(3)];
+                    }
+                    case RAM -> ramType = ramTypes[random.nextInt(3)];
+                    case GPU, PSU -> watts = random.nextInt(900);
+                    default -> { }
+                }
+                builder.add(i * 7 + random.nextInt(7), type + " «модель» " + i, random.nextInt(100_000) / 100.0,
+                        socket, ramType, watts);
+            }
+            tables.put(type, builder.build());
+        }
+        return new ComponentStore(tables);
+    }
+
+    private static void assertSameContent(ComponentTable expected, ComponentTable actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int row = 0; row < expected.size(); row++) {
+            int other = actual.rowOf(expected.id(row));
+            assertEquals(expected.name(row), actual.name(other));
+            assertEquals(expected.price(row), actual.price(other), 0.0);
+            assertEquals(expected.socket(row), actual.socket(other));
+            assertEquals(expected.ramType(row), actual.ramType(other));
+            assertEquals(expected.watts(row), actual.watts(other));
+        }
+    }
+
+    /** Змінює записаний знімок на місці, передаючи його вміст як little-endian буфер. */
+    private static void patch(Path file, Consumer<ByteBuffer> change) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        change.accept(data);
+        Files.write(file, data.array());
+    }
+
+    @Test
+    void roundTripPreservesEveryColumn() throws IOException {
+        ComponentStore store = store(300, 11);
+        Path file = directory.resolve("catalog.snap");
+        CatalogSnapshot.write(store, file);
+
+        try (CatalogSnapshot snapshot = CatalogSnapshot.open(file)) {
+            ComponentStore copy = snapshot.toStore();
+            ComponentCatalog catalog = snapshot.toCatalog();
+            for (ComponentType type : ComponentType.values()) {
+                ComponentTable table = store.table(type);
+                CatalogSnapshot.Section section = snapshot.section(type);
+                assertEquals(type, section.getType());
+                assertEquals(table.size(), section.size());
+                assertSameContent(table, copy.table(type));
+                assertSameContent(table, section.toTable());
+
+                List<? extends Component> listed = catalog.get(type);
+                for (int row = 1; row < section.size(); row++) assertTrue(section.id(row - 1) < section.id(row));
+                for (int row = 0; row < table.size(); row++) {
+                    Component component = table.get(row);
+                    assertEquals(component.toString(), section.findById(component.getId()).toString());
+                    assertEquals(component.toString(), listed.get(section.rowOf(component.getId())).toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void lookupsHandleMissingIdsAndEmptySections() throws IOException {
+        Map<ComponentType, ComponentTable> tables = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : ComponentType.values()) tables.put(type, new ComponentTable.Builder(type).build());
+        tables.put(ComponentType.GPU, new ComponentTable.Builder(ComponentType.GPU)
+                .add(40, "RTX 4070", 549.0).add(10, "RX 7800 XT", 499.0).build());
+        Path file = directory.resolve("small.snap");
+        CatalogSnapshot.write(new ComponentStore(tables), file);
+
+        try (CatalogSnapshot snapshot = CatalogSnapshot.open(file)) {
+            CatalogSnapshot.Section gpus = snapshot.section(ComponentType.GPU);
+            assertEquals(10, gpus.id(0));
+            assertEquals("RTX 4070", gpus.name(1));
+            assertEquals(-1, gpus.rowOf(20));
+            assertNull(gpus.findById(50));
+            assertThrows(IndexOutOfBoundsException.class, () -> gpus.price(2));
+            assertEquals(0, snapshot.section(ComponentType.CASE).size());
+            assertTrue(snapshot.toCatalog().getCases().isEmpty());
+            assertEquals(-1, snapshot.section(ComponentType.CASE).rowOf(1));
+        }
+    }
+
+    @Test
+    void rewriteReplacesTheSnapshotWithoutLeavingTemporaryFiles() throws IOException {
+        Path file = directory.resolve("catalog.snap");
+        CatalogSnapshot.write(store(20, 1), file);
+        ComponentStore second = store(50, 2);
+        CatalogSnapshot.write(second, file);
+
+        try (CatalogSnapshot snapshot = CatalogSnapshot.open(file)) {
+            for (ComponentType type : ComponentType.values()) {
+                assertSameContent(second.table(type), snapshot.toStore().table(type));
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    void corruptedSnapshotsAreRejected() throws IOException {
+        Path file = directory.resolve("catalog.snap");
+        CatalogSnapshot.write(store(10, 3), file);
+        byte[] original = Files.readAllBytes(file);
+
+        patch(file, data -> data.putInt(0, 0x12345678));
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+
+        Files.write(file, original);
+        patch(file, data -> data.putInt(4, 99));
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+
+        Files.write(file, original);
+        patch(file, data -> data.putInt(8, 3));
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+
+        int psu = DESCRIPTORS + ComponentType.PSU.ordinal() * DESCRIPTOR_SIZE;
+        Files.write(file, original);
+        patch(file, data -> data.putInt(psu, 1_000_000));
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+
+        Files.write(file, original);
+        patch(file, data -> data.putInt(psu + 8, -1));
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+
+        Files.write(file, Arrays.copyOf(original, original.length - 1));
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+
+        Files.write(file, Arrays.copyOf(original, DESCRIPTORS + 2 * DESCRIPTOR_SIZE));
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+
+        Files.write(file, new byte[0]);
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+    }
+
+    @Test
+    void corruptedAttributeIsReportedOnAccess() throws IOException {
+        Path file = directory.resolve("catalog.snap");
+        CatalogSnapshot.write(store(10, 4), file);
+        int cpu = DESCRIPTORS + ComponentType.CPU.ordinal() * DESCRIPTOR_SIZE;
+        // Сокет першого процесора вказує на назву (рядок 0), а не на значення характеристики.
+        patch(file, data -> data.putInt((int) data.getLong(cpu + 32), 0));
+
+        try (CatalogSnapshot snapshot = CatalogSnapshot.open(file)) {
+            CatalogSnapshot.Section cpus = snapshot.section(ComponentType.CPU);
+            assertThrows(IllegalStateException.class, () -> cpus.socket(0));
+            assertEquals(cpus.name(1), snapshot.toCatalog().getCPUs().get(1).getName());
+        }
+    }
+}
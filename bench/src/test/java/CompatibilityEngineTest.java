@@ -0,0 +1,174 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompatibilityEngineTest {
+    private static final List<CPU> CPUS = List.of(
+            new CPU(1, "Ryzen 5 7600", 199, "AM5", 65),
+            new CPU(2, "Core i5 14600K", 289, "LGA1700", 125),
+            new CPU(3, "Невідомий", 99));
+    private static final List<Motherboard> BOARDS = List.of(
+            new Motherboard(1, "B650", 149, "am5 ", "DDR5"),
+            new Motherboard(2, "Z790", 229, "LGA1700", "DDR5"),
+            new Motherboard(3, "B760 DDR4", 129, "LGA1700", "DDR4"),
+            new Motherboard(4, "Невідома", 99));
+    private static final List<RAM> RAMS = List.of(
+            new RAM(1, "DDR5 32GB", 110, "DDR5"),
+            new RAM(2, "DDR4 16GB", 50, "ddr4"),
+            new RAM(3, "Невідома", 40));
+    private static final List<PSU> PSUS = List.of(
+            new PSU(1, "550W", 60, 550),
+            new PSU(2, "750W", 90, 750),
+            new PSU(3, "450W", 45, 450),
+            new PSU(4, "Невідомий", 50),
+            new PSU(5, "750W Gold", 110, 750));
+
+    private static BitSet bits(int... positions) {
+        BitSet set = new BitSet();
+        for (int position : positions) set.set(position);
+        return set;
+    }
+
+    private static Computer computer(CPU cpu, Motherboard board, RAM ram, GPU gpu, PSU psu) {
+        return new Computer(cpu, board, ram, new Storage(1, "SSD", 99.99), gpu, psu, new Case(1, "Tower", 69.99));
+    }
+
+    @Test
+    void pairRulesIgnoreCaseAndTreatUnknownAsCompatible() {
+        assertTrue(CompatibilityEngine.isCompatible(CPUS.get(0), BOARDS.get(0)));
+        assertFalse(CompatibilityEngine.isCompatible(CPUS.get(0), BOARDS.get(1)));
+        assertTrue(CompatibilityEngine.isCompatible(CPUS.get(2), BOARDS.get(1)));
+        assertTrue(CompatibilityEngine.isCompatible(CPUS.get(1), BOARDS.get(3)));
+        assertTrue(CompatibilityEngine.isCompatible(RAMS.get(1), BOARDS.get(2)));
+        assertFalse(CompatibilityEngine.isCompatible(RAMS.get(0), BOARDS.get(2)));
+        assertTrue(CompatibilityEngine.isCompatible(RAMS.get(2), BOARDS.get(2)));
+    }
+
+    @Test
+    void requiredWattsIncludesBaseLoadAndHeadroom() {
+        CompatibilityEngine engine = new CompatibilityEngine(CPUS, BOARDS, RAMS, PSUS);
+        GPU gpu = new GPU(1, "RTX 4070", 549, 285);
+        assertEquals(540, engine.requiredWatts(CPUS.get(0), gpu));
+        assertEquals(120, engine.requiredWatts(CPUS.get(2), new GPU(2, "Невідома", 10)));
+        assertTrue(engine.hasHeadroom(PSUS.get(0), CPUS.get(0), gpu));
+        assertFalse(engine.hasHeadroom(PSUS.get(2), CPUS.get(0), gpu));
+        assertTrue(engine.hasHeadroom(PSUS.get(3), CPUS.get(0), new GPU(3, "RTX 4090", 1_599, 500)));
+
+        CompatibilityEngine exact = new CompatibilityEngine(CPUS, BOARDS, RAMS, PSUS, 0, 0);
+        assertEquals(350, exact.requiredWatts(CPUS.get(0), gpu));
+        assertThrows(IllegalArgumentException.class, () -> new CompatibilityEngine(CPUS, BOARDS, RAMS, PSUS, -1, 0.2));
+        assertThrows(IllegalArgumentException.class, () -> new CompatibilityEngine(CPUS, BOARDS, RAMS, PSUS, 100, -0.1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CompatibilityEngine(CPUS, BOARDS, RAMS, PSUS, 100, Double.NaN));
+        assertThrows(NullPointerException.class, () -> new CompatibilityEngine(null, BOARDS, RAMS, PSUS));
+    }
+
+    @Test
+    void checkReportsEveryProblem() {
+        CompatibilityEngine engine = new CompatibilityEngine(CPUS, BOARDS, RAMS, PSUS);
+        GPU gpu = new GPU(1, "RTX 4070", 549, 285);
+        assertTrue(engine.check(computer(CPUS.get(0), BOARDS.get(0), RAMS.get(0), gpu, PSUS.get(0))).isEmpty());
+
+        List<String> problems = engine.check(computer(CPUS.get(0), BOARDS.get(2), RAMS.get(0), gpu, PSUS.get(2)));
+        assertEquals(3, problems.size());
+        assertTrue(problems.get(0).contains("AM5"), problems.get(0));
+        assertTrue(problems.get(1).contains("DDR4"), problems.get(1));
+        assertEquals("PSU 450W is below the required 540W", problems.get(2));
+        assertThrows(NullPointerException.class, () -> engine.check(null));
+    }
+
+    @Test
+    void bitsetFiltersSelectCompatibleParts() {
+        CompatibilityEngine engine = new CompatibilityEngine(CPUS, BOARDS, RAMS, PSUS);
+        assertEquals(bits(0, 3), engine.motherboardsFor(CPUS.get(0)));
+        assertEquals(bits(1, 2, 3), engine.motherboardsFor(CPUS.get(1)));
+        assertEquals(bits(0, 1, 2, 3), engine.motherboardsFor(CPUS.get(2)));
+        assertEquals(bits(0, 2), engine.ramsFor(BOARDS.get(0)));
+        assertEquals(bits(1, 2), engine.ramsFor(BOARDS.get(2)));
+        assertEquals(bits(0, 1, 2), engine.ramsFor(BOARDS.get(3)));
+        assertEquals(List.of(BOARDS.get(0), BOARDS.get(3)),
+                CompatibilityEngine.select(engine.getMotherboards(), engine.motherboardsFor(CPUS.get(0))));
+
+        BitSet boards = bits(0, 1, 2, 3);
+        engine.restrictMotherboardsByCpu(boards, CPUS.get(1));
+        engine.restrictMotherboardsByRam(boards, RAMS.get(1));
+        assertEquals(bits(2, 3), boards);
+
+        BitSet cpus = bits(0, 1, 2);
+        engine.restrictCpus(cpus, BOARDS.get(0));
+        assertEquals(bits(0, 2), cpus);
+        BitSet rams = bits(0, 1);
+        engine.restrictRams(rams, BOARDS.get(1));
+        assertEquals(bits(0), rams);
+        BitSet unknownSocket = bits(0, 1, 2);
+        engine.restrictCpus(unknownSocket, new Motherboard(9, "X670", 299, "AM6", null));
+        assertEquals(bits(2), unknownSocket);
+    }
+
+    @Test
+    void psuFilterMatchesWattageLevels() {
+        CompatibilityEngine engine = new CompatibilityEngine(CPUS, BOARDS, RAMS, PSUS);
+        CPU cpu = CPUS.get(0);
+        assertEquals(bits(0, 1, 3, 4), engine.psusFor(cpu, new GPU(1, "RTX 4070", 549, 285)));
+        assertEquals(bits(0, 1, 2, 3, 4), engine.psusFor(cpu, new GPU(2, "RX 7600", 269, 160)));
+        assertEquals(bits(1, 3, 4), engine.psusFor(cpu, new GPU(3, "RTX 4080", 999, 320)));
+        assertEquals(bits(3), engine.psusFor(cpu, new GPU(4, "RTX 4090", 1_599, 500)));
+
+        BitSet candidates = bits(0, 2, 4);
+        engine.restrictPSUs(candidates, cpu, new GPU(1, "RTX 4070", 549, 285));
+        assertEquals(bits(0, 4), candidates);
+    }
+
+    @Test
+    void bitsetFiltersAgreeWithPairRules() {
+        Random random = new Random(15);
+        String[] sockets = {"AM5", "am4", "LGA1700", null};
+        String[] ramTypes = {"DDR5", "ddr4", null};
+        List<CPU> cpus = new ArrayList<>();
+        List<Motherboard> boards = new ArrayList<>();
+        List<RAM> rams = new ArrayList<>();
+        List<PSU> psus = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            cpus.add(new CPU(i, "CPU " + i, 100, sockets[random.nextInt(4)], random.nextInt(200)));
+            boards.add(new Motherboard(i, "MB " + i, 100, sockets[random.nextInt(4)], ramTypes[random.nextInt(3)]));
+            rams.add(new RAM(i, "RAM " + i, 50, ramTypes[random.nextInt(3)]));
+            psus.add(new PSU(i, "PSU " + i, 60, random.nextInt(8) * 150));
+        }
+        CompatibilityEngine engine = new CompatibilityEngine(cpus, boards, rams, psus);
+
+        for (int i = 0; i < 60; i++) {
+            GPU gpu = new GPU(i, "GPU " + i, 300, random.nextInt(500));
+            BitSet forCpu = engine.motherboardsFor(cpus.get(i));
+            BitSet forBoard = engine.ramsFor(boards.get(i));
+            BitSet power = engine.psusFor(cpus.get(i), gpu);
+            BitSet cpusForBoard = new BitSet();
+            cpusForBoard.set(0, 60);
+            engine.restrictCpus(cpusForBoard, boards.get(i));
+            for (int j = 0; j < 60; j++) {
+                assertEquals(CompatibilityEngine.isCompatible(cpus.get(i), boards.get(j)), forCpu.get(j));
+                assertEquals(CompatibilityEngine.isCompatible(cpus.get(j), boards.get(i)), cpusForBoard.get(j));
+                assertEquals(CompatibilityEngine.isCompatible(rams.get(j), boards.get(i)), forBoard.get(j));
+                assertEquals(engine.hasHeadroom(psus.get(j), cpus.get(i), gpu), power.get(j));
+            }
+        }
+    }
+
+    @Test
+    void catalogEngineUsesCatalogOrder() {
+        ComponentCatalog catalog = new ComponentCatalog(() -> CPUS, () -> BOARDS, () -> RAMS, List::of, List::of,
+                () -> PSUS, List::of);
+        CompatibilityEngine engine = CompatibilityEngine.from(catalog);
+        assertEquals(CPUS, engine.getCPUs());
+        assertEquals(PSUS, engine.getPSUs());
+        assertEquals(bits(0, 3), engine.motherboardsFor(CPUS.get(0)));
+        assertThrows(NullPointerException.class, () -> CompatibilityEngine.from(null));
+    }
+}
@@ -0,0 +1,183 @@
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComponentCatalogTest {
+    private static <T> Supplier<List<T>> fixed(List<T> items, AtomicInteger calls) {
+        return () -> {
+            calls.incrementAndGet();
+            return items;
+        };
+    }
+
+    private static ComponentCatalog catalog(Supplier<List<CPU>> cpus, Supplier<List<GPU>> gpus) {
+        return new ComponentCatalog(cpus, List::of, List::of, List::of, gpus, List::of, List::of);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ComponentCatalog catalog = catalog(() -> {
+            calls.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(new CPU(1, "Ryzen 5", 199.0));
+        }, List::of);
+
+        int readers = 8;
+        List<Thread> threads = new ArrayList<>();
+        List<List<CPU>> results = new ArrayList<>();
+        for (int i = 0; i < readers; i++) {
+            Thread thread = Thread.ofVirtual().start(() -> {
+                List<CPU> cpus = catalog.getCPUs();
+                synchronized (results) {
+                    results.add(cpus);
+                }
+            });
+            threads.add(thread);
+        }
+        while (catalog.getMissCount() + catalog.getHitCount() < readers) Thread.onSpinWait();
+        release.countDown();
+        for (Thread thread : threads) thread.join();
+
+        assertEquals(1, calls.get());
+        assertEquals(1, catalog.getMissCount());
+        assertEquals(readers - 1, catalog.getHitCount());
+        for (List<CPU> cpus : results) assertSame(results.get(0), cpus);
+        assertEquals(1, catalog.getCachedSize(ComponentType.CPU));
+    }
+
+    @Test
+    void invalidationAndTtlReload() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ComponentCatalog catalog = new ComponentCatalog(fixed(List.of(new CPU(1, "Ryzen 5", 199.0)), calls),
+                List::of, List::of, List::of, List::of, List::of, List::of, Duration.ofMillis(50), 100);
+        catalog.getCPUs();
+        catalog.getCPUs();
+        assertEquals(1, calls.get());
+
+        catalog.invalidate(ComponentType.CPU);
+        catalog.getCPUs();
+        assertEquals(2, calls.get());
+
+        TimeUnit.MILLISECONDS.sleep(60);
+        catalog.getCPUs();
+        assertEquals(3, calls.get());
+        assertEquals(1.0 / 4, catalog.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        ComponentCatalog catalog = catalog(() -> {
+            if (calls.incrementAndGet() == 1) throw new DAOException("Не вдалося", null);
+            return List.of(new CPU(1, "Ryzen 5", 199.0));
+        }, List::of);
+
+        assertThrows(DAOException.class, catalog::getCPUs);
+        assertEquals(0, catalog.getCachedSize(ComponentType.CPU));
+        assertEquals(1, catalog.getCPUs().size());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void overflowEvictsLeastRecentlyUsedCategory() {
+        AtomicInteger cpuCalls = new AtomicInteger();
+        AtomicInteger gpuCalls = new AtomicInteger();
+        ComponentCatalog catalog = new ComponentCatalog(
+                fixed(List.of(new CPU(1, "A", 1), new CPU(2, "B", 2)), cpuCalls),
+                List::of, List::of, List::of,
+                fixed(List.of(new GPU(1, "C", 3), new GPU(2, "D", 4)), gpuCalls),
+                List::of, List::of, ComponentCatalog.DEFAULT_TTL, 3);
+
+        catalog.getCPUs();
+        catalog.getGPUs();
+        assertEquals(1, catalog.getEvictionCount());
+        assertEquals(0, catalog.getCachedSize(ComponentType.CPU));
+        assertEquals(2, catalog.getCachedSize(ComponentType.GPU));
+
+        catalog.getCPUs();
+        assertEquals(2, cpuCalls.get());
+        assertEquals(1, gpuCalls.get());
+    }
+
+    @Test
+    void getAllFallsBackToEmptyListOnTimeoutAndCachesTheLateResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger gpuCalls = new AtomicInteger();
+        ComponentCatalog catalog = catalog(() -> List.of(new CPU(1, "Ryzen 5", 199.0)), () -> {
+            gpuCalls.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(new GPU(1, "RTX", 499.0));
+        });
+
+        Map<ComponentType, List<? extends Component>> all = catalog.getAll(Duration.ofMillis(100));
+        assertEquals(1, all.get(ComponentType.CPU).size());
+        assertTrue(all.get(ComponentType.GPU).isEmpty());
+        assertEquals(ComponentType.values().length, all.size());
+        assertEquals(1, catalog.getLoadFallbackCount());
+
+        release.countDown();
+        assertEquals(1, catalog.getGPUs().size());
+        assertEquals(1, gpuCalls.get());
+    }
+
+    @Test
+    void getAllFallsBackOnLoadFailure() {
+        ComponentCatalog catalog = catalog(() -> {
+            throw new DAOException("Не вдалося", null);
+        }, () -> List.of(new GPU(1, "RTX", 499.0)));
+
+        Map<ComponentType, List<? extends Component>> all = catalog.getAll(Duration.ofSeconds(5));
+        assertTrue(all.get(ComponentType.CPU).isEmpty());
+        assertEquals(1, all.get(ComponentType.GPU).size());
+        assertEquals(1, catalog.getLoadFallbackCount());
+        assertThrows(IllegalArgumentException.class, () -> catalog.getAll(Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void reloadReportsChangedComponents() {
+        AtomicInteger calls = new AtomicInteger();
+        ComponentCatalog catalog = catalog(() -> calls.incrementAndGet() == 1
+                ? List.of(new CPU(1, "A", 100), new CPU(2, "B", 200))
+                : List.of(new CPU(1, "A", 90), new CPU(3, "C", 300)), List::of);
+        List<String> events = new ArrayList<>();
+        catalog.getCPUs();
+        catalog.addChangeListener(new CatalogChangeListener() {
+            @Override
+            public void componentChanged(ComponentType type, Component previous, Component current) {
+                events.add((previous == null ? "-" : previous.getId() + "@" + previous.getPrice())
+                        + ">" + (current == null ? "-" : current.getId() + "@" + current.getPrice()));
+            }
+
+            @Override
+            public void changesCompleted() {
+                events.add("done");
+            }
+        });
+
+        catalog.invalidate(ComponentType.CPU);
+        catalog.getCPUs();
+        assertEquals(List.of("1@100.0>1@90.0", "->3@300.0", "2@200.0>-", "done"), events);
+    }
+}
@@ -0,0 +1,142 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Перевіряє DAO над вбудованою базою H2 у пам'яті. Пул створюється з одним з'єднанням,
+ * тож курсор, який не повернув з'єднання, призводить до тайм-ауту наступного читання.
+ */
+class ComponentDAOTest {
+    private ConnectionPool pool;
+
+    private void database() throws SQLException {
+        pool = new ConnectionPool("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", 1, 8, 1_000);
+        Database.createSchema(pool);
+        Database.setDataSource(pool);
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        Database.setDataSource(null);
+    }
+
+    /** Додає {@code count} рядків з парними ідентифікаторами 2, 4, 6, …, щоб сторінки йшли за ключем, а не за номером рядка. */
+    private static void insert(String table, int count) throws SQLException {
+        try (Connection connection = Database.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO " + table + " (id, name, price) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= count; i++) {
+                statement.setInt(1, i * 2);
+                statement.setString(2, table + " " + i);
+                statement.setDouble(3, i * 10.0);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static List<Integer> ids(List<? extends Component> components) {
+        List<Integer> ids = new ArrayList<>();
+        for (Component component : components) ids.add(component.getId());
+        return ids;
+    }
+
+    private static List<Integer> evenIds(int from, int to) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = from; id <= to; id += 2) ids.add(id);
+        return ids;
+    }
+
+    @Test
+    void getAllReadsRowsInIdOrderWithAttributes() throws SQLException {
+        database();
+        try (Connection connection = Database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO cpu (id, name, price, socket, tdp_watts) VALUES (3, 'Ryzen 7', 329.99, 'AM5', 105)");
+            statement.execute("INSERT INTO cpu (id, name, price) VALUES (1, 'Core i5', 199.5)");
+        }
+
+        List<CPU> cpus = new CPUDAO().getAllCPUs();
+        assertEquals(List.of(1, 3), ids(cpus));
+        assertEquals("Core i5", cpus.get(0).getName());
+        assertEquals(199.5, cpus.get(0).getPrice(), 0.0);
+        assertNull(cpus.get(0).getSocket());
+        assertEquals(0, cpus.get(0).getTdpWatts());
+        assertEquals("AM5", cpus.get(1).getSocket());
+        assertEquals(105, cpus.get(1).getTdpWatts());
+        assertTrue(new PSUDAO().getAllPSUs().isEmpty());
+    }
+
+    @Test
+    void pagesFollowTheKeyNotTheRowNumber() throws SQLException {
+        database();
+        insert("storage", 25);
+        StorageDAO dao = new StorageDAO();
+
+        assertEquals(evenIds(2, 20), ids(dao.getPage(0, 10)));
+        assertEquals(evenIds(22, 40), ids(dao.getPage(20, 10)));
+        assertEquals(evenIds(42, 50), ids(dao.getPage(40, 10)));
+        assertEquals(evenIds(8, 12), ids(dao.getPage(7, 3)));
+        assertTrue(dao.getPage(50, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> dao.getPage(0, 0));
+    }
+
+    @Test
+    void streamPagesCoversTheTableAcrossPageBoundaries() throws SQLException {
+        database();
+        StorageDAO dao = new StorageDAO();
+        assertTrue(dao.streamPages(10).toList().isEmpty());
+
+        insert("storage", 20);
+        for (int pageSize : new int[]{1, 7, 10, 20, 50}) {
+            assertEquals(evenIds(2, 40), ids(dao.streamPages(pageSize).toList()));
+        }
+        assertEquals(evenIds(2, 10), ids(dao.streamPages(3).limit(5).toList()));
+        assertThrows(IllegalArgumentException.class, () -> dao.streamPages(0));
+    }
+
+    @Test
+    void cursorReturnsItsConnectionWhenClosedEarlyOrExhausted() throws SQLException {
+        database();
+        insert("gpu", 30);
+        GPUDAO dao = new GPUDAO();
+
+        try (Stream<GPU> gpus = dao.stream(4)) {
+            assertEquals(evenIds(2, 10), ids(gpus.limit(5).toList()));
+        }
+        // У пулі одне з'єднання: якби курсор його не повернув, це читання завершилося б тайм-аутом.
+        assertEquals(30, dao.getAll().size());
+
+        List<GPU> all = new ArrayList<>();
+        dao.stream(7).forEach(all::add);
+        assertEquals(evenIds(2, 60), ids(all));
+        assertEquals(30, dao.getPage(0, 100).size());
+        assertEquals(1, pool.getOpenedCount());
+        assertThrows(IllegalArgumentException.class, () -> dao.stream(0));
+    }
+
+    @Test
+    void readFailureIsReportedAndReleasesTheConnection() throws SQLException {
+        database();
+        try (Connection connection = Database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE pc_case");
+        }
+        CaseDAO dao = new CaseDAO();
+
+        assertThrows(DAOException.class, dao::getAll);
+        assertThrows(DAOException.class, () -> dao.getPage(0, 10));
+        assertTrue(new RAMDAO().getAll().isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComponentTableTest {
+    @Test
+    void builderRejectsInvalidRows() {
+        ComponentTable.Builder builder = new ComponentTable.Builder(ComponentType.STORAGE).add(7, "SSD", 99.99);
+        assertThrows(IllegalArgumentException.class, () -> builder.add(7, "HDD", 49.99));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(8, "HDD", -0.01));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(8, " ", 49.99));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(-2, "HDD", 49.99));
+        assertThrows(NullPointerException.class, () -> builder.add(8, null, 49.99));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(8, "HDD", 49.99, "AM5", null, 0));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(new CPU(8, "Ryzen", 199.0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ComponentTable.Builder(ComponentType.CPU).add(1, "Ryzen", 199.0, "", null, 65));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ComponentTable.Builder(ComponentType.CPU).add(1, "Ryzen", 199.0, "AM5", null, -1));
+        assertEquals(1, builder.build().size());
+    }
+
+    @Test
+    void missingIdsAreAssignedAfterTheLargest() {
+        List<Component> components = List.of(new Storage("A", 10), new Storage(41, "B", 20), new Storage("C", 30));
+        ComponentTable table = ComponentTable.of(ComponentType.STORAGE, components);
+        assertEquals(42, table.id(0));
+        assertEquals(41, table.id(1));
+        assertEquals(43, table.id(2));
+    }
+
+    @Test
+    void sparseIdsAreFoundByBinarySearch() {
+        int[] ids = {2_000_000_000, 5, 70_000, Integer.MAX_VALUE, 0, 123_456_789};
+        ComponentTable.Builder builder = new ComponentTable.Builder(ComponentType.GPU);
+        for (int i = 0; i < ids.length; i++) builder.add(ids[i], "GPU " + i, 100 + i);
+        ComponentTable table = builder.build();
+        for (int row = 0; row < ids.length; row++) {
+            assertEquals(row, table.rowOf(ids[row]));
+            assertEquals(ids[row], table.get(row).getId());
+        }
+        assertEquals(-1, table.rowOf(6));
+        assertEquals(-1, table.rowOf(-1));
+        assertEquals(-1, table.rowOf(1_999_999_999));
+    }
+
+    @Test
+    void priceRangesFollowPriceOrder() {
+        Random random = new Random(11);
+        ComponentTable.Builder builder = new ComponentTable.Builder(ComponentType.RAM);
+        double[] prices = new double[500];
+        for (int row = 0; row < prices.length; row++) {
+            prices[row] = random.nextInt(200) / 4.0;
+            builder.add(Component.NO_ID, "RAM " + row, prices[row]);
+        }
+        ComponentTable table = builder.build();
+        for (int rank = 1; rank < table.size(); rank++) {
+            int previous = table.rowAtPriceRank(rank - 1), row = table.rowAtPriceRank(rank);
+            assertTrue(prices[previous] < prices[row] || (prices[previous] == prices[row] && previous < row));
+            assertEquals(prices[row], table.priceAtRank(rank));
+        }
+        for (int i = 0; i < 200; i++) {
+            double min = random.nextInt(220) / 4.0 - 2, max = min + random.nextInt(40) / 4.0;
+            List<Integer> expected = new ArrayList<>();
+            for (int rank = 0; rank < table.size(); rank++) {
+                int row = table.rowAtPriceRank(rank);
+                if (prices[row] >= min && prices[row] <= max) expected.add(row);
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), table.rowsInPriceRange(min, max));
+        }
+        assertEquals(0, table.rowsInPriceRange(10, 5).length);
+        assertThrows(IllegalStateException.class, () -> new ComponentTable.Builder(ComponentType.RAM).build().minPrice());
+    }
+
+    @Test
+    void namesAndAttributesRoundTripThroughTheDictionary() {
+        List<Component> components = List.of(
+                new Motherboard(1, "B650", 149.99, "AM5", "DDR5"),
+                new Motherboard(2, "Z790", 249.99, "LGA1700", "DDR5"),
+                new Motherboard(3, "B650", 139.99, null, null),
+                new Motherboard(4, "ДДР5", 99.99, "AM5", "DDR4"));
+        ComponentTable table = ComponentTable.of(ComponentType.MOTHERBOARD, components);
+        assertTrue(table.hasAttributes());
+        assertEquals(table.nameCode(0), table.nameCode(2));
+        assertFalse(table.nameCode(0) == table.nameCode(1));
+        for (int row = 0; row < components.size(); row++) {
+            Motherboard expected = (Motherboard) components.get(row);
+            Motherboard actual = (Motherboard) table.get(row);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getPrice(), actual.getPrice());
+            assertEquals(expected.getSocket(), actual.getSocket());
+            assertEquals(expected.getRamType(), actual.getRamType());
+        }
+        assertNull(table.socket(2));
+        assertEquals(0, table.watts(0));
+        assertFalse(ComponentTable.of(ComponentType.CASE, List.of(new Case(1, "Tower", 69.99))).hasAttributes());
+    }
+
+    @Test
+    void storeRequiresEveryCategory() {
+        Map<ComponentType, ComponentTable> tables = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : ComponentType.values()) {
+            tables.put(type, new ComponentTable.Builder(type).add(1, type + " 1", 10).add(2, type + " 2", 20).build());
+        }
+        ComponentStore store = new ComponentStore(tables);
+        assertEquals(14, store.size());
+        assertEquals(ComponentType.PSU, store.table(ComponentType.PSU).getType());
+
+        tables.put(ComponentType.PSU, store.table(ComponentType.GPU));
+        assertThrows(IllegalArgumentException.class, () -> new ComponentStore(tables));
+        tables.remove(ComponentType.PSU);
+        assertThrows(IllegalArgumentException.class, () -> new ComponentStore(tables));
+        assertEquals(14, store.size());
+    }
+}
@@ -0,0 +1,228 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigurationRendererTest {
+    /** Ціни, на яких округлення до центів найлегше помилитися. */
+    private static final double[] TRICKY = {0, 0.005, 0.015, 0.125, 0.145, 0.5, 1.005, 2.675, 12.5, 99.995,
+            1_234.565, 0.1 + 0.2, 1e7, 1e7 + 0.005, 1e13 + 0.125, 1e15 + 0.5, 1e-9, 4.35, 1_000_000.1};
+
+    /** Текст конфігурації так, як його формував {@link Computer#formatConfiguration()} до появи рендерера. */
+    private static String reference(Computer computer) {
+        DecimalFormat df = new DecimalFormat("#.00");
+        String nl = System.lineSeparator();
+        StringBuilder s = new StringBuilder("=== Комп'ютерна конфігурація ===").append(nl);
+        String[] labels = {"CPU: ", "Motherboard: ", "RAM: ", "Storage: ", "GPU: ", "PSU: ", "Case: "};
+        for (ComponentType type : ComponentType.values()) {
+            Component component = computer.getComponent(type);
+            s.append(labels[type.ordinal()]).append(component.getName()).append(" - $").append(component.getPrice()).append(nl);
+        }
+        return s.append("Загальна вартість: $").append(df.format(computer.getTotalPrice())).append(nl).toString();
+    }
+
+    private static Computer computer(String name, double... prices) {
+        return new Computer(new CPU(1, name, prices[0]), new Motherboard(2, "B650 «Tomahawk»", prices[1]),
+                new RAM(3, "DDR5 32GB", prices[2]), new Storage(4, "SSD 2TB", prices[3]), new GPU(5, "RTX 4070", prices[4]),
+                new PSU(6, "RM750", prices[5]), new Case(7, "Tower", prices[6]));
+    }
+
+    /** Випадкова ціна: переважно цілі центи, інколи довільне значення чи значення з півцентом. */
+    private static double price(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> random.nextInt(1_000_000) / 100.0;
+            case 1 -> random.nextInt(2_000_000) / 1000.0;
+            case 2 -> random.nextDouble() * Math.pow(10, random.nextInt(12));
+            default -> TRICKY[random.nextInt(TRICKY.length)];
+        };
+    }
+
+    private static Computer randomComputer(Random random) {
+        double[] prices = new double[7];
+        for (int i = 0; i < prices.length; i++) prices[i] = price(random);
+        return computer("Ryzen " + random.nextInt(10), prices);
+    }
+
+    @Test
+    void textMatchesTheDecimalFormatOutput() throws IOException {
+        Random random = new Random(22);
+        ConfigurationRenderer renderer = new ConfigurationRenderer();
+        for (int i = 0; i < 20_000; i++) {
+            Computer computer = randomComputer(random);
+            String expected = reference(computer);
+            assertEquals(expected, ConfigurationRenderer.textOf(computer));
+            assertEquals(expected, computer.formatConfiguration());
+            assertEquals(expected, renderer.renderText(computer, new StringBuilder()).toString());
+        }
+        Computer zero = computer("Free", 0, 0, 0, 0, 0, 0, 0);
+        assertTrue(zero.formatConfiguration().contains("$" + DecimalFormatSymbols.getInstance().getDecimalSeparator() + "00"));
+        assertEquals(reference(zero), zero.formatConfiguration());
+    }
+
+    @Test
+    void roundCentsAgreesWithDecimalFormat() {
+        DecimalFormat df = new DecimalFormat("0.00", DecimalFormatSymbols.getInstance(Locale.ROOT));
+        Random random = new Random(7);
+        for (double value : TRICKY) {
+            assertEquals(new BigDecimal(df.format(value)).movePointRight(2).longValueExact(),
+                    ConfigurationRenderer.roundCents(value), Double.toString(value));
+        }
+        for (int i = 0; i < 200_000; i++) {
+            double value = i % 2 == 0 ? random.nextInt(100_000_000) / 1000.0 : price(random);
+            assertEquals(new BigDecimal(df.format(value)).movePointRight(2).longValueExact(),
+                    ConfigurationRenderer.roundCents(value), Double.toString(value));
+        }
+        assertEquals(12, ConfigurationRenderer.roundCents(0.125));
+        assertEquals(14, ConfigurationRenderer.roundCents(0.145));
+        assertEquals(267, ConfigurationRenderer.roundCents(2.675));
+    }
+
+    @Test
+    void pricesAreWrittenLikeDoubleToString() {
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            double value = i < TRICKY.length ? TRICKY[i] : price(random);
+            StringBuilder s = new StringBuilder();
+            ConfigurationRenderer.appendPrice(s, value);
+            assertEquals(Double.toString(value), s.toString());
+        }
+    }
+
+    @Test
+    void jsonTotalIsRoundedToCents() {
+        String[][] cases = {{"0.30000000000000004", "0.3"}, {"12.5", "12.5"}, {"12.0", "12.0"}, {"0.125", "0.12"},
+                {"2.675", "2.67"}, {"-0.001", "0.0"}, {"-1.5", "-1.5"}, {"1234567.891", "1234567.89"}};
+        for (String[] c : cases) {
+            StringBuilder s = new StringBuilder();
+            ConfigurationRenderer.appendJsonTotal(s, Double.parseDouble(c[0]));
+            assertEquals(c[1], s.toString());
+        }
+    }
+
+    @Test
+    void jsonEscapesNamesAndListsEveryComponent() throws IOException {
+        Computer computer = computer("Ryzen \"X\"\\ \n\t\u0001", 199.99, 149.99, 89.99, 99.99, 549, 69.99, 0.1);
+        String json = ConfigurationRenderer.jsonOf(computer);
+        assertTrue(json.startsWith("{\"cpu\":{\"id\":1,\"name\":\"Ryzen \\\"X\\\"\\\\ \\n\\t\\u0001\",\"price\":199.99},"
+                + "\"motherboard\":{\"id\":2,\"name\":\"B650 «Tomahawk»\",\"price\":149.99},"), json);
+        assertTrue(json.contains(",\"case\":{\"id\":7,\"name\":\"Tower\",\"price\":0.1},\"totalPrice\":"), json);
+        StringBuilder total = new StringBuilder();
+        ConfigurationRenderer.appendJsonTotal(total, computer.getTotalPrice());
+        assertTrue(json.endsWith("\"totalPrice\":" + total + "}"), json);
+        assertEquals("1159.05", total.toString());
+
+        assertEquals(json, new ConfigurationRenderer().renderJson(computer, new StringWriter()).toString());
+        assertEquals("\"\\r\\u001f\"", ConfigurationRenderer.appendJsonString(new StringBuilder(), "\r\u001f").toString());
+    }
+
+    @Test
+    void byteBufferOutputKeepsPositionWhenItDoesNotFit() {
+        Computer computer = computer("Ryzen 5 7600", 199.99, 149.99, 89.99, 99.99, 549, 69.99, 79.99);
+        ConfigurationRenderer renderer = new ConfigurationRenderer();
+        byte[] expected = computer.formatConfiguration().getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer small = ByteBuffer.allocate(expected.length - 1);
+        small.put((byte) 1);
+        assertFalse(renderer.renderText(computer, small));
+        assertEquals(1, small.position());
+
+        ByteBuffer exact = ByteBuffer.allocate(expected.length + 1);
+        exact.put((byte) 1);
+        assertTrue(renderer.renderText(computer, exact));
+        assertEquals(expected.length + 1, exact.position());
+        byte[] written = new byte[expected.length];
+        exact.flip().position(1);
+        exact.get(written);
+        assertArrayEquals(expected, written);
+
+        Charset cp1251 = Charset.forName("windows-1251");
+        ConfigurationRenderer cyrillic = new ConfigurationRenderer(cp1251);
+        ByteBuffer json = ByteBuffer.allocate(4096);
+        assertTrue(cyrillic.renderJson(computer, json));
+        assertEquals(ConfigurationRenderer.jsonOf(computer), new String(json.array(), 0, json.position(), cp1251));
+        assertEquals(cp1251, cyrillic.getCharset());
+    }
+
+    @Test
+    void streamsMatchTheConcatenatedRenderings() throws IOException {
+        Random random = new Random(5);
+        List<Computer> computers = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) computers.add(randomComputer(random));
+        computers.add(computer("Z".repeat(200_000), 1, 2, 3, 4, 5, 6, 7));
+        StringBuilder text = new StringBuilder();
+        StringBuilder json = new StringBuilder("[");
+        for (Computer computer : computers) {
+            text.append(reference(computer));
+            if (json.length() > 1) json.append(',');
+            json.append(ConfigurationRenderer.jsonOf(computer));
+        }
+        json.append(']');
+
+        ConfigurationRenderer renderer = new ConfigurationRenderer();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.writeText(computers, out);
+        assertEquals(text.toString(), out.toString(StandardCharsets.UTF_8));
+        out.reset();
+        renderer.writeJson(computers, out);
+        assertEquals(json.toString(), out.toString(StandardCharsets.UTF_8));
+        out.reset();
+        renderer.writeJson(List.of(), out);
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+        out.reset();
+        renderer.writeText(computers.get(0), out);
+        assertEquals(reference(computers.get(0)), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void pooledRenderersAreSafeAcrossThreads() throws InterruptedException, ExecutionException {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int t = 0; t < 64; t++) {
+            long seed = t;
+            tasks.add(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 500; i++) {
+                    Computer computer = randomComputer(random);
+                    if (!reference(computer).equals(ConfigurationRenderer.textOf(computer))) return false;
+                    if (ConfigurationRenderer.forThread() != ConfigurationRenderer.forThread()) return false;
+                }
+                return true;
+            });
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<Boolean> result : executor.invokeAll(tasks)) assertTrue(result.get());
+        }
+    }
+
+    @Test
+    void rejectsNullArguments() {
+        ConfigurationRenderer renderer = new ConfigurationRenderer();
+        assertThrows(NullPointerException.class, () -> new ConfigurationRenderer(null));
+        assertThrows(NullPointerException.class, () -> ConfigurationRenderer.textOf(null));
+        assertThrows(NullPointerException.class, () -> ConfigurationRenderer.jsonOf(null));
+        assertThrows(NullPointerException.class, () -> renderer.writeText((List<Computer>) null, new ByteArrayOutputStream()));
+        assertThrows(NullPointerException.class,
+                () -> renderer.renderText(computer("A", 1, 1, 1, 1, 1, 1, 1), (ByteBuffer) null));
+    }
+}
@@ -0,0 +1,176 @@
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Перевіряє пул над вбудованою базою H2 у пам'яті; база існує, доки пул тримає хоча б одне з'єднання.
+ */
+class ConnectionPoolTest {
+    private static ConnectionPool pool(int maxSize, int statementCacheSize, long timeoutMillis) throws SQLException {
+        ConnectionPool pool = new ConnectionPool("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "",
+                maxSize, statementCacheSize, timeoutMillis);
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(32))");
+            statement.execute("INSERT INTO item VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+        }
+        return pool;
+    }
+
+    private static int count(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) rows++;
+        }
+        return rows;
+    }
+
+    private static void query(ConnectionPool pool, String sql) throws SQLException {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            count(statement);
+        }
+    }
+
+    @Test
+    void connectionsAndStatementsAreReused() throws SQLException {
+        try (ConnectionPool pool = pool(2, 4, 1_000)) {
+            for (int i = 0; i < 5; i++) query(pool, "SELECT id FROM item");
+
+            assertEquals(1, pool.getOpenedCount());
+            assertEquals(6, pool.getBorrowCount());
+            assertEquals(1, pool.getIdleCount());
+            assertEquals(1, pool.getStatementMissCount());
+            assertEquals(4, pool.getStatementHitCount());
+        }
+    }
+
+    @Test
+    void statementCacheEvictsLeastRecentlyUsed() throws SQLException {
+        try (ConnectionPool pool = pool(1, 2, 1_000)) {
+            query(pool, "SELECT id FROM item");
+            query(pool, "SELECT name FROM item");
+            query(pool, "SELECT id FROM item");
+            query(pool, "SELECT id, name FROM item");
+            assertEquals(3, pool.getStatementMissCount());
+            assertEquals(1, pool.getStatementHitCount());
+
+            query(pool, "SELECT id FROM item");
+            assertEquals(2, pool.getStatementHitCount());
+            query(pool, "SELECT name FROM item");
+            assertEquals(4, pool.getStatementMissCount());
+        }
+    }
+
+    @Test
+    void sameQueryOpenTwiceGetsSeparateStatements() throws SQLException {
+        try (ConnectionPool pool = pool(1, 4, 1_000)) {
+            PreparedStatement second;
+            try (Connection connection = pool.getConnection()) {
+                PreparedStatement first = connection.prepareStatement("SELECT id FROM item WHERE id > ?");
+                second = connection.prepareStatement("SELECT id FROM item WHERE id > ?");
+                first.setInt(1, 0);
+                second.setInt(1, 2);
+                assertEquals(3, count(first));
+                assertEquals(1, count(second));
+                first.close();
+            }
+            assertTrue(second.isClosed());
+
+            query(pool, "SELECT id FROM item WHERE id > 0");
+            try (Connection connection = pool.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT id FROM item WHERE id > ?")) {
+                statement.setInt(1, 1);
+                assertEquals(2, count(statement));
+            }
+            assertEquals(3, pool.getStatementMissCount());
+            assertEquals(1, pool.getStatementHitCount());
+        }
+    }
+
+    @Test
+    void returnedConnectionIsResetForTheNextBorrower() throws SQLException {
+        try (ConnectionPool pool = pool(1, 4, 1_000)) {
+            try (Connection connection = pool.getConnection()) {
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("INSERT INTO item VALUES (4, 'd')");
+                }
+                PreparedStatement limited = connection.prepareStatement("SELECT id FROM item");
+                limited.setMaxRows(1);
+                assertEquals(1, count(limited));
+                limited.close();
+            }
+
+            try (Connection connection = pool.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT id FROM item")) {
+                assertTrue(connection.getAutoCommit());
+                assertEquals(0, statement.getMaxRows());
+                assertEquals(3, count(statement));
+            }
+            assertEquals(1, pool.getOpenedCount());
+            assertEquals(1, pool.getStatementHitCount());
+        }
+    }
+
+    @Test
+    void closedLeaseAndStatementRejectFurtherUse() throws SQLException {
+        try (ConnectionPool pool = pool(1, 4, 1_000)) {
+            Connection connection = pool.getConnection();
+            PreparedStatement statement = connection.prepareStatement("SELECT id FROM item");
+            statement.close();
+            assertTrue(statement.isClosed());
+            assertThrows(SQLException.class, statement::executeQuery);
+
+            connection.close();
+            connection.close();
+            assertTrue(connection.isClosed());
+            assertThrows(SQLException.class, connection::createStatement);
+            assertEquals(1, pool.getIdleCount());
+        }
+    }
+
+    @Test
+    void borrowerTimesOutWhenThePoolIsExhausted() throws SQLException {
+        try (ConnectionPool pool = pool(1, 4, 50)) {
+            try (Connection held = pool.getConnection()) {
+                assertFalse(held.isClosed());
+                assertThrows(SQLTimeoutException.class, pool::getConnection);
+            }
+            query(pool, "SELECT id FROM item");
+        }
+    }
+
+    @Test
+    void closedPoolRefusesConnections() throws SQLException {
+        ConnectionPool pool = pool(2, 4, 1_000);
+        Connection held = pool.getConnection();
+        query(pool, "SELECT id FROM item");
+        assertEquals(1, pool.getIdleCount());
+
+        pool.close();
+        assertEquals(0, pool.getIdleCount());
+        assertThrows(SQLException.class, pool::getConnection);
+        held.close();
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(NullPointerException.class, () -> new ConnectionPool(null, "sa", ""));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPool(" ", "sa", ""));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPool("jdbc:h2:mem:", "sa", "", 0, 4, 1_000));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPool("jdbc:h2:mem:", "sa", "", 1, -1, 1_000));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPool("jdbc:h2:mem:", "sa", "", 1, 4, -1));
+    }
+}
@@ -0,0 +1,102 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriceHistoryTest {
+    private static final long START = 1_700_000_000_000L;
+    private static final long HOUR = 3_600_000L;
+
+    @TempDir
+    Path directory;
+
+    /** Записує ряди для кількох SKU; між викликами ряди продовжуються з {@code from}. */
+    private static void fill(PriceHistory history, Random random, int from, int to) {
+        for (int step = from; step < to; step++) {
+            for (int id = 1; id <= 20; id++) {
+                history.record(ComponentType.GPU, id, START + step * HOUR, 300 + random.nextInt(20_000) / 100.0);
+            }
+        }
+    }
+
+    private static void assertSameHistory(PriceHistory expected, PriceHistory actual) {
+        assertEquals(expected.getSeriesCount(), actual.getSeriesCount());
+        assertEquals(expected.getPointCount(), actual.getPointCount());
+        for (int id = 1; id <= 20; id++) {
+            PricePoints a = expected.range(ComponentType.GPU, id, START, START + 1000 * HOUR);
+            PricePoints b = actual.range(ComponentType.GPU, id, START, START + 1000 * HOUR);
+            assertEquals(a.size(), b.size());
+            for (int i = 0; i < a.size(); i++) {
+                assertEquals(a.getTime(i), b.getTime(i));
+                assertEquals(a.getPrice(i), b.getPrice(i));
+            }
+            long probe = START + 37 * HOUR + 1;
+            assertEquals(expected.priceAt(ComponentType.GPU, id, probe), actual.priceAt(ComponentType.GPU, id, probe));
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.toString().endsWith(".seg")).count();
+        }
+    }
+
+    @Test
+    void flushedSegmentsAreReplayedOnOpen() throws IOException {
+        PriceHistory history = PriceHistory.open(directory);
+        Random random = new Random(3);
+        fill(history, random, 0, 100);
+        history.flush();
+        fill(history, random, 100, 250);
+        history.flush();
+        history.flush();
+        assertEquals(2, segmentCount());
+        assertSameHistory(history, PriceHistory.open(directory));
+    }
+
+    @Test
+    void compactionReplacesSegmentsWithOneBase() throws IOException {
+        PriceHistory history = PriceHistory.open(directory);
+        Random random = new Random(4);
+        for (int round = 0; round < 5; round++) {
+            fill(history, random, round * 40, (round + 1) * 40);
+            history.flush();
+        }
+        history.compact();
+        assertEquals(1, segmentCount());
+        PriceHistory reopened = PriceHistory.open(directory);
+        assertSameHistory(history, reopened);
+
+        fill(reopened, random, 200, 240);
+        reopened.flush();
+        assertSameHistory(reopened, PriceHistory.open(directory));
+    }
+
+    @Test
+    void unchangedPriceAddsNoPoint() {
+        PriceHistory history = new PriceHistory();
+        assertTrue(history.record(ComponentType.CPU, 1, START, 299.99));
+        assertFalse(history.record(ComponentType.CPU, 1, START + HOUR, 299.99));
+        assertTrue(history.record(ComponentType.CPU, 1, START + 2 * HOUR, 279.99));
+        assertEquals(2, history.getPointCount());
+        assertEquals(299.99, history.priceAt(ComponentType.CPU, 1, START + HOUR));
+        assertTrue(Double.isNaN(history.priceAt(ComponentType.CPU, 1, START - 1)));
+    }
+
+    @Test
+    void pointsMustNotGoBackInTime() {
+        PriceHistory history = new PriceHistory();
+        history.record(ComponentType.CPU, 1, START, 299.99);
+        assertThrows(IllegalArgumentException.class, () -> history.record(ComponentType.CPU, 1, START - 1, 199.99));
+        assertThrows(IllegalStateException.class, history::flush);
+    }
+}
@@ -0,0 +1,159 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuoteCacheTest {
+    /** Конфігурація з SKU: процесор {@code cpu}, відеокарта {@code gpu}, решта компонентів спільні. */
+    private static Computer build(int cpu, int gpu) {
+        return build(new CPU(cpu, "CPU " + cpu, 100 + cpu), gpu);
+    }
+
+    private static Computer build(CPU cpu, int gpu) {
+        return new Computer(cpu, new Motherboard(1, "MB", 149.99), new RAM(1, "RAM", 89.99),
+                new Storage(1, "SSD", 99.99), new GPU(gpu, "GPU " + gpu, 400 + gpu), new PSU(1, "PSU", 69.99),
+                new Case(1, "Case", 69.99));
+    }
+
+    @Test
+    void repeatedQuotesComeFromTheCache() {
+        QuoteCache cache = new QuoteCache();
+        BuildQuote quote = cache.quote(build(1, 1));
+        assertEquals(build(1, 1).getTotalPrice(), quote.getTotalPrice(), 1e-9);
+        assertSame(quote, cache.quote(build(1, 1)));
+        assertSame(quote, cache.getIfPresent(build(1, 1)));
+        assertNull(cache.getIfPresent(build(1, 2)));
+
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertThrows(NullPointerException.class, () -> cache.quote(null));
+        assertThrows(IllegalArgumentException.class, () -> new QuoteCache(0));
+    }
+
+    @Test
+    void quoteWithChangedPriceIsNeverReturned() {
+        QuoteCache cache = new QuoteCache();
+        BuildQuote old = cache.quote(build(1, 1));
+
+        Computer repriced = build(new CPU(1, "CPU 1", 150), 1);
+        assertNull(cache.getIfPresent(repriced));
+        BuildQuote fresh = cache.quote(repriced);
+        assertNotSame(old, fresh);
+        assertEquals(old.getTotalPrice() + 49, fresh.getTotalPrice(), 1e-9);
+        assertSame(fresh, cache.getIfPresent(repriced));
+        assertNull(cache.getIfPresent(build(1, 1)));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void invalidationRemovesEveryQuoteWithTheComponent() {
+        QuoteCache cache = new QuoteCache();
+        cache.quote(build(1, 1));
+        cache.quote(build(1, 2));
+        cache.quote(build(2, 1));
+
+        cache.invalidate(new CPU(1, "CPU 1", 101));
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getInvalidationCount());
+        assertNull(cache.getIfPresent(build(1, 2)));
+        assertNotNull(cache.getIfPresent(build(2, 1)));
+
+        cache.componentChanged(ComponentType.GPU, null, new GPU(1, "GPU 1", 401));
+        assertEquals(1, cache.size());
+        cache.componentChanged(ComponentType.GPU, new GPU(1, "GPU 1", 401), null);
+        assertEquals(0, cache.size());
+
+        cache.quote(build(3, 3));
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void componentsWithoutSkuAreKeyedByName() {
+        QuoteCache cache = new QuoteCache();
+        Computer named = new Computer(new CPU("Ryzen 5", 199), new Motherboard("B650", 149.99), new RAM("DDR5", 89.99),
+                new Storage("SSD", 99.99), new GPU("RTX", 549), new PSU("750W", 89.99), new Case("Tower", 69.99));
+        BuildQuote quote = cache.quote(named);
+        assertSame(quote, cache.quote(new Computer(named)));
+
+        cache.invalidate(new CPU("Ryzen 7", 299));
+        assertEquals(1, cache.size());
+        cache.invalidate(new CPU("Ryzen 5", 189));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void catalogPriceChangeInvalidatesQuotes() {
+        Map<ComponentType, List<Component>> lists = new EnumMap<>(ComponentType.class);
+        Computer computer = build(1, 1);
+        for (ComponentType type : ComponentType.values()) lists.put(type, List.of(computer.getComponent(type)));
+        VersionedCatalog catalog = new VersionedCatalog(CatalogVersion.of(lists));
+        QuoteCache cache = new QuoteCache();
+        catalog.addChangeListener(cache);
+
+        cache.quote(computer);
+        catalog.setPrice(ComponentType.RAM, 1, 79.99);
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getInvalidationCount());
+    }
+
+    @Test
+    void frequentQuotesSurviveAScanOfOneOffBuilds() {
+        QuoteCache cache = new QuoteCache(100);
+        for (int round = 0; round < 5; round++) {
+            for (int gpu = 1; gpu <= 50; gpu++) cache.quote(build(1, gpu));
+        }
+        for (int cpu = 2; cpu <= 1_000; cpu++) {
+            cache.quote(build(cpu, 1_000 + cpu));
+            assertTrue(cache.size() <= 100);
+        }
+
+        int retained = 0;
+        for (int gpu = 1; gpu <= 50; gpu++) {
+            if (cache.getIfPresent(build(1, gpu)) != null) retained++;
+        }
+        assertEquals(50, retained);
+        assertEquals(100, cache.size());
+        assertEquals(50 + 999 - 100, cache.getEvictionCount());
+    }
+
+    @Test
+    void concurrentQuotesStayConsistent() throws InterruptedException {
+        QuoteCache cache = new QuoteCache(64);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            long seed = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                Random random = new Random(seed);
+                try {
+                    for (int i = 0; i < 5_000; i++) {
+                        Computer computer = build(random.nextInt(20), random.nextInt(10));
+                        if (random.nextInt(100) == 0) cache.invalidate(computer.getGpu());
+                        double total = cache.quote(computer).getTotalPrice();
+                        if (Math.abs(total - computer.getTotalPrice()) > 1e-9) throw new AssertionError(total);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.join();
+
+        assertNull(failure.get());
+        assertTrue(cache.size() <= 64);
+    }
+}
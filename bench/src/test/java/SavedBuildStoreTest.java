@@ -0,0 +1,144 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SavedBuildStoreTest {
+    private static final int SEGMENT_ENTRIES = 64;
+
+    @TempDir
+    Path directory;
+
+    private static BuildRecord record(int seed) {
+        Computer computer = new Computer(new CPU(1 + seed, "CPU", 100 + seed), new Motherboard(2, "MB", 149.99),
+                new RAM(3, "RAM", 89.99), new Storage(4, "SSD", 99.99), new GPU(5, "GPU", 599.0),
+                new PSU(6, "PSU", 69.99), new Case(7, "Case", 69.99));
+        return BuildRecord.of(computer, true);
+    }
+
+    private SavedBuildStore open() throws IOException {
+        return SavedBuildStore.open(directory, SEGMENT_ENTRIES, Duration.ZERO);
+    }
+
+    private static void assertContents(Map<Long, BuildRecord> expected, SavedBuildStore store) {
+        assertEquals(expected.size(), store.size());
+        long[] ids = expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        assertArrayEquals(ids, store.ids());
+        for (Map.Entry<Long, BuildRecord> e : expected.entrySet()) assertEquals(e.getValue(), store.load(e.getKey()));
+    }
+
+    @Test
+    void reopenReplaysSavesAndDeletesAcrossSegments() throws IOException {
+        Map<Long, BuildRecord> expected = new HashMap<>();
+        Random random = new Random(1);
+        try (SavedBuildStore store = open()) {
+            for (int i = 0; i < 500; i++) {
+                if (expected.isEmpty() || random.nextInt(3) > 0) {
+                    BuildRecord record = record(i);
+                    expected.put(store.save(record), record);
+                } else {
+                    List<Long> ids = new ArrayList<>(expected.keySet());
+                    long id = ids.get(random.nextInt(ids.size()));
+                    assertTrue(store.delete(id));
+                    assertFalse(store.delete(id));
+                    expected.remove(id);
+                }
+            }
+            assertTrue(store.getSegmentCount() > 1);
+            assertContents(expected, store);
+        }
+        try (SavedBuildStore store = open()) {
+            assertContents(expected, store);
+            long max = Arrays.stream(store.ids()).max().orElse(0);
+            assertTrue(store.save(record(0)) > max);
+        }
+    }
+
+    @Test
+    void compactionKeepsLiveBuildsAndSurvivesReopen() throws IOException {
+        Map<Long, BuildRecord> expected = new HashMap<>();
+        try (SavedBuildStore store = open()) {
+            for (int i = 0; i < 300; i++) {
+                BuildRecord record = record(i);
+                long id = store.save(record);
+                if (i % 4 == 0) expected.put(id, record);
+                else assertTrue(store.delete(id));
+            }
+            assertTrue(store.getGarbageRatio() > 0.5);
+            store.compact();
+            assertContents(expected, store);
+        }
+        try (SavedBuildStore store = open()) {
+            assertContents(expected, store);
+        }
+    }
+
+    @Test
+    void recoveryDropsLeftoverTemporaryFiles() throws IOException {
+        long id;
+        try (SavedBuildStore store = open()) {
+            id = store.save(record(1));
+        }
+        Path leftover = directory.resolve("segment.log.tmp");
+        Files.write(leftover, new byte[100]);
+        try (SavedBuildStore store = open()) {
+            assertFalse(Files.exists(leftover));
+            assertEquals(record(1), store.load(id));
+            assertNull(store.load(id + 1000));
+        }
+    }
+
+    @Test
+    void foreignFileIsReportedAsCorruption() throws IOException {
+        Files.write(directory.resolve("0000000000000001.log"), new byte[256]);
+        assertThrows(IOException.class, this::open);
+    }
+
+    @Test
+    void indexBehavesLikeAMap() {
+        SavedBuildStore.Index index = new SavedBuildStore.Index();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(3000);
+            long value = random.nextInt(1 << 30);
+            long previous = expected.getOrDefault(key, SavedBuildStore.Index.ABSENT);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    assertEquals(previous, index.put(key, value));
+                    expected.put(key, value);
+                }
+                case 1 -> {
+                    assertEquals(previous, index.remove(key));
+                    expected.remove(key);
+                }
+                case 2 -> {
+                    boolean replaced = index.replace(key, previous, value);
+                    assertEquals(previous != SavedBuildStore.Index.ABSENT, replaced);
+                    if (replaced) expected.put(key, value);
+                }
+                default -> assertEquals(previous, index.get(key));
+            }
+            assertEquals(expected.size(), index.size());
+        }
+        long[] keys = index.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(), keys);
+    }
+}
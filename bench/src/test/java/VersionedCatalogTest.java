@@ -0,0 +1,236 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionedCatalogTest {
+    /** Каталог з двома процесорами, двома відеокартами та одним блоком живлення. */
+    private static VersionedCatalog catalog() {
+        Map<ComponentType, List<Component>> lists = new EnumMap<>(ComponentType.class);
+        lists.put(ComponentType.CPU, List.of(new CPU(1, "Ryzen 5 7600", 199, "AM5", 65),
+                new CPU(2, "Core i5 14600K", 289, "LGA1700", 125)));
+        lists.put(ComponentType.GPU, List.of(new GPU(1, "RTX 4070", 549, 200), new GPU(2, "RX 7800 XT", 499, 263)));
+        lists.put(ComponentType.PSU, List.of(new PSU(1, "Corsair RM750", 110, 750)));
+        return new VersionedCatalog(CatalogVersion.of(lists));
+    }
+
+    /** Слухач, що записує події у вигляді рядків. */
+    private static CatalogChangeListener recorder(List<String> events) {
+        return new CatalogChangeListener() {
+            @Override
+            public void componentChanged(ComponentType type, Component previous, Component current) {
+                events.add(type + ":" + (previous == null ? "-" : previous.getName() + "=" + previous.getPrice())
+                        + ">" + (current == null ? "-" : current.getName() + "=" + current.getPrice()));
+            }
+
+            @Override
+            public void changesCompleted() {
+                events.add("completed");
+            }
+        };
+    }
+
+    @Test
+    void readersKeepTheVersionTheyStartedWith() {
+        VersionedCatalog catalog = catalog();
+        CatalogVersion before = catalog.current();
+        assertEquals(1, before.getVersion());
+        assertEquals(5, before.size());
+
+        CatalogVersion after = catalog.setPrice(ComponentType.CPU, 1, 189);
+        assertEquals(2, after.getVersion());
+        assertSame(after, catalog.current());
+        assertEquals(199, before.findById(ComponentType.CPU, 1).getPrice(), 0.0);
+        assertEquals(189, catalog.findById(ComponentType.CPU, 1).getPrice(), 0.0);
+        assertEquals("AM5", ((CPU) catalog.findById(ComponentType.CPU, 1)).getSocket());
+        assertSame(before.get(ComponentType.GPU), after.get(ComponentType.GPU));
+        assertNull(catalog.findById(ComponentType.CPU, 3));
+        assertThrows(UnsupportedOperationException.class, () -> after.get(ComponentType.CPU).remove(0));
+    }
+
+    @Test
+    void batchPublishesOneVersionWithEveryChange() {
+        VersionedCatalog catalog = catalog();
+        List<String> events = new ArrayList<>();
+        catalog.addChangeListener(recorder(events));
+
+        CatalogVersion next = catalog.update(editor -> {
+            editor.setPrice(ComponentType.GPU, 1, 529).setPrice(ComponentType.GPU, 1, 519);
+            editor.put(new GPU(3, "RTX 4080", 999, 320));
+            assertTrue(editor.remove(ComponentType.CPU, 1));
+            assertFalse(editor.remove(ComponentType.CPU, 1));
+            editor.put(new PSU(2, "Тимчасовий", 1));
+            editor.remove(ComponentType.PSU, 2);
+            assertEquals(519, editor.find(ComponentType.GPU, 1).getPrice(), 0.0);
+            assertEquals(1, editor.getBase().getVersion());
+        });
+
+        assertEquals(2, next.getVersion());
+        assertEquals(1, catalog.getUpdateCount());
+        assertEquals(List.of(
+                "GPU:RTX 4070=549.0>RTX 4070=519.0",
+                "GPU:->RTX 4080=999.0",
+                "CPU:Ryzen 5 7600=199.0>-",
+                "completed"), events);
+        assertEquals(List.of("Core i5 14600K"), next.get(ComponentType.CPU).stream().map(Component::getName).toList());
+        assertEquals(2, next.findById(ComponentType.CPU, 2).getId());
+        assertEquals(3, next.get(ComponentType.GPU).size());
+        assertNull(next.findById(ComponentType.PSU, 2));
+    }
+
+    @Test
+    void emptyBatchKeepsTheCurrentVersion() {
+        VersionedCatalog catalog = catalog();
+        List<String> events = new ArrayList<>();
+        catalog.addChangeListener(recorder(events));
+        CatalogVersion current = catalog.current();
+
+        assertSame(current, catalog.update(editor -> { }));
+        assertSame(current, catalog.update(editor -> editor.remove(ComponentType.CASE, 1)));
+        assertSame(current, current.edit().build());
+        assertEquals(0, catalog.getUpdateCount());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void invalidChangesAreRejectedWithoutPublishing() {
+        VersionedCatalog catalog = catalog();
+        CatalogVersion current = catalog.current();
+
+        assertThrows(IllegalArgumentException.class, () -> catalog.setPrice(ComponentType.CPU, 42, 100));
+        assertThrows(IllegalArgumentException.class, () -> catalog.setPrice(ComponentType.CPU, 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> catalog.update(editor -> editor.put(new CPU("Без SKU", 1))));
+        assertThrows(IllegalArgumentException.class, () -> catalog.update(editor -> {
+            editor.setPrice(ComponentType.GPU, 1, 500);
+            editor.setPrice(ComponentType.GPU, 9, 500);
+        }));
+        assertThrows(NullPointerException.class, () -> catalog.update(null));
+        assertThrows(NullPointerException.class, () -> catalog.addChangeListener(null));
+        assertSame(current, catalog.current());
+        assertEquals(549, catalog.findById(ComponentType.GPU, 1).getPrice(), 0.0);
+    }
+
+    @Test
+    void failingListenerDoesNotSilenceTheOthers() {
+        VersionedCatalog catalog = catalog();
+        List<String> events = new ArrayList<>();
+        RuntimeException first = new IllegalStateException("перший");
+        RuntimeException second = new IllegalStateException("другий");
+        catalog.addChangeListener((type, previous, current) -> { throw first; });
+        catalog.addChangeListener(recorder(events));
+        catalog.addChangeListener((type, previous, current) -> { throw second; });
+
+        RuntimeException thrown = assertThrows(IllegalStateException.class,
+                () -> catalog.setPrice(ComponentType.PSU, 1, 99));
+        assertSame(first, thrown);
+        assertEquals(List.of(second), List.of(thrown.getSuppressed()));
+        assertEquals(List.of("PSU:Corsair RM750=110.0>Corsair RM750=99.0", "completed"), events);
+        assertEquals(2, catalog.current().getVersion());
+
+        CatalogChangeListener listener = recorder(events);
+        catalog.addChangeListener(listener);
+        assertTrue(catalog.removeChangeListener(listener));
+        assertFalse(catalog.removeChangeListener(listener));
+    }
+
+    @Test
+    void concurrentPublisherForcesARetry() {
+        VersionedCatalog catalog = catalog();
+        AtomicBoolean interfered = new AtomicBoolean();
+        List<Long> bases = new ArrayList<>();
+
+        CatalogVersion published = catalog.update(editor -> {
+            bases.add(editor.getBase().getVersion());
+            // Інший записувач публікує версію, поки цей пакет ще не опубліковано.
+            if (interfered.compareAndSet(false, true)) catalog.setPrice(ComponentType.GPU, 2, 479);
+            editor.setPrice(ComponentType.GPU, 1, editor.find(ComponentType.GPU, 1).getPrice() - 20);
+        });
+
+        assertEquals(List.of(1L, 2L), bases);
+        assertEquals(3, published.getVersion());
+        assertEquals(1, catalog.getRetryCount());
+        assertEquals(2, catalog.getUpdateCount());
+        assertEquals(529, published.findById(ComponentType.GPU, 1).getPrice(), 0.0);
+        assertEquals(479, published.findById(ComponentType.GPU, 2).getPrice(), 0.0);
+    }
+
+    @Test
+    void concurrentWritersLoseNoUpdates() throws InterruptedException {
+        VersionedCatalog catalog = catalog();
+        int threads = 8;
+        int increments = 2_000;
+        List<Long> versions = Collections.synchronizedList(new ArrayList<>());
+        catalog.addChangeListener(new CatalogChangeListener() {
+            @Override
+            public void componentChanged(ComponentType type, Component previous, Component current) {
+            }
+
+            @Override
+            public void changesCompleted() {
+                versions.add(catalog.current().getVersion());
+            }
+        });
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    for (int i = 0; i < increments; i++) {
+                        catalog.update(editor -> editor.setPrice(ComponentType.CPU, 2,
+                                editor.find(ComponentType.CPU, 2).getPrice() + 1));
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        for (Thread worker : workers) worker.join();
+
+        assertNull(failure.get());
+        assertEquals(289 + threads * increments, catalog.findById(ComponentType.CPU, 2).getPrice(), 0.0);
+        assertEquals(1 + threads * increments, catalog.current().getVersion());
+        assertEquals(threads * increments, catalog.getUpdateCount());
+        assertEquals(threads * increments, versions.size());
+    }
+
+    @Test
+    void compatibilityEngineIsSharedUntilItsCategoriesChange() {
+        VersionedCatalog catalog = catalog();
+        CompatibilityEngine engine = catalog.current().getCompatibilityEngine();
+        assertSame(engine, catalog.current().getCompatibilityEngine());
+
+        catalog.setPrice(ComponentType.GPU, 1, 529);
+        assertSame(engine, catalog.current().getCompatibilityEngine());
+
+        catalog.setPrice(ComponentType.CPU, 1, 189);
+        CompatibilityEngine rebuilt = catalog.current().getCompatibilityEngine();
+        assertNotSame(engine, rebuilt);
+        assertEquals(189, rebuilt.getCPUs().get(0).getPrice(), 0.0);
+    }
+
+    @Test
+    void fromReadsEveryCategoryOfTheCatalog() {
+        ComponentCatalog source = new ComponentCatalog(() -> List.of(new CPU(7, "Ryzen 7 7700", 299)), List::of, List::of,
+                List::of, () -> List.of(new GPU(8, "RTX 4060", 299)), List::of, () -> List.of(new Case(9, "Tower", 69)));
+        VersionedCatalog catalog = VersionedCatalog.from(source);
+
+        assertEquals(1, catalog.current().getVersion());
+        assertEquals(3, catalog.current().size());
+        assertEquals("Ryzen 7 7700", catalog.findById(ComponentType.CPU, 7).getName());
+        assertEquals("Tower", catalog.findById(ComponentType.CASE, 9).getName());
+        assertThrows(NullPointerException.class, () -> VersionedCatalog.from(null));
+    }
+}
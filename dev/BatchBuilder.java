@@ -0,0 +1,181 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Пакетне збирання комп'ютерів без консолі: приймає потік {@link BuildRequest}
+ * і повертає по одному {@link BuildResult} на кожен запит у тому ж порядку.
+ * Каталог опитується один раз на пакет (для {@link VersionedCatalog} — одна версія на пакет);
+ * таблиці пошуку за назвою та ідентифікатором перебудовуються лише тоді, коли каталог повернув новий список категорії.
+ * Екземпляр можна безпечно використовувати з кількох потоків.
+ */
+public class BatchBuilder {
+    private static final ComponentType[] TYPES = ComponentType.values();
+    private static final LatencyHistogram LATENCY = Metrics.global().timer("build.batch");
+    private static final RateMeter BUILDS = Metrics.global().meter("builds");
+
+    private final ComponentCatalog catalog;
+    private final VersionedCatalog versions;
+    private final AtomicReferenceArray<Lookup> lookups = new AtomicReferenceArray<>(TYPES.length);
+
+    /**
+     * @param catalog каталог, за яким розв'язуються запити
+     */
+    public BatchBuilder(ComponentCatalog catalog) {
+        if (catalog == null) throw new NullPointerException("Catalog cannot be null");
+        this.catalog = catalog;
+        this.versions = null;
+    }
+
+    /**
+     * Створює збирач, що розв'язує кожен пакет над однією версією каталогу:
+     * усі комп'ютери пакета отримують ціни з одного моменту навіть під час оновлень.
+     *
+     * @param versions версійований каталог
+     */
+    public BatchBuilder(VersionedCatalog versions) {
+        if (versions == null) throw new NullPointerException("Catalog cannot be null");
+        this.catalog = null;
+        this.versions = versions;
+    }
+
+    /**
+     * Збирає комп'ютери для всіх запитів пакета.
+     *
+     * @param requests запити
+     * @return результати у порядку запитів
+     */
+    public List<BuildResult> buildAll(Iterable<? extends BuildRequest> requests) {
+        List<BuildResult> results = new ArrayList<>();
+        buildAll(requests, results::add);
+        return results;
+    }
+
+    /**
+     * Збирає комп'ютери для всіх запитів потоку.
+     *
+     * @param requests потік запитів
+     * @return результати у порядку запитів
+     */
+    public List<BuildResult> buildAll(Stream<? extends BuildRequest> requests) {
+        if (requests == null) throw new NullPointerException("Requests cannot be null");
+        List<BuildResult> results = new ArrayList<>();
+        Lookup[] current = currentLookups();
+        requests.forEachOrdered(request -> results.add(build(current, request)));
+        return results;
+    }
+
+    /**
+     * Збирає комп'ютери для всіх запитів і передає кожен результат у {@code sink},
+     * не накопичуючи їх у пам'яті.
+     *
+     * @param requests запити
+     * @param sink     отримувач результатів
+     */
+    public void buildAll(Iterable<? extends BuildRequest> requests, Consumer<? super BuildResult> sink) {
+        if (requests == null) throw new NullPointerException("Requests cannot be null");
+        if (sink == null) throw new NullPointerException("Sink cannot be null");
+        Lookup[] current = currentLookups();
+        for (BuildRequest request : requests) sink.accept(build(current, request));
+    }
+
+    /**
+     * Збирає один комп'ютер.
+     *
+     * @param request запит
+     * @return результат збирання
+     */
+    public BuildResult build(BuildRequest request) {
+        return build(currentLookups(), request);
+    }
+
+    /**
+     * Збирає один комп'ютер над заданою версією каталогу, наприклад щоб перевірити результат
+     * рушієм сумісності тієї самої версії ({@link CatalogVersion#getCompatibilityEngine()}).
+     *
+     * @param version версія каталогу
+     * @param request запит
+     * @return результат збирання
+     */
+    public BuildResult build(CatalogVersion version, BuildRequest request) {
+        if (version == null) throw new NullPointerException("Version cannot be null");
+        return build(lookups(version), request);
+    }
+
+    private BuildResult build(Lookup[] current, BuildRequest request) {
+        if (request == null) return BuildResult.failure(null, "Request cannot be null");
+        long start = System.nanoTime();
+        Component[] parts = new Component[TYPES.length];
+        for (ComponentType type : TYPES) {
+            Lookup lookup = current[type.ordinal()];
+            String name = request.getName(type);
+            Component part = name != null ? lookup.byName(name) : lookup.byId(request.getId(type));
+            if (part == null) {
+                return BuildResult.failure(request, name != null
+                        ? "Unknown " + type.getDisplayName() + ": '" + name + "'"
+                        : "Unknown " + type.getDisplayName() + " id: " + request.getId(type));
+            }
+            parts[type.ordinal()] = part;
+        }
+        Computer computer = new Computer((CPU) parts[0], (Motherboard) parts[1], (RAM) parts[2],
+                (Storage) parts[3], (GPU) parts[4], (PSU) parts[5], (Case) parts[6]);
+        LATENCY.recordSince(start);
+        BUILDS.mark();
+        return BuildResult.success(request, computer);
+    }
+
+    /**
+     * Отримує поточні списки категорій з каталогу і повертає таблиці пошуку для них,
+     * перебудовуючи лише ті, чий список змінився з попереднього пакета.
+     */
+    private Lookup[] currentLookups() {
+        return lookups(versions != null ? versions.current() : null);
+    }
+
+    private Lookup[] lookups(CatalogVersion version) {
+        Lookup[] current = new Lookup[TYPES.length];
+        for (ComponentType type : TYPES) {
+            List<? extends Component> items = version != null ? version.get(type) : catalog.get(type);
+            Lookup lookup = lookups.get(type.ordinal());
+            if (lookup == null || lookup.source != items) {
+                lookup = new Lookup(items);
+                lookups.set(type.ordinal(), lookup);
+            }
+            current[type.ordinal()] = lookup;
+        }
+        return current;
+    }
+
+    /**
+     * Таблиці пошуку однієї категорії. Якщо кілька компонентів мають однакову назву чи ідентифікатор,
+     * знаходиться перший з них у порядку каталогу. Обидві таблиці — хеш-таблиці, тож їхній розмір
+     * залежить лише від кількості компонентів, а не від значень ідентифікаторів SKU.
+     */
+    private static final class Lookup {
+        final List<? extends Component> source;
+        private final Map<String, Component> byName;
+        private final Map<Integer, Component> byId;
+
+        Lookup(List<? extends Component> source) {
+            this.source = source;
+            this.byName = new HashMap<>(source.size() * 2);
+            this.byId = new HashMap<>(source.size() * 2);
+            for (Component component : source) {
+                byName.putIfAbsent(component.getName(), component);
+                if (component.getId() != Component.NO_ID) byId.putIfAbsent(component.getId(), component);
+            }
+        }
+
+        Component byName(String name) {
+            return byName.get(name);
+        }
+
+        Component byId(int id) {
+            return byId.get(id);
+        }
+    }
+}
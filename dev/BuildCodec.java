@@ -0,0 +1,223 @@
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Компактний двійковий формат збірки ({@link BuildRecord}) фіксованого розміру для зберігання
+ * та передавання мільйонів збірок без рядків і об'єктів компонентів.
+ *
+ * <p>Формат запису (little-endian):
+ * <pre>
+ *  0  byte   версія формату ({@value #VERSION})
+ *  1  byte   прапорці ({@link #FLAG_PRICES} — є знімок цін)
+ *  2  short  розмір запису в байтах разом із заголовком
+ *  4  int[7] ідентифікатори SKU у порядку {@link ComponentType}
+ * 32  int[7] ціни в центах (лише з {@link #FLAG_PRICES})
+ * 60  int    резерв, нуль
+ * </pre>
+ * Запис без цін займає {@value #IDS_RECORD_SIZE} байти, з цінами — {@value #PRICED_RECORD_SIZE}.
+ *
+ * <p>Еволюція схеми: сумісні розширення дописують нові поля в кінець запису й збільшують його розмір,
+ * не змінюючи версії, — читач пропускає невідомий хвіст за полем розміру. Версія змінюється лише
+ * за несумісної зміни розташування полів; записи невідомої версії відхиляються.
+ */
+public final class BuildCodec {
+    /** Поточна версія формату. */
+    public static final int VERSION = 1;
+    /** Прапорець: запис містить знімок цін. */
+    public static final int FLAG_PRICES = 1;
+    /** Розмір заголовка запису в байтах. */
+    public static final int HEADER_SIZE = 4;
+    /** Розмір запису без знімка цін. */
+    public static final int IDS_RECORD_SIZE = 32;
+    /** Розмір запису зі знімком цін. */
+    public static final int PRICED_RECORD_SIZE = 64;
+
+    private static final ComponentType[] TYPES = ComponentType.values();
+    private static final int TYPE_COUNT = TYPES.length;
+    private static final int IDS_OFFSET = HEADER_SIZE;
+    private static final int PRICES_OFFSET = IDS_OFFSET + 4 * TYPE_COUNT;
+
+    private BuildCodec() {
+    }
+
+    /**
+     * @param withPrices чи містить запис знімок цін
+     * @return розмір запису поточної версії
+     */
+    public static int recordSize(boolean withPrices) {
+        return withPrices ? PRICED_RECORD_SIZE : IDS_RECORD_SIZE;
+    }
+
+    /**
+     * Записує збірку в поточну позицію буфера.
+     *
+     * @param computer   збірка
+     * @param withPrices чи зберігати знімок цін
+     * @param out        буфер
+     * @throws BufferOverflowException  якщо запис не вміщується (позицію не змінено)
+     * @throws IllegalArgumentException якщо збірку не можна представити записом
+     * @see BuildRecord#of(Computer, boolean)
+     */
+    public static void encode(Computer computer, boolean withPrices, ByteBuffer out) {
+        encode(BuildRecord.of(computer, withPrices), out);
+    }
+
+    /**
+     * Записує запис у поточну позицію буфера; порядок байтів буфера не має значення.
+     *
+     * @param record запис
+     * @param out    буфер
+     * @throws BufferOverflowException якщо запис не вміщується (позицію не змінено)
+     */
+    public static void encode(BuildRecord record, ByteBuffer out) {
+        if (record == null) throw new NullPointerException("Record cannot be null");
+        int size = recordSize(record.hasPrices());
+        if (out.remaining() < size) throw new BufferOverflowException();
+        ByteOrder order = out.order();
+        out.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            write(record, out, out.position());
+        } finally {
+            out.order(order);
+        }
+        out.position(out.position() + size);
+    }
+
+    /**
+     * Записує записи, починаючи з {@code from}, доки вони вміщуються в буфер.
+     * Повернений індекс дозволяє продовжити після спорожнення буфера.
+     *
+     * @param records записи
+     * @param from    індекс першого запису
+     * @param out     буфер
+     * @return індекс першого незаписаного запису ({@code records.size()}, якщо записано всі)
+     */
+    public static int encodeAll(List<BuildRecord> records, int from, ByteBuffer out) {
+        if (records == null) throw new NullPointerException("Records cannot be null");
+        ByteOrder order = out.order();
+        out.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            int position = out.position();
+            int limit = out.limit();
+            int i = from;
+            for (int n = records.size(); i < n; i++) {
+                BuildRecord record = records.get(i);
+                int size = recordSize(record.hasPrices());
+                if (limit - position < size) break;
+                write(record, out, position);
+                position += size;
+            }
+            out.position(position);
+            return i;
+        } finally {
+            out.order(order);
+        }
+    }
+
+    private static void write(BuildRecord record, ByteBuffer out, int at) {
+        boolean prices = record.hasPrices();
+        out.put(at, (byte) VERSION);
+        out.put(at + 1, (byte) (prices ? FLAG_PRICES : 0));
+        out.putShort(at + 2, (short) recordSize(prices));
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            out.putInt(at + IDS_OFFSET + 4 * i, record.getId(TYPES[i]));
+        }
+        if (prices) {
+            for (int i = 0; i < TYPE_COUNT; i++) {
+                out.putInt(at + PRICES_OFFSET + 4 * i, record.cents(i));
+            }
+            out.putInt(at + PRICES_OFFSET + 4 * TYPE_COUNT, 0);
+        }
+    }
+
+    /**
+     * Повертає розмір запису в поточній позиції, не зсуваючи її.
+     *
+     * @param in буфер
+     * @return розмір запису або {@code -1}, якщо в буфері немає навіть заголовка
+     * @throws IllegalArgumentException якщо заголовок пошкоджений або версія невідома
+     */
+    public static int peekSize(ByteBuffer in) {
+        if (in.remaining() < HEADER_SIZE) return -1;
+        int at = in.position();
+        int version = in.get(at) & 0xFF;
+        if (version != VERSION) throw new IllegalArgumentException("Непідтримувана версія запису збірки: " + version);
+        int flags = in.get(at + 1) & 0xFF;
+        int size = (in.get(at + 2) & 0xFF) | (in.get(at + 3) & 0xFF) << 8;
+        if (size < recordSize((flags & FLAG_PRICES) != 0)) {
+            throw new IllegalArgumentException("Пошкоджений запис збірки: розмір " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Читає запис з поточної позиції буфера.
+     *
+     * @param in буфер
+     * @return запис
+     * @throws BufferUnderflowException якщо запис у буфері неповний (позицію не змінено)
+     * @throws IllegalArgumentException якщо запис пошкоджений або версія невідома
+     */
+    public static BuildRecord decode(ByteBuffer in) {
+        int size = peekSize(in);
+        if (size < 0 || in.remaining() < size) throw new BufferUnderflowException();
+        BuildRecord record = read(in, in.position());
+        in.position(in.position() + size);
+        return record;
+    }
+
+    /**
+     * Читає запис і відновлює збірку з каталогу.
+     *
+     * @param in            буфер
+     * @param resolver      джерело компонентів
+     * @param snapshotPrice чи застосовувати ціни зі знімка
+     * @return збірка
+     * @see BuildRecord#toComputer(ComponentResolver, boolean)
+     */
+    public static Computer decode(ByteBuffer in, ComponentResolver resolver, boolean snapshotPrice) {
+        return decode(in).toComputer(resolver, snapshotPrice);
+    }
+
+    /**
+     * Читає всі повні записи з буфера. Неповний запис у кінці не читається, і позиція
+     * залишається на його початку, тож буфер можна дозаповнити й продовжити.
+     *
+     * @param in  буфер
+     * @param out приймач записів
+     * @return кількість прочитаних записів
+     * @throws IllegalArgumentException якщо запис пошкоджений або версія невідома
+     */
+    public static int decodeAll(ByteBuffer in, List<? super BuildRecord> out) {
+        if (out == null) throw new NullPointerException("Output cannot be null");
+        int count = 0;
+        for (int size; (size = peekSize(in)) > 0 && in.remaining() >= size; count++) {
+            out.add(read(in, in.position()));
+            in.position(in.position() + size);
+        }
+        return count;
+    }
+
+    private static BuildRecord read(ByteBuffer in, int at) {
+        ByteOrder order = in.order();
+        in.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            int[] ids = new int[TYPE_COUNT];
+            for (int i = 0; i < TYPE_COUNT; i++) ids[i] = in.getInt(at + IDS_OFFSET + 4 * i);
+            int[] cents = null;
+            if ((in.get(at + 1) & FLAG_PRICES) != 0) {
+                cents = new int[TYPE_COUNT];
+                for (int i = 0; i < TYPE_COUNT; i++) {
+                    cents[i] = in.getInt(at + PRICES_OFFSET + 4 * i);
+                    if (cents[i] < 0) throw new IllegalArgumentException("Пошкоджений запис збірки: від'ємна ціна");
+                }
+            }
+            return new BuildRecord(ids, cents);
+        } finally {
+            in.order(order);
+        }
+    }
+}
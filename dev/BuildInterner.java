@@ -0,0 +1,84 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Потокобезпечний пул канонічних конфігурацій для дедуплікації згенерованих збірок.
+ * Однакові (за {@link Computer#equals(Object)}) комп'ютери замінюються одним спільним екземпляром,
+ * тож мільйони збірок з повторами займають пам'ять лише під унікальні конфігурації.
+ * Пошук використовує закешований {@link Computer#fingerprint()} і не створює об'єктів.
+ *
+ * <p>Комп'ютер, переданий у пул, стає канонічним екземпляром і більше не повинен змінюватися сетерами:
+ * зміна порушить його позицію в пулі. Щоб зберегти змінну копію, інтернуйте {@code new Computer(computer)}.
+ */
+public final class BuildInterner {
+    private final ConcurrentHashMap<Computer, Computer> builds;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    public BuildInterner() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize очікувана кількість унікальних конфігурацій
+     * @throws IllegalArgumentException якщо {@code expectedSize} від'ємний
+     */
+    public BuildInterner(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Очікуваний розмір не може бути від'ємним");
+        this.builds = new ConcurrentHashMap<>(expectedSize);
+    }
+
+    /**
+     * Повертає канонічний екземпляр конфігурації, додаючи {@code computer} до пулу, якщо такої ще немає.
+     *
+     * @param computer конфігурація
+     * @return раніше інтернований рівний комп'ютер або сам {@code computer}
+     * @throws NullPointerException якщо {@code computer} дорівнює {@code null}
+     */
+    public Computer intern(Computer computer) {
+        if (computer == null) throw new NullPointerException("Computer cannot be null");
+        requests.increment();
+        Computer existing = builds.putIfAbsent(computer, computer);
+        if (existing == null) return computer;
+        duplicates.increment();
+        return existing;
+    }
+
+    /**
+     * @param computer конфігурація
+     * @return {@code true}, якщо рівна конфігурація вже є в пулі
+     */
+    public boolean contains(Computer computer) {
+        return computer != null && builds.containsKey(computer);
+    }
+
+    /**
+     * @return кількість унікальних конфігурацій у пулі
+     */
+    public int size() {
+        return builds.size();
+    }
+
+    /**
+     * @return кількість викликів {@link #intern(Computer)}
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return кількість викликів, для яких знайшлася вже інтернована рівна конфігурація
+     */
+    public long getDuplicateCount() {
+        return duplicates.sum();
+    }
+
+    /**
+     * Очищає пул і лічильники.
+     */
+    public void clear() {
+        builds.clear();
+        requests.reset();
+        duplicates.reset();
+    }
+}
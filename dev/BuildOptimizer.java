@@ -0,0 +1,463 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Пошук найкращих конфігурацій {@link Computer} у межах бюджету.
+ * Найкращою вважається конфігурація з найбільшою загальною вартістю ({@link Computer#getTotalPrice()}),
+ * що не перевищує бюджет. Перебір іде по всіх семи категоріях у порядку {@link ComponentType}
+ * методом гілок і меж: кандидати кожної категорії переглядаються від найдорожчого за відсортованими
+ * цінами {@link ComponentTable}, гілки, що не вміщуються в бюджет навіть з найдешевшими рештою
+ * компонентами або не можуть перевершити вже знайдені K конфігурацій, відсікаються.
+ * Повний декартів добуток ніколи не будується.
+ * <p>
+ * Якщо таблиці мають характеристики сумісності, кандидати плат, пам'яті та блоків живлення обмежуються
+ * бітовими множинами {@link CompatibilityEngine} над рядками таблиць: плата має підходити до вибраного
+ * процесора, пам'ять — до плати, а блок живлення — витримувати процесор і відеокарту.
+ * <p>
+ * Якщо задано пул із рівнем паралелізму більше 1, простір пошуку ділиться між потоками {@link ForkJoinPool}
+ * за парами CPU × Motherboard — близько чотирьох завдань на потік, щоб кожне мало досить роботи
+ * і результатів для злиття було небагато. Потоки мають спільну межу відсікання в {@link AtomicLong}, яку кожен
+ * піднімає без блокувань, щойно його власні K результатів стають кращими. При однакових вартостях
+ * паралельний пошук може повернути інші конфігурації з тією самою вартістю, ніж послідовний.
+ */
+public class BuildOptimizer {
+    private static final ComponentType[] TYPES = ComponentType.values();
+    static final int CATEGORIES = TYPES.length;
+    /** Запас на похибку округлення при відсіканні за бюджетом; точна перевірка виконується в листі. */
+    private static final double SLACK = 1e-9;
+
+    private final ComponentStore store;
+    private final ComponentTable[] tables = new ComponentTable[CATEGORIES];
+    private final double[] minRest = new double[CATEGORIES + 1];
+    private final double[] maxRest = new double[CATEGORIES + 1];
+    private final boolean empty;
+    private final ForkJoinPool pool;
+    /** Рушій сумісності над рядками таблиць або {@code null}, якщо жодна таблиця не має характеристик. */
+    private final CompatibilityEngine compatibility;
+    private final List<GPU> gpus;
+
+    /**
+     * Створює послідовний оптимізатор.
+     *
+     * @param store стовпцеве сховище каталогу, з якого обираються компоненти
+     */
+    public BuildOptimizer(ComponentStore store) {
+        this(store, null);
+    }
+
+    /**
+     * Створює паралельний оптимізатор. Рівень паралелізму визначається пулом,
+     * наприклад {@code new ForkJoinPool(32)}; пул належить викликачу і може бути спільним
+     * для кількох оптимізаторів.
+     *
+     * @param store стовпцеве сховище каталогу, з якого обираються компоненти
+     * @param pool  пул потоків пошуку або {@code null} для послідовного пошуку в потоці виклику
+     */
+    public BuildOptimizer(ComponentStore store, ForkJoinPool pool) {
+        if (store == null) throw new NullPointerException("Store cannot be null");
+        this.store = store;
+        this.pool = pool;
+        boolean anyEmpty = false;
+        for (ComponentType type : ComponentType.values()) {
+            tables[type.ordinal()] = store.table(type);
+            if (tables[type.ordinal()].size() == 0) anyEmpty = true;
+        }
+        this.empty = anyEmpty;
+        boolean attributes = false;
+        for (ComponentTable table : tables) attributes |= table.hasAttributes();
+        if (attributes) {
+            this.compatibility = new CompatibilityEngine(rows(ComponentType.CPU), rows(ComponentType.MOTHERBOARD),
+                    rows(ComponentType.RAM), rows(ComponentType.PSU));
+            this.gpus = rows(ComponentType.GPU);
+        } else {
+            this.compatibility = null;
+            this.gpus = null;
+        }
+        if (!empty) {
+            for (int d = CATEGORIES - 1; d >= 0; d--) {
+                minRest[d] = minRest[d + 1] + tables[d].minPrice();
+                maxRest[d] = maxRest[d + 1] + tables[d].maxPrice();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> rows(ComponentType type) {
+        return (List<T>) tables[type.ordinal()].toList();
+    }
+
+    /**
+     * @return сховище, над яким працює оптимізатор
+     */
+    public ComponentStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return кількість робочих потоків пошуку
+     */
+    public int getParallelism() {
+        return pool == null ? 1 : pool.getParallelism();
+    }
+
+    /**
+     * Знаходить до {@code k} найдорожчих конфігурацій, загальна вартість яких не перевищує бюджет.
+     *
+     * @param budget максимальна загальна вартість
+     * @param k      кількість конфігурацій у результаті
+     * @return конфігурації у порядку спадання вартості; порожній список, якщо жодна не вміщується в бюджет
+     * @throws IllegalArgumentException якщо бюджет від'ємний або {@code k} менше 1
+     */
+    public List<Computer> findBest(double budget, int k) {
+        checkArguments(budget, k);
+        if (empty || minRest[0] > budget) return new ArrayList<>();
+        if (pool != null && pool.getParallelism() > 1) {
+            int cpus = tables[0].upperRank(budget - minRest[1] + SLACK);
+            int motherboards = tables[1].upperRank(budget - tables[0].minPrice() - minRest[2] + SLACK);
+            long pairs = (long) cpus * motherboards;
+            long grain = Math.max(1, pairs / (pool.getParallelism() * 4L));
+            TopK top = pool.invoke(new PairTask(budget, k, new SharedBound(), cpus, motherboards, 0, pairs, grain));
+            return materialize(top != null ? top : new TopK(k));
+        }
+        Search search = new Search(budget, new TopK(k));
+        search.run(0, 0.0);
+        return materialize(search.top);
+    }
+
+    private static void checkArguments(double budget, int k) {
+        if (!(budget >= 0)) throw new IllegalArgumentException("Бюджет не може бути від'ємним");
+        if (k < 1) throw new IllegalArgumentException("Кількість конфігурацій має бути додатною");
+    }
+
+    /**
+     * Перетворює знайдені позиції в об'єкти {@link Computer}, від найдорожчої конфігурації.
+     */
+    List<Computer> materialize(TopK top) {
+        int[][] ranks = top.sortedRanks();
+        List<Computer> result = new ArrayList<>(ranks.length);
+        for (int[] r : ranks) {
+            result.add(new Computer(
+                    (CPU) component(ComponentType.CPU, r),
+                    (Motherboard) component(ComponentType.MOTHERBOARD, r),
+                    (RAM) component(ComponentType.RAM, r),
+                    (Storage) component(ComponentType.STORAGE, r),
+                    (GPU) component(ComponentType.GPU, r),
+                    (PSU) component(ComponentType.PSU, r),
+                    (Case) component(ComponentType.CASE, r)));
+        }
+        return result;
+    }
+
+    private Component component(ComponentType type, int[] ranks) {
+        ComponentTable table = tables[type.ordinal()];
+        return table.get(table.rowAtPriceRank(ranks[type.ordinal()]));
+    }
+
+    private int row(ComponentType type, int[] ranks) {
+        return tables[type.ordinal()].rowAtPriceRank(ranks[type.ordinal()]);
+    }
+
+    /**
+     * Обчислює рядки категорії {@code depth}, сумісні з уже вибраними компонентами.
+     *
+     * @param scratch множини для повторного використання, по одній на категорію
+     * @return множина номерів рядків або {@code null}, якщо категорія не обмежується
+     */
+    BitSet compatible(int depth, int[] ranks, BitSet[] scratch) {
+        if (compatibility == null) return null;
+        ComponentType type = TYPES[depth];
+        if (type != ComponentType.MOTHERBOARD && type != ComponentType.RAM && type != ComponentType.PSU) return null;
+        BitSet set = scratch[depth];
+        if (set == null) scratch[depth] = set = new BitSet(tables[depth].size());
+        set.set(0, tables[depth].size());
+        CPU cpu = compatibility.getCPUs().get(row(ComponentType.CPU, ranks));
+        switch (type) {
+            case MOTHERBOARD:
+                compatibility.restrictMotherboardsByCpu(set, cpu);
+                break;
+            case RAM:
+                compatibility.restrictRams(set, compatibility.getMotherboards().get(row(ComponentType.MOTHERBOARD, ranks)));
+                break;
+            default:
+                compatibility.restrictPSUs(set, cpu, gpus.get(row(ComponentType.GPU, ranks)));
+                break;
+        }
+        return set;
+    }
+
+    /**
+     * Стан одного обходу в глибину: поточні позиції в кожній категорії та найкращі знайдені результати.
+     * Сума накопичується в тому ж порядку, що й у {@link Computer#getTotalPrice()},
+     * тож перевірка бюджету в листі дає той самий результат, що й для готового комп'ютера.
+     */
+    class Search {
+        final double budget;
+        final TopK top;
+        final int[] ranks = new int[CATEGORIES];
+        final BitSet[] scratch = new BitSet[CATEGORIES];
+
+        Search(double budget, TopK top) {
+            this.budget = budget;
+            this.top = top;
+        }
+
+        /**
+         * @return вартість, яку потрібно перевищити, щоб потрапити в результат
+         */
+        double threshold() {
+            return top.threshold();
+        }
+
+        /**
+         * Повідомляє про нову повну конфігурацію.
+         */
+        void accept(double total) {
+            top.offer(total, ranks);
+        }
+
+        void run(int depth, double partial) {
+            if (depth == CATEGORIES) {
+                if (partial <= budget && partial > threshold()) accept(partial);
+                return;
+            }
+            ComponentTable table = tables[depth];
+            double restMin = minRest[depth + 1];
+            double restMax = maxRest[depth + 1];
+            BitSet allowed = compatible(depth, ranks, scratch);
+            for (int rank = table.upperRank(budget - partial - restMin + SLACK) - 1; rank >= 0; rank--) {
+                double withThis = partial + table.priceAtRank(rank);
+                if (Math.min(budget, withThis + restMax) <= threshold()) break;
+                if (allowed != null && !allowed.get(table.rowAtPriceRank(rank))) continue;
+                ranks[depth] = rank;
+                run(depth + 1, withThis);
+            }
+        }
+    }
+
+    /**
+     * Глобальна межа відсікання, спільна для всіх потоків: найбільша серед K-х найкращих вартостей,
+     * знайдених окремими потоками. Будь-яка з них не більша за справжню K-ту найкращу вартість,
+     * тож відсікати гілки, що її не перевищують, безпечно.
+     */
+    static final class SharedBound {
+        private final AtomicLong bits = new AtomicLong(Double.doubleToLongBits(-1));
+
+        double get() {
+            return Double.longBitsToDouble(bits.get());
+        }
+
+        void raise(double value) {
+            long current = bits.get();
+            while (Double.longBitsToDouble(current) < value
+                    && !bits.compareAndSet(current, Double.doubleToLongBits(value))) {
+                current = bits.get();
+            }
+        }
+    }
+
+    /**
+     * Обхід, що враховує спільну межу та публікує в неї власну K-ту найкращу вартість.
+     */
+    class SharedSearch extends Search {
+        private final SharedBound bound;
+
+        SharedSearch(double budget, TopK top, SharedBound bound) {
+            super(budget, top);
+            this.bound = bound;
+        }
+
+        @Override
+        double threshold() {
+            return Math.max(top.threshold(), bound.get());
+        }
+
+        @Override
+        void accept(double total) {
+            super.accept(total);
+            double local = top.threshold();
+            if (local >= 0) bound.raise(local);
+        }
+    }
+
+    /**
+     * Завдання для діапазону пар CPU × Motherboard. Пари пронумеровано від найдорожчого процесора
+     * й найдорожчої плати: пара {@code p} — процесор на позиції {@code cpus - 1 - p / motherboards}
+     * і плата на позиції {@code motherboards - 1 - p % motherboards}. Діапазон номерів ділиться навпіл,
+     * доки не стане меншим за {@code grain}, тож один поріг діє на обидва виміри.
+     * Перед поділом діапазон відкидається цілком, якщо навіть його найдешевше доповнення перевищує бюджет
+     * або найдорожче не перевершує спільну межу; такі діапазони повертають {@code null} замість купи.
+     */
+    final class PairTask extends RecursiveTask<TopK> {
+        private static final long serialVersionUID = 1L;
+
+        private final double budget;
+        private final int k;
+        private final transient SharedBound bound;
+        private final int cpus, motherboards;
+        private final long from, to, grain;
+
+        PairTask(double budget, int k, SharedBound bound, int cpus, int motherboards, long from, long to, long grain) {
+            this.budget = budget;
+            this.k = k;
+            this.bound = bound;
+            this.cpus = cpus;
+            this.motherboards = motherboards;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (from >= to || pruned()) return null;
+            if (to - from <= grain) return searchLeaf();
+            long mid = (from + to) >>> 1;
+            // Дорожчі пари обходяться першими, щоб швидше підняти спільну межу.
+            PairTask left = new PairTask(budget, k, bound, cpus, motherboards, from, mid, grain);
+            PairTask right = new PairTask(budget, k, bound, cpus, motherboards, mid, to, grain);
+            right.fork();
+            TopK mine = left.compute();
+            return merge(mine, right.join());
+        }
+
+        /**
+         * @return {@code true}, якщо жодна пара діапазону не дасть конфігурації в бюджеті, кращої за спільну межу
+         */
+        private boolean pruned() {
+            long firstRow = from / motherboards, lastRow = (to - 1) / motherboards;
+            int maxCpu = cpus - 1 - (int) firstRow, minCpu = cpus - 1 - (int) lastRow;
+            int maxMb = firstRow == lastRow ? motherboards - 1 - (int) (from % motherboards) : motherboards - 1;
+            int minMb = firstRow == lastRow ? motherboards - 1 - (int) ((to - 1) % motherboards) : 0;
+            double cheapest = tables[0].priceAtRank(minCpu) + tables[1].priceAtRank(minMb) + minRest[2];
+            double dearest = tables[0].priceAtRank(maxCpu) + tables[1].priceAtRank(maxMb) + maxRest[2];
+            return cheapest > budget + SLACK || Math.min(budget, dearest) <= bound.get();
+        }
+
+        private TopK searchLeaf() {
+            SharedSearch search = new SharedSearch(budget, new TopK(k), bound);
+            for (long p = from; p < to; ) {
+                long row = p / motherboards;
+                long rowEnd = Math.min(to, (row + 1) * motherboards);
+                int cpu = cpus - 1 - (int) row;
+                double withCpu = tables[0].priceAtRank(cpu);
+                int mbHigh = Math.min(motherboards - 1 - (int) (p - row * motherboards),
+                        tables[1].upperRank(budget - withCpu - minRest[2] + SLACK) - 1);
+                int mbLow = motherboards - (int) (rowEnd - row * motherboards);
+                search.ranks[0] = cpu;
+                BitSet allowed = compatible(1, search.ranks, search.scratch);
+                for (int mb = mbHigh; mb >= mbLow; mb--) {
+                    double withBoard = withCpu + tables[1].priceAtRank(mb);
+                    if (Math.min(budget, withBoard + maxRest[2]) <= search.threshold()) break;
+                    if (allowed != null && !allowed.get(tables[1].rowAtPriceRank(mb))) continue;
+                    search.ranks[1] = mb;
+                    search.run(2, withBoard);
+                }
+                p = rowEnd;
+            }
+            return search.top.isEmpty() ? null : search.top;
+        }
+    }
+
+    /**
+     * Зливає дві купи в більшу з них; {@code null} означає відсічений діапазон без результатів.
+     */
+    static TopK merge(TopK a, TopK b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.size < b.size) {
+            TopK t = a;
+            a = b;
+            b = t;
+        }
+        a.addAll(b);
+        return a;
+    }
+
+    /**
+     * Мін-купа фіксованого розміру з K найкращих конфігурацій, збережених як позиції в таблицях.
+     */
+    static final class TopK {
+        private final int capacity;
+        private final double[] totals;
+        private final int[][] ranks;
+        private int size;
+
+        TopK(int capacity) {
+            this.capacity = capacity;
+            this.totals = new double[capacity];
+            this.ranks = new int[capacity][];
+        }
+
+        /**
+         * @return найменша вартість у повній купі або -1, поки купа не заповнена
+         */
+        double threshold() {
+            return size < capacity ? -1 : totals[0];
+        }
+
+        void offer(double total, int[] candidate) {
+            if (size < capacity) {
+                totals[size] = total;
+                ranks[size] = candidate.clone();
+                siftUp(size++);
+            } else if (total > totals[0]) {
+                totals[0] = total;
+                System.arraycopy(candidate, 0, ranks[0], 0, candidate.length);
+                siftDown(0);
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void addAll(TopK other) {
+            for (int i = 0; i < other.size; i++) offer(other.totals[i], other.ranks[i]);
+        }
+
+        /**
+         * @return позиції конфігурацій у порядку спадання вартості
+         */
+        int[][] sortedRanks() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            java.util.Arrays.sort(order, (a, b) -> Double.compare(totals[b], totals[a]));
+            int[][] result = new int[size][];
+            for (int i = 0; i < size; i++) result[i] = ranks[order[i]];
+            return result;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (totals[parent] <= totals[i]) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) return;
+                int smallest = left + 1 < size && totals[left + 1] < totals[left] ? left + 1 : left;
+                if (totals[i] <= totals[smallest]) return;
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            double t = totals[i];
+            totals[i] = totals[j];
+            totals[j] = t;
+            int[] r = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = r;
+        }
+    }
+}
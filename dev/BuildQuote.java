@@ -0,0 +1,43 @@
+/**
+ * Незмінна ціноутворена пропозиція для конфігурації: загальна вартість і готовий текст конфігурації.
+ * Зберігається в {@link QuoteCache}, тож популярні збірки не перераховуються й не форматуються повторно.
+ */
+public final class BuildQuote {
+    private final double totalPrice;
+    private final String configuration;
+
+    private BuildQuote(double totalPrice, String configuration) {
+        this.totalPrice = totalPrice;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Розраховує пропозицію для комп'ютера.
+     *
+     * @param computer конфігурація
+     * @return нова пропозиція
+     */
+    public static BuildQuote of(Computer computer) {
+        if (computer == null) throw new NullPointerException("Computer cannot be null");
+        return new BuildQuote(computer.getTotalPrice(), computer.formatConfiguration());
+    }
+
+    /**
+     * @return загальна вартість конфігурації
+     */
+    public double getTotalPrice() {
+        return totalPrice;
+    }
+
+    /**
+     * @return текст конфігурації у форматі {@link Computer#formatConfiguration()}
+     */
+    public String getConfiguration() {
+        return configuration;
+    }
+
+    @Override
+    public String toString() {
+        return "BuildQuote{totalPrice=" + totalPrice + '}';
+    }
+}
@@ -0,0 +1,135 @@
+import java.util.Arrays;
+
+/**
+ * Компактне незмінне представлення збірки: сім ідентифікаторів SKU у порядку {@link ComponentType}
+ * та, за бажанням, знімок цін у центах на момент збереження. На відміну від {@link Computer},
+ * запис не тримає об'єктів компонентів і рядків, тож мільйони збірок займають лише масиви чисел;
+ * компоненти відновлюються з каталогу через {@link ComponentResolver}.
+ * Двійковий формат запису описано в {@link BuildCodec}.
+ */
+public final class BuildRecord {
+    private static final ComponentType[] TYPES = ComponentType.values();
+
+    private final int[] ids;
+    /** Ціни в центах або {@code null}, якщо знімка цін немає. */
+    private final int[] cents;
+
+    BuildRecord(int[] ids, int[] cents) {
+        this.ids = ids;
+        this.cents = cents;
+    }
+
+    /**
+     * Створює запис зі збірки.
+     *
+     * @param computer   збірка, усі компоненти якої мають ідентифікатори SKU
+     * @param withPrices чи зберігати знімок поточних цін
+     * @return запис
+     * @throws IllegalArgumentException якщо компонент не має ідентифікатора або його ціна
+     *                                  не вміщується в 32-бітну кількість центів
+     */
+    public static BuildRecord of(Computer computer, boolean withPrices) {
+        if (computer == null) throw new NullPointerException("Computer cannot be null");
+        int[] ids = new int[TYPES.length];
+        int[] cents = withPrices ? new int[TYPES.length] : null;
+        for (ComponentType type : TYPES) {
+            Component component = computer.getComponent(type);
+            if (component.getId() == Component.NO_ID) {
+                throw new IllegalArgumentException(type.getDisplayName() + " не має ідентифікатора SKU");
+            }
+            ids[type.ordinal()] = component.getId();
+            if (cents != null) cents[type.ordinal()] = toCents(component.getPrice());
+        }
+        return new BuildRecord(ids, cents);
+    }
+
+    static int toCents(double price) {
+        long cents = Math.round(price * 100);
+        if (cents < 0 || cents > Integer.MAX_VALUE) throw new IllegalArgumentException("Ціна поза межами запису: " + price);
+        return (int) cents;
+    }
+
+    /**
+     * @param type категорія
+     * @return ідентифікатор SKU компонента цієї категорії
+     */
+    public int getId(ComponentType type) {
+        return ids[type.ordinal()];
+    }
+
+    /**
+     * @return {@code true}, якщо запис містить знімок цін
+     */
+    public boolean hasPrices() {
+        return cents != null;
+    }
+
+    /**
+     * @param type категорія
+     * @return ціна зі знімка
+     * @throws IllegalStateException якщо знімка цін немає
+     */
+    public double getPrice(ComponentType type) {
+        if (cents == null) throw new IllegalStateException("Запис не містить знімка цін");
+        return cents[type.ordinal()] / 100.0;
+    }
+
+    /**
+     * @return сума цін зі знімка
+     * @throws IllegalStateException якщо знімка цін немає
+     */
+    public double getTotalPrice() {
+        if (cents == null) throw new IllegalStateException("Запис не містить знімка цін");
+        long total = 0;
+        for (int c : cents) total += c;
+        return total / 100.0;
+    }
+
+    int cents(int ordinal) {
+        return cents[ordinal];
+    }
+
+    /**
+     * Відновлює збірку з компонентів каталогу.
+     *
+     * @param resolver      джерело компонентів
+     * @param snapshotPrice {@code true} — компоненти отримують ціни зі знімка (якщо він є),
+     *                      {@code false} — поточні ціни каталогу
+     * @return нова збірка
+     * @throws IllegalArgumentException якщо якогось компонента в каталозі вже немає
+     */
+    public Computer toComputer(ComponentResolver resolver, boolean snapshotPrice) {
+        if (resolver == null) throw new NullPointerException("Resolver cannot be null");
+        Component[] parts = new Component[TYPES.length];
+        for (ComponentType type : TYPES) {
+            Component part = resolver.findById(type, ids[type.ordinal()]);
+            if (part == null) {
+                throw new IllegalArgumentException("Unknown " + type.getDisplayName() + " id: " + ids[type.ordinal()]);
+            }
+            if (snapshotPrice && cents != null && Math.round(part.getPrice() * 100) != cents[type.ordinal()]) {
+                part = part.withPrice(cents[type.ordinal()] / 100.0);
+            }
+            parts[type.ordinal()] = part;
+        }
+        return new Computer((CPU) parts[0], (Motherboard) parts[1], (RAM) parts[2],
+                (Storage) parts[3], (GPU) parts[4], (PSU) parts[5], (Case) parts[6]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BuildRecord)) return false;
+        BuildRecord that = (BuildRecord) o;
+        return Arrays.equals(ids, that.ids) && Arrays.equals(cents, that.cents);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(ids) + Arrays.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return "BuildRecord{ids=" + Arrays.toString(ids) + (cents != null ? ", cents=" + Arrays.toString(cents) : "") + '}';
+    }
+}
@@ -0,0 +1,418 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Підтримує актуальні підсумкові ціни збережених збірок ({@link BuildRecord}, {@link SavedBuildStore})
+ * за змінами цін у каталозі. Кожен компонент, що входить хоча б в одну збірку, має щільний номер,
+ * поточну ціну в центах і зворотний індекс — список збірок, які його містять. Зміна ціни перераховує
+ * лише збірки зі списку цього компонента, а не всі збережені конфігурації.
+ *
+ * <p>Як {@link CatalogChangeListener} переоцінювач лише позначає змінені компоненти; перерахунок
+ * виконується пакетом у {@link #changesCompleted()} — один раз на опубліковану версію каталогу.
+ * Ціни читаються з {@link ComponentResolver} на момент перерахунку, тож порядок повідомлень від
+ * одночасних записувачів не має значення. Збірки, яких торкнулися кілька змін пакета, перераховуються
+ * один раз; понад {@value #DEFAULT_PARALLEL_THRESHOLD} збірок перерахунок виконується паралельно.
+ * Підсумок перераховується повністю з поточних цін семи компонентів, тож похибки не накопичуються.
+ *
+ * <p>Якщо компонент зник з каталогу, збірки зберігають його останню відому ціну. Компонент, що більше
+ * не входить у жодну збірку, прибирається з переоцінювача, а його номер використовується повторно.
+ */
+public final class BuildRepricer implements CatalogChangeListener {
+    /** Кількість збірок пакета, з якої перерахунок виконується паралельно. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+
+    private static final ComponentType[] TYPES = ComponentType.values();
+    private static final int PARTS = TYPES.length;
+    /** Кількість рядків в одній частині паралельного перерахунку. */
+    private static final int CHUNK = 1024;
+
+    private final ComponentResolver prices;
+    private final int parallelThreshold;
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Ключі ({@link #key(ComponentType, int)}) компонентів, змінених після останнього перерахунку. */
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    /** Ідентифікатор збірки → номер рядка. */
+    private final ConcurrentHashMap<Long, Integer> slots = new ConcurrentHashMap<>();
+    private final LongAdder repriced = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    /** Підсумки в центах за номером рядка; масив замінюється при зростанні. */
+    private volatile AtomicLongArray totals = new AtomicLongArray(16);
+
+    // Поля нижче змінюються лише під lock.
+    private final Map<Long, Integer> components = new HashMap<>();
+    /** Ціни в центах; {@code long}, бо ціна компонента не обмежена згори. */
+    private long[] cents = new long[16];
+    private long[] componentKeys = new long[16];
+    private int[][] postings = new int[16][];
+    private int[] postingCounts = new int[16];
+    private int componentCount;
+    private int[] freeComponents = new int[0];
+    private int freeComponentCount;
+    /** Номери компонентів рядка {@code slot} — у {@code parts[slot * 7 .. slot * 7 + 6]}. */
+    private int[] parts = new int[16 * PARTS];
+    private long[] buildIds = new long[16];
+    private int slotCount;
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+    /** Бітова множина рядків, зачеплених поточним пакетом; після пакета порожня. */
+    private long[] marks = new long[1];
+
+    /**
+     * @param prices джерело поточних цін, наприклад {@link VersionedCatalog}
+     */
+    public BuildRepricer(ComponentResolver prices) {
+        this(prices, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * @param prices            джерело поточних цін
+     * @param parallelThreshold кількість збірок пакета, з якої перерахунок виконується паралельно
+     * @throws IllegalArgumentException якщо поріг не додатний
+     */
+    public BuildRepricer(ComponentResolver prices, int parallelThreshold) {
+        if (prices == null) throw new NullPointerException("Resolver cannot be null");
+        if (parallelThreshold <= 0) throw new IllegalArgumentException("Поріг має бути додатним");
+        this.prices = prices;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Додає до переоцінювача всі збірки сховища.
+     *
+     * @param store сховище збережених збірок
+     * @return кількість доданих збірок
+     */
+    public int trackAll(SavedBuildStore store) {
+        if (store == null) throw new NullPointerException("Store cannot be null");
+        int count = 0;
+        for (long id : store.ids()) {
+            BuildRecord record = store.load(id);
+            if (record == null) continue;
+            track(id, record);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Додає збірку або замінює раніше додану з тим самим ідентифікатором. Ціни компонентів,
+     * яких ще немає в переоцінювачі, беруться з джерела цін, а якщо компонента там немає — зі знімка запису.
+     *
+     * @param buildId ідентифікатор збірки
+     * @param record  запис збірки
+     */
+    public void track(long buildId, BuildRecord record) {
+        if (record == null) throw new NullPointerException("Record cannot be null");
+        lock.lock();
+        try {
+            Integer existing = slots.get(buildId);
+            int slot = existing != null ? existing : allocateSlot();
+            if (existing != null) unlink(slot);
+            buildIds[slot] = buildId;
+            for (int t = 0; t < PARTS; t++) {
+                int component = component(TYPES[t], record, t);
+                parts[slot * PARTS + t] = component;
+                link(component, slot);
+            }
+            AtomicLongArray current = ensureTotals(slot);
+            current.set(slot, total(slot));
+            slots.put(buildId, slot);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Прибирає збірку з переоцінювача, наприклад після видалення зі сховища.
+     *
+     * @param buildId ідентифікатор збірки
+     * @return {@code true}, якщо збірку було додано раніше
+     */
+    public boolean untrack(long buildId) {
+        lock.lock();
+        try {
+            Integer slot = slots.remove(buildId);
+            if (slot == null) return false;
+            unlink(slot);
+            if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2 + 1);
+            freeSlots[freeCount++] = slot;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param buildId ідентифікатор збірки
+     * @return актуальна сума цін збірки або {@link Double#NaN}, якщо збірку не додано
+     */
+    public double getTotalPrice(long buildId) {
+        Integer slot = slots.get(buildId);
+        return slot == null ? Double.NaN : totals.get(slot) / 100.0;
+    }
+
+    /**
+     * @return кількість збірок у переоцінювачі
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * @param type категорія
+     * @param id   ідентифікатор SKU
+     * @return кількість збірок, що містять компонент
+     */
+    public int getBuildCount(ComponentType type, int id) {
+        lock.lock();
+        try {
+            Integer component = components.get(key(type, id));
+            return component == null ? 0 : postingCounts[component];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return кількість компонентів, що входять хоча б в одну збірку
+     */
+    public int getComponentCount() {
+        lock.lock();
+        try {
+            return components.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return загальна кількість перерахованих збірок
+     */
+    public long getRepricedCount() {
+        return repriced.sum();
+    }
+
+    /**
+     * @return кількість виконаних пакетів перерахунку
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    @Override
+    public void componentChanged(ComponentType type, Component previous, Component current) {
+        Component component = current != null ? current : previous;
+        if (component.getId() != Component.NO_ID) dirty.add(key(type, component.getId()));
+    }
+
+    /**
+     * Перераховує збірки, яких торкнулися позначені зміни. Блокування береться безумовно: якщо інший потік
+     * тримає його (перерахунок, {@link #track} чи {@link #getBuildCount}), виклик чекає, тож позначені
+     * зміни ніколи не лишаються неперерахованими до наступної публікації.
+     */
+    @Override
+    public void changesCompleted() {
+        if (dirty.isEmpty()) return;
+        lock.lock();
+        try {
+            reprice(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Перераховує збірки, яких торкнулися позначені зміни, і чекає завершення.
+     *
+     * @return ідентифікатори збірок, чий підсумок змінився, без певного порядку
+     */
+    public long[] repriceNow() {
+        lock.lock();
+        try {
+            return reprice(true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Один пакет: оновлює ціни позначених компонентів, збирає зі зворотного індексу множину зачеплених
+     * збірок і перераховує лише їх частинами по {@value #CHUNK} рядків. Викликається під lock.
+     *
+     * <p>Якщо джерело цін кидає виняток, його ключ лишається позначеним до наступного пакета, а збірки
+     * компонентів, чиї ціни вже оновлено, перераховуються до того, як виняток піде далі.
+     */
+    private long[] reprice(boolean collect) {
+        if (dirty.isEmpty()) return new long[0];
+        int count = 0;
+        long[] changed;
+        try {
+            for (Long key : dirty) {
+                Integer component = components.get(key);
+                Component part = component == null ? null : prices.findById(TYPES[(int) (key >>> 32)], key.intValue());
+                dirty.remove(key);
+                if (part == null) continue;
+                long price = cents(part.getPrice());
+                if (price == cents[component]) continue;
+                cents[component] = price;
+                int[] list = postings[component];
+                for (int i = 0, n = postingCounts[component]; i < n; i++) {
+                    int slot = list[i];
+                    long bit = 1L << slot;
+                    if ((marks[slot >>> 6] & bit) != 0) continue;
+                    marks[slot >>> 6] |= bit;
+                    count++;
+                }
+            }
+        } finally {
+            changed = recomputeMarked(count, collect);
+            batches.increment();
+        }
+        return changed;
+    }
+
+    /**
+     * Перераховує {@code count} рядків, позначених у {@link #marks}, і очищує позначки.
+     */
+    private long[] recomputeMarked(int count, boolean collect) {
+        if (count == 0) return new long[0];
+
+        // Рядки в порядку зростання: перерахунок читає parts послідовно.
+        int[] affected = new int[count];
+        for (int w = 0, k = 0; k < count; w++) {
+            long bits = marks[w];
+            if (bits == 0) continue;
+            marks[w] = 0;
+            for (; bits != 0; bits &= bits - 1) affected[k++] = w << 6 | Long.numberOfTrailingZeros(bits);
+        }
+
+        int size = count;
+        long[] changed = collect ? new long[count] : null;
+        int chunks = (count + CHUNK - 1) / CHUNK;
+        IntStream range = IntStream.range(0, chunks);
+        if (count >= parallelThreshold) range = range.parallel();
+        range.forEach(chunk -> recompute(affected, chunk * CHUNK, Math.min(size, (chunk + 1) * CHUNK), changed));
+        repriced.add(count);
+        if (!collect) return null;
+
+        int n = 0;
+        for (long id : changed) {
+            if (id != Long.MIN_VALUE) changed[n++] = id;
+        }
+        return Arrays.copyOf(changed, n);
+    }
+
+    /**
+     * Перераховує рядки {@code affected[from..to)}. Частини не перетинаються, тож кожен рядок пише один потік.
+     */
+    private void recompute(int[] affected, int from, int to, long[] changed) {
+        AtomicLongArray current = totals;
+        for (int i = from; i < to; i++) {
+            int slot = affected[i];
+            long sum = total(slot);
+            boolean differs = current.get(slot) != sum;
+            if (differs) current.set(slot, sum);
+            if (changed != null) changed[i] = differs ? buildIds[slot] : Long.MIN_VALUE;
+        }
+    }
+
+    private long total(int slot) {
+        long sum = 0;
+        for (int t = 0, base = slot * PARTS; t < PARTS; t++) sum += cents[parts[base + t]];
+        return sum;
+    }
+
+    private int component(ComponentType type, BuildRecord record, int ordinal) {
+        int id = record.getId(type);
+        long key = key(type, id);
+        Integer existing = components.get(key);
+        if (existing != null) return existing;
+        Component part = prices.findById(type, id);
+        long price = part != null ? cents(part.getPrice()) : record.hasPrices() ? record.cents(ordinal) : 0;
+        int component = freeComponentCount > 0 ? freeComponents[--freeComponentCount] : componentCount++;
+        if (component == cents.length) {
+            int capacity = component * 2;
+            cents = Arrays.copyOf(cents, capacity);
+            componentKeys = Arrays.copyOf(componentKeys, capacity);
+            postings = Arrays.copyOf(postings, capacity);
+            postingCounts = Arrays.copyOf(postingCounts, capacity);
+        }
+        cents[component] = price;
+        componentKeys[component] = key;
+        postings[component] = new int[4];
+        components.put(key, component);
+        return component;
+    }
+
+    private static long cents(double price) {
+        return Math.round(price * 100);
+    }
+
+    private void link(int component, int slot) {
+        int n = postingCounts[component];
+        if (n == postings[component].length) postings[component] = Arrays.copyOf(postings[component], n * 2);
+        postings[component][n] = slot;
+        postingCounts[component] = n + 1;
+    }
+
+    /**
+     * Видаляє рядок зі списків його компонентів (обмін з останнім елементом). Компонент без жодної
+     * збірки звільняється.
+     */
+    private void unlink(int slot) {
+        for (int t = 0, base = slot * PARTS; t < PARTS; t++) {
+            int component = parts[base + t];
+            int[] list = postings[component];
+            int n = postingCounts[component];
+            for (int i = 0; i < n; i++) {
+                if (list[i] == slot) {
+                    list[i] = list[--n];
+                    postingCounts[component] = n;
+                    break;
+                }
+            }
+            if (n == 0) release(component);
+        }
+    }
+
+    private void release(int component) {
+        components.remove(componentKeys[component]);
+        postings[component] = null;
+        if (freeComponentCount == freeComponents.length) {
+            freeComponents = Arrays.copyOf(freeComponents, freeComponentCount * 2 + 1);
+        }
+        freeComponents[freeComponentCount++] = component;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        int slot = slotCount++;
+        if (slot == buildIds.length) {
+            int capacity = slot * 2;
+            buildIds = Arrays.copyOf(buildIds, capacity);
+            parts = Arrays.copyOf(parts, capacity * PARTS);
+            marks = Arrays.copyOf(marks, (capacity + 63) >>> 6);
+        }
+        return slot;
+    }
+
+    private AtomicLongArray ensureTotals(int slot) {
+        AtomicLongArray current = totals;
+        if (slot < current.length()) return current;
+        AtomicLongArray grown = new AtomicLongArray(Math.max(slot + 1, current.length() * 2));
+        for (int i = 0; i < current.length(); i++) grown.set(i, current.get(i));
+        totals = grown;
+        return grown;
+    }
+
+    private static long key(ComponentType type, int id) {
+        return (long) type.ordinal() << 32 | (id & 0xFFFFFFFFL);
+    }
+}
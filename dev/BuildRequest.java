@@ -0,0 +1,109 @@
+import java.util.Arrays;
+
+/**
+ * Незмінний запит на збирання одного комп'ютера без участі користувача.
+ * Для кожної з семи категорій задається або ідентифікатор SKU, або назва компонента.
+ * Запити обробляються пакетами в {@link BatchBuilder}.
+ */
+public final class BuildRequest {
+    private static final int CATEGORIES = ComponentType.values().length;
+
+    private final int[] ids;
+    private final String[] names;
+
+    private BuildRequest(int[] ids, String[] names) {
+        this.ids = ids;
+        this.names = names;
+    }
+
+    /**
+     * Створює запит за ідентифікаторами SKU у порядку {@link ComponentType}.
+     *
+     * @return новий запит
+     * @throws IllegalArgumentException якщо будь-який ідентифікатор від'ємний
+     */
+    public static BuildRequest ofIds(int cpu, int motherboard, int ram, int storage, int gpu, int psu, int pcCase) {
+        int[] ids = {cpu, motherboard, ram, storage, gpu, psu, pcCase};
+        for (int id : ids) {
+            if (id < 0) throw new IllegalArgumentException("Ідентифікатор не може бути від'ємним");
+        }
+        return new BuildRequest(ids, new String[CATEGORIES]);
+    }
+
+    /**
+     * Створює запит за назвами компонентів у порядку {@link ComponentType}.
+     *
+     * @return новий запит
+     * @throws NullPointerException якщо будь-яка назва є null
+     */
+    public static BuildRequest ofNames(String cpu, String motherboard, String ram, String storage,
+                                       String gpu, String psu, String pcCase) {
+        String[] names = {cpu, motherboard, ram, storage, gpu, psu, pcCase};
+        for (String name : names) {
+            if (name == null) throw new NullPointerException("Ім'я не може бути null");
+        }
+        int[] ids = new int[CATEGORIES];
+        Arrays.fill(ids, Component.NO_ID);
+        return new BuildRequest(ids, names);
+    }
+
+    /**
+     * Повертає копію запиту, в якій компонент заданої категорії вибирається за ідентифікатором.
+     *
+     * @param type категорія
+     * @param id   ідентифікатор SKU
+     * @return новий запит
+     */
+    public BuildRequest withId(ComponentType type, int id) {
+        if (id < 0) throw new IllegalArgumentException("Ідентифікатор не може бути від'ємним");
+        int[] newIds = ids.clone();
+        String[] newNames = names.clone();
+        newIds[type.ordinal()] = id;
+        newNames[type.ordinal()] = null;
+        return new BuildRequest(newIds, newNames);
+    }
+
+    /**
+     * Повертає копію запиту, в якій компонент заданої категорії вибирається за назвою.
+     *
+     * @param type категорія
+     * @param name назва компонента
+     * @return новий запит
+     */
+    public BuildRequest withName(ComponentType type, String name) {
+        if (name == null) throw new NullPointerException("Ім'я не може бути null");
+        int[] newIds = ids.clone();
+        String[] newNames = names.clone();
+        newIds[type.ordinal()] = Component.NO_ID;
+        newNames[type.ordinal()] = name;
+        return new BuildRequest(newIds, newNames);
+    }
+
+    /**
+     * @param type категорія
+     * @return ідентифікатор SKU або {@link Component#NO_ID}, якщо компонент задано назвою
+     */
+    public int getId(ComponentType type) {
+        return ids[type.ordinal()];
+    }
+
+    /**
+     * @param type категорія
+     * @return назва компонента або {@code null}, якщо компонент задано ідентифікатором
+     */
+    public String getName(ComponentType type) {
+        return names[type.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("BuildRequest{");
+        for (ComponentType type : ComponentType.values()) {
+            if (type.ordinal() > 0) sb.append(", ");
+            sb.append(type.getDisplayName()).append('=');
+            if (names[type.ordinal()] != null) sb.append('\'').append(names[type.ordinal()]).append('\'');
+            else sb.append('#').append(ids[type.ordinal()]);
+        }
+        return sb.append('}').toString();
+    }
+}
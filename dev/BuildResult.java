@@ -0,0 +1,55 @@
+/**
+ * Результат обробки одного {@link BuildRequest}: зібраний комп'ютер або опис помилки.
+ */
+public final class BuildResult {
+    private final BuildRequest request;
+    private final Computer computer;
+    private final String error;
+
+    private BuildResult(BuildRequest request, Computer computer, String error) {
+        this.request = request;
+        this.computer = computer;
+        this.error = error;
+    }
+
+    static BuildResult success(BuildRequest request, Computer computer) {
+        return new BuildResult(request, computer, null);
+    }
+
+    static BuildResult failure(BuildRequest request, String error) {
+        return new BuildResult(request, null, error);
+    }
+
+    /**
+     * @return запит, для якого отримано результат
+     */
+    public BuildRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * @return {@code true}, якщо комп'ютер успішно зібрано
+     */
+    public boolean isSuccess() {
+        return computer != null;
+    }
+
+    /**
+     * @return зібраний комп'ютер або {@code null}, якщо збирання не вдалося
+     */
+    public Computer getComputer() {
+        return computer;
+    }
+
+    /**
+     * @return опис помилки або {@code null}, якщо збирання вдалося
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "BuildResult{computer=" + computer + '}' : "BuildResult{error='" + error + "'}";
+    }
+}
@@ -0,0 +1,303 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Вбудований HTTP/JSON-сервіс збирання комп'ютерів на основі {@link HttpServer} з JDK.
+ * Кожен запит обробляється у власному віртуальному потоці, тож тисячі одночасних блокувальних
+ * звернень до DAO не потребують великого пулу платформних потоків.
+ *
+ * <ul>
+ *     <li>{@code GET /catalog/{category}} — компоненти категорії ({@code cpu}, {@code motherboard}, {@code ram},
+ *     {@code storage}, {@code gpu}, {@code psu}, {@code case});</li>
+ *     <li>{@code POST /builds} або {@code GET /builds} — збирання комп'ютера за ідентифікаторами,
+ *     переданими параметрами {@code cpu}, {@code motherboard}, ... у рядку запиту чи тілі форми
+ *     (не довшому за {@value #MAX_BODY_SIZE} байтів);</li>
+ *     <li>{@code GET /quote} — ціна та текст конфігурації для тих самих параметрів;</li>
+ *     <li>{@code GET /metrics} — текстовий звіт {@link Metrics#global()}.</li>
+ * </ul>
+ *
+ * <p>Сервіс читає {@link VersionedCatalog}: кожен запит бере одну {@link CatalogVersion} і збирає комп'ютер,
+ * перевіряє сумісність та віддає список категорії лише з неї, тож відповідь узгоджена навіть тоді,
+ * коли паралельно публікуються нові ціни.
+ */
+public class BuildService {
+    /** Системна властивість з номером порту для {@link #main(String[])}. */
+    public static final String PORT_PROPERTY = "pcbuilder.http.port";
+    /** Порт за замовчуванням. */
+    public static final int DEFAULT_PORT = 8080;
+    /** Найбільший розмір тіла POST-запиту в байтах; довші тіла відхиляються зі статусом 413. */
+    public static final int MAX_BODY_SIZE = 4096;
+
+    private static final ComponentType[] TYPES = ComponentType.values();
+    private static final String QUOTE_METRICS = "quotes.";
+    private static final Logger LOG = Logger.getLogger(BuildService.class.getName());
+    private static final RateMeter INTERNAL_ERRORS = Metrics.global().meter("http.internal_errors");
+
+    private final VersionedCatalog catalog;
+    private final BatchBuilder builder;
+    private final QuoteCache quotes;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * @param catalog версійований каталог комплектуючих
+     * @param quotes  кеш пропозицій; реєструється слухачем змін каталогу
+     * @param address адреса для прослуховування (порт 0 — будь-який вільний)
+     * @throws IOException якщо не вдалося відкрити сокет
+     */
+    public BuildService(VersionedCatalog catalog, QuoteCache quotes, InetSocketAddress address) throws IOException {
+        if (catalog == null) throw new NullPointerException("Catalog cannot be null");
+        if (quotes == null) throw new NullPointerException("Quote cache cannot be null");
+        if (address == null) throw new NullPointerException("Address cannot be null");
+        this.catalog = catalog;
+        this.builder = new BatchBuilder(catalog);
+        this.quotes = quotes;
+        catalog.addChangeListener(quotes);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/catalog/", exchange -> handle(exchange, this::catalog));
+        server.createContext("/builds", exchange -> handle(exchange, this::build));
+        server.createContext("/quote", exchange -> handle(exchange, this::quote));
+        server.createContext("/metrics", this::metrics);
+        Metrics metrics = Metrics.global();
+        metrics.gauge(QUOTE_METRICS + "size", quotes::size);
+        metrics.gauge(QUOTE_METRICS + "hit_ratio", () -> {
+            long hits = quotes.getHitCount();
+            long total = hits + quotes.getMissCount();
+            return total == 0 ? 0.0 : (double) hits / total;
+        });
+    }
+
+    /**
+     * Запускає сервіс на порту {@value #PORT_PROPERTY} (за замовчуванням {@value #DEFAULT_PORT})
+     * з версійованим каталогом, завантаженим зі спільного каталогу {@link ComputerAssembler#getSharedCatalog()}.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+        BuildService service = new BuildService(VersionedCatalog.from(ComputerAssembler.getSharedCatalog()),
+                new QuoteCache(), new InetSocketAddress(port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> service.stop(1)));
+        Metrics.global().registerMBean();
+        service.start();
+        System.out.println("PCBuilder service listening on port " + service.getPort());
+    }
+
+    /**
+     * Починає приймати запити.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Зупиняє сервіс.
+     *
+     * @param delaySeconds скільки секунд чекати завершення поточних запитів
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        catalog.removeChangeListener(quotes);
+        Metrics.global().removeGauges(QUOTE_METRICS);
+    }
+
+    /**
+     * @return порт, на якому сервіс приймає запити
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private String catalog(HttpExchange exchange) {
+        requireMethod(exchange, "GET");
+        String path = exchange.getRequestURI().getPath();
+        String category = path.substring("/catalog/".length());
+        ComponentType type = parseType(category);
+        List<? extends Component> items = catalog.current().get(type);
+        StringBuilder json = new StringBuilder(items.size() * 48 + 2).append('[');
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) json.append(',');
+            appendComponent(json, items.get(i));
+        }
+        return json.append(']').toString();
+    }
+
+    private String build(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "GET", "POST");
+        BuildRequest request = request(exchange);
+        CatalogVersion version = catalog.current();
+        BuildResult result = builder.build(version, request);
+        if (!result.isSuccess()) throw new HttpError(404, result.getError());
+        Computer computer = result.getComputer();
+        StringBuilder json = new StringBuilder(512).append('{');
+        for (ComponentType type : TYPES) {
+            appendString(json, type.name().toLowerCase(Locale.ROOT)).append(':');
+            appendComponent(json, computer.getComponent(type)).append(',');
+        }
+        json.append("\"totalPrice\":");
+        ConfigurationRenderer.appendJsonTotal(json, computer.getTotalPrice());
+        json.append(",\"problems\":[");
+        List<String> problems = version.getCompatibilityEngine().check(computer);
+        for (int i = 0; i < problems.size(); i++) {
+            if (i > 0) json.append(',');
+            appendString(json, problems.get(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    private String quote(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "GET", "POST");
+        BuildResult result = builder.build(request(exchange));
+        if (!result.isSuccess()) throw new HttpError(404, result.getError());
+        BuildQuote quote = quotes.quote(result.getComputer());
+        StringBuilder json = new StringBuilder(quote.getConfiguration().length() + 64);
+        json.append("{\"totalPrice\":");
+        ConfigurationRenderer.appendJsonTotal(json, quote.getTotalPrice());
+        json.append(",\"configuration\":");
+        appendString(json, quote.getConfiguration());
+        return json.append('}').toString();
+    }
+
+    /**
+     * Збирає {@link BuildRequest} з параметрів рядка запиту та, для POST, тіла форми.
+     */
+    private static BuildRequest request(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+        if ("POST".equals(exchange.getRequestMethod())) {
+            try (InputStream body = exchange.getRequestBody()) {
+                byte[] form = body.readNBytes(MAX_BODY_SIZE + 1);
+                if (form.length > MAX_BODY_SIZE) throw new HttpError(413, "Request body exceeds " + MAX_BODY_SIZE + " bytes");
+                parseForm(new String(form, StandardCharsets.UTF_8), params);
+            }
+        }
+        int[] ids = new int[TYPES.length];
+        for (ComponentType type : TYPES) {
+            String key = type.name().toLowerCase(Locale.ROOT);
+            String value = params.get(key);
+            if (value == null) throw new HttpError(400, "Missing parameter: " + key);
+            try {
+                ids[type.ordinal()] = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                throw new HttpError(400, "Invalid id for " + key + ": '" + value + "'");
+            }
+            if (ids[type.ordinal()] < 0) throw new HttpError(400, "Invalid id for " + key + ": '" + value + "'");
+        }
+        return BuildRequest.ofIds(ids[0], ids[1], ids[2], ids[3], ids[4], ids[5], ids[6]);
+    }
+
+    private static void parseForm(String form, Map<String, String> params) {
+        if (form == null || form.isEmpty()) return;
+        for (String pair : form.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8).toLowerCase(Locale.ROOT),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static ComponentType parseType(String category) {
+        for (ComponentType type : TYPES) {
+            if (type.name().equalsIgnoreCase(category)) return type;
+        }
+        throw new HttpError(404, "Unknown category: '" + category + "'");
+    }
+
+    private static void requireMethod(HttpExchange exchange, String... methods) {
+        for (String method : methods) {
+            if (method.equals(exchange.getRequestMethod())) return;
+        }
+        exchange.getResponseHeaders().set("Allow", String.join(", ", methods));
+        throw new HttpError(405, "Method not allowed");
+    }
+
+    private static StringBuilder appendComponent(StringBuilder json, Component component) {
+        json.append("{\"id\":").append(component.getId()).append(",\"name\":");
+        appendString(json, component.getName());
+        json.append(",\"price\":");
+        ConfigurationRenderer.appendPrice(json, component.getPrice());
+        return json.append('}');
+    }
+
+    private static StringBuilder appendString(StringBuilder json, String value) {
+        return ConfigurationRenderer.appendJsonString(json, value);
+    }
+
+    private void metrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            boolean allowed = "GET".equals(exchange.getRequestMethod());
+            if (!allowed) exchange.getResponseHeaders().set("Allow", "GET");
+            byte[] bytes = (allowed ? Metrics.global().report() : "Method not allowed\n").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(allowed ? 200 : 405, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        try (exchange) {
+            int status = 200;
+            String body;
+            try {
+                body = handler.handle(exchange);
+            } catch (HttpError e) {
+                status = e.status;
+                body = error(e.getMessage());
+            } catch (DAOException e) {
+                status = 503;
+                body = error(e.getMessage());
+            } catch (RuntimeException e) {
+                INTERNAL_ERRORS.mark();
+                LOG.log(Level.SEVERE, exchange.getRequestMethod() + " " + exchange.getRequestURI() + " failed", e);
+                status = 500;
+                body = error("Internal error");
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static String error(String message) {
+        return appendString(new StringBuilder("{\"error\":"), message == null ? "" : message).append('}').toString();
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        String handle(HttpExchange exchange) throws IOException;
+    }
+
+    /**
+     * Помилка запиту з HTTP-статусом, що повертається клієнту як {@code {"error": ...}}.
+     */
+    private static final class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message, null, false, false);
+            this.status = status;
+        }
+    }
+}
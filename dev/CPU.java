@@ -1,12 +1,10 @@
-import java.util.Objects;
-
 /**
  * Клас, що представляє центральний процесор (CPU) комп'ютера.
  * Містить інформацію про назву процесора та його ціну.
  */
-public class CPU {
-    private final String name;
-    private final double price;
+public class CPU extends Component {
+    private final String socket;
+    private final int tdpWatts;
 
     /**
      * Конструктор, що створює новий об'єкт CPU з вказаною назвою та ціною.
@@ -17,73 +15,73 @@ public class CPU {
      * @throws NullPointerException якщо назва є null
      */
     public CPU(String name, double price) {
-        if (price < 0) throw new IllegalArgumentException("Ціна не може бути від'ємною");
-        if (name == null) throw new NullPointerException("Ім'я не може бути null");
-        if (name.isBlank()) throw new IllegalArgumentException("Ім'я не може бути пустим");
-        this.name = name;
-        this.price = price;
+        this(NO_ID, name, price);
     }
 
     /**
-     * Конструктор копіювання, що створює новий об'єкт CPU на основі існуючого.
+     * Створює процесор каталогу з ідентифікатором SKU, присвоєним сховищем {@link ComponentTable}.
      *
-     * @param other об'єкт CPU, з якого копіюються дані
+     * @param id ідентифікатор SKU або {@link Component#NO_ID}
+     * @param name назва процесора
+     * @param price ціна процесора
      */
-    public CPU(CPU other) {
-        if (other == null) throw new NullPointerException("Об'єкт для копіювання не може бути null");
-        this.name = other.name;
-        this.price = other.price;
+    public CPU(int id, String name, double price) {
+        this(id, name, price, null, 0);
     }
 
     /**
-     * Повертає ціну процесора.
+     * Створює процесор каталогу з характеристиками для перевірки сумісності в {@link CompatibilityEngine}.
      *
-     * @return ціна процесора
+     * @param id ідентифікатор SKU або {@link Component#NO_ID}
+     * @param name назва процесора
+     * @param price ціна процесора
+     * @param socket сокет процесора (наприклад, "AM5") або {@code null}, якщо невідомий
+     * @param tdpWatts теплова потужність (TDP) у ватах або 0, якщо невідома
+     * @throws IllegalArgumentException якщо ціна чи потужність від'ємні або назва чи характеристика пусті
      */
-    public double getPrice() {
-        return price;
+    public CPU(int id, String name, double price, String socket, int tdpWatts) {
+        super(id, name, price);
+        if (tdpWatts < 0) throw new IllegalArgumentException("Потужність не може бути від'ємною");
+        if (socket != null && socket.isBlank()) throw new IllegalArgumentException("Сокет не може бути пустим");
+        this.socket = socket;
+        this.tdpWatts = tdpWatts;
     }
 
     /**
-     * Повертає назву процесора.
+     * Конструктор копіювання, що створює новий об'єкт CPU на основі існуючого.
      *
-     * @return назва процесора
+     * @param other об'єкт CPU, з якого копіюються дані
      */
-    public String getName() {
-        return name;
+    public CPU(CPU other) {
+        super(other);
+        this.socket = other.socket;
+        this.tdpWatts = other.tdpWatts;
     }
 
     /**
-     * Повертає рядкове представлення об'єкта CPU.
+     * @return сокет або {@code null}, якщо невідомий
      */
-    @Override
-    public String toString() {
-        return "CPU{" +
-                "name='" + name + '\'' +
-                ", price=" + price +
-                '}';
+    public String getSocket() {
+        return socket;
     }
 
     /**
-     * Порівнює об'єкт CPU з іншим об'єктом на рівність.
-     *
-     * @param o об'єкт для порівняння
-     * @return true якщо об'єкти рівні, false в іншому випадку
+     * @return споживана потужність у ватах або 0, якщо невідома
      */
+    public int getTdpWatts() {
+        return tdpWatts;
+    }
+
     @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        CPU cpu = (CPU) o;
-        return Double.compare(price, cpu.price) == 0 && Objects.equals(name, cpu.name);
+    public CPU withPrice(double price) {
+        return new CPU(getId(), getName(), price, socket, tdpWatts);
     }
 
     /**
-     * Повертає хеш-код об'єкта.
-     *
-     * @return хеш-код об'єкта
+     * @return категорія {@link ComponentType#CPU}
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(name, price);
+    public ComponentType getType() {
+        return ComponentType.CPU;
     }
-}
\ No newline at end of file
+}
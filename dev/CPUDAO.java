@@ -0,0 +1,38 @@
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * DAO процесорів, що зберігаються в таблиці {@code cpu}.
+ */
+public class CPUDAO extends ComponentDAO<CPU> {
+
+    public CPUDAO() {
+        super(ComponentType.CPU, "cpu");
+    }
+
+    /**
+     * Окрім спільних стовпців читає характеристики процесора: сокет і TDP; {@code NULL} означає «невідомо».
+     */
+    @Override
+    protected String columns() {
+        return "id, name, price, socket, tdp_watts";
+    }
+
+    @Override
+    protected CPU read(ResultSet rs) throws SQLException {
+        return new CPU(rs.getInt(1), rs.getString(2), rs.getDouble(3), rs.getString(4), rs.getInt(5));
+    }
+
+    @Override
+    protected CPU map(int id, String name, double price) {
+        return new CPU(id, name, price);
+    }
+
+    /**
+     * @return усі процесори у порядку ідентифікаторів
+     */
+    public List<CPU> getAllCPUs() {
+        return getAll();
+    }
+}
@@ -1,14 +1,9 @@
-import java.util.Objects;
-
 /**
  * Клас, що представляє корпус комп'ютера.
  * Зберігає інформацію про модель корпусу та його вартість.
  * Надає методи для безпечного доступу до характеристик корпусу.
  */
-public class Case {
-    private final String name;
-    private final double price;
-
+public class Case extends Component {
     /**
      * Основний конструктор для створення об'єкта корпусу комп'ютера.
      *
@@ -18,74 +13,40 @@ public class Case {
      * @throws NullPointerException якщо назва є null
      */
     public Case(String name, double price) {
-        if (price < 0) throw new IllegalArgumentException("Ціна не може бути від'ємною");
-        if (name == null) throw new NullPointerException("Ім'я не може бути null");
-        if (name.isBlank()) throw new IllegalArgumentException("Ім'я не може бути пустим");
-        this.price = price;
-        this.name = name;
-    }
-
-    /**
-     * Конструктор копіювання для створення нового корпусу на основі існуючого.
-     *
-     * @param other об'єкт корпусу для копіювання (не може бути null)
-     * @throws NullPointerException якщо переданий об'єкт є null
-     */
-    public Case(Case other) {
-        if (other == null) throw new NullPointerException("Об'єкт для копіювання не може бути null");
-        this.name = other.name;
-        this.price = other.price;
+        this(NO_ID, name, price);
     }
 
     /**
-     * Отримує поточну вартість корпусу.
+     * Створює корпус каталогу з ідентифікатором SKU, присвоєним сховищем {@link ComponentTable}.
      *
-     * @return вартість корпусу типу double
+     * @param id ідентифікатор SKU або {@link Component#NO_ID}
+     * @param name назва корпусу
+     * @param price ціна корпусу
      */
-    public double getPrice() {
-        return price;
+    public Case(int id, String name, double price) {
+        super(id, name, price);
     }
 
     /**
-     * Отримує модель корпусу.
+     * Конструктор копіювання для створення нового корпусу на основі існуючого.
      *
-     * @return назва моделі корпусу типу String
-     */
-    public String getName() {
-        return name;
-    }
-
-    /**
-     * Повертає рядкове представлення об'єкта Case.
+     * @param other об'єкт корпусу для копіювання (не може бути null)
+     * @throws NullPointerException якщо переданий об'єкт є null
      */
-    @Override
-    public String toString() {
-        return "Case{" +
-                "name='" + name + '\'' +
-                ", price=" + price +
-                '}';
+    public Case(Case other) {
+        super(other);
     }
 
-    /**
-     * Порівнює об'єкт Case з іншим об'єктом на рівність.
-     *
-     * @param o об'єкт для порівняння
-     * @return true якщо об'єкти рівні, false в іншому випадку
-     */
     @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Case aCase = (Case) o;
-        return Double.compare(price, aCase.price) == 0 && Objects.equals(name, aCase.name);
+    public Case withPrice(double price) {
+        return new Case(getId(), getName(), price);
     }
 
     /**
-     * Повертає хеш-код об'єкта.
-     *
-     * @return хеш-код об'єкта
+     * @return категорія {@link ComponentType#CASE}
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(name, price);
+    public ComponentType getType() {
+        return ComponentType.CASE;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+import java.util.List;
+
+/**
+ * DAO корпусів, що зберігаються в таблиці {@code pc_case}.
+ */
+public class CaseDAO extends ComponentDAO<Case> {
+
+    public CaseDAO() {
+        super(ComponentType.CASE, "pc_case");
+    }
+
+    @Override
+    protected Case map(int id, String name, double price) {
+        return new Case(id, name, price);
+    }
+
+    /**
+     * @return усі корпуси у порядку ідентифікаторів
+     */
+    public List<Case> getAllCases() {
+        return getAll();
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Слухач змін вмісту {@link ComponentCatalog}.
+ * Викликається після перезавантаження категорії для кожного компонента, чия назва чи ціна змінилася,
+ * а також для доданих і видалених компонентів. Компоненти зіставляються за ідентифікатором SKU,
+ * а компоненти без ідентифікатора — за назвою.
+ * {@link VersionedCatalog} викликає слухача після публікації кожної нової версії.
+ * Після всіх повідомлень одного перезавантаження чи однієї версії викликається {@link #changesCompleted()},
+ * тож слухач може накопичувати зміни й обробляти їх пакетом.
+ */
+@FunctionalInterface
+public interface CatalogChangeListener {
+    /**
+     * @param type     категорія
+     * @param previous компонент до перезавантаження або {@code null}, якщо компонент новий
+     * @param current  компонент після перезавантаження або {@code null}, якщо компонент видалено
+     */
+    void componentChanged(ComponentType type, Component previous, Component current);
+
+    /**
+     * Викликається один раз після повідомлень про всі зміни одного перезавантаження категорії
+     * або однієї опублікованої версії.
+     */
+    default void changesCompleted() {
+    }
+}
@@ -0,0 +1,649 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+
+/**
+ * Потоковий імпорт прайс-листів постачальників у таблиці компонентів.
+ * Записи читаються з CSV або JSON по одному, перевіряються за правилами конструкторів компонентів
+ * ({@link Component#validate}) без створення об'єктів і накопичуються в буферах по категоріях.
+ * Повний буфер записується пакетними запитами JDBC в одній транзакції, тож кількість звернень
+ * до бази даних залежить від розміру пакета, а не від кількості рядків.
+ *
+ * <p>Записи з ідентифікатором зіставляються з наявними рядками за {@code id}, без ідентифікатора — за назвою.
+ * У режимі upsert назви пакета спершу кількома запитами {@code IN (...)} перетворюються
+ * на ідентифікатори (за індексом назви, див. {@link Database#createSchema}); якщо назву мають кілька рядків,
+ * оновлюється лише рядок з найменшим ідентифікатором. Далі наявні рядки оновлюються за {@code id},
+ * а відсутні вставляються. Без upsert записи вставляються, а записи з ідентифікатором, що вже існує,
+ * відхиляються. Якщо в одному пакеті ключ повторюється, записується останній запис.
+ * Некоректні записи відхиляються й потрапляють у {@link ImportResult}, не перериваючи імпорт.
+ *
+ * <p>Кожен пакет фіксується окремою транзакцією. Якщо запис пакета завершився помилкою, цей пакет
+ * відкочується, раніше зафіксовані пакети лишаються в базі, а {@link DAOException} повідомляє,
+ * скільки рядків записано до помилки.
+ *
+ * <p>CSV: перший рядок — заголовок зі стовпцями {@code category}, {@code id}, {@code name}, {@code price}
+ * у довільному порядку; {@code category} і {@code id} необов'язкові. Значення в лапках можуть містити
+ * коми, переведення рядка та подвоєні лапки.
+ * JSON: масив об'єктів з тими самими полями; інші поля ігноруються.
+ */
+public class CatalogImporter {
+    /** Розмір пакета за замовчуванням. */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /** Скільки ключів передається в одному запиті пошуку наявних рядків. */
+    private static final int LOOKUP_CHUNK = 500;
+
+    private static final ComponentType[] TYPES = ComponentType.values();
+
+    private final DataSource source;
+    private final int batchSize;
+    private final boolean upsert;
+
+    /**
+     * Створює імпортер з розміром пакета за замовчуванням у режимі upsert.
+     *
+     * @param source джерело з'єднань (наприклад, {@link Database#getDataSource()})
+     */
+    public CatalogImporter(DataSource source) {
+        this(source, DEFAULT_BATCH_SIZE, true);
+    }
+
+    /**
+     * @param source    джерело з'єднань
+     * @param batchSize кількість записів однієї категорії, що записуються одним пакетом
+     * @param upsert    {@code true}, щоб оновлювати наявні рядки, {@code false} — лише вставляти
+     * @throws IllegalArgumentException якщо розмір пакета менше 1
+     */
+    public CatalogImporter(DataSource source, int batchSize, boolean upsert) {
+        if (source == null) throw new NullPointerException("Джерело з'єднань не може бути null");
+        if (batchSize < 1) throw new IllegalArgumentException("Розмір пакета має бути додатним");
+        this.source = source;
+        this.batchSize = batchSize;
+        this.upsert = upsert;
+    }
+
+    /**
+     * Імпортує CSV, де категорію кожного рядка задає стовпець {@code category}.
+     *
+     * @param in джерело CSV; не закривається
+     * @return підсумок імпорту
+     * @throws DAOException         якщо запис у базу даних завершився помилкою
+     * @throws UncheckedIOException якщо читання завершилося помилкою
+     */
+    public ImportResult importCsv(Reader in) {
+        return importCsv(in, null);
+    }
+
+    /**
+     * Імпортує CSV однієї категорії.
+     *
+     * @param in   джерело CSV; не закривається
+     * @param type категорія всіх рядків або {@code null}, якщо її задає стовпець {@code category}
+     * @return підсумок імпорту
+     * @throws DAOException         якщо запис у базу даних завершився помилкою
+     * @throws UncheckedIOException якщо читання завершилося помилкою
+     * @throws IllegalArgumentException якщо в заголовку немає потрібних стовпців
+     */
+    public ImportResult importCsv(Reader in, ComponentType type) {
+        if (in == null) throw new NullPointerException("Джерело не може бути null");
+        CsvReader csv = new CsvReader(in);
+        String[] header = csv.next();
+        if (header == null) return new ImportResult();
+        int category = -1, id = -1, name = -1, price = -1;
+        for (int i = 0; i < header.length; i++) {
+            switch (header[i].trim().toLowerCase(Locale.ROOT)) {
+                case "category": category = i; break;
+                case "id": id = i; break;
+                case "name": name = i; break;
+                case "price": price = i; break;
+                default: break;
+            }
+        }
+        if (name < 0 || price < 0) throw new IllegalArgumentException("У заголовку CSV немає стовпців name та price");
+        if (category < 0 && type == null) throw new IllegalArgumentException("У заголовку CSV немає стовпця category");
+        try (Session session = new Session(type)) {
+            String[] fields;
+            while ((fields = csv.next()) != null) {
+                if (fields.length == 1 && fields[0].isEmpty()) continue;
+                session.accept(csv.record,
+                        field(fields, category), field(fields, id), field(fields, name), field(fields, price));
+            }
+            return session.finish();
+        }
+    }
+
+    /**
+     * Імпортує JSON-масив записів, де категорію задає поле {@code category}.
+     *
+     * @param in джерело JSON; не закривається
+     * @return підсумок імпорту
+     * @throws DAOException         якщо запис у базу даних завершився помилкою
+     * @throws UncheckedIOException якщо читання завершилося помилкою
+     * @throws IllegalArgumentException якщо JSON має некоректну структуру
+     */
+    public ImportResult importJson(Reader in) {
+        return importJson(in, null);
+    }
+
+    /**
+     * Імпортує JSON-масив записів однієї категорії.
+     *
+     * @param in   джерело JSON; не закривається
+     * @param type категорія всіх записів або {@code null}, якщо її задає поле {@code category}
+     * @return підсумок імпорту
+     */
+    public ImportResult importJson(Reader in, ComponentType type) {
+        if (in == null) throw new NullPointerException("Джерело не може бути null");
+        JsonReader json = new JsonReader(in);
+        try (Session session = new Session(type)) {
+            json.expect('[');
+            if (!json.tryConsume(']')) {
+                long record = 0;
+                do {
+                    String[] fields = json.readRecord();
+                    session.accept(++record, fields[0], fields[1], fields[2], fields[3]);
+                } while (json.tryConsume(','));
+                json.expect(']');
+            }
+            return session.finish();
+        }
+    }
+
+    private static String field(String[] fields, int index) {
+        return index >= 0 && index < fields.length ? fields[index] : null;
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sql = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) sql.append(i == 0 ? "?" : ", ?");
+        return sql.toString();
+    }
+
+    private static ComponentType parseType(String text) {
+        String key = text.trim();
+        for (ComponentType type : TYPES) {
+            if (type.name().equalsIgnoreCase(key) || type.getDisplayName().equalsIgnoreCase(key)) return type;
+        }
+        throw new IllegalArgumentException("Невідома категорія: '" + text + "'");
+    }
+
+    /**
+     * Один імпорт: з'єднання, буфери категорій та підсумок.
+     */
+    private final class Session implements AutoCloseable {
+        private final ComponentType fixedType;
+        private final Batch[] batches = new Batch[TYPES.length];
+        private final ImportResult result = new ImportResult();
+        private final Connection connection;
+
+        Session(ComponentType fixedType) {
+            this.fixedType = fixedType;
+            try {
+                this.connection = source.getConnection();
+                connection.setAutoCommit(false);
+            } catch (SQLException e) {
+                throw new DAOException("Не вдалося відкрити з'єднання для імпорту", e);
+            }
+        }
+
+        void accept(long record, String category, String id, String name, String price) {
+            ComponentType type;
+            int parsedId;
+            double parsedPrice;
+            try {
+                type = category == null || category.isBlank() ? fixedType : parseType(category);
+                if (type == null) throw new IllegalArgumentException("Не задано категорію");
+                if (fixedType != null && type != fixedType) {
+                    throw new IllegalArgumentException("Очікувалась категорія " + fixedType.getDisplayName());
+                }
+                parsedId = id == null || id.isBlank() ? Component.NO_ID : Integer.parseInt(id.trim());
+                if (price == null) throw new NullPointerException("Ціна не може бути null");
+                parsedPrice = Double.parseDouble(price.trim());
+                if (!Double.isFinite(parsedPrice)) throw new IllegalArgumentException("Ціна має бути скінченним числом");
+                Component.validate(parsedId, name, parsedPrice);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                result.reject(record, e.getMessage());
+                return;
+            }
+            Batch batch = batches[type.ordinal()];
+            if (batch == null) batches[type.ordinal()] = batch = new Batch(type);
+            batch.add(record, parsedId, name, parsedPrice);
+            if (batch.size == batchSize) flush(batch);
+        }
+
+        ImportResult finish() {
+            for (Batch batch : batches) {
+                if (batch != null && batch.size > 0) flush(batch);
+            }
+            return result;
+        }
+
+        private void flush(Batch batch) {
+            long committed = result.getWritten();
+            try {
+                batch.write(connection, result);
+                connection.commit();
+            } catch (SQLException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException ignored) {
+                    // Первинна помилка важливіша.
+                }
+                throw new DAOException("Не вдалося записати пакет у таблицю " + Database.tableName(batch.type)
+                        + "; до помилки зафіксовано рядків: " + committed, e);
+            } finally {
+                batch.clear();
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                throw new DAOException("Не вдалося закрити з'єднання імпорту", e);
+            }
+        }
+    }
+
+    /**
+     * Буфер записів однієї категорії у примітивних масивах. Ключ запису — ідентифікатор,
+     * а для записів без ідентифікатора — назва.
+     */
+    private final class Batch {
+        final ComponentType type;
+        final String table;
+        final long[] records = new long[batchSize];
+        final int[] ids = new int[batchSize];
+        final String[] names = new String[batchSize];
+        final double[] prices = new double[batchSize];
+        final Map<Object, Integer> positions = new HashMap<>();
+        int size;
+
+        Batch(ComponentType type) {
+            this.type = type;
+            this.table = Database.tableName(type);
+        }
+
+        void add(long record, int id, String name, double price) {
+            Object key = id == Component.NO_ID ? name : (Object) id;
+            Integer existing = positions.putIfAbsent(key, size);
+            int position = existing != null ? existing : size++;
+            records[position] = record;
+            ids[position] = id;
+            names[position] = name;
+            prices[position] = price;
+        }
+
+        void clear() {
+            Arrays.fill(names, 0, size, null);
+            positions.clear();
+            size = 0;
+        }
+
+        void write(Connection connection, ImportResult result) throws SQLException {
+            boolean[] exists = new boolean[size];
+            if (upsert) {
+                resolveNames(connection);
+                result.addUpdated(type, update(connection, exists,
+                        "UPDATE " + table + " SET name = ?, price = ? WHERE id = ?"));
+            } else {
+                rejectExisting(connection, exists, result);
+            }
+            result.addInserted(type, insert(connection, exists, true,
+                    "INSERT INTO " + table + " (id, name, price) VALUES (?, ?, ?)"));
+            result.addInserted(type, insert(connection, exists, false,
+                    "INSERT INTO " + table + " (name, price) VALUES (?, ?)"));
+        }
+
+        /**
+         * Присвоює записам без ідентифікатора ідентифікатор наявного рядка з тією самою назвою
+         * (найменший, якщо таких рядків кілька), щоб далі оновлювати їх за первинним ключем.
+         */
+        private void resolveNames(Connection connection) throws SQLException {
+            int[] positions = select(new boolean[size], false);
+            Map<String, Integer> found = new HashMap<>();
+            for (int from = 0; from < positions.length; from += LOOKUP_CHUNK) {
+                int to = Math.min(positions.length, from + LOOKUP_CHUNK);
+                String sql = "SELECT name, MIN(id) FROM " + table + " WHERE name IN (" + placeholders(to - from) + ") GROUP BY name";
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (int i = from; i < to; i++) statement.setString(i - from + 1, names[positions[i]]);
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) found.put(rows.getString(1), rows.getInt(2));
+                    }
+                }
+            }
+            for (int position : positions) {
+                Integer id = found.get(names[position]);
+                if (id != null) ids[position] = id;
+            }
+        }
+
+        /**
+         * Відхиляє записи, чий ідентифікатор уже є в таблиці, і позначає їх у {@code exists}, щоб не вставляти.
+         */
+        private void rejectExisting(Connection connection, boolean[] exists, ImportResult result) throws SQLException {
+            int[] positions = select(exists, true);
+            Set<Integer> found = new HashSet<>();
+            for (int from = 0; from < positions.length; from += LOOKUP_CHUNK) {
+                int to = Math.min(positions.length, from + LOOKUP_CHUNK);
+                String sql = "SELECT id FROM " + table + " WHERE id IN (" + placeholders(to - from) + ")";
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (int i = from; i < to; i++) statement.setInt(i - from + 1, ids[positions[i]]);
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) found.add(rows.getInt(1));
+                    }
+                }
+            }
+            for (int position : positions) {
+                if (found.contains(ids[position])) {
+                    exists[position] = true;
+                    result.reject(records[position], "Ідентифікатор " + ids[position] + " уже існує");
+                }
+            }
+        }
+
+        /**
+         * Оновлює наявні рядки за ідентифікатором і позначає в {@code exists} записи, для яких рядок знайшовся.
+         * Якщо драйвер не повідомляє кількість змінених рядків, запис вважається оновленим.
+         */
+        private long update(Connection connection, boolean[] exists, String sql) throws SQLException {
+            int[] positions = select(exists, true);
+            if (positions.length == 0) return 0;
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int position : positions) {
+                    statement.setString(1, names[position]);
+                    statement.setDouble(2, prices[position]);
+                    statement.setInt(3, ids[position]);
+                    statement.addBatch();
+                }
+                int[] counts = execute(statement);
+                long updated = 0;
+                for (int i = 0; i < positions.length; i++) {
+                    if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                        exists[positions[i]] = true;
+                        updated++;
+                    }
+                }
+                return updated;
+            }
+        }
+
+        private long insert(Connection connection, boolean[] exists, boolean byId, String sql) throws SQLException {
+            int[] positions = select(exists, byId);
+            if (positions.length == 0) return 0;
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int position : positions) {
+                    int index = 1;
+                    if (byId) statement.setInt(index++, ids[position]);
+                    statement.setString(index++, names[position]);
+                    statement.setDouble(index, prices[position]);
+                    statement.addBatch();
+                }
+                execute(statement);
+                return positions.length;
+            }
+        }
+
+        private int[] execute(PreparedStatement statement) throws SQLException {
+            try {
+                return statement.executeBatch();
+            } catch (BatchUpdateException e) {
+                SQLException cause = e.getNextException();
+                throw cause != null ? new SQLException(e.getMessage(), e.getSQLState(), e.getErrorCode(), cause) : e;
+            }
+        }
+
+        /**
+         * @return позиції ще не записаних записів з ідентифікатором ({@code byId}) або без нього
+         */
+        private int[] select(boolean[] exists, boolean byId) {
+            int[] selected = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (!exists[i] && (ids[i] != Component.NO_ID) == byId) selected[count++] = i;
+            }
+            return Arrays.copyOf(selected, count);
+        }
+    }
+
+    /**
+     * Потоковий розбір CSV (RFC 4180) по одному запису.
+     */
+    private static final class CsvReader {
+        private final Reader in;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private final StringBuilder field = new StringBuilder();
+        /** Номер останнього прочитаного запису даних (без заголовка). */
+        long record = -1;
+
+        CsvReader(Reader in) {
+            this.in = in;
+        }
+
+        private int read() {
+            if (position == limit) {
+                try {
+                    limit = in.read(buffer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Не вдалося прочитати CSV", e);
+                }
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+
+        private int peek() {
+            int c = read();
+            if (c >= 0) position--;
+            return c;
+        }
+
+        /**
+         * @return поля наступного запису або {@code null} наприкінці потоку
+         */
+        String[] next() {
+            int c = read();
+            if (c < 0) return null;
+            record++;
+            String[] fields = new String[4];
+            int count = 0;
+            while (true) {
+                field.setLength(0);
+                if (c == '"') {
+                    while (true) {
+                        c = read();
+                        if (c < 0) throw new IllegalArgumentException("Незакриті лапки в CSV, запис " + record);
+                        if (c == '"') {
+                            if (peek() != '"') break;
+                            read();
+                        }
+                        field.append((char) c);
+                    }
+                    c = read();
+                } else {
+                    while (c >= 0 && c != ',' && c != '\n' && c != '\r') {
+                        field.append((char) c);
+                        c = read();
+                    }
+                }
+                if (count == fields.length) fields = Arrays.copyOf(fields, count * 2);
+                fields[count++] = field.toString();
+                if (c == ',') {
+                    c = read();
+                    continue;
+                }
+                if (c == '\r' && peek() == '\n') read();
+                return Arrays.copyOf(fields, count);
+            }
+        }
+    }
+
+    /**
+     * Мінімальний потоковий розбір JSON-масиву записів. Значення полів {@code category}, {@code id},
+     * {@code name} і {@code price} повертаються як рядки; інші поля, зокрема вкладені, пропускаються.
+     */
+    private static final class JsonReader {
+        private final Reader in;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private final StringBuilder text = new StringBuilder();
+
+        JsonReader(Reader in) {
+            this.in = in;
+        }
+
+        private int read() {
+            if (position == limit) {
+                try {
+                    limit = in.read(buffer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Не вдалося прочитати JSON", e);
+                }
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+
+        private int peekNonSpace() {
+            while (true) {
+                int c = read();
+                if (c < 0) return -1;
+                if (!Character.isWhitespace(c)) {
+                    position--;
+                    return c;
+                }
+            }
+        }
+
+        void expect(char expected) {
+            int c = peekNonSpace();
+            if (c != expected) throw new IllegalArgumentException("Некоректний JSON: очікувався '" + expected + "'");
+            read();
+        }
+
+        boolean tryConsume(char expected) {
+            if (peekNonSpace() != expected) return false;
+            read();
+            return true;
+        }
+
+        /**
+         * @return поля {@code category}, {@code id}, {@code name}, {@code price} запису (відсутні — {@code null})
+         */
+        String[] readRecord() {
+            String[] fields = new String[4];
+            expect('{');
+            if (tryConsume('}')) return fields;
+            do {
+                String key = readString();
+                expect(':');
+                int slot;
+                switch (key) {
+                    case "category": slot = 0; break;
+                    case "id": slot = 1; break;
+                    case "name": slot = 2; break;
+                    case "price": slot = 3; break;
+                    default: slot = -1; break;
+                }
+                String value = readValue();
+                if (slot >= 0) fields[slot] = value;
+            } while (tryConsume(','));
+            expect('}');
+            return fields;
+        }
+
+        /**
+         * Читає значення: рядок чи число повертаються як текст, {@code null} — як {@code null},
+         * об'єкти, масиви та логічні значення пропускаються.
+         */
+        private String readValue() {
+            int c = peekNonSpace();
+            if (c == '"') return readString();
+            if (c == '{' || c == '[') {
+                skipNested();
+                return null;
+            }
+            text.setLength(0);
+            while ((c = read()) >= 0 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+                text.append((char) c);
+            }
+            if (c >= 0) position--;
+            String literal = text.toString();
+            if (literal.isEmpty()) throw new IllegalArgumentException("Некоректний JSON: очікувалося значення");
+            return literal.equals("null") || literal.equals("true") || literal.equals("false") ? null : literal;
+        }
+
+        private String readString() {
+            expect('"');
+            text.setLength(0);
+            while (true) {
+                int c = read();
+                if (c < 0) throw new IllegalArgumentException("Некоректний JSON: незакритий рядок");
+                if (c == '"') return text.toString();
+                if (c == '\\') {
+                    c = read();
+                    switch (c) {
+                        case 'n': text.append('\n'); break;
+                        case 't': text.append('\t'); break;
+                        case 'r': text.append('\r'); break;
+                        case 'b': text.append('\b'); break;
+                        case 'f': text.append('\f'); break;
+                        case 'u':
+                            int code = 0;
+                            for (int i = 0; i < 4; i++) {
+                                int digit = Character.digit(read(), 16);
+                                if (digit < 0) throw new IllegalArgumentException("Некоректний JSON: хибна послідовність \\u");
+                                code = code * 16 + digit;
+                            }
+                            text.append((char) code);
+                            break;
+                        case -1: throw new IllegalArgumentException("Некоректний JSON: незакритий рядок");
+                        default: text.append((char) c); break;
+                    }
+                } else {
+                    text.append((char) c);
+                }
+            }
+        }
+
+        private void skipNested() {
+            int depth = 0;
+            do {
+                int c = peekNonSpace();
+                if (c < 0) throw new IllegalArgumentException("Некоректний JSON: неочікуваний кінець");
+                if (c == '"') {
+                    readString();
+                    continue;
+                }
+                read();
+                if (c == '{' || c == '[') depth++;
+                else if (c == '}' || c == ']') depth--;
+            } while (depth > 0);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Індексований доступ до всього каталогу: по одному {@link ComponentIndex} на кожну категорію
+ * {@link ComponentStore}. Методи, що повертають номери рядків або позиції, не створюють об'єктів;
+ * зручні методи, що повертають {@link Component} чи списки, створюють лише сам результат.
+ */
+public final class CatalogIndex {
+    private final ComponentStore store;
+    private final ComponentIndex[] indexes = new ComponentIndex[ComponentType.values().length];
+
+    /**
+     * Будує індекси для всіх категорій сховища.
+     *
+     * @param store стовпцеве сховище каталогу
+     */
+    public CatalogIndex(ComponentStore store) {
+        if (store == null) throw new NullPointerException("Store cannot be null");
+        this.store = store;
+        for (ComponentType type : ComponentType.values()) {
+            indexes[type.ordinal()] = new ComponentIndex(store.table(type));
+        }
+    }
+
+    /**
+     * @return сховище, над яким побудовано індекси
+     */
+    public ComponentStore getStore() {
+        return store;
+    }
+
+    /**
+     * @param type категорія
+     * @return індекс категорії
+     */
+    public ComponentIndex index(ComponentType type) {
+        return indexes[type.ordinal()];
+    }
+
+    /**
+     * Знаходить компонент за точною назвою.
+     *
+     * @param type категорія
+     * @param name назва компонента
+     * @return компонент або {@code null}, якщо такої назви немає
+     */
+    public Component findByName(ComponentType type, String name) {
+        ComponentIndex index = indexes[type.ordinal()];
+        int row = index.findByName(name);
+        return row < 0 ? null : index.getTable().get(row);
+    }
+
+    /**
+     * Знаходить компонент за ідентифікатором SKU.
+     *
+     * @param type категорія
+     * @param id   ідентифікатор SKU
+     * @return компонент або {@code null}, якщо такого SKU немає
+     */
+    public Component findById(ComponentType type, int id) {
+        ComponentTable table = store.table(type);
+        int row = table.rowOf(id);
+        return row < 0 ? null : table.get(row);
+    }
+
+    /**
+     * Повертає компоненти з ціною в межах {@code [minPrice, maxPrice]} у порядку зростання ціни,
+     * наприклад усі блоки живлення від $80 до $150.
+     *
+     * @param type     категорія
+     * @param minPrice мінімальна ціна (включно)
+     * @param maxPrice максимальна ціна (включно)
+     * @return список компонентів
+     */
+    public List<Component> findByPriceRange(ComponentType type, double minPrice, double maxPrice) {
+        ComponentIndex index = indexes[type.ordinal()];
+        ComponentTable table = index.getTable();
+        int from = index.priceFrom(minPrice);
+        int to = index.priceTo(maxPrice);
+        List<Component> result = new ArrayList<>(Math.max(0, to - from));
+        for (int rank = from; rank < to; rank++) result.add(table.get(table.rowAtPriceRank(rank)));
+        return result;
+    }
+
+    /**
+     * Повертає компоненти, назва яких починається з {@code prefix}, в алфавітному порядку.
+     *
+     * @param type   категорія
+     * @param prefix префікс назви
+     * @return список компонентів
+     */
+    public List<Component> findByNamePrefix(ComponentType type, String prefix) {
+        if (prefix == null) throw new NullPointerException("Префікс не може бути null");
+        ComponentIndex index = indexes[type.ordinal()];
+        ComponentTable table = index.getTable();
+        int from = index.prefixFrom(prefix);
+        int to = index.prefixTo(prefix);
+        List<Component> result = new ArrayList<>(Math.max(0, to - from));
+        for (int rank = from; rank < to; rank++) result.add(table.get(index.rowAtNameRank(rank)));
+        return result;
+    }
+}
@@ -0,0 +1,454 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Бінарний знімок усього каталогу для швидкого холодного старту.
+ * Знімок записується атомарно (у тимчасовий файл, який потім перейменовується) і відкривається
+ * через відображений у пам'ять {@link FileChannel}: ідентифікатори та ціни читаються прямо з файлу,
+ * а назви декодуються зі спільної таблиці рядків лише під час звернення, тож відкриття не копіює
+ * каталог у купу й не звертається до бази даних.
+ *
+ * <p>Формат (little-endian): заголовок з сигнатурою {@code PCBS}, версією та кількістю категорій,
+ * далі по одному дескриптору на категорію (кількість рядків і рядків у таблиці рядків, розмір таблиці
+ * рядків і зміщення секцій), далі секції: {@code int[]} ідентифікаторів у порядку зростання, {@code double[]} цін,
+ * три {@code int[]} характеристик сумісності (сокет, тип пам'яті — номер у таблиці рядків або -1, потужність
+ * у ватах), {@code int[]} зміщень рядків (на одне більше за кількість рядків таблиці) та байти рядків у UTF-8.
+ * Таблиця рядків спершу містить назви в порядку рядків, а за ними — різні значення сокетів і типів пам'яті.
+ */
+public final class CatalogSnapshot implements AutoCloseable {
+    private static final int MAGIC = 0x53424350; // "PCBS"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int DESCRIPTOR_SIZE = 48;
+    private static final ComponentType[] TYPES = ComponentType.values();
+
+    private final FileChannel channel;
+    private final Map<ComponentType, Section> sections = new EnumMap<>(ComponentType.class);
+
+    private CatalogSnapshot(FileChannel channel, ByteBuffer data) throws IOException {
+        this.channel = channel;
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) throw new IOException("Файл не є знімком каталогу");
+        if (data.getInt(4) != VERSION) throw new IOException("Непідтримувана версія знімка: " + data.getInt(4));
+        if (data.getInt(8) != TYPES.length) throw new IOException("Знімок містить іншу кількість категорій");
+        if (data.limit() < HEADER_SIZE + TYPES.length * DESCRIPTOR_SIZE) throw new IOException("Знімок обрізано");
+        for (ComponentType type : TYPES) {
+            int descriptor = HEADER_SIZE + type.ordinal() * DESCRIPTOR_SIZE;
+            int rows = data.getInt(descriptor);
+            int strings = data.getInt(descriptor + 4);
+            int stringBytes = data.getInt(descriptor + 8);
+            long ids = data.getLong(descriptor + 16);
+            long prices = data.getLong(descriptor + 24);
+            long attributes = data.getLong(descriptor + 32);
+            long names = data.getLong(descriptor + 40);
+            long end = names + 4L * (strings + 1) + stringBytes;
+            if (rows < 0 || strings < rows || stringBytes < 0 || ids < 0 || prices < ids + 4L * rows
+                    || attributes < prices + 8L * rows || names < attributes + 12L * rows || end > data.limit()) {
+                throw new IOException("Пошкоджена секція " + type.getDisplayName() + " у знімку");
+            }
+            sections.put(type, new Section(type, data, rows, strings, (int) ids, (int) prices, (int) attributes, (int) names));
+        }
+    }
+
+    /**
+     * Записує знімок сховища у файл. Файл з'являється атомарно: читачі бачать або попередній знімок,
+     * або новий повністю, але ніколи не частково записаний.
+     *
+     * @param store стовпцеве сховище каталогу
+     * @param file  шлях до файлу знімка
+     * @throws IOException якщо записати файл не вдалося
+     */
+    public static void write(ComponentStore store, Path file) throws IOException {
+        if (store == null) throw new NullPointerException("Сховище не може бути null");
+        if (file == null) throw new NullPointerException("Шлях не може бути null");
+        int[][] rowsById = new int[TYPES.length][];
+        int[][] attributes = new int[TYPES.length][];
+        byte[][][] strings = new byte[TYPES.length][][];
+        long size = HEADER_SIZE + (long) TYPES.length * DESCRIPTOR_SIZE;
+        for (ComponentType type : TYPES) {
+            ComponentTable table = store.table(type);
+            int[] rows = sortedById(table);
+            List<byte[]> encoded = new ArrayList<>(rows.length);
+            for (int row : rows) encoded.add(table.name(row).getBytes(StandardCharsets.UTF_8));
+            Map<String, Integer> values = new HashMap<>();
+            int[] columns = new int[3 * rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                columns[i] = stringIndex(table.socket(rows[i]), values, encoded);
+                columns[rows.length + i] = stringIndex(table.ramType(rows[i]), values, encoded);
+                columns[2 * rows.length + i] = table.watts(rows[i]);
+            }
+            long stringBytes = 0;
+            for (byte[] bytes : encoded) stringBytes += bytes.length;
+            rowsById[type.ordinal()] = rows;
+            attributes[type.ordinal()] = columns;
+            strings[type.ordinal()] = encoded.toArray(new byte[0][]);
+            size = align(size) + 4L * rows.length;
+            size = align(size) + 8L * rows.length;
+            size += 12L * rows.length + 4L * (encoded.size() + 1) + stringBytes;
+        }
+        if (size > Integer.MAX_VALUE) throw new IOException("Каталог завеликий для одного знімка");
+
+        ByteBuffer data = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        data.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, TYPES.length).putInt(12, 0);
+        int position = HEADER_SIZE + TYPES.length * DESCRIPTOR_SIZE;
+        for (ComponentType type : TYPES) {
+            ComponentTable table = store.table(type);
+            int[] rows = rowsById[type.ordinal()];
+            int[] columns = attributes[type.ordinal()];
+            byte[][] encoded = strings[type.ordinal()];
+            int ids = (int) align(position);
+            for (int i = 0; i < rows.length; i++) data.putInt(ids + 4 * i, table.id(rows[i]));
+            int prices = (int) align(ids + 4L * rows.length);
+            for (int i = 0; i < rows.length; i++) data.putDouble(prices + 8 * i, table.price(rows[i]));
+            int attributeColumns = prices + 8 * rows.length;
+            for (int i = 0; i < columns.length; i++) data.putInt(attributeColumns + 4 * i, columns[i]);
+            int offsets = attributeColumns + 4 * columns.length;
+            int bytes = offsets + 4 * (encoded.length + 1);
+            int stringOffset = 0;
+            for (int i = 0; i < encoded.length; i++) {
+                data.putInt(offsets + 4 * i, stringOffset);
+                data.put(bytes + stringOffset, encoded[i]);
+                stringOffset += encoded[i].length;
+            }
+            data.putInt(offsets + 4 * encoded.length, stringOffset);
+            position = bytes + stringOffset;
+
+            int descriptor = HEADER_SIZE + type.ordinal() * DESCRIPTOR_SIZE;
+            data.putInt(descriptor, rows.length).putInt(descriptor + 4, encoded.length).putInt(descriptor + 8, stringOffset)
+                    .putLong(descriptor + 16, ids).putLong(descriptor + 24, prices)
+                    .putLong(descriptor + 32, attributeColumns).putLong(descriptor + 40, offsets);
+        }
+
+        Path target = file.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (data.hasRemaining()) out.write(data);
+                out.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory(target.getParent());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Відкриває знімок, відображаючи файл у пам'ять лише для читання.
+     *
+     * @param file шлях до файлу знімка
+     * @return відкритий знімок, який потрібно закрити
+     * @throws IOException якщо файл не вдалося відкрити або він не є коректним знімком
+     */
+    public static CatalogSnapshot open(Path file) throws IOException {
+        if (file == null) throw new NullPointerException("Шлях не може бути null");
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("Знімок завеликий");
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            data.order(ByteOrder.LITTLE_ENDIAN);
+            return new CatalogSnapshot(channel, data);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param type категорія
+     * @return секція знімка для категорії
+     */
+    public Section section(ComponentType type) {
+        if (type == null) throw new NullPointerException("Категорія не може бути null");
+        return sections.get(type);
+    }
+
+    /**
+     * Перетворює знімок на стовпцеве сховище в купі (наприклад, щоб побудувати {@link CatalogIndex}).
+     *
+     * @return нове сховище з тим самим вмістом
+     */
+    public ComponentStore toStore() {
+        EnumMap<ComponentType, ComponentTable> tables = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : TYPES) tables.put(type, sections.get(type).toTable());
+        return new ComponentStore(tables);
+    }
+
+    /**
+     * Створює каталог, що завантажує категорії зі знімка замість DAO. Каталог тримає списки-представлення
+     * секцій, а не їх копії в купі, тож знімок має лишатися відображеним, поки каталогом користуються.
+     *
+     * @return новий каталог з параметрами за замовчуванням
+     */
+    public ComponentCatalog toCatalog() {
+        return new ComponentCatalog(
+                () -> typed(ComponentType.CPU), () -> typed(ComponentType.MOTHERBOARD),
+                () -> typed(ComponentType.RAM), () -> typed(ComponentType.STORAGE),
+                () -> typed(ComponentType.GPU), () -> typed(ComponentType.PSU),
+                () -> typed(ComponentType.CASE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Component> List<T> typed(ComponentType type) {
+        return (List<T>) sections.get(type).asList();
+    }
+
+    /**
+     * Закриває файл знімка. Відображення звільняється збирачем сміття, коли на нього не лишиться посилань,
+     * тож після закриття секціями користуватися не слід.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Синхронізує каталог, щоб перейменування знімка пережило збій живлення.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Не всі файлові системи дозволяють синхронізувати каталог; перейменування вже виконано.
+        }
+    }
+
+    private static int stringIndex(String value, Map<String, Integer> values, List<byte[]> strings) {
+        if (value == null) return -1;
+        Integer index = values.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.add(value.getBytes(StandardCharsets.UTF_8));
+            values.put(value, index);
+        }
+        return index;
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static int[] sortedById(ComponentTable table) {
+        // Ідентифікатори невід'ємні, тож пара (id, row) сортується як одне число long.
+        int[] rows = new int[table.size()];
+        long[] keyed = new long[rows.length];
+        for (int row = 0; row < rows.length; row++) keyed[row] = ((long) table.id(row) << 32) | row;
+        Arrays.sort(keyed);
+        for (int i = 0; i < rows.length; i++) rows[i] = (int) keyed[i];
+        return rows;
+    }
+
+    /**
+     * Дані однієї категорії у відображеному файлі. Рядки впорядковані за зростанням ідентифікатора.
+     */
+    public static final class Section {
+        private final ComponentType type;
+        private final ByteBuffer data;
+        private final int rows;
+        private final int strings;
+        private final int ids;
+        private final int prices;
+        private final int attributes;
+        private final int stringOffsets;
+        private final int stringBytes;
+
+        Section(ComponentType type, ByteBuffer data, int rows, int strings, int ids, int prices, int attributes, int stringOffsets) {
+            this.type = type;
+            this.data = data;
+            this.rows = rows;
+            this.strings = strings;
+            this.ids = ids;
+            this.prices = prices;
+            this.attributes = attributes;
+            this.stringOffsets = stringOffsets;
+            this.stringBytes = stringOffsets + 4 * (strings + 1);
+        }
+
+        /**
+         * @return категорія секції
+         */
+        public ComponentType getType() {
+            return type;
+        }
+
+        /**
+         * @return кількість рядків (SKU)
+         */
+        public int size() {
+            return rows;
+        }
+
+        /**
+         * @param row номер рядка
+         * @return ідентифікатор SKU рядка
+         */
+        public int id(int row) {
+            return data.getInt(ids + 4 * checkRow(row));
+        }
+
+        /**
+         * @param row номер рядка
+         * @return ціна компонента в рядку
+         */
+        public double price(int row) {
+            return data.getDouble(prices + 8 * checkRow(row));
+        }
+
+        /**
+         * Декодує назву з таблиці рядків.
+         *
+         * @param row номер рядка
+         * @return назва компонента в рядку
+         */
+        public String name(int row) {
+            return string(checkRow(row));
+        }
+
+        /**
+         * @param row номер рядка
+         * @return сокет компонента або {@code null}, якщо невідомий чи не стосується категорії
+         */
+        public String socket(int row) {
+            return attribute(data.getInt(attributes + 4 * checkRow(row)));
+        }
+
+        /**
+         * @param row номер рядка
+         * @return тип пам'яті компонента або {@code null}, якщо невідомий чи не стосується категорії
+         */
+        public String ramType(int row) {
+            return attribute(data.getInt(attributes + 4 * (rows + checkRow(row))));
+        }
+
+        /**
+         * @param row номер рядка
+         * @return TDP чи потужність блока живлення у ватах або 0, якщо невідома
+         */
+        public int watts(int row) {
+            return data.getInt(attributes + 4 * (2 * rows + checkRow(row)));
+        }
+
+        /**
+         * Бінарним пошуком знаходить рядок за ідентифікатором SKU.
+         *
+         * @param id ідентифікатор SKU
+         * @return номер рядка або -1, якщо такого SKU немає
+         */
+        public int rowOf(int id) {
+            int lo = 0, hi = rows - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int value = data.getInt(ids + 4 * mid);
+                if (value < id) lo = mid + 1;
+                else if (value > id) hi = mid - 1;
+                else return mid;
+            }
+            return -1;
+        }
+
+        /**
+         * Створює об'єкт компонента для рядка.
+         *
+         * @param row номер рядка
+         * @return компонент відповідного класу
+         */
+        public Component get(int row) {
+            int id = id(row);
+            String name = name(row);
+            double price = price(row);
+            switch (type) {
+                case CPU: return new CPU(id, name, price, socket(row), watts(row));
+                case MOTHERBOARD: return new Motherboard(id, name, price, socket(row), ramType(row));
+                case RAM: return new RAM(id, name, price, ramType(row));
+                case STORAGE: return new Storage(id, name, price);
+                case GPU: return new GPU(id, name, price, watts(row));
+                case PSU: return new PSU(id, name, price, watts(row));
+                case CASE: return new Case(id, name, price);
+                default: throw new IllegalStateException("Невідома категорія: " + type);
+            }
+        }
+
+        /**
+         * @param id ідентифікатор SKU
+         * @return компонент або {@code null}, якщо такого SKU немає
+         */
+        public Component findById(int id) {
+            int row = rowOf(id);
+            return row < 0 ? null : get(row);
+        }
+
+        /**
+         * Повертає незмінний список-представлення секції, що створює компоненти під час звернення.
+         *
+         * @return список компонентів у порядку ідентифікаторів
+         */
+        public List<Component> asList() {
+            return new SectionList();
+        }
+
+        /**
+         * @return стовпцева таблиця в купі з тим самим вмістом
+         */
+        public ComponentTable toTable() {
+            ComponentTable.Builder builder = new ComponentTable.Builder(type);
+            for (int row = 0; row < rows; row++) {
+                builder.add(id(row), name(row), price(row), socket(row), ramType(row), watts(row));
+            }
+            return builder.build();
+        }
+
+        private String attribute(int index) {
+            if (index < 0) return null;
+            if (index < rows || index >= strings) throw new IllegalStateException("Пошкоджена характеристика у знімку");
+            return string(index);
+        }
+
+        private String string(int index) {
+            int start = data.getInt(stringOffsets + 4 * index);
+            int end = data.getInt(stringOffsets + 4 * (index + 1));
+            byte[] bytes = new byte[end - start];
+            data.get(stringBytes + start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int checkRow(int row) {
+            if (row < 0 || row >= rows) throw new IndexOutOfBoundsException("Рядок " + row + " поза межами 0.." + (rows - 1));
+            return row;
+        }
+
+        /**
+         * Список-представлення; {@link ComponentCatalog} приймає його без копіювання, бо відображення лише для читання.
+         */
+        final class SectionList extends AbstractList<Component> implements RandomAccess {
+            @Override
+            public Component get(int index) {
+                return Section.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return rows;
+            }
+        }
+    }
+}
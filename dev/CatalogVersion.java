@@ -0,0 +1,311 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Незмінна версія каталогу: узгоджений набір списків усіх семи категорій з одним номером версії.
+ * Версія ніколи не змінюється після створення, тож її можна читати з будь-якої кількості потоків
+ * без блокувань, а збирання, виконане над однією версією, бачить ціни всіх компонентів на той самий момент.
+ * Нова версія створюється через {@link Editor}: категорії, яких правки не торкнулися, спільні
+ * з попередньою версією (ті самі об'єкти списків), тож кеші, прив'язані до посилання на список,
+ * як у {@link BatchBuilder}, перебудовуються лише для змінених категорій.
+ */
+public final class CatalogVersion implements ComponentResolver {
+    private static final ComponentType[] TYPES = ComponentType.values();
+
+    private final long version;
+    private final Category[] categories;
+    /** Рушій сумісності над списками цієї версії; будується при першому зверненні. */
+    private volatile CompatibilityEngine compatibility;
+
+    private CatalogVersion(long version, Category[] categories) {
+        this.version = version;
+        this.categories = categories;
+    }
+
+    /**
+     * Створює першу версію каталогу.
+     *
+     * @param lists списки категорій; відсутні категорії вважаються порожніми
+     * @return версія з номером 1
+     * @throws NullPointerException якщо таблиця або будь-який зі списків дорівнює {@code null}
+     */
+    public static CatalogVersion of(Map<ComponentType, ? extends List<? extends Component>> lists) {
+        if (lists == null) throw new NullPointerException("Lists cannot be null");
+        Category[] categories = new Category[TYPES.length];
+        for (ComponentType type : TYPES) {
+            List<? extends Component> items = lists.get(type);
+            categories[type.ordinal()] = new Category(items == null ? List.of() : List.copyOf(items));
+        }
+        return new CatalogVersion(1, categories);
+    }
+
+    /**
+     * @return номер версії; кожна опублікована зміна збільшує його на 1
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @param type категорія
+     * @return незмінний список компонентів категорії в цій версії
+     */
+    public List<? extends Component> get(ComponentType type) {
+        if (type == null) throw new NullPointerException("Категорія не може бути null");
+        return categories[type.ordinal()].items;
+    }
+
+    /**
+     * @param type категорія
+     * @param id   ідентифікатор SKU
+     * @return компонент або {@code null}, якщо в цій версії такого SKU немає
+     */
+    @Override
+    public Component findById(ComponentType type, int id) {
+        if (type == null) throw new NullPointerException("Категорія не може бути null");
+        return categories[type.ordinal()].find(id);
+    }
+
+    /**
+     * Повертає рушій сумісності над списками цієї версії, тож перевірка сумісності бачить ті самі
+     * компоненти, що й збирання. Рушій будується при першому зверненні; наступна версія успадковує
+     * вже побудований рушій, якщо пакет не змінив процесорів, плат, пам'яті та блоків живлення.
+     *
+     * @return рушій сумісності
+     */
+    public CompatibilityEngine getCompatibilityEngine() {
+        CompatibilityEngine engine = compatibility;
+        if (engine == null) {
+            engine = new CompatibilityEngine(typed(ComponentType.CPU), typed(ComponentType.MOTHERBOARD),
+                    typed(ComponentType.RAM), typed(ComponentType.PSU));
+            compatibility = engine;
+        }
+        return engine;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> typed(ComponentType type) {
+        return (List<T>) categories[type.ordinal()].items;
+    }
+
+    /**
+     * @return сумарна кількість компонентів у всіх категоріях
+     */
+    public int size() {
+        int size = 0;
+        for (Category category : categories) size += category.items.size();
+        return size;
+    }
+
+    /**
+     * Починає пакет змін над цією версією. Сама версія не змінюється.
+     *
+     * @return редактор, що створить наступну версію
+     */
+    public Editor edit() {
+        return new Editor(this);
+    }
+
+    /**
+     * Список категорії разом з таблицею позицій за ідентифікатором.
+     */
+    private static final class Category {
+        final List<? extends Component> items;
+        final Map<Integer, Integer> positions;
+
+        Category(List<? extends Component> items) {
+            this.items = items;
+            this.positions = index(items);
+        }
+
+        Component find(int id) {
+            Integer row = positions.get(id);
+            return row == null ? null : items.get(row);
+        }
+
+        static Map<Integer, Integer> index(List<? extends Component> items) {
+            Map<Integer, Integer> positions = new HashMap<>(items.size() * 2);
+            for (int i = 0; i < items.size(); i++) {
+                int id = items.get(i).getId();
+                if (id != Component.NO_ID) positions.putIfAbsent(id, i);
+            }
+            return positions;
+        }
+    }
+
+    /**
+     * Пакет змін, що перетворюється на одну нову версію. Категорія копіюється лише при першій
+     * зміні в ній. Редактор не є потокобезпечним і призначений для одного записувача.
+     */
+    public static final class Editor {
+        private final CatalogVersion base;
+        private final Map<ComponentType, List<Component>> edited = new EnumMap<>(ComponentType.class);
+        private final Map<ComponentType, Map<Integer, Integer>> positions = new EnumMap<>(ComponentType.class);
+        /** Зміни за ключем (категорія, SKU): перший попередній і останній поточний компонент. */
+        private final Map<Long, Change> changes = new LinkedHashMap<>();
+
+        private Editor(CatalogVersion base) {
+            this.base = base;
+        }
+
+        /**
+         * @return версія, над якою виконуються зміни
+         */
+        public CatalogVersion getBase() {
+            return base;
+        }
+
+        /**
+         * Змінює ціну компонента, зберігаючи його назву та характеристики.
+         *
+         * @param type  категорія
+         * @param id    ідентифікатор SKU
+         * @param price нова ціна
+         * @return цей редактор
+         * @throws IllegalArgumentException якщо компонента немає або ціна від'ємна
+         */
+        public Editor setPrice(ComponentType type, int id, double price) {
+            Component current = find(type, id);
+            if (current == null) {
+                throw new IllegalArgumentException("Немає компонента " + type.getDisplayName() + " з ідентифікатором " + id);
+            }
+            return put(current.withPrice(price));
+        }
+
+        /**
+         * Додає компонент або замінює компонент тієї ж категорії з тим самим ідентифікатором.
+         *
+         * @param component компонент з ідентифікатором SKU
+         * @return цей редактор
+         * @throws IllegalArgumentException якщо компонент не має ідентифікатора
+         */
+        public Editor put(Component component) {
+            if (component == null) throw new NullPointerException("Component cannot be null");
+            int id = component.getId();
+            if (id == Component.NO_ID) throw new IllegalArgumentException("Компонент має мати ідентифікатор SKU");
+            ComponentType type = component.getType();
+            List<Component> items = items(type);
+            Map<Integer, Integer> rows = positions.get(type);
+            Integer row = rows.get(id);
+            Component previous = null;
+            if (row == null) {
+                rows.put(id, items.size());
+                items.add(component);
+            } else {
+                previous = items.set(row, component);
+            }
+            record(type, id, previous, component);
+            return this;
+        }
+
+        /**
+         * Видаляє компонент.
+         *
+         * @param type категорія
+         * @param id   ідентифікатор SKU
+         * @return {@code true}, якщо компонент було видалено
+         */
+        public boolean remove(ComponentType type, int id) {
+            if (find(type, id) == null) return false;
+            List<Component> items = items(type);
+            Map<Integer, Integer> rows = positions.get(type);
+            int row = rows.remove(id);
+            Component previous = items.remove(row);
+            for (int i = row; i < items.size(); i++) {
+                int shifted = items.get(i).getId();
+                if (shifted != Component.NO_ID) rows.replace(shifted, i + 1, i);
+            }
+            record(type, id, previous, null);
+            return true;
+        }
+
+        /**
+         * @param type категорія
+         * @param id   ідентифікатор SKU
+         * @return компонент з урахуванням уже внесених у пакет змін або {@code null}
+         */
+        public Component find(ComponentType type, int id) {
+            if (type == null) throw new NullPointerException("Категорія не може бути null");
+            List<Component> items = edited.get(type);
+            if (items == null) return base.findById(type, id);
+            Integer row = positions.get(type).get(id);
+            return row == null ? null : items.get(row);
+        }
+
+        /**
+         * @return {@code true}, якщо пакет не містить жодної зміни
+         */
+        public boolean isEmpty() {
+            return changes.isEmpty();
+        }
+
+        /**
+         * Створює нову версію з номером на 1 більшим за базову. Змінені категорії копіюються
+         * в нові незмінні списки, решта категорій спільні з базовою версією.
+         *
+         * @return нова версія або базова, якщо змін не було
+         */
+        public CatalogVersion build() {
+            if (changes.isEmpty()) return base;
+            Category[] categories = base.categories.clone();
+            for (Map.Entry<ComponentType, List<Component>> e : edited.entrySet()) {
+                categories[e.getKey().ordinal()] = new Category(Collections.unmodifiableList(new ArrayList<>(e.getValue())));
+            }
+            CatalogVersion next = new CatalogVersion(base.version + 1, categories);
+            if (!edited.containsKey(ComponentType.CPU) && !edited.containsKey(ComponentType.MOTHERBOARD)
+                    && !edited.containsKey(ComponentType.RAM) && !edited.containsKey(ComponentType.PSU)) {
+                next.compatibility = base.compatibility;
+            }
+            return next;
+        }
+
+        /**
+         * @return зміни пакета в порядку першого звернення до кожного компонента
+         */
+        List<Change> changes() {
+            List<Change> result = new ArrayList<>(changes.size());
+            for (Change change : changes.values()) {
+                // Компонент, доданий і видалений у межах одного пакета, не є зміною.
+                if (change.previous != null || change.current != null) result.add(change);
+            }
+            return result;
+        }
+
+        private List<Component> items(ComponentType type) {
+            List<Component> items = edited.get(type);
+            if (items == null) {
+                items = new ArrayList<>(base.get(type));
+                edited.put(type, items);
+                positions.put(type, new HashMap<>(base.categories[type.ordinal()].positions));
+            }
+            return items;
+        }
+
+        private void record(ComponentType type, int id, Component previous, Component current) {
+            long key = ((long) type.ordinal() << 32) | (id & 0xFFFFFFFFL);
+            Change change = changes.get(key);
+            if (change == null) changes.put(key, new Change(type, previous, current));
+            else change.current = current;
+        }
+    }
+
+    /**
+     * Зміна одного компонента в межах пакета.
+     */
+    static final class Change {
+        final ComponentType type;
+        final Component previous;
+        Component current;
+
+        Change(ComponentType type, Component previous, Component current) {
+            this.type = type;
+            this.previous = previous;
+            this.current = current;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Рушій сумісності комплектуючих і розрахунку потужності блока живлення.
+ * Перевіряє пари «процесор — материнська плата» (сокет), «пам'ять — материнська плата» (тип пам'яті)
+ * та запас потужності блока живлення для процесора й відеокарти.
+ *
+ * <p>Матриці сумісності обчислюються один раз при створенні як бітові множини над позиціями компонентів
+ * у списках каталогу: для кожного сокета — множина плат, для кожного типу пам'яті — множини плат і модулів,
+ * для кожного рівня потужності — множина блоків живлення, що його витримують. Тож фільтрація кандидатів
+ * під час вибору чи оптимізації зводиться до {@link BitSet#and(BitSet)}, а не до перевірки правил для кожної пари.
+ *
+ * <p>Невідома характеристика ({@code null} чи 0) вважається сумісною з будь-якою, тож компоненти без
+ * характеристик поводяться так само, як і до їх появи.
+ */
+public final class CompatibilityEngine {
+    /** Споживання решти системи (плата, пам'ять, накопичувачі, вентилятори) за замовчуванням, Вт. */
+    public static final int DEFAULT_BASE_WATTS = 100;
+    /** Запас потужності блока живлення понад розрахункове споживання за замовчуванням. */
+    public static final double DEFAULT_HEADROOM = 0.2;
+
+    private final List<CPU> cpus;
+    private final List<Motherboard> motherboards;
+    private final List<RAM> rams;
+    private final List<PSU> psus;
+    private final int baseWatts;
+    private final double headroom;
+
+    private final BitSet allCpus;
+    private final BitSet allMotherboards;
+    private final BitSet allRams;
+    /** Сокет → плати з цим сокетом або з невідомим сокетом. */
+    private final Map<String, BitSet> motherboardsBySocket;
+    private final BitSet motherboardsWithUnknownSocket;
+    /** Сокет → процесори з цим сокетом або з невідомим сокетом. */
+    private final Map<String, BitSet> cpusBySocket;
+    private final BitSet cpusWithUnknownSocket;
+    /** Тип пам'яті → плати з цим типом або з невідомим типом. */
+    private final Map<String, BitSet> motherboardsByRamType;
+    private final BitSet motherboardsWithUnknownRamType;
+    /** Тип пам'яті → модулі з цим типом або з невідомим типом. */
+    private final Map<String, BitSet> ramsByType;
+    private final BitSet ramsWithUnknownType;
+    /** Різні відомі потужності блоків живлення за зростанням. */
+    private final int[] psuLevels;
+    /** Для кожного рівня — блоки живлення з потужністю не менше за нього або з невідомою потужністю. */
+    private final BitSet[] psusAtLeast;
+    private final BitSet psusWithUnknownWattage;
+
+    /**
+     * Створює рушій із параметрами розрахунку потужності за замовчуванням.
+     */
+    public CompatibilityEngine(List<CPU> cpus, List<Motherboard> motherboards, List<RAM> rams, List<PSU> psus) {
+        this(cpus, motherboards, rams, psus, DEFAULT_BASE_WATTS, DEFAULT_HEADROOM);
+    }
+
+    /**
+     * @param cpus         процесори каталогу
+     * @param motherboards материнські плати каталогу
+     * @param rams         модулі пам'яті каталогу
+     * @param psus         блоки живлення каталогу
+     * @param baseWatts    споживання решти системи, Вт
+     * @param headroom     частка запасу потужності (наприклад, 0.2 для 20%)
+     * @throws IllegalArgumentException якщо {@code baseWatts} або {@code headroom} від'ємні
+     */
+    public CompatibilityEngine(List<CPU> cpus, List<Motherboard> motherboards, List<RAM> rams, List<PSU> psus,
+                               int baseWatts, double headroom) {
+        if (cpus == null || motherboards == null || rams == null || psus == null) {
+            throw new NullPointerException("Списки компонентів не можуть бути null");
+        }
+        if (baseWatts < 0) throw new IllegalArgumentException("Потужність не може бути від'ємною");
+        if (!(headroom >= 0)) throw new IllegalArgumentException("Запас потужності не може бути від'ємним");
+        this.cpus = List.copyOf(cpus);
+        this.motherboards = List.copyOf(motherboards);
+        this.rams = List.copyOf(rams);
+        this.psus = List.copyOf(psus);
+        this.baseWatts = baseWatts;
+        this.headroom = headroom;
+
+        this.allCpus = full(this.cpus.size());
+        this.allMotherboards = full(this.motherboards.size());
+        this.allRams = full(this.rams.size());
+
+        String[] boardSockets = new String[this.motherboards.size()];
+        String[] boardRamTypes = new String[this.motherboards.size()];
+        for (int i = 0; i < boardSockets.length; i++) {
+            boardSockets[i] = key(this.motherboards.get(i).getSocket());
+            boardRamTypes[i] = key(this.motherboards.get(i).getRamType());
+        }
+        String[] cpuSockets = new String[this.cpus.size()];
+        for (int i = 0; i < cpuSockets.length; i++) cpuSockets[i] = key(this.cpus.get(i).getSocket());
+        String[] ramTypes = new String[this.rams.size()];
+        for (int i = 0; i < ramTypes.length; i++) ramTypes[i] = key(this.rams.get(i).getRamType());
+
+        this.motherboardsWithUnknownSocket = unknown(boardSockets);
+        this.motherboardsBySocket = group(boardSockets, motherboardsWithUnknownSocket);
+        this.cpusWithUnknownSocket = unknown(cpuSockets);
+        this.cpusBySocket = group(cpuSockets, cpusWithUnknownSocket);
+        this.motherboardsWithUnknownRamType = unknown(boardRamTypes);
+        this.motherboardsByRamType = group(boardRamTypes, motherboardsWithUnknownRamType);
+        this.ramsWithUnknownType = unknown(ramTypes);
+        this.ramsByType = group(ramTypes, ramsWithUnknownType);
+
+        this.psusWithUnknownWattage = new BitSet(this.psus.size());
+        int[] wattages = new int[this.psus.size()];
+        for (int i = 0; i < wattages.length; i++) {
+            wattages[i] = this.psus.get(i).getWattage();
+            if (wattages[i] == 0) psusWithUnknownWattage.set(i);
+        }
+        this.psuLevels = Arrays.stream(wattages).filter(w -> w > 0).distinct().sorted().toArray();
+        this.psusAtLeast = new BitSet[psuLevels.length];
+        // Рівні обходяться від найбільшого: множина кожного рівня — множина наступного плюс блоки саме цієї потужності.
+        BitSet accumulated = (BitSet) psusWithUnknownWattage.clone();
+        for (int level = psuLevels.length - 1; level >= 0; level--) {
+            for (int i = 0; i < wattages.length; i++) {
+                if (wattages[i] == psuLevels[level]) accumulated.set(i);
+            }
+            psusAtLeast[level] = (BitSet) accumulated.clone();
+        }
+    }
+
+    /**
+     * Створює рушій над поточним вмістом каталогу.
+     *
+     * @param catalog каталог комплектуючих
+     * @return новий рушій
+     */
+    public static CompatibilityEngine from(ComponentCatalog catalog) {
+        if (catalog == null) throw new NullPointerException("Catalog cannot be null");
+        return new CompatibilityEngine(catalog.getCPUs(), catalog.getMotherboards(), catalog.getRAMs(), catalog.getPSUs());
+    }
+
+    private static String key(String value) {
+        return value == null ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static BitSet full(int size) {
+        BitSet set = new BitSet(size);
+        set.set(0, size);
+        return set;
+    }
+
+    private static BitSet unknown(String[] keys) {
+        BitSet set = new BitSet(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) set.set(i);
+        }
+        return set;
+    }
+
+    private static Map<String, BitSet> group(String[] keys, BitSet unknown) {
+        Map<String, BitSet> groups = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) groups.computeIfAbsent(keys[i], k -> (BitSet) unknown.clone()).set(i);
+        }
+        return groups;
+    }
+
+    private static BitSet lookup(Map<String, BitSet> groups, BitSet unknown, BitSet all, String value) {
+        if (value == null) return all;
+        BitSet set = groups.get(key(value));
+        return set != null ? set : unknown;
+    }
+
+    // Правила для окремих пар
+
+    /**
+     * @return {@code true}, якщо сокети збігаються або хоча б один з них невідомий
+     */
+    public static boolean isCompatible(CPU cpu, Motherboard motherboard) {
+        return matches(cpu.getSocket(), motherboard.getSocket());
+    }
+
+    /**
+     * @return {@code true}, якщо типи пам'яті збігаються або хоча б один з них невідомий
+     */
+    public static boolean isCompatible(RAM ram, Motherboard motherboard) {
+        return matches(ram.getRamType(), motherboard.getRamType());
+    }
+
+    private static boolean matches(String a, String b) {
+        return a == null || b == null || a.trim().equalsIgnoreCase(b.trim());
+    }
+
+    /**
+     * Розраховує мінімальну потужність блока живлення: споживання процесора, відеокарти
+     * та решти системи з запасом, округлене вгору до вата.
+     *
+     * @param cpu процесор
+     * @param gpu відеокарта
+     * @return потрібна потужність, Вт
+     */
+    public int requiredWatts(CPU cpu, GPU gpu) {
+        long draw = (long) baseWatts + cpu.getTdpWatts() + gpu.getTdpWatts();
+        return (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(draw * (1 + headroom)));
+    }
+
+    /**
+     * @return {@code true}, якщо потужність блока живлення невідома або не менша за {@link #requiredWatts}
+     */
+    public boolean hasHeadroom(PSU psu, CPU cpu, GPU gpu) {
+        return psu.getWattage() == 0 || psu.getWattage() >= requiredWatts(cpu, gpu);
+    }
+
+    /**
+     * Перевіряє всю конфігурацію.
+     *
+     * @param computer комп'ютер
+     * @return опис кожної знайденої несумісності; порожній список, якщо конфігурація сумісна
+     */
+    public List<String> check(Computer computer) {
+        if (computer == null) throw new NullPointerException("Computer cannot be null");
+        List<String> problems = new ArrayList<>();
+        CPU cpu = computer.getCpu();
+        Motherboard motherboard = computer.getMotherboard();
+        if (!isCompatible(cpu, motherboard)) {
+            problems.add("CPU socket " + cpu.getSocket() + " does not match motherboard socket " + motherboard.getSocket());
+        }
+        if (!isCompatible(computer.getRam(), motherboard)) {
+            problems.add("RAM type " + computer.getRam().getRamType()
+                    + " is not supported by motherboard (" + motherboard.getRamType() + ")");
+        }
+        if (!hasHeadroom(computer.getPsu(), cpu, computer.getGpu())) {
+            problems.add("PSU " + computer.getPsu().getWattage() + "W is below the required "
+                    + requiredWatts(cpu, computer.getGpu()) + "W");
+        }
+        return problems;
+    }
+
+    // Бітові множини над позиціями в списках рушія
+
+    /**
+     * Залишає в {@code candidates} лише плати, сумісні з процесором.
+     *
+     * @param candidates множина позицій у {@link #getMotherboards()}, що змінюється на місці
+     * @param cpu        вибраний процесор
+     */
+    public void restrictMotherboardsByCpu(BitSet candidates, CPU cpu) {
+        candidates.and(lookup(motherboardsBySocket, motherboardsWithUnknownSocket, allMotherboards, cpu.getSocket()));
+    }
+
+    /**
+     * Залишає в {@code candidates} лише плати, що підтримують тип пам'яті модуля.
+     */
+    public void restrictMotherboardsByRam(BitSet candidates, RAM ram) {
+        candidates.and(lookup(motherboardsByRamType, motherboardsWithUnknownRamType, allMotherboards, ram.getRamType()));
+    }
+
+    /**
+     * Залишає в {@code candidates} лише процесори, сумісні з платою.
+     */
+    public void restrictCpus(BitSet candidates, Motherboard motherboard) {
+        candidates.and(lookup(cpusBySocket, cpusWithUnknownSocket, allCpus, motherboard.getSocket()));
+    }
+
+    /**
+     * Залишає в {@code candidates} лише модулі пам'яті, сумісні з платою.
+     */
+    public void restrictRams(BitSet candidates, Motherboard motherboard) {
+        candidates.and(lookup(ramsByType, ramsWithUnknownType, allRams, motherboard.getRamType()));
+    }
+
+    /**
+     * Залишає в {@code candidates} лише блоки живлення з достатнім запасом потужності.
+     *
+     * @param candidates множина позицій у {@link #getPSUs()}, що змінюється на місці
+     * @param cpu        вибраний процесор
+     * @param gpu        вибрана відеокарта
+     */
+    public void restrictPSUs(BitSet candidates, CPU cpu, GPU gpu) {
+        int required = requiredWatts(cpu, gpu);
+        int level = Arrays.binarySearch(psuLevels, required);
+        if (level < 0) level = -level - 1;
+        candidates.and(level < psuLevels.length ? psusAtLeast[level] : psusWithUnknownWattage);
+    }
+
+    /**
+     * @return нова множина з усіма платами, сумісними з процесором
+     */
+    public BitSet motherboardsFor(CPU cpu) {
+        BitSet set = (BitSet) allMotherboards.clone();
+        restrictMotherboardsByCpu(set, cpu);
+        return set;
+    }
+
+    /**
+     * @return нова множина з усіма модулями пам'яті, сумісними з платою
+     */
+    public BitSet ramsFor(Motherboard motherboard) {
+        BitSet set = (BitSet) allRams.clone();
+        restrictRams(set, motherboard);
+        return set;
+    }
+
+    /**
+     * @return нова множина з усіма блоками живлення, достатніми для процесора й відеокарти
+     */
+    public BitSet psusFor(CPU cpu, GPU gpu) {
+        BitSet set = full(psus.size());
+        restrictPSUs(set, cpu, gpu);
+        return set;
+    }
+
+    /**
+     * Вибирає елементи списку за позиціями з множини.
+     *
+     * @param items список, до позицій якого відноситься множина
+     * @param mask  позиції, що залишаються
+     * @return новий список у порядку позицій
+     */
+    public static <T> List<T> select(List<T> items, BitSet mask) {
+        List<T> result = new ArrayList<>(mask.cardinality());
+        for (int i = mask.nextSetBit(0); i >= 0 && i < items.size(); i = mask.nextSetBit(i + 1)) result.add(items.get(i));
+        return result;
+    }
+
+    /**
+     * @return процесори, до позицій яких відносяться множини рушія
+     */
+    public List<CPU> getCPUs() {
+        return cpus;
+    }
+
+    /**
+     * @return материнські плати, до позицій яких відносяться множини рушія
+     */
+    public List<Motherboard> getMotherboards() {
+        return motherboards;
+    }
+
+    /**
+     * @return модулі пам'яті, до позицій яких відносяться множини рушія
+     */
+    public List<RAM> getRAMs() {
+        return rams;
+    }
+
+    /**
+     * @return блоки живлення, до позицій яких відносяться множини рушія
+     */
+    public List<PSU> getPSUs() {
+        return psus;
+    }
+}
@@ -0,0 +1,170 @@
+import java.util.Objects;
+
+/**
+ * Базовий клас для всіх комплектуючих комп'ютера.
+ * Зберігає ідентифікатор SKU, назву та ціну компонента і містить спільні для всіх категорій
+ * перевірки, порівняння та рядкове представлення.
+ * Великі каталоги зберігаються у стовпцевому вигляді в {@link ComponentTable},
+ * а об'єкти компонентів створюються з нього лише за потреби.
+ */
+public abstract class Component {
+    /** Ідентифікатор компонента, який ще не належить жодному каталогу. */
+    public static final int NO_ID = -1;
+
+    private final int id;
+    private final String name;
+    private final double price;
+    /** Закешований відбиток; 0 означає «ще не обчислено» (як {@link String#hashCode()}). */
+    private long fingerprint;
+
+    /**
+     * Створює компонент з перевіркою вхідних даних.
+     *
+     * @param id    ідентифікатор SKU або {@link #NO_ID}
+     * @param name  назва компонента
+     * @param price ціна компонента
+     * @throws IllegalArgumentException якщо ціна від'ємна, назва пуста або ідентифікатор некоректний
+     * @throws NullPointerException     якщо назва є null
+     */
+    protected Component(int id, String name, double price) {
+        validate(id, name, price);
+        this.id = id;
+        this.name = name;
+        this.price = price;
+    }
+
+    /**
+     * Перевіряє дані компонента за правилами конструктора, не створюючи об'єкт.
+     * Використовується там, де компоненти записуються чи зберігаються без окремих об'єктів.
+     *
+     * @param id    ідентифікатор SKU або {@link #NO_ID}
+     * @param name  назва компонента
+     * @param price ціна компонента
+     * @throws IllegalArgumentException якщо ціна від'ємна, назва пуста або ідентифікатор некоректний
+     * @throws NullPointerException     якщо назва є null
+     */
+    public static void validate(int id, String name, double price) {
+        if (price < 0) throw new IllegalArgumentException("Ціна не може бути від'ємною");
+        if (name == null) throw new NullPointerException("Ім'я не може бути null");
+        if (name.isBlank()) throw new IllegalArgumentException("Ім'я не може бути пустим");
+        if (id < NO_ID) throw new IllegalArgumentException("Ідентифікатор не може бути від'ємним");
+    }
+
+    /**
+     * Конструктор копіювання.
+     *
+     * @param other компонент, з якого копіюються дані
+     * @throws NullPointerException якщо переданий об'єкт є null
+     */
+    protected Component(Component other) {
+        if (other == null) throw new NullPointerException("Об'єкт для копіювання не може бути null");
+        this.id = other.id;
+        this.name = other.name;
+        this.price = other.price;
+    }
+
+    /**
+     * Повертає категорію компонента.
+     *
+     * @return категорія компонента
+     */
+    public abstract ComponentType getType();
+
+    /**
+     * Повертає компонент тієї ж категорії з тим самим ідентифікатором, назвою та характеристиками,
+     * але з іншою ціною. Ціна незмінна, тож оновлення ціни в каталозі означає новий об'єкт.
+     *
+     * @param price нова ціна
+     * @return новий компонент
+     * @throws IllegalArgumentException якщо ціна від'ємна
+     */
+    public abstract Component withPrice(double price);
+
+    /**
+     * Повертає ідентифікатор SKU компонента.
+     *
+     * @return ідентифікатор або {@link #NO_ID}, якщо компонент створено поза каталогом
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Повертає ціну компонента.
+     *
+     * @return ціна компонента
+     */
+    public double getPrice() {
+        return price;
+    }
+
+    /**
+     * Повертає назву компонента.
+     *
+     * @return назва компонента
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Повертає рядкове представлення компонента, наприклад {@code CPU{name='Intel i5', price=200.0}}.
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(48)).toString();
+    }
+
+    /**
+     * Дописує рядкове представлення компонента (як у {@link #toString()}) без проміжних рядків.
+     *
+     * @param s приймач
+     * @return {@code s}
+     */
+    StringBuilder appendTo(StringBuilder s) {
+        s.append(getClass().getSimpleName()).append("{name='").append(name).append("', price=");
+        ConfigurationRenderer.appendPrice(s, price);
+        return s.append('}');
+    }
+
+    /**
+     * Порівнює компонент з іншим об'єктом на рівність.
+     * Компоненти рівні, якщо належать до одного класу та мають однакові назву і ціну.
+     *
+     * @param o об'єкт для порівняння
+     * @return true якщо об'єкти рівні, false в іншому випадку
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        Component that = (Component) o;
+        return Double.compare(price, that.price) == 0 && Objects.equals(name, that.name);
+    }
+
+    /**
+     * Повертає 64-бітний відбиток компонента, узгоджений з {@link #equals(Object)}:
+     * рівні компоненти мають однакові відбитки. Обчислюється один раз і кешується; не створює об'єктів.
+     *
+     * @return відбиток компонента
+     */
+    public long fingerprint() {
+        long h = fingerprint;
+        if (h == 0) {
+            h = Fingerprint.combine(Fingerprint.combine(getType().ordinal(), Fingerprint.of(name)),
+                    Double.doubleToLongBits(price));
+            if (h == 0) h = 1;
+            fingerprint = h;
+        }
+        return h;
+    }
+
+    /**
+     * Повертає хеш-код об'єкта, похідний від {@link #fingerprint()}.
+     *
+     * @return хеш-код об'єкта
+     */
+    @Override
+    public int hashCode() {
+        return Fingerprint.toHashCode(fingerprint());
+    }
+}
@@ -0,0 +1,509 @@
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Спільний потокобезпечний кеш каталогу комплектуючих, що стоїть перед сімома DAO.
+ * Кожна категорія завантажується з DAO один раз і далі віддається з пам'яті, доки не мине TTL,
+ * не буде перевищено ліміт кількості закешованих компонентів або категорію не буде
+ * інвалідовано після запису в базу даних.
+ * Паралельні запити до категорії, якої ще немає в кеші, чекають на одне спільне завантаження.
+ * Якщо зареєстровано {@link CatalogChangeListener}, після кожного перезавантаження категорії
+ * каталог порівнює новий список з попереднім і повідомляє про змінені компоненти; для цього
+ * останній завантажений список категорії зберігається і після витіснення з кешу.
+ * Метод {@link #getAll(Duration)} завантажує всі категорії одночасно у віртуальних потоках,
+ * тож затримка визначається найповільнішим запитом, а не сумою всіх семи.
+ */
+public class ComponentCatalog {
+    /** Час життя запису за замовчуванням. */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    /** Ліміт кількості закешованих компонентів за замовчуванням. */
+    public static final int DEFAULT_MAX_COMPONENTS = 100_000;
+    /** Час очікування завантаження категорії в {@link #getAll(Duration)} за замовчуванням. */
+    public static final Duration DEFAULT_LOAD_TIMEOUT = Duration.ofSeconds(5);
+
+    /** Кожне фонове завантаження виконується в окремому віртуальному потоці: DAO-виклики блокувальні. */
+    private static final Executor LOADER = task -> Thread.ofVirtual().name("catalog-loader").start(task);
+
+    private final Map<ComponentType, Supplier<? extends List<? extends Component>>> loaders = new EnumMap<>(ComponentType.class);
+    private final ConcurrentHashMap<ComponentType, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxComponents;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loadFallbacks = new LongAdder();
+    private final CopyOnWriteArrayList<CatalogChangeListener> listeners = new CopyOnWriteArrayList<>();
+    /** Останній завантажений список кожної категорії; ведеться лише за наявності слухачів. */
+    private final ConcurrentHashMap<ComponentType, List<? extends Component>> published = new ConcurrentHashMap<>();
+    private volatile Compatibility compatibility;
+
+    /**
+     * Створює каталог з параметрами TTL та ліміту розміру за замовчуванням.
+     *
+     * @param cpus         джерело процесорів (наприклад, {@code cpuDAO::getAllCPUs})
+     * @param motherboards джерело материнських плат
+     * @param rams         джерело оперативної пам'яті
+     * @param storages     джерело накопичувачів
+     * @param gpus         джерело відеокарт
+     * @param psus         джерело блоків живлення
+     * @param cases        джерело корпусів
+     */
+    public ComponentCatalog(Supplier<List<CPU>> cpus, Supplier<List<Motherboard>> motherboards,
+                            Supplier<List<RAM>> rams, Supplier<List<Storage>> storages,
+                            Supplier<List<GPU>> gpus, Supplier<List<PSU>> psus, Supplier<List<Case>> cases) {
+        this(cpus, motherboards, rams, storages, gpus, psus, cases, DEFAULT_TTL, DEFAULT_MAX_COMPONENTS);
+    }
+
+    /**
+     * Створює каталог із заданими параметрами витіснення.
+     *
+     * @param ttl           час, після якого категорія перечитується з DAO
+     * @param maxComponents максимальна сумарна кількість компонентів у кеші
+     * @throws NullPointerException     якщо будь-яке джерело або {@code ttl} дорівнює {@code null}
+     * @throws IllegalArgumentException якщо {@code ttl} не додатний або {@code maxComponents} менше 1
+     */
+    public ComponentCatalog(Supplier<List<CPU>> cpus, Supplier<List<Motherboard>> motherboards,
+                            Supplier<List<RAM>> rams, Supplier<List<Storage>> storages,
+                            Supplier<List<GPU>> gpus, Supplier<List<PSU>> psus, Supplier<List<Case>> cases,
+                            Duration ttl, int maxComponents) {
+        if (ttl == null) throw new NullPointerException("TTL не може бути null");
+        if (ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("TTL має бути додатним");
+        if (maxComponents < 1) throw new IllegalArgumentException("Ліміт розміру має бути додатним");
+        register(ComponentType.CPU, cpus);
+        register(ComponentType.MOTHERBOARD, motherboards);
+        register(ComponentType.RAM, rams);
+        register(ComponentType.STORAGE, storages);
+        register(ComponentType.GPU, gpus);
+        register(ComponentType.PSU, psus);
+        register(ComponentType.CASE, cases);
+        this.ttlNanos = ttl.toNanos();
+        this.maxComponents = maxComponents;
+    }
+
+    private void register(ComponentType type, Supplier<? extends List<? extends Component>> loader) {
+        if (loader == null) throw new NullPointerException("Джерело для " + type.getDisplayName() + " не може бути null");
+        loaders.put(type, loader);
+    }
+
+    /**
+     * @return незмінний список, що містить усі процесори каталогу
+     */
+    public List<CPU> getCPUs() {
+        return typed(ComponentType.CPU);
+    }
+
+    /**
+     * @return незмінний список, що містить усі материнські плати каталогу
+     */
+    public List<Motherboard> getMotherboards() {
+        return typed(ComponentType.MOTHERBOARD);
+    }
+
+    /**
+     * @return незмінний список, що містить усі модулі оперативної пам'яті каталогу
+     */
+    public List<RAM> getRAMs() {
+        return typed(ComponentType.RAM);
+    }
+
+    /**
+     * @return незмінний список, що містить усі накопичувачі каталогу
+     */
+    public List<Storage> getStorages() {
+        return typed(ComponentType.STORAGE);
+    }
+
+    /**
+     * @return незмінний список, що містить усі відеокарти каталогу
+     */
+    public List<GPU> getGPUs() {
+        return typed(ComponentType.GPU);
+    }
+
+    /**
+     * @return незмінний список, що містить усі блоки живлення каталогу
+     */
+    public List<PSU> getPSUs() {
+        return typed(ComponentType.PSU);
+    }
+
+    /**
+     * @return незмінний список, що містить усі корпуси каталогу
+     */
+    public List<Case> getCases() {
+        return typed(ComponentType.CASE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> typed(ComponentType type) {
+        return (List<T>) get(type);
+    }
+
+    /**
+     * Повертає незмінний список компонентів категорії: з кешу, якщо запис ще дійсний,
+     * інакше після (спільного для всіх потоків) завантаження з DAO.
+     *
+     * @param type категорія
+     * @return незмінний список компонентів
+     */
+    public List<? extends Component> get(ComponentType type) {
+        if (type == null) throw new NullPointerException("Категорія не може бути null");
+        while (true) {
+            long now = System.nanoTime();
+            Entry current = entries.get(type);
+            if (current != null && !current.isExpired(now, ttlNanos)) {
+                hits.increment();
+                current.lastAccess = now;
+                return current.join();
+            }
+            Entry fresh = new Entry(now);
+            boolean installed = current == null
+                    ? entries.putIfAbsent(type, fresh) == null
+                    : entries.replace(type, current, fresh);
+            if (!installed) continue;
+            misses.increment();
+            return load(type, fresh);
+        }
+    }
+
+    /**
+     * Повертає компоненти категорії асинхронно: завершене майбутнє, якщо запис у кеші ще дійсний,
+     * інакше завантаження з DAO запускається на {@code executor}. Паралельні виклики, як і в
+     * {@link #get(ComponentType)}, отримують результат одного спільного завантаження.
+     *
+     * @param type     категорія
+     * @param executor виконавець для завантаження
+     * @return майбутнє з незмінним списком компонентів
+     */
+    public CompletableFuture<List<? extends Component>> getAsync(ComponentType type, Executor executor) {
+        if (type == null) throw new NullPointerException("Категорія не може бути null");
+        if (executor == null) throw new NullPointerException("Executor cannot be null");
+        while (true) {
+            long now = System.nanoTime();
+            Entry current = entries.get(type);
+            if (current != null && !current.isExpired(now, ttlNanos)) {
+                hits.increment();
+                current.lastAccess = now;
+                return current.items.copy();
+            }
+            Entry fresh = new Entry(now);
+            boolean installed = current == null
+                    ? entries.putIfAbsent(type, fresh) == null
+                    : entries.replace(type, current, fresh);
+            if (!installed) continue;
+            misses.increment();
+            try {
+                executor.execute(() -> {
+                    try {
+                        load(type, fresh);
+                    } catch (RuntimeException e) {
+                        // Помилку вже передано очікувачам через fresh.items.
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                entries.remove(type, fresh);
+                fresh.items.completeExceptionally(e);
+            }
+            return fresh.items.copy();
+        }
+    }
+
+    /**
+     * Завантажує всі сім категорій одночасно, кожну у власному віртуальному потоці.
+     *
+     * @see #getAll(Duration, Executor)
+     */
+    public Map<ComponentType, List<? extends Component>> getAll(Duration timeout) {
+        return getAll(timeout, LOADER);
+    }
+
+    /**
+     * Запускає завантаження всіх категорій одночасно і чекає на кожну не довше {@code timeout}.
+     * Оскільки завантаження йдуть паралельно, усі категорії мають спільний крайній термін.
+     * Категорія, що не встигла завантажитися або завершилася помилкою, подається порожнім списком,
+     * тож викликач переходить до своїх значень за замовчуванням; незавершене завантаження
+     * продовжується у фоні й потрапить до кешу для наступних звернень.
+     *
+     * @param timeout  максимальний час очікування кожної категорії
+     * @param executor виконавець для завантажень
+     * @return незмінна таблиця списків для кожної категорії
+     * @throws IllegalArgumentException якщо {@code timeout} від'ємний
+     */
+    public Map<ComponentType, List<? extends Component>> getAll(Duration timeout, Executor executor) {
+        if (timeout == null) throw new NullPointerException("Timeout cannot be null");
+        if (timeout.isNegative()) throw new IllegalArgumentException("Час очікування не може бути від'ємним");
+        Map<ComponentType, CompletableFuture<List<? extends Component>>> pending = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : ComponentType.values()) pending.put(type, getAsync(type, executor));
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<ComponentType, List<? extends Component>> result = new EnumMap<>(ComponentType.class);
+        for (Map.Entry<ComponentType, CompletableFuture<List<? extends Component>>> e : pending.entrySet()) {
+            List<? extends Component> items;
+            try {
+                items = e.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException ex) {
+                loadFallbacks.increment();
+                items = List.of();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                loadFallbacks.increment();
+                items = List.of();
+            }
+            result.put(e.getKey(), items);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private List<? extends Component> load(ComponentType type, Entry entry) {
+        List<? extends Component> items;
+        try {
+            List<? extends Component> loaded = loaders.get(type).get();
+            // Секцію знімка не копіюємо: вона незмінна, а копія перенесла б увесь каталог у купу.
+            items = loaded instanceof CatalogSnapshot.Section.SectionList ? loaded : List.copyOf(loaded);
+        } catch (RuntimeException | Error e) {
+            entries.remove(type, entry);
+            entry.items.completeExceptionally(e);
+            throw e;
+        }
+        entry.size = items.size();
+        entry.items.complete(items);
+        evictOverflow(type);
+        if (!listeners.isEmpty()) {
+            List<? extends Component> previous = published.put(type, items);
+            if (previous != null) publishChanges(type, previous, items);
+        }
+        return items;
+    }
+
+    private void publishChanges(ComponentType type, List<? extends Component> previous, List<? extends Component> current) {
+        Map<Object, Component> before = new HashMap<>(previous.size() * 2);
+        for (Component component : previous) before.put(key(component), component);
+        for (Component component : current) {
+            Component old = before.remove(key(component));
+            if (old == null || old.getPrice() != component.getPrice() || !old.getName().equals(component.getName())) {
+                for (CatalogChangeListener listener : listeners) listener.componentChanged(type, old, component);
+            }
+        }
+        for (Component removed : before.values()) {
+            for (CatalogChangeListener listener : listeners) listener.componentChanged(type, removed, null);
+        }
+        for (CatalogChangeListener listener : listeners) listener.changesCompleted();
+    }
+
+    private static Object key(Component component) {
+        return component.getId() != Component.NO_ID ? (Object) component.getId() : component.getName();
+    }
+
+    /**
+     * Реєструє слухача змін. Зміни визначаються відносно списків, завантажених після реєстрації першого слухача.
+     *
+     * @param listener слухач
+     */
+    public void addChangeListener(CatalogChangeListener listener) {
+        if (listener == null) throw new NullPointerException("Listener cannot be null");
+        listeners.add(listener);
+        // Уже закешовані категорії стають базою для порівняння при наступному перезавантаженні.
+        for (Map.Entry<ComponentType, Entry> e : entries.entrySet()) {
+            Entry entry = e.getValue();
+            if (entry.items.isDone() && !entry.items.isCompletedExceptionally()) {
+                published.putIfAbsent(e.getKey(), entry.join());
+            }
+        }
+    }
+
+    /**
+     * Видаляє слухача змін. Коли слухачів не лишається, збережені для порівняння списки звільняються.
+     *
+     * @param listener слухач
+     * @return {@code true}, якщо слухача було зареєстровано
+     */
+    public boolean removeChangeListener(CatalogChangeListener listener) {
+        boolean removed = listeners.remove(listener);
+        if (listeners.isEmpty()) published.clear();
+        return removed;
+    }
+
+    /**
+     * Витісняє найдавніше використані категорії, поки сумарний розмір кешу перевищує ліміт.
+     * Щойно завантажена категорія не витісняється, навіть якщо сама більша за ліміт.
+     */
+    private void evictOverflow(ComponentType justLoaded) {
+        while (true) {
+            long total = 0;
+            ComponentType oldest = null;
+            Entry oldestEntry = null;
+            for (Map.Entry<ComponentType, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                total += entry.size;
+                if (e.getKey() != justLoaded && entry.items.isDone()
+                        && (oldestEntry == null || entry.lastAccess - oldestEntry.lastAccess < 0)) {
+                    oldest = e.getKey();
+                    oldestEntry = entry;
+                }
+            }
+            if (total <= maxComponents || oldest == null) return;
+            if (entries.remove(oldest, oldestEntry)) evictions.increment();
+        }
+    }
+
+    /**
+     * Повертає рушій сумісності над поточними списками каталогу. Рушій перебудовується лише тоді,
+     * коли каталог повернув новий список процесорів, плат, пам'яті чи блоків живлення.
+     *
+     * @return рушій сумісності
+     */
+    public CompatibilityEngine getCompatibilityEngine() {
+        return getCompatibilityEngine(getCPUs(), getMotherboards(), getRAMs(), getPSUs());
+    }
+
+    /**
+     * Повертає рушій сумісності над заданими списками, наприклад отриманими з {@link #getAll(Duration)}.
+     * Якщо це ті самі списки, що й минулого разу, повертається вже побудований рушій.
+     */
+    CompatibilityEngine getCompatibilityEngine(List<CPU> cpus, List<Motherboard> motherboards,
+                                               List<RAM> rams, List<PSU> psus) {
+        Compatibility current = compatibility;
+        // Списки каталогу незмінні до перезавантаження, тож достатньо порівняти посилання.
+        if (current == null || current.cpus != cpus || current.motherboards != motherboards
+                || current.rams != rams || current.psus != psus) {
+            current = new Compatibility(cpus, motherboards, rams, psus);
+            compatibility = current;
+        }
+        return current.engine;
+    }
+
+    /**
+     * Інвалідовує категорію після запису в базу даних: наступне звернення перечитає її з DAO.
+     *
+     * @param type категорія, що змінилася
+     */
+    public void invalidate(ComponentType type) {
+        if (type == null) throw new NullPointerException("Категорія не може бути null");
+        entries.remove(type);
+    }
+
+    /**
+     * Інвалідовує всі категорії.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Повертає розмір закешованої категорії, не звертаючись до DAO.
+     *
+     * @param type категорія
+     * @return кількість компонентів у кеші або 0, якщо категорію ще не завантажено
+     */
+    public int getCachedSize(ComponentType type) {
+        if (type == null) throw new NullPointerException("Категорія не може бути null");
+        Entry entry = entries.get(type);
+        return entry == null ? 0 : entry.size;
+    }
+
+    /**
+     * @return кількість звернень, обслужених з пам'яті
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return кількість звернень, що потребували завантаження з DAO
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return кількість категорій, витіснених через ліміт розміру
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return кількість категорій, замість яких {@link #getAll(Duration)} повернув порожній список
+     *         через перевищення часу очікування або помилку завантаження
+     */
+    public long getLoadFallbackCount() {
+        return loadFallbacks.sum();
+    }
+
+    /**
+     * @return частка звернень, обслужених з пам'яті, або 0, якщо звернень ще не було
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * Рушій сумісності разом зі списками, з яких його побудовано.
+     */
+    private static final class Compatibility {
+        final List<CPU> cpus;
+        final List<Motherboard> motherboards;
+        final List<RAM> rams;
+        final List<PSU> psus;
+        final CompatibilityEngine engine;
+
+        Compatibility(List<CPU> cpus, List<Motherboard> motherboards, List<RAM> rams, List<PSU> psus) {
+            this.cpus = cpus;
+            this.motherboards = motherboards;
+            this.rams = rams;
+            this.psus = psus;
+            this.engine = new CompatibilityEngine(cpus, motherboards, rams, psus);
+        }
+    }
+
+    /**
+     * Запис кешу однієї категорії. Список публікується через {@link CompletableFuture},
+     * тож потоки, що прийшли під час завантаження, чекають на той самий результат.
+     */
+    private static final class Entry {
+        final CompletableFuture<List<? extends Component>> items = new CompletableFuture<>();
+        final long loadedAt;
+        volatile long lastAccess;
+        volatile int size;
+
+        Entry(long loadedAt) {
+            this.loadedAt = loadedAt;
+            this.lastAccess = loadedAt;
+        }
+
+        boolean isExpired(long now, long ttlNanos) {
+            return items.isDone() && now - loadedAt >= ttlNanos;
+        }
+
+        /**
+         * Чекає завантаження. Помилку завантажувача перекидає без обгортки {@link CompletionException},
+         * тож очікувачі отримують той самий {@link DAOException}, що й потік, який завантажував.
+         */
+        List<? extends Component> join() {
+            try {
+                return items.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtime) throw runtime;
+                if (cause instanceof Error error) throw error;
+                throw e;
+            }
+        }
+    }
+}
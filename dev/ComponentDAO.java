@@ -0,0 +1,251 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Спільна основа DAO для всіх категорій комплектуючих.
+ * Кожна категорія зберігається в окремій таблиці зі стовпцями {@code id}, {@code name} та {@code price}.
+ * Окрім повного завантаження в {@link List}, DAO надає потокове читання курсором з керованим
+ * розміром вибірки ({@code fetchSize}) та посторінкове читання за ключем ({@code WHERE id > ?}),
+ * тож великі каталоги можна обробляти з обмеженою пам'яттю, а перший рядок з'являється одразу.
+ *
+ * @param <T> клас компонента
+ */
+public abstract class ComponentDAO<T extends Component> {
+    /** Розмір вибірки курсора за замовчуванням. */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+    /** Розмір сторінки за замовчуванням для посторінкового читання. */
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private final ComponentType type;
+    private final String table;
+    private final LatencyHistogram latency;
+
+    /**
+     * @param type  категорія компонентів
+     * @param table назва таблиці в базі даних
+     */
+    protected ComponentDAO(ComponentType type, String table) {
+        this.type = type;
+        this.table = table;
+        this.latency = Metrics.global().timer("dao." + Metrics.name(type));
+    }
+
+    /**
+     * Створює об'єкт компонента з рядка таблиці.
+     */
+    protected abstract T map(int id, String name, double price);
+
+    /**
+     * @return категорія компонентів цього DAO
+     */
+    public ComponentType getType() {
+        return type;
+    }
+
+    /**
+     * @return назва таблиці в базі даних
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Завантажує всю таблицю в список у порядку ідентифікаторів.
+     * Тривалість завантаження записується в метрику {@code dao.<категорія>} реєстру {@link Metrics#global()}.
+     *
+     * @return усі компоненти категорії
+     * @throws DAOException якщо читання завершилося помилкою
+     */
+    public List<T> getAll() {
+        long start = System.nanoTime();
+        List<T> result = new ArrayList<>();
+        try (Stream<T> rows = stream()) {
+            rows.forEachOrdered(result::add);
+        } finally {
+            latency.recordSince(start);
+        }
+        return result;
+    }
+
+    /**
+     * Потоково читає таблицю курсором з розміром вибірки за замовчуванням.
+     *
+     * @return потік компонентів, який потрібно закрити (наприклад, у try-with-resources)
+     */
+    public Stream<T> stream() {
+        return stream(DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Потоково читає таблицю одним курсором. З'єднання тримається відкритим, доки потік не закрито;
+     * у пам'яті одночасно знаходиться не більше {@code fetchSize} рядків, отриманих драйвером.
+     *
+     * @param fetchSize кількість рядків, що драйвер отримує за один запит до бази даних
+     * @return потік компонентів, який потрібно закрити (наприклад, у try-with-resources)
+     * @throws DAOException якщо запит не вдалося виконати
+     */
+    public Stream<T> stream(int fetchSize) {
+        if (fetchSize < 1) throw new IllegalArgumentException("Розмір вибірки має бути додатним");
+        Connection connection = null;
+        try {
+            connection = Database.getConnection();
+            // Частина драйверів (наприклад, PostgreSQL) використовує серверний курсор лише поза режимом автофіксації.
+            connection.setAutoCommit(false);
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT " + columns() + " FROM " + table + " ORDER BY id");
+            statement.setFetchSize(fetchSize);
+            ResultSet rs = statement.executeQuery();
+            Cursor cursor = new Cursor(connection, statement, rs);
+            return StreamSupport.stream(cursor, false).onClose(cursor::close);
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new DAOException("Не вдалося прочитати таблицю " + table, e);
+        }
+    }
+
+    /**
+     * Читає одну сторінку за ключем: до {@code limit} компонентів з ідентифікатором більшим за {@code afterId}.
+     * На відміну від {@code OFFSET}, вартість запиту не зростає з номером сторінки.
+     *
+     * @param afterId ідентифікатор останнього компонента попередньої сторінки або -1 для першої сторінки
+     * @param limit   максимальна кількість компонентів на сторінці
+     * @return компоненти сторінки у порядку ідентифікаторів
+     * @throws DAOException якщо читання завершилося помилкою
+     */
+    public List<T> getPage(int afterId, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Розмір сторінки має бути додатним");
+        try (Connection connection = Database.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT " + columns() + " FROM " + table + " WHERE id > ? ORDER BY id")) {
+            statement.setInt(1, afterId);
+            statement.setMaxRows(limit);
+            statement.setFetchSize(Math.min(limit, DEFAULT_FETCH_SIZE));
+            List<T> page = new ArrayList<>(Math.min(limit, DEFAULT_PAGE_SIZE));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) page.add(read(rs));
+            }
+            return page;
+        } catch (SQLException e) {
+            throw new DAOException("Не вдалося прочитати сторінку таблиці " + table, e);
+        }
+    }
+
+    /**
+     * Потоково читає таблицю сторінками за ключем. З'єднання береться лише на час читання однієї сторінки,
+     * тож потік можна обробляти як завгодно довго, не тримаючи відкритий курсор.
+     *
+     * @param pageSize кількість компонентів на сторінці
+     * @return лінивий потік компонентів у порядку ідентифікаторів
+     */
+    public Stream<T> streamPages(int pageSize) {
+        if (pageSize < 1) throw new IllegalArgumentException("Розмір сторінки має бути додатним");
+        Spliterator<T> pages = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private List<T> page = List.of();
+            private int position;
+            private int lastId = -1;
+            private boolean exhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (position == page.size()) {
+                    if (exhausted) return false;
+                    page = getPage(lastId, pageSize);
+                    position = 0;
+                    if (page.size() < pageSize) exhausted = true;
+                    if (page.isEmpty()) return false;
+                }
+                T item = page.get(position++);
+                lastId = item.getId();
+                action.accept(item);
+                return true;
+            }
+        };
+        return StreamSupport.stream(pages, false);
+    }
+
+    /**
+     * Перелік стовпців запиту. Перші три завжди {@code id, name, price};
+     * категорії з додатковими характеристиками дописують свої стовпці після них.
+     *
+     * @return стовпці для {@code SELECT}
+     */
+    protected String columns() {
+        return "id, name, price";
+    }
+
+    /**
+     * Створює об'єкт компонента з поточного рядка результату, прочитаного за {@link #columns()}.
+     */
+    protected T read(ResultSet rs) throws SQLException {
+        return map(rs.getInt(1), rs.getString(2), rs.getDouble(3));
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) return;
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // З'єднання вже непридатне; первинна помилка важливіша.
+        }
+    }
+
+    /**
+     * Ітератор по відкритому {@link ResultSet}, що звільняє ресурси JDBC при закритті потоку
+     * або після останнього рядка.
+     */
+    private final class Cursor extends Spliterators.AbstractSpliterator<T> {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final ResultSet rs;
+        private boolean closed;
+
+        Cursor(Connection connection, PreparedStatement statement, ResultSet rs) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.connection = connection;
+            this.statement = statement;
+            this.rs = rs;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) return false;
+            try {
+                if (!rs.next()) {
+                    close();
+                    return false;
+                }
+                action.accept(read(rs));
+                return true;
+            } catch (SQLException e) {
+                DAOException failure = new DAOException("Не вдалося прочитати рядок таблиці " + table, e);
+                try {
+                    close();
+                } catch (DAOException closeFailure) {
+                    failure.addSuppressed(closeFailure);
+                }
+                throw failure;
+            }
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            try (connection; statement; rs) {
+                connection.commit();
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                throw new DAOException("Не вдалося закрити курсор таблиці " + table, e);
+            }
+        }
+    }
+}
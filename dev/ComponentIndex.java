@@ -0,0 +1,150 @@
+import java.util.Arrays;
+
+/**
+ * Індекси над однією {@link ComponentTable}: хеш-індекс за назвою, упорядкування рядків за назвою
+ * для пошуку за префіксом та (вже наявний у таблиці) індекс за ціною для діапазонних запитів.
+ * Пошук повертає номери рядків і позиції у примітивних масивах, тож на гарячому шляху
+ * не створюється жодного об'єкта: результати переглядаються через {@link #rowAtNameRank(int)}
+ * та {@link ComponentTable#rowAtPriceRank(int)}.
+ */
+public final class ComponentIndex {
+    private final ComponentTable table;
+    /** Відкрита адресація: номер рядка + 1, 0 означає порожню комірку. */
+    private final int[] nameSlots;
+    private final int mask;
+    private final int[] rowsByName;
+
+    /**
+     * Будує індекси для таблиці.
+     *
+     * @param table таблиця компонентів
+     */
+    public ComponentIndex(ComponentTable table) {
+        if (table == null) throw new NullPointerException("Таблиця не може бути null");
+        this.table = table;
+        int size = table.size();
+        int capacity = Integer.highestOneBit(Math.max(4, size * 2 - 1)) << 1;
+        this.nameSlots = new int[capacity];
+        this.mask = capacity - 1;
+        for (int row = 0; row < size; row++) {
+            String name = table.name(row);
+            int slot = spread(name.hashCode()) & mask;
+            boolean duplicate = false;
+            while (nameSlots[slot] != 0) {
+                if (table.name(nameSlots[slot] - 1).equals(name)) {
+                    duplicate = true;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (!duplicate) nameSlots[slot] = row + 1;
+        }
+
+        Integer[] order = new Integer[size];
+        for (int row = 0; row < size; row++) order[row] = row;
+        Arrays.sort(order, (a, b) -> {
+            int byName = table.name(a).compareTo(table.name(b));
+            return byName != 0 ? byName : Integer.compare(a, b);
+        });
+        this.rowsByName = new int[size];
+        for (int i = 0; i < size; i++) rowsByName[i] = order[i];
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return таблиця, над якою побудовано індекс
+     */
+    public ComponentTable getTable() {
+        return table;
+    }
+
+    /**
+     * Знаходить рядок за точною назвою за O(1).
+     * Якщо кілька компонентів мають однакову назву, повертається перший з них у порядку таблиці.
+     *
+     * @param name назва компонента
+     * @return номер рядка або -1, якщо такої назви немає
+     */
+    public int findByName(String name) {
+        if (name == null) return -1;
+        int slot = spread(name.hashCode()) & mask;
+        int entry;
+        while ((entry = nameSlots[slot]) != 0) {
+            if (table.name(entry - 1).equals(name)) return entry - 1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Повертає першу позицію в порядку назв, з якої починаються назви з заданим префіксом.
+     *
+     * @param prefix префікс назви
+     * @return позиція від 0 до {@code size()}
+     */
+    public int prefixFrom(String prefix) {
+        int lo = 0, hi = rowsByName.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (table.name(rowsByName[mid]).compareTo(prefix) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Повертає позицію в порядку назв одразу після останньої назви з заданим префіксом.
+     * Разом із {@link #prefixFrom(String)} задає діапазон {@code [from, to)} за O(log n).
+     *
+     * @param prefix префікс назви
+     * @return позиція від 0 до {@code size()}
+     */
+    public int prefixTo(String prefix) {
+        int lo = 0, hi = rowsByName.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            String name = table.name(rowsByName[mid]);
+            if (name.compareTo(prefix) < 0 || name.startsWith(prefix)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @param rank позиція в порядку зростання назв
+     * @return номер рядка на цій позиції
+     */
+    public int rowAtNameRank(int rank) {
+        return rowsByName[rank];
+    }
+
+    /**
+     * Повертає першу позицію в порядку зростання ціни з ціною не меншою за {@code minPrice}.
+     *
+     * @param minPrice мінімальна ціна (включно)
+     * @return позиція для {@link ComponentTable#rowAtPriceRank(int)}
+     */
+    public int priceFrom(double minPrice) {
+        return table.lowerRank(minPrice);
+    }
+
+    /**
+     * Повертає позицію в порядку зростання ціни одразу після останньої ціни, не більшої за {@code maxPrice}.
+     *
+     * @param maxPrice максимальна ціна (включно)
+     * @return позиція для {@link ComponentTable#rowAtPriceRank(int)}
+     */
+    public int priceTo(double maxPrice) {
+        return table.upperRank(maxPrice);
+    }
+
+    /**
+     * @return кількість рядків у таблиці
+     */
+    public int size() {
+        return rowsByName.length;
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * Джерело компонентів за ідентифікатором SKU, наприклад {@link CatalogVersion}.
+ * Використовується для відновлення збірок, збережених як набір ідентифікаторів ({@link BuildRecord}).
+ */
+@FunctionalInterface
+public interface ComponentResolver {
+    /**
+     * @param type категорія
+     * @param id   ідентифікатор SKU
+     * @return компонент або {@code null}, якщо такого SKU немає
+     */
+    Component findById(ComponentType type, int id);
+}
@@ -0,0 +1,62 @@
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Незмінне стовпцеве сховище всього каталогу: по одній {@link ComponentTable} на кожну категорію.
+ * Створюється з {@link ComponentCatalog} і використовується там, де потрібно швидко переглядати
+ * чи фільтрувати великі обсяги цін без створення об'єктів компонентів.
+ */
+public final class ComponentStore {
+    private final Map<ComponentType, ComponentTable> tables;
+
+    /**
+     * Створює сховище з готових таблиць.
+     *
+     * @param tables таблиці для всіх семи категорій
+     * @throws IllegalArgumentException якщо таблиця якоїсь категорії відсутня або належить іншій категорії
+     */
+    public ComponentStore(Map<ComponentType, ComponentTable> tables) {
+        if (tables == null) throw new NullPointerException("Таблиці не можуть бути null");
+        EnumMap<ComponentType, ComponentTable> copy = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : ComponentType.values()) {
+            ComponentTable table = tables.get(type);
+            if (table == null) throw new IllegalArgumentException("Відсутня таблиця " + type.getDisplayName());
+            if (table.getType() != type) throw new IllegalArgumentException("Таблиця не відповідає категорії " + type.getDisplayName());
+            copy.put(type, table);
+        }
+        this.tables = copy;
+    }
+
+    /**
+     * Знімає поточний вміст каталогу в стовпцеві таблиці.
+     *
+     * @param catalog каталог комплектуючих
+     * @return нове сховище
+     */
+    public static ComponentStore from(ComponentCatalog catalog) {
+        if (catalog == null) throw new NullPointerException("Catalog cannot be null");
+        EnumMap<ComponentType, ComponentTable> tables = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : ComponentType.values()) {
+            tables.put(type, ComponentTable.of(type, catalog.get(type)));
+        }
+        return new ComponentStore(tables);
+    }
+
+    /**
+     * @param type категорія
+     * @return таблиця компонентів категорії
+     */
+    public ComponentTable table(ComponentType type) {
+        if (type == null) throw new NullPointerException("Категорія не може бути null");
+        return tables.get(type);
+    }
+
+    /**
+     * @return загальна кількість SKU в усіх категоріях
+     */
+    public int size() {
+        int total = 0;
+        for (ComponentTable table : tables.values()) total += table.size();
+        return total;
+    }
+}
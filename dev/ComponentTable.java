@@ -0,0 +1,482 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Незмінна стовпцева таблиця компонентів однієї категорії.
+ * Замість списку окремих об'єктів дані зберігаються у примітивних масивах: ідентифікатори SKU,
+ * ціни та коди назв у словнику, де кожна унікальна назва зберігається один раз.
+ * Характеристики сумісності зберігаються лише в стовпцях, що мають сенс для категорії: сокет
+ * (процесори й плати), тип пам'яті (плати й модулі) та потужність у ватах (TDP процесорів і відеокарт,
+ * потужність блоків живлення). Рядки сокета й типу пам'яті кодуються в тому ж словнику, що й назви.
+ * Фільтрація та сортування за ціною працюють лише з безперервними масивами {@code double[]}/{@code int[]},
+ * а об'єкти {@link Component} створюються на вимогу методом {@link #get(int)}.
+ * Пошук за ідентифікатором — бінарний пошук у відсортованій копії ідентифікаторів, тож розріджені
+ * ідентифікатори SKU (наприклад, 2 000 000 000) не збільшують розмір таблиці.
+ */
+public final class ComponentTable {
+    private final ComponentType type;
+    private final int[] ids;
+    private final int[] nameCodes;
+    private final String[] dictionary;
+    private final double[] prices;
+    /** Коди сокета, типу пам'яті (-1 — невідомо) та потужність (0 — невідома); {@code null} для категорій без них. */
+    private final int[] sockets;
+    private final int[] ramTypes;
+    private final int[] watts;
+    private final boolean hasAttributes;
+    /** Ідентифікатори в порядку зростання та відповідні їм рядки. */
+    private final int[] sortedIds;
+    private final int[] rowsById;
+    private final int[] rowsByPrice;
+    private final double[] sortedPrices;
+
+    private ComponentTable(Builder builder) {
+        int size = builder.size;
+        this.type = builder.type;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.nameCodes = Arrays.copyOf(builder.nameCodes, size);
+        this.dictionary = builder.dictionary.toArray(new String[0]);
+        this.prices = Arrays.copyOf(builder.prices, size);
+        this.sockets = builder.sockets != null ? Arrays.copyOf(builder.sockets, size) : null;
+        this.ramTypes = builder.ramTypes != null ? Arrays.copyOf(builder.ramTypes, size) : null;
+        this.watts = builder.watts != null ? Arrays.copyOf(builder.watts, size) : null;
+        this.hasAttributes = builder.hasAttributes;
+
+        long[] byId = new long[size];
+        for (int row = 0; row < size; row++) byId[row] = (long) ids[row] << 32 | row;
+        Arrays.sort(byId);
+        this.sortedIds = new int[size];
+        this.rowsById = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedIds[i] = (int) (byId[i] >>> 32);
+            rowsById[i] = (int) byId[i];
+        }
+
+        this.rowsByPrice = new int[size];
+        for (int row = 0; row < size; row++) rowsByPrice[row] = row;
+        this.sortedPrices = prices.clone();
+        sortByPrice(sortedPrices, rowsByPrice, 0, size - 1);
+    }
+
+    /**
+     * Створює таблицю з переліку компонентів. Компонентам без ідентифікатора
+     * ({@link Component#NO_ID}) присвоюються нові ідентифікатори після найбільшого наявного.
+     *
+     * @param type       категорія таблиці
+     * @param components компоненти цієї категорії
+     * @return нова таблиця
+     */
+    public static ComponentTable of(ComponentType type, List<? extends Component> components) {
+        Builder builder = new Builder(type);
+        for (Component component : components) {
+            if (component.getId() != Component.NO_ID) builder.reserve(component.getId());
+        }
+        for (Component component : components) builder.add(component);
+        return builder.build();
+    }
+
+    /**
+     * @return категорія компонентів таблиці
+     */
+    public ComponentType getType() {
+        return type;
+    }
+
+    /**
+     * @return кількість рядків (SKU) у таблиці
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @param row номер рядка
+     * @return ідентифікатор SKU рядка
+     */
+    public int id(int row) {
+        return ids[row];
+    }
+
+    /**
+     * @param row номер рядка
+     * @return назва компонента в рядку
+     */
+    public String name(int row) {
+        return dictionary[nameCodes[row]];
+    }
+
+    /**
+     * @param row номер рядка
+     * @return код назви у словнику таблиці; однакові назви мають однакові коди
+     */
+    public int nameCode(int row) {
+        return nameCodes[row];
+    }
+
+    /**
+     * @param row номер рядка
+     * @return ціна компонента в рядку
+     */
+    public double price(int row) {
+        return prices[row];
+    }
+
+    /**
+     * @param row номер рядка
+     * @return сокет процесора чи плати або {@code null}, якщо невідомий чи категорія його не має
+     */
+    public String socket(int row) {
+        return sockets == null || sockets[row] < 0 ? null : dictionary[sockets[row]];
+    }
+
+    /**
+     * @param row номер рядка
+     * @return тип пам'яті плати чи модуля або {@code null}, якщо невідомий чи категорія його не має
+     */
+    public String ramType(int row) {
+        return ramTypes == null || ramTypes[row] < 0 ? null : dictionary[ramTypes[row]];
+    }
+
+    /**
+     * @param row номер рядка
+     * @return TDP процесора чи відеокарти, потужність блока живлення або 0, якщо невідома
+     */
+    public int watts(int row) {
+        return watts == null ? 0 : watts[row];
+    }
+
+    /**
+     * @return {@code true}, якщо хоча б один рядок має відому характеристику сумісності
+     */
+    public boolean hasAttributes() {
+        return hasAttributes;
+    }
+
+    /**
+     * Знаходить рядок за ідентифікатором SKU.
+     *
+     * @param id ідентифікатор SKU
+     * @return номер рядка або -1, якщо такого SKU немає
+     */
+    public int rowOf(int id) {
+        int i = Arrays.binarySearch(sortedIds, id);
+        return i >= 0 ? rowsById[i] : -1;
+    }
+
+    /**
+     * Створює об'єкт компонента для рядка таблиці.
+     *
+     * @param row номер рядка
+     * @return компонент відповідного класу ({@link CPU}, {@link GPU} тощо)
+     */
+    public Component get(int row) {
+        int id = ids[row];
+        String name = name(row);
+        double price = prices[row];
+        switch (type) {
+            case CPU: return new CPU(id, name, price, socket(row), watts(row));
+            case MOTHERBOARD: return new Motherboard(id, name, price, socket(row), ramType(row));
+            case RAM: return new RAM(id, name, price, ramType(row));
+            case STORAGE: return new Storage(id, name, price);
+            case GPU: return new GPU(id, name, price, watts(row));
+            case PSU: return new PSU(id, name, price, watts(row));
+            case CASE: return new Case(id, name, price);
+            default: throw new IllegalStateException("Невідома категорія: " + type);
+        }
+    }
+
+    /**
+     * Створює об'єкти для всіх рядків таблиці у порядку рядків.
+     *
+     * @return список компонентів
+     */
+    public List<Component> toList() {
+        List<Component> result = new ArrayList<>(size());
+        for (int row = 0; row < size(); row++) result.add(get(row));
+        return result;
+    }
+
+    /**
+     * Повертає номер рядка, що займає задану позицію у порядку зростання ціни.
+     *
+     * @param rank позиція від 0 (найдешевший) до {@code size() - 1}
+     * @return номер рядка
+     */
+    public int rowAtPriceRank(int rank) {
+        return rowsByPrice[rank];
+    }
+
+    /**
+     * @param rank позиція у порядку зростання ціни
+     * @return ціна компонента на цій позиції
+     */
+    public double priceAtRank(int rank) {
+        return sortedPrices[rank];
+    }
+
+    /**
+     * Бінарним пошуком знаходить першу позицію у порядку зростання ціни, де ціна не менша за {@code price}.
+     *
+     * @param price нижня межа ціни
+     * @return позиція від 0 до {@code size()}
+     */
+    public int lowerRank(double price) {
+        int lo = 0, hi = sortedPrices.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedPrices[mid] < price) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Бінарним пошуком знаходить першу позицію у порядку зростання ціни, де ціна більша за {@code price}.
+     *
+     * @param price верхня межа ціни (включно)
+     * @return позиція від 0 до {@code size()}
+     */
+    public int upperRank(double price) {
+        int lo = 0, hi = sortedPrices.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedPrices[mid] <= price) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Повертає рядки з ціною в межах {@code [minPrice, maxPrice]} у порядку зростання ціни.
+     *
+     * @param minPrice мінімальна ціна (включно)
+     * @param maxPrice максимальна ціна (включно)
+     * @return масив номерів рядків
+     */
+    public int[] rowsInPriceRange(double minPrice, double maxPrice) {
+        int from = lowerRank(minPrice);
+        int to = upperRank(maxPrice);
+        return from < to ? Arrays.copyOfRange(rowsByPrice, from, to) : new int[0];
+    }
+
+    /**
+     * @return мінімальна ціна в таблиці
+     * @throws IllegalStateException якщо таблиця порожня
+     */
+    public double minPrice() {
+        if (sortedPrices.length == 0) throw new IllegalStateException("Таблиця " + type.getDisplayName() + " порожня");
+        return sortedPrices[0];
+    }
+
+    /**
+     * @return максимальна ціна в таблиці
+     * @throws IllegalStateException якщо таблиця порожня
+     */
+    public double maxPrice() {
+        if (sortedPrices.length == 0) throw new IllegalStateException("Таблиця " + type.getDisplayName() + " порожня");
+        return sortedPrices[sortedPrices.length - 1];
+    }
+
+    /**
+     * Сортує ціни разом із номерами рядків (швидке сортування з вставками для коротких відрізків).
+     * Рівні ціни впорядковуються за номером рядка, тож порядок стабільний між запусками.
+     */
+    private static void sortByPrice(double[] keys, int[] rows, int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            double pivotKey = keys[mid];
+            int pivotRow = rows[mid];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (less(keys[i], rows[i], pivotKey, pivotRow)) i++;
+                while (less(pivotKey, pivotRow, keys[j], rows[j])) j--;
+                if (i <= j) swap(keys, rows, i++, j--);
+            }
+            if (j - lo < hi - i) {
+                sortByPrice(keys, rows, lo, j);
+                lo = i;
+            } else {
+                sortByPrice(keys, rows, i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && less(keys[j], rows[j], keys[j - 1], rows[j - 1]); j--) {
+                swap(keys, rows, j, j - 1);
+            }
+        }
+    }
+
+    private static boolean less(double key, int row, double otherKey, int otherRow) {
+        return key < otherKey || (key == otherKey && row < otherRow);
+    }
+
+    private static void swap(double[] keys, int[] rows, int i, int j) {
+        double k = keys[i];
+        keys[i] = keys[j];
+        keys[j] = k;
+        int r = rows[i];
+        rows[i] = rows[j];
+        rows[j] = r;
+    }
+
+    /**
+     * Покроковий будівник таблиці. Перевіряє дані за тими самими правилами,
+     * що й конструктори компонентів, та інтернує однакові назви в одному словнику.
+     */
+    public static final class Builder {
+        private final ComponentType type;
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private int[] ids = new int[16];
+        private int[] nameCodes = new int[16];
+        private double[] prices = new double[16];
+        private int[] sockets;
+        private int[] ramTypes;
+        private int[] watts;
+        private boolean hasAttributes;
+        private final Set<Integer> usedIds = new HashSet<>();
+        private int size;
+        private int maxId = -1;
+
+        /**
+         * @param type категорія майбутньої таблиці
+         * @throws NullPointerException якщо категорія дорівнює null
+         */
+        public Builder(ComponentType type) {
+            if (type == null) throw new NullPointerException("Категорія не може бути null");
+            this.type = type;
+            boolean socket = type == ComponentType.CPU || type == ComponentType.MOTHERBOARD;
+            boolean ramType = type == ComponentType.MOTHERBOARD || type == ComponentType.RAM;
+            boolean power = type == ComponentType.CPU || type == ComponentType.GPU || type == ComponentType.PSU;
+            if (socket) sockets = new int[16];
+            if (ramType) ramTypes = new int[16];
+            if (power) watts = new int[16];
+        }
+
+        /**
+         * Резервує ідентифікатор, щоб автоматично присвоєні ідентифікатори починалися після нього.
+         */
+        private void reserve(int id) {
+            if (id > maxId) maxId = id;
+        }
+
+        /**
+         * Додає компонент до таблиці.
+         *
+         * @param component компонент категорії таблиці
+         * @return цей будівник
+         * @throws IllegalArgumentException якщо компонент іншої категорії або його ідентифікатор уже зайнятий
+         */
+        public Builder add(Component component) {
+            if (component == null) throw new NullPointerException("Компонент не може бути null");
+            if (component.getType() != type) {
+                throw new IllegalArgumentException("Очікувалась категорія " + type.getDisplayName()
+                        + ", отримано " + component.getType().getDisplayName());
+            }
+            String socket = null, ramType = null;
+            int power = 0;
+            switch (type) {
+                case CPU:
+                    socket = ((CPU) component).getSocket();
+                    power = ((CPU) component).getTdpWatts();
+                    break;
+                case MOTHERBOARD:
+                    socket = ((Motherboard) component).getSocket();
+                    ramType = ((Motherboard) component).getRamType();
+                    break;
+                case RAM: ramType = ((RAM) component).getRamType(); break;
+                case GPU: power = ((GPU) component).getTdpWatts(); break;
+                case PSU: power = ((PSU) component).getWattage(); break;
+                default: break;
+            }
+            return add(component.getId(), component.getName(), component.getPrice(), socket, ramType, power);
+        }
+
+        /**
+         * Додає рядок до таблиці.
+         *
+         * @param id    ідентифікатор SKU або {@link Component#NO_ID} для автоматичного присвоєння
+         * @param name  назва компонента
+         * @param price ціна компонента
+         * @return цей будівник
+         * @throws IllegalArgumentException якщо ціна від'ємна, назва пуста або ідентифікатор уже зайнятий
+         * @throws NullPointerException     якщо назва є null
+         */
+        public Builder add(int id, String name, double price) {
+            return add(id, name, price, null, null, 0);
+        }
+
+        /**
+         * Додає рядок з характеристиками сумісності.
+         *
+         * @param id      ідентифікатор SKU або {@link Component#NO_ID} для автоматичного присвоєння
+         * @param name    назва компонента
+         * @param price   ціна компонента
+         * @param socket  сокет або {@code null}, якщо невідомий
+         * @param ramType тип пам'яті або {@code null}, якщо невідомий
+         * @param power   TDP чи потужність блока живлення у ватах або 0, якщо невідома
+         * @return цей будівник
+         * @throws IllegalArgumentException якщо дані некоректні, ідентифікатор уже зайнятий
+         *                                  або категорія не має заданої характеристики
+         * @throws NullPointerException     якщо назва є null
+         */
+        public Builder add(int id, String name, double price, String socket, String ramType, int power) {
+            Component.validate(id, name, price);
+            if (power < 0) throw new IllegalArgumentException("Потужність не може бути від'ємною");
+            if ((socket != null && socket.isBlank()) || (ramType != null && ramType.isBlank())) {
+                throw new IllegalArgumentException("Характеристика не може бути пустою");
+            }
+            if ((socket != null && sockets == null) || (ramType != null && ramTypes == null) || (power != 0 && watts == null)) {
+                throw new IllegalArgumentException("Категорія " + type.getDisplayName() + " не має такої характеристики");
+            }
+            if (id == Component.NO_ID) {
+                if (maxId == Integer.MAX_VALUE) throw new IllegalArgumentException("Вільних ідентифікаторів не лишилося");
+                id = maxId + 1;
+            }
+            if (!usedIds.add(id)) throw new IllegalArgumentException("Ідентифікатор " + id + " уже зайнятий");
+            reserve(id);
+
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                nameCodes = Arrays.copyOf(nameCodes, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                if (sockets != null) sockets = Arrays.copyOf(sockets, capacity);
+                if (ramTypes != null) ramTypes = Arrays.copyOf(ramTypes, capacity);
+                if (watts != null) watts = Arrays.copyOf(watts, capacity);
+            }
+            ids[size] = id;
+            nameCodes[size] = code(name);
+            prices[size] = price;
+            if (sockets != null) sockets[size] = socket == null ? -1 : code(socket);
+            if (ramTypes != null) ramTypes[size] = ramType == null ? -1 : code(ramType);
+            if (watts != null) watts[size] = power;
+            if (socket != null || ramType != null || power != 0) hasAttributes = true;
+            size++;
+            return this;
+        }
+
+        private int code(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                codes.put(value, code);
+                dictionary.add(value);
+            }
+            return code;
+        }
+
+        /**
+         * @return нова незмінна таблиця
+         */
+        public ComponentTable build() {
+            return new ComponentTable(this);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Перелік категорій комплектуючих, з яких складається {@link Computer}.
+ * Порядок констант збігається з порядком вибору в {@link ComputerAssembler#buildComputer()}.
+ */
+public enum ComponentType {
+    CPU("CPU"),
+    MOTHERBOARD("Motherboard"),
+    RAM("RAM"),
+    STORAGE("Storage"),
+    GPU("GPU"),
+    PSU("PSU"),
+    CASE("Case");
+
+    private final String displayName;
+
+    ComponentType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Повертає назву категорії для виведення користувачу.
+     *
+     * @return назва категорії (наприклад, "Motherboard")
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -1,11 +1,19 @@
-import java.text.DecimalFormat;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 
 /**
  * Клас Computer представляє конфігурацію персонального комп'ютера, що складається з різних компонентів:
  * процесора, материнської плати, оперативної пам'яті, накопичувача, відеокарти, блока живлення та корпусу.
  * Клас підтримує копіювання, перевірку еквівалентності, розрахунок загальної вартості та виведення конфігурації.
+ * Загальна вартість зберігається в полі: після заміни деталі сетер перераховує її з цін семи компонентів
+ * (без накопичення похибки округлення) і повідомляє зареєстрованих {@link ComputerChangeListener},
+ * тож і заміна деталі, і {@link #getTotalPrice()} коштують O(1).
  */
 public class Computer {
+    private static final ComputerChangeListener[] NO_LISTENERS = new ComputerChangeListener[0];
+
     private CPU cpu;
     private Motherboard motherboard;
     private RAM ram;
@@ -14,6 +22,12 @@ public class Computer {
     private PSU psu;
     private Case pcCase;
 
+    private double totalPrice;
+    private long version;
+    /** Закешований відбиток конфігурації; 0 означає «ще не обчислено» або «застарів після заміни». */
+    private long fingerprint;
+    private ComputerChangeListener[] listeners = NO_LISTENERS;
+
     /**
      * Основний конструктор. Створює новий об'єкт  з усіма необхідними компонентами.
      *
@@ -39,6 +53,8 @@ public class Computer {
 
     /**
      * Конструктор копіювання. Створює глибоку копію іншого об'єкта {@code Computer}.
+     * Сума та відбиток копіюються, а лічильник змін ({@link #getVersion()}) копії, як і в нової збірки,
+     * починається з 0; слухачі не копіюються.
      *
      * @param other інший комп'ютер для копіювання
      */
@@ -51,6 +67,8 @@ public class Computer {
         this.gpu = new GPU(other.gpu);
         this.psu = new PSU(other.psu);
         this.pcCase = new Case(other.pcCase);
+        this.totalPrice = other.totalPrice;
+        this.fingerprint = other.fingerprint;
     }
 
     // Сетери з перевіркою на null
@@ -63,7 +81,9 @@ public class Computer {
      */
     public void setCpu(CPU cpu) {
         if (cpu == null) throw new IllegalArgumentException("CPU не може бути null");
+        CPU previous = this.cpu;
         this.cpu = cpu;
+        changed(ComponentType.CPU, previous, cpu);
     }
 
     /**
@@ -74,7 +94,9 @@ public class Computer {
      */
     public void setMotherboard(Motherboard motherboard) {
         if (motherboard == null) throw new IllegalArgumentException("Motherboard не може бути null");
+        Motherboard previous = this.motherboard;
         this.motherboard = motherboard;
+        changed(ComponentType.MOTHERBOARD, previous, motherboard);
     }
 
     /**
@@ -85,7 +107,9 @@ public class Computer {
      */
     public void setRam(RAM ram) {
         if (ram == null) throw new IllegalArgumentException("RAM не може бути null");
+        RAM previous = this.ram;
         this.ram = ram;
+        changed(ComponentType.RAM, previous, ram);
     }
 
     /**
@@ -96,7 +120,9 @@ public class Computer {
      */
     public void setStorage(Storage storage) {
         if (storage == null) throw new IllegalArgumentException("Storage не може бути null");
+        Storage previous = this.storage;
         this.storage = storage;
+        changed(ComponentType.STORAGE, previous, storage);
     }
 
     /**
@@ -107,7 +133,9 @@ public class Computer {
      */
     public void setGpu(GPU gpu) {
         if (gpu == null) throw new IllegalArgumentException("GPU не може бути null");
+        GPU previous = this.gpu;
         this.gpu = gpu;
+        changed(ComponentType.GPU, previous, gpu);
     }
 
     /**
@@ -118,7 +146,9 @@ public class Computer {
      */
     public void setPsu(PSU psu) {
         if (psu == null) throw new IllegalArgumentException("PSU не може бути null");
+        PSU previous = this.psu;
         this.psu = psu;
+        changed(ComponentType.PSU, previous, psu);
     }
 
     /**
@@ -129,7 +159,9 @@ public class Computer {
      */
     public void setPcCase(Case pcCase) {
         if (pcCase == null) throw new IllegalArgumentException("Case не може бути null");
+        Case previous = this.pcCase;
         this.pcCase = pcCase;
+        changed(ComponentType.CASE, previous, pcCase);
     }
 
     //  ГЕТЕРИ
@@ -184,30 +216,118 @@ public class Computer {
     }
 
     /**
-     * Розраховує загальну вартість усіх компонентів комп'ютера.
+     * Повертає компонент заданої категорії.
+     *
+     * @param type категорія
+     * @return компонент цієї категорії
+     */
+    public Component getComponent(ComponentType type) {
+        if (type == null) throw new NullPointerException("Категорія не може бути null");
+        switch (type) {
+            case CPU: return cpu;
+            case MOTHERBOARD: return motherboard;
+            case RAM: return ram;
+            case STORAGE: return storage;
+            case GPU: return gpu;
+            case PSU: return psu;
+            case CASE: return pcCase;
+            default: throw new IllegalArgumentException("Невідома категорія: " + type);
+        }
+    }
+
+    /**
+     * Повертає загальну вартість усіх компонентів комп'ютера без повторного підсумовування.
+     * Сума завжди дорівнює додаванню семи цін у порядку категорій {@link ComponentType},
+     * тож рівні конфігурації мають однакову вартість незалежно від історії замін.
      *
      * @return загальна вартість
      */
     public double getTotalPrice() {
-        return cpu.getPrice() + motherboard.getPrice() + ram.getPrice()
-             + storage.getPrice() + gpu.getPrice() + psu.getPrice() + pcCase.getPrice();
+        return totalPrice;
+    }
+
+    /**
+     * Повертає лічильник змін конфігурації. Збільшується при кожному виклику сетера після створення,
+     * тож кеші похідних даних можуть дешево перевірити, чи не застаріли вони.
+     *
+     * @return кількість замін компонентів
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Реєструє слухача змін. Слухачі не копіюються конструктором копіювання.
+     *
+     * @param listener слухач
+     * @throws NullPointerException якщо {@code listener} дорівнює {@code null}
+     */
+    public void addChangeListener(ComputerChangeListener listener) {
+        if (listener == null) throw new NullPointerException("Listener cannot be null");
+        ComputerChangeListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Видаляє раніше зареєстрованого слухача.
+     *
+     * @param listener слухач
+     * @return {@code true}, якщо слухача було зареєстровано
+     */
+    public boolean removeChangeListener(ComputerChangeListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                ComputerChangeListener[] updated = new ComputerChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, updated.length - i);
+                listeners = updated;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Оновлює загальну вартість і повідомляє слухачів.
+     * Під час роботи конструктора {@code previous} дорівнює {@code null}: ціна додається до суми в порядку категорій.
+     * Після заміни сума перераховується з семи цін, а не коригується на різницю: різниці накопичували б
+     * похибку округлення {@code double}.
+     */
+    private void changed(ComponentType type, Component previous, Component current) {
+        if (previous == null) {
+            totalPrice += current.getPrice();
+            return;
+        }
+        totalPrice = cpu.getPrice() + motherboard.getPrice() + ram.getPrice()
+                + storage.getPrice() + gpu.getPrice() + psu.getPrice() + pcCase.getPrice();
+        version++;
+        fingerprint = 0;
+        // Слухач може відписатися під час сповіщення, тож перебираємо знімок масиву.
+        for (ComputerChangeListener listener : listeners) listener.componentChanged(this, type, previous, current);
     }
 
     /**
      * Виводить конфігурацію комп'ютера у консоль, включаючи всі компоненти та їхню вартість.
+     * Текст кодується рендерером поточного потоку одразу в байти, без проміжного рядка.
      */
     public void printConfiguration() {
-        DecimalFormat df = new DecimalFormat("#.00");
+        PrintStream out = System.out;
+        try {
+            ConfigurationRenderer.forThread(out.charset()).writeText(this, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        System.out.println("=== Комп'ютерна конфігурація ===");
-        System.out.println("CPU: " + cpu.getName() + " - $" + cpu.getPrice());
-        System.out.println("Motherboard: " + motherboard.getName() + " - $" + motherboard.getPrice());
-        System.out.println("RAM: " + ram.getName() + " - $" + ram.getPrice());
-        System.out.println("Storage: " + storage.getName() + " - $" + storage.getPrice());
-        System.out.println("GPU: " + gpu.getName() + " - $" + gpu.getPrice());
-        System.out.println("PSU: " + psu.getName() + " - $" + psu.getPrice());
-        System.out.println("Case: " + pcCase.getName() + " - $" + pcCase.getPrice());
-        System.out.println("Загальна вартість: $" + df.format(getTotalPrice()));
+    /**
+     * Формує текст конфігурації у тому вигляді, в якому його виводить {@link #printConfiguration()}.
+     * Для виведення багатьох конфігурацій без створення рядків використовуйте {@link ConfigurationRenderer}.
+     *
+     * @return багаторядковий текст конфігурації, що закінчується переведенням рядка
+     */
+    public String formatConfiguration() {
+        return ConfigurationRenderer.textOf(this);
     }
 
     /**
@@ -217,15 +337,14 @@ public class Computer {
      */
     @Override
     public String toString() {
-        return "Computer{" +
-                "cpu=" + cpu +
-                ", motherboard=" + motherboard +
-                ", ram=" + ram +
-                ", storage=" + storage +
-                ", gpu=" + gpu +
-                ", psu=" + psu +
-                ", pcCase=" + pcCase +
-                '}';
+        StringBuilder s = new StringBuilder(320).append("Computer{cpu=");
+        cpu.appendTo(s).append(", motherboard=");
+        motherboard.appendTo(s).append(", ram=");
+        ram.appendTo(s).append(", storage=");
+        storage.appendTo(s).append(", gpu=");
+        gpu.appendTo(s).append(", psu=");
+        psu.appendTo(s).append(", pcCase=");
+        return pcCase.appendTo(s).append('}').toString();
     }
 
     /**
@@ -250,6 +369,40 @@ public class Computer {
                 pcCase.equals(that.pcCase);
     }
 
+    /**
+     * Повертає 64-бітний відбиток конфігурації, узгоджений з {@link #equals(Object)}.
+     * Складається з відбитків семи компонентів з урахуванням категорії; кешується до наступної заміни
+     * компонента й не створює об'єктів.
+     *
+     * @return відбиток конфігурації
+     */
+    public long fingerprint() {
+        long h = fingerprint;
+        if (h == 0) {
+            h = Fingerprint.combine(0, cpu.fingerprint());
+            h = Fingerprint.combine(h, motherboard.fingerprint());
+            h = Fingerprint.combine(h, ram.fingerprint());
+            h = Fingerprint.combine(h, storage.fingerprint());
+            h = Fingerprint.combine(h, gpu.fingerprint());
+            h = Fingerprint.combine(h, psu.fingerprint());
+            h = Fingerprint.combine(h, pcCase.fingerprint());
+            if (h == 0) h = 1;
+            fingerprint = h;
+        }
+        return h;
+    }
+
+    /**
+     * Повертає хеш-код, похідний від {@link #fingerprint()}. Хеш-код змінюється після заміни компонента,
+     * тож комп'ютер, що використовується як ключ, не слід змінювати.
+     *
+     * @return хеш-код
+     */
+    @Override
+    public int hashCode() {
+        return Fingerprint.toHashCode(fingerprint());
+    }
+
 
 
 }
@@ -1,155 +1,329 @@
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
 // ComputerAssembler class
 class ComputerAssembler {
-    private java.util.Scanner scanner = new java.util.Scanner(System.in);
-    private CPUDAO cpuDAO = new CPUDAO();
-    private MotherboardDAO motherboardDAO = new MotherboardDAO();
-    private RAMDAO ramDAO = new RAMDAO();
-    private StorageDAO storageDAO = new StorageDAO();
-    private GPUDAO gpuDAO = new GPUDAO();
-    private PSUDAO psuDAO = new PSUDAO();
-    private CaseDAO caseDAO = new CaseDAO();
+    /** Каталог, спільний для всіх сесій збирання, що створені конструктором за замовчуванням. */
+    private static final ComponentCatalog SHARED_CATALOG = new ComponentCatalog(
+            new CPUDAO()::getAllCPUs,
+            new MotherboardDAO()::getAllMotherboards,
+            new RAMDAO()::getAllRAMs,
+            new StorageDAO()::getAllStorages,
+            new GPUDAO()::getAllGPUs,
+            new PSUDAO()::getAllPSUs,
+            new CaseDAO()::getAllCases);
+    private static final LatencyHistogram FETCH_LATENCY = Metrics.global().timer("catalog.fetch");
+    private static final RateMeter BUILDS = Metrics.global().meter("builds");
+
+    static {
+        Metrics.global().registerCatalog("catalog", SHARED_CATALOG);
+    }
+
+    private final Scanner scanner;
+    private final PrintStream out;
+    private final ComponentCatalog catalog;
+    private final VersionedCatalog versions;
+    private final Duration loadTimeout;
+
+    public ComputerAssembler() {
+        this(SHARED_CATALOG);
+    }
+
+    public ComputerAssembler(ComponentCatalog catalog) {
+        this(catalog, new Scanner(System.in), System.out);
+    }
+
+    public ComputerAssembler(ComponentCatalog catalog, Scanner scanner, PrintStream out) {
+        this(catalog, scanner, out, ComponentCatalog.DEFAULT_LOAD_TIMEOUT);
+    }
+
+    /**
+     * @param loadTimeout скільки {@link #buildComputer()} чекає на завантаження кожної категорії,
+     *                    перш ніж запропонувати компонент за замовчуванням
+     */
+    public ComputerAssembler(ComponentCatalog catalog, Scanner scanner, PrintStream out, Duration loadTimeout) {
+        if (catalog == null) throw new NullPointerException("Catalog cannot be null");
+        if (scanner == null) throw new NullPointerException("Scanner cannot be null");
+        if (out == null) throw new NullPointerException("Output cannot be null");
+        if (loadTimeout == null) throw new NullPointerException("Timeout cannot be null");
+        if (loadTimeout.isNegative()) throw new IllegalArgumentException("Час очікування не може бути від'ємним");
+        this.catalog = catalog;
+        this.versions = null;
+        this.scanner = scanner;
+        this.out = out;
+        this.loadTimeout = loadTimeout;
+    }
+
+    /**
+     * Створює сесію над версійованим каталогом: {@link #buildComputer()} бере одну {@link CatalogVersion}
+     * і пропонує компоненти та перевіряє сумісність лише в ній, тож ціни й списки всіх категорій узгоджені.
+     *
+     * @param versions версійований каталог
+     */
+    public ComputerAssembler(VersionedCatalog versions, Scanner scanner, PrintStream out) {
+        if (versions == null) throw new NullPointerException("Catalog cannot be null");
+        if (scanner == null) throw new NullPointerException("Scanner cannot be null");
+        if (out == null) throw new NullPointerException("Output cannot be null");
+        this.catalog = null;
+        this.versions = versions;
+        this.scanner = scanner;
+        this.out = out;
+        this.loadTimeout = ComponentCatalog.DEFAULT_LOAD_TIMEOUT;
+    }
+
+    public static ComponentCatalog getSharedCatalog() {
+        return SHARED_CATALOG;
+    }
 
     public CPU selectCPU() {
-        List<CPU> cpus = cpuDAO.getAllCPUs();
+        return chooseCPU(current(ComponentType.CPU));
+    }
+
+    private CPU chooseCPU(List<CPU> cpus) {
         if (cpus.isEmpty()) {
-            System.out.println("No CPUs available, defaulting to Intel i5.");
+            out.println("No CPUs available, defaulting to Intel i5.");
             return new CPU("Intel i5", 200.0);
         }
-        System.out.println("Select CPU:");
+        out.println("Select CPU:");
         for (int i = 0; i < cpus.size(); i++) {
-            System.out.println((i + 1) + ". " + cpus.get(i).getName() + " - $" + cpus.get(i).getPrice());
+            out.println((i + 1) + ". " + cpus.get(i).getName() + " - $" + cpus.get(i).getPrice());
         }
-        System.out.print("Enter your choice (1-" + cpus.size() + "): ");
+        out.print("Enter your choice (1-" + cpus.size() + "): ");
         int choice = scanner.nextInt();
         if (choice < 1 || choice > cpus.size()) {
-            System.out.println("Invalid choice, defaulting to first option.");
+            out.println("Invalid choice, defaulting to first option.");
             return cpus.get(0);
         }
         return cpus.get(choice - 1);
     }
 
     public Motherboard selectMotherboard() {
-        List<Motherboard> motherboards = motherboardDAO.getAllMotherboards();
+        return chooseMotherboard(current(ComponentType.MOTHERBOARD));
+    }
+
+    /**
+     * Пропонує лише материнські плати, сумісні з уже вибраним процесором.
+     */
+    public Motherboard selectMotherboard(CPU cpu) {
+        return selectMotherboard(cpu, currentEngine());
+    }
+
+    private Motherboard selectMotherboard(CPU cpu, CompatibilityEngine engine) {
+        List<Motherboard> compatible = CompatibilityEngine.select(engine.getMotherboards(), engine.motherboardsFor(cpu));
+        return chooseMotherboard(narrowed(compatible, engine.getMotherboards(), "Motherboards"));
+    }
+
+    private Motherboard chooseMotherboard(List<Motherboard> motherboards) {
         if (motherboards.isEmpty()) {
-            System.out.println("No Motherboards available, defaulting to ASUS ROG.");
+            out.println("No Motherboards available, defaulting to ASUS ROG.");
             return new Motherboard("ASUS ROG", 200.0);
         }
-        System.out.println("Select Motherboard:");
+        out.println("Select Motherboard:");
         for (int i = 0; i < motherboards.size(); i++) {
-            System.out.println((i + 1) + ". " + motherboards.get(i).getName() + " - $" + motherboards.get(i).getPrice());
+            out.println((i + 1) + ". " + motherboards.get(i).getName() + " - $" + motherboards.get(i).getPrice());
         }
-        System.out.print("Enter your choice (1-" + motherboards.size() + "): ");
+        out.print("Enter your choice (1-" + motherboards.size() + "): ");
         int choice = scanner.nextInt();
         if (choice < 1 || choice > motherboards.size()) {
-            System.out.println("Invalid choice, defaulting to first option.");
+            out.println("Invalid choice, defaulting to first option.");
             return motherboards.get(0);
         }
         return motherboards.get(choice - 1);
     }
 
     public RAM selectRAM() {
-        List<RAM> rams = ramDAO.getAllRAMs();
+        return chooseRAM(current(ComponentType.RAM));
+    }
+
+    /**
+     * Пропонує лише модулі пам'яті, сумісні з уже вибраною материнською платою.
+     */
+    public RAM selectRAM(Motherboard motherboard) {
+        return selectRAM(motherboard, currentEngine());
+    }
+
+    private RAM selectRAM(Motherboard motherboard, CompatibilityEngine engine) {
+        List<RAM> compatible = CompatibilityEngine.select(engine.getRAMs(), engine.ramsFor(motherboard));
+        return chooseRAM(narrowed(compatible, engine.getRAMs(), "RAM"));
+    }
+
+    private RAM chooseRAM(List<RAM> rams) {
         if (rams.isEmpty()) {
-            System.out.println("No RAM available, defaulting to 8GB DDR4.");
+            out.println("No RAM available, defaulting to 8GB DDR4.");
             return new RAM("8GB DDR4", 50.0);
         }
-        System.out.println("Select RAM:");
+        out.println("Select RAM:");
         for (int i = 0; i < rams.size(); i++) {
-            System.out.println((i + 1) + ". " + rams.get(i).getName() + " - $" + rams.get(i).getPrice());
+            out.println((i + 1) + ". " + rams.get(i).getName() + " - $" + rams.get(i).getPrice());
         }
-        System.out.print("Enter your choice (1-" + rams.size() + "): ");
+        out.print("Enter your choice (1-" + rams.size() + "): ");
         int choice = scanner.nextInt();
         if (choice < 1 || choice > rams.size()) {
-            System.out.println("Invalid choice, defaulting to first option.");
+            out.println("Invalid choice, defaulting to first option.");
             return rams.get(0);
         }
         return rams.get(choice - 1);
     }
 
     public Storage selectStorage() {
-        List<Storage> storages = storageDAO.getAllStorages();
+        return chooseStorage(current(ComponentType.STORAGE));
+    }
+
+    private Storage chooseStorage(List<Storage> storages) {
         if (storages.isEmpty()) {
-            System.out.println("No Storage available, defaulting to 512GB SSD.");
+            out.println("No Storage available, defaulting to 512GB SSD.");
             return new Storage("512GB SSD", 80.0);
         }
-        System.out.println("Select Storage:");
+        out.println("Select Storage:");
         for (int i = 0; i < storages.size(); i++) {
-            System.out.println((i + 1) + ". " + storages.get(i).getName() + " - $" + storages.get(i).getPrice());
+            out.println((i + 1) + ". " + storages.get(i).getName() + " - $" + storages.get(i).getPrice());
         }
-        System.out.print("Enter your choice (1-" + storages.size() + "): ");
+        out.print("Enter your choice (1-" + storages.size() + "): ");
         int choice = scanner.nextInt();
         if (choice < 1 || choice > storages.size()) {
-            System.out.println("Invalid choice, defaulting to first option.");
+            out.println("Invalid choice, defaulting to first option.");
             return storages.get(0);
         }
         return storages.get(choice - 1);
     }
 
     public GPU selectGPU() {
-        List<GPU> gpus = gpuDAO.getAllGPUs();
+        return chooseGPU(current(ComponentType.GPU));
+    }
+
+    private GPU chooseGPU(List<GPU> gpus) {
         if (gpus.isEmpty()) {
-            System.out.println("No GPUs available, defaulting to NVIDIA GTX 1660.");
+            out.println("No GPUs available, defaulting to NVIDIA GTX 1660.");
             return new GPU("NVIDIA GTX 1660", 250.0);
         }
-        System.out.println("Select GPU:");
+        out.println("Select GPU:");
         for (int i = 0; i < gpus.size(); i++) {
-            System.out.println((i + 1) + ". " + gpus.get(i).getName() + " - $" + gpus.get(i).getPrice());
+            out.println((i + 1) + ". " + gpus.get(i).getName() + " - $" + gpus.get(i).getPrice());
         }
-        System.out.print("Enter your choice (1-" + gpus.size() + "): ");
+        out.print("Enter your choice (1-" + gpus.size() + "): ");
         int choice = scanner.nextInt();
         if (choice < 1 || choice > gpus.size()) {
-            System.out.println("Invalid choice, defaulting to first option.");
+            out.println("Invalid choice, defaulting to first option.");
             return gpus.get(0);
         }
         return gpus.get(choice - 1);
     }
 
     public PSU selectPSU() {
-        List<PSU> psus = psuDAO.getAllPSUs();
+        return choosePSU(current(ComponentType.PSU));
+    }
+
+    /**
+     * Пропонує лише блоки живлення з достатнім запасом потужності для вибраних процесора й відеокарти.
+     */
+    public PSU selectPSU(CPU cpu, GPU gpu) {
+        return selectPSU(cpu, gpu, currentEngine());
+    }
+
+    private PSU selectPSU(CPU cpu, GPU gpu, CompatibilityEngine engine) {
+        List<PSU> compatible = CompatibilityEngine.select(engine.getPSUs(), engine.psusFor(cpu, gpu));
+        return choosePSU(narrowed(compatible, engine.getPSUs(), "PSUs"));
+    }
+
+    private PSU choosePSU(List<PSU> psus) {
         if (psus.isEmpty()) {
-            System.out.println("No PSUs available, defaulting to 650W Bronze.");
+            out.println("No PSUs available, defaulting to 650W Bronze.");
             return new PSU("650W Bronze", 80.0);
         }
-        System.out.println("Select PSU:");
+        out.println("Select PSU:");
         for (int i = 0; i < psus.size(); i++) {
-            System.out.println((i + 1) + ". " + psus.get(i).getName() + " - $" + psus.get(i).getPrice());
+            out.println((i + 1) + ". " + psus.get(i).getName() + " - $" + psus.get(i).getPrice());
         }
-        System.out.print("Enter your choice (1-" + psus.size() + "): ");
+        out.print("Enter your choice (1-" + psus.size() + "): ");
         int choice = scanner.nextInt();
         if (choice < 1 || choice > psus.size()) {
-            System.out.println("Invalid choice, defaulting to first option.");
+            out.println("Invalid choice, defaulting to first option.");
             return psus.get(0);
         }
         return psus.get(choice - 1);
     }
 
     public Case selectCase() {
-        List<Case> cases = caseDAO.getAllCases();
+        return chooseCase(current(ComponentType.CASE));
+    }
+
+    private Case chooseCase(List<Case> cases) {
         if (cases.isEmpty()) {
-            System.out.println("No Cases available, defaulting to Cooler Master Q300L.");
+            out.println("No Cases available, defaulting to Cooler Master Q300L.");
             return new Case("Cooler Master Q300L", 60.0);
         }
-        System.out.println("Select Case:");
+        out.println("Select Case:");
         for (int i = 0; i < cases.size(); i++) {
-            System.out.println((i + 1) + ". " + cases.get(i).getName() + " - $" + cases.get(i).getPrice());
+            out.println((i + 1) + ". " + cases.get(i).getName() + " - $" + cases.get(i).getPrice());
         }
-        System.out.print("Enter your choice (1-" + cases.size() + "): ");
+        out.print("Enter your choice (1-" + cases.size() + "): ");
         int choice = scanner.nextInt();
         if (choice < 1 || choice > cases.size()) {
-            System.out.println("Invalid choice, defaulting to first option.");
+            out.println("Invalid choice, defaulting to first option.");
             return cases.get(0);
         }
         return cases.get(choice - 1);
     }
 
+    /**
+     * Якщо сумісних кандидатів немає, повертає повний список, щоб користувач усе ж міг зробити вибір.
+     */
+    private <T> List<T> narrowed(List<T> compatible, List<T> all, String label) {
+        if (!compatible.isEmpty() || all.isEmpty()) return compatible;
+        out.println("No compatible " + label + " found, showing all options.");
+        return all;
+    }
+
+    /**
+     * Збирає комп'ютер. Усі сім категорій завантажуються одночасно ще до першого питання, тож
+     * очікування дорівнює найповільнішому запиту; категорія, що не встигла за {@code loadTimeout},
+     * обробляється як порожня і замінюється компонентом за замовчуванням. Над {@link VersionedCatalog}
+     * усі категорії й рушій сумісності беруться з однієї версії.
+     */
     public Computer buildComputer() {
-        CPU cpu = selectCPU();
-        Motherboard motherboard = selectMotherboard();
-        RAM ram = selectRAM();
-        Storage storage = selectStorage();
-        GPU gpu = selectGPU();
-        PSU psu = selectPSU();
-        Case pcCase = selectCase();
+        long start = System.nanoTime();
+        Map<ComponentType, List<? extends Component>> lists;
+        CatalogVersion version = null;
+        if (versions != null) {
+            version = versions.current();
+            lists = new EnumMap<>(ComponentType.class);
+            for (ComponentType type : ComponentType.values()) lists.put(type, version.get(type));
+        } else {
+            lists = catalog.getAll(loadTimeout);
+        }
+        FETCH_LATENCY.recordSince(start);
+        List<CPU> cpus = typed(lists, ComponentType.CPU);
+        List<Motherboard> motherboards = typed(lists, ComponentType.MOTHERBOARD);
+        List<RAM> rams = typed(lists, ComponentType.RAM);
+        List<PSU> psus = typed(lists, ComponentType.PSU);
+        CompatibilityEngine engine = version != null ? version.getCompatibilityEngine()
+                : catalog.getCompatibilityEngine(cpus, motherboards, rams, psus);
+        CPU cpu = chooseCPU(cpus);
+        Motherboard motherboard = selectMotherboard(cpu, engine);
+        RAM ram = selectRAM(motherboard, engine);
+        Storage storage = chooseStorage(typed(lists, ComponentType.STORAGE));
+        GPU gpu = chooseGPU(typed(lists, ComponentType.GPU));
+        PSU psu = selectPSU(cpu, gpu, engine);
+        Case pcCase = chooseCase(typed(lists, ComponentType.CASE));
+        BUILDS.mark();
         return new Computer(cpu, motherboard, ram, storage, gpu, psu, pcCase);
     }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> current(ComponentType type) {
+        return (List<T>) (versions != null ? versions.current().get(type) : catalog.get(type));
+    }
+
+    private CompatibilityEngine currentEngine() {
+        return versions != null ? versions.current().getCompatibilityEngine() : catalog.getCompatibilityEngine();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> typed(Map<ComponentType, List<? extends Component>> lists, ComponentType type) {
+        return (List<T>) lists.get(type);
+    }
 }
@@ -0,0 +1,15 @@
+/**
+ * Слухач змін конфігурації {@link Computer}.
+ * Викликається синхронно після кожної заміни компонента сетером, тож інтерфейс користувача
+ * чи кеш похідних даних може оновитися за O(1) на одну заміну, не переглядаючи всю конфігурацію.
+ */
+@FunctionalInterface
+public interface ComputerChangeListener {
+    /**
+     * @param computer комп'ютер, що змінився
+     * @param type     категорія заміненого компонента
+     * @param previous попередній компонент
+     * @param current  новий компонент
+     */
+    void componentChanged(Computer computer, ComponentType type, Component previous, Component current);
+}
@@ -0,0 +1,426 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormatSymbols;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Виведення конфігурації {@link Computer} як тексту (у форматі {@link Computer#formatConfiguration()})
+ * або JSON без створення об'єктів у сталому режимі. Рендерер тримає власний буфер символів, кодувальник
+ * і масив байтів, що перевикористовуються між викликами, а ціни форматує сам, без {@link java.text.DecimalFormat}
+ * та проміжних рядків: ціни компонентів — як {@link Double#toString(double)}, загальна вартість —
+ * з двома знаками після десяткового роздільника локалі, як шаблон {@code #.00}. Ціни, що не є цілою
+ * кількістю центів, форматуються через {@link StringBuilder#append(double)} і можуть створювати тимчасові об'єкти.
+ * Загальна вартість у JSON округлюється до центів так само, як у тексті.
+ * Рендерер не є потокобезпечним: використовуйте окремий екземпляр на потік, наприклад {@link #forThread(Charset)}.
+ * Потокам, що виконують одне завдання (віртуальні потоки сервісу), {@link ThreadLocal} не допомагає —
+ * для них {@link #textOf(Computer)} і {@link #jsonOf(Computer)} позичають рендерер зі спільного пулу.
+ */
+public final class ConfigurationRenderer {
+    private static final ThreadLocal<ConfigurationRenderer> PER_THREAD = new ThreadLocal<>();
+    private static final String[] LABELS = {"CPU: ", "Motherboard: ", "RAM: ", "Storage: ", "GPU: ", "PSU: ", "Case: "};
+    private static final String[] JSON_KEYS = {"\"cpu\":", "\"motherboard\":", "\"ram\":", "\"storage\":", "\"gpu\":", "\"psu\":", "\"case\":"};
+    private static final ComponentType[] TYPES = ComponentType.values();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    /** Рендерери UTF-8 для {@link #textOf} і {@link #jsonOf}; надлишкові екземпляри не повертаються в пул. */
+    private static final ArrayBlockingQueue<ConfigurationRenderer> POOL =
+            new ArrayBlockingQueue<>(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+
+    private final Charset charset;
+    private final CharsetEncoder encoder;
+    private final String lineSeparator = System.lineSeparator();
+    private final char decimalSeparator = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+    private final StringBuilder scratch = new StringBuilder(512);
+    private char[] chars = new char[512];
+    private CharBuffer charView = CharBuffer.wrap(chars);
+    private ByteBuffer bytes;
+
+    /**
+     * Створює рендерер з кодуванням UTF-8 для виведення в байти.
+     */
+    public ConfigurationRenderer() {
+        this(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param charset кодування для виведення в {@link ByteBuffer} та {@link OutputStream}
+     */
+    public ConfigurationRenderer(Charset charset) {
+        if (charset == null) throw new NullPointerException("Charset cannot be null");
+        this.charset = charset;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Повертає рендерер поточного потоку незалежно від його кодування (або новий з UTF-8),
+     * для виведення в {@link Appendable}, де кодування не використовується.
+     *
+     * @return рендерер, що належить поточному потоку
+     */
+    public static ConfigurationRenderer forThread() {
+        ConfigurationRenderer renderer = PER_THREAD.get();
+        return renderer != null ? renderer : forThread(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Повертає рендерер поточного потоку для заданого кодування, створюючи його за потреби.
+     *
+     * @param charset кодування
+     * @return рендерер, що належить поточному потоку
+     */
+    public static ConfigurationRenderer forThread(Charset charset) {
+        ConfigurationRenderer renderer = PER_THREAD.get();
+        if (renderer == null || !renderer.charset.equals(charset)) {
+            renderer = new ConfigurationRenderer(charset);
+            PER_THREAD.set(renderer);
+        }
+        return renderer;
+    }
+
+    /**
+     * Формує текст конфігурації (як {@link Computer#formatConfiguration()}) рендерером, позиченим із пулу.
+     *
+     * @param computer комп'ютер
+     * @return текст конфігурації
+     */
+    public static String textOf(Computer computer) {
+        ConfigurationRenderer renderer = borrow();
+        try {
+            renderer.text(computer);
+            return renderer.scratch.toString();
+        } finally {
+            POOL.offer(renderer);
+        }
+    }
+
+    /**
+     * Формує JSON-представлення конфігурації (як {@link #renderJson(Computer, Appendable)}) рендерером,
+     * позиченим із пулу.
+     *
+     * @param computer комп'ютер
+     * @return JSON-об'єкт
+     */
+    public static String jsonOf(Computer computer) {
+        ConfigurationRenderer renderer = borrow();
+        try {
+            renderer.json(computer);
+            return renderer.scratch.toString();
+        } finally {
+            POOL.offer(renderer);
+        }
+    }
+
+    private static ConfigurationRenderer borrow() {
+        ConfigurationRenderer renderer = POOL.poll();
+        return renderer != null ? renderer : new ConfigurationRenderer();
+    }
+
+    /**
+     * @return кодування для виведення в байти
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Дописує текст конфігурації в {@code out}.
+     *
+     * @param computer комп'ютер
+     * @param out      приймач тексту
+     * @return {@code out}
+     * @throws IOException якщо запис не вдався
+     */
+    public <A extends Appendable> A renderText(Computer computer, A out) throws IOException {
+        text(computer);
+        return transfer(out);
+    }
+
+    /**
+     * Дописує конфігурацію в {@code out} як JSON-об'єкт з компонентами ({@code id}, {@code name}, {@code price})
+     * за ключами категорій та полем {@code totalPrice}.
+     *
+     * @param computer комп'ютер
+     * @param out      приймач тексту
+     * @return {@code out}
+     * @throws IOException якщо запис не вдався
+     */
+    public <A extends Appendable> A renderJson(Computer computer, A out) throws IOException {
+        json(computer);
+        return transfer(out);
+    }
+
+    /**
+     * Кодує текст конфігурації в буфер.
+     *
+     * @param computer комп'ютер
+     * @param out      буфер байтів
+     * @return {@code false}, якщо в буфері не вистачило місця (позиція буфера тоді не змінюється)
+     */
+    public boolean renderText(Computer computer, ByteBuffer out) {
+        text(computer);
+        return encode(out);
+    }
+
+    /**
+     * Кодує JSON-представлення конфігурації в буфер.
+     *
+     * @param computer комп'ютер
+     * @param out      буфер байтів
+     * @return {@code false}, якщо в буфері не вистачило місця (позиція буфера тоді не змінюється)
+     */
+    public boolean renderJson(Computer computer, ByteBuffer out) {
+        json(computer);
+        return encode(out);
+    }
+
+    /**
+     * Виводить тексти конфігурацій усіх комп'ютерів у потік один за одним, накопичуючи байти
+     * у внутрішньому буфері й записуючи його в потік великими блоками.
+     *
+     * @param computers комп'ютери
+     * @param out       потік байтів
+     * @throws IOException якщо запис не вдався
+     */
+    public void writeText(Iterable<? extends Computer> computers, OutputStream out) throws IOException {
+        if (computers == null) throw new NullPointerException("Computers cannot be null");
+        ByteBuffer buffer = buffer();
+        for (Computer computer : computers) {
+            text(computer);
+            buffer = put(buffer, out);
+        }
+        drain(buffer, out);
+    }
+
+    /**
+     * Виводить конфігурації всіх комп'ютерів у потік як один JSON-масив.
+     *
+     * @param computers комп'ютери
+     * @param out       потік байтів
+     * @throws IOException якщо запис не вдався
+     */
+    public void writeJson(Iterable<? extends Computer> computers, OutputStream out) throws IOException {
+        if (computers == null) throw new NullPointerException("Computers cannot be null");
+        ByteBuffer buffer = buffer();
+        boolean first = true;
+        for (Computer computer : computers) {
+            json(computer);
+            scratch.insert(0, first ? '[' : ',');
+            first = false;
+            buffer = put(buffer, out);
+        }
+        scratch.setLength(0);
+        scratch.append(first ? "[]" : "]");
+        buffer = put(buffer, out);
+        drain(buffer, out);
+    }
+
+    /**
+     * Виводить текст однієї конфігурації в потік.
+     *
+     * @param computer комп'ютер
+     * @param out      потік байтів
+     * @throws IOException якщо запис не вдався
+     */
+    public void writeText(Computer computer, OutputStream out) throws IOException {
+        ByteBuffer buffer = buffer();
+        text(computer);
+        drain(put(buffer, out), out);
+    }
+
+    private void text(Computer computer) {
+        if (computer == null) throw new NullPointerException("Computer cannot be null");
+        StringBuilder s = scratch;
+        s.setLength(0);
+        s.append("=== Комп'ютерна конфігурація ===").append(lineSeparator);
+        for (ComponentType type : TYPES) {
+            Component component = computer.getComponent(type);
+            s.append(LABELS[type.ordinal()]).append(component.getName()).append(" - $");
+            appendPrice(s, component.getPrice());
+            s.append(lineSeparator);
+        }
+        s.append("Загальна вартість: $");
+        appendTotal(s, computer.getTotalPrice());
+        s.append(lineSeparator);
+    }
+
+    private void json(Computer computer) {
+        if (computer == null) throw new NullPointerException("Computer cannot be null");
+        StringBuilder s = scratch;
+        s.setLength(0);
+        s.append('{');
+        for (ComponentType type : TYPES) {
+            Component component = computer.getComponent(type);
+            s.append(JSON_KEYS[type.ordinal()]).append("{\"id\":").append(component.getId()).append(",\"name\":");
+            appendJsonString(s, component.getName());
+            s.append(",\"price\":");
+            appendPrice(s, component.getPrice());
+            s.append("},");
+        }
+        s.append("\"totalPrice\":");
+        appendJsonTotal(s, computer.getTotalPrice());
+        s.append('}');
+    }
+
+    /**
+     * Дописує ціну так само, як {@link Double#toString(double)}. Ціни з цілою кількістю центів
+     * (звичайний випадок) форматуються без створення об'єктів.
+     */
+    static void appendPrice(StringBuilder s, double price) {
+        long cents = Math.round(price * 100);
+        if (price >= 0 && price < 1e7 && cents / 100.0 == price) {
+            appendCents(s, cents);
+        } else {
+            s.append(price);
+        }
+    }
+
+    /**
+     * Дописує суму як число JSON, округлене до центів так само, як у тексті ({@link #roundCents(double)}):
+     * сума, накопичена додаванням {@code double}, може мати хвіст на кшталт 0.30000000000000004.
+     */
+    static void appendJsonTotal(StringBuilder s, double total) {
+        long cents = roundCents(Math.abs(total));
+        if (total < 0 && cents != 0) s.append('-');
+        appendCents(s, cents);
+    }
+
+    /**
+     * Дописує невід'ємну кількість центів у вигляді {@link Double#toString(double)}: {@code 12.5}, {@code 12.0}.
+     */
+    private static void appendCents(StringBuilder s, long cents) {
+        s.append(cents / 100).append('.');
+        int fraction = (int) (cents % 100);
+        if (fraction == 0) {
+            s.append('0');
+        } else {
+            s.append((char) ('0' + fraction / 10));
+            if (fraction % 10 != 0) s.append((char) ('0' + fraction % 10));
+        }
+    }
+
+    /**
+     * Дописує суму за шаблоном {@code #.00}: два знаки після роздільника, ціла частина 0 не виводиться.
+     */
+    private void appendTotal(StringBuilder s, double total) {
+        long cents = roundCents(Math.abs(total));
+        if (total < 0 && cents != 0) s.append('-');
+        if (cents >= 100) s.append(cents / 100);
+        int fraction = (int) (cents % 100);
+        s.append(decimalSeparator).append((char) ('0' + fraction / 10)).append((char) ('0' + fraction % 10));
+    }
+
+    /**
+     * Округлює невід'ємну суму до центів так само, як {@link java.text.DecimalFormat}: до парного
+     * ({@link RoundingMode#HALF_EVEN}), але рівна половина в десятковому поданні розв'язується за точним
+     * двійковим значенням — 0.125 дає 12 центів, а 0.145 (насправді 0.14499999…) — 14. Добуток на 100 сам
+     * округлений, тож значення в межах його похибки від половини цента та дуже великі суми округлюються
+     * через {@link BigDecimal}.
+     */
+    static long roundCents(double abs) {
+        double scaled = abs * 100;
+        if (abs < 1e13 && Math.abs(scaled - Math.floor(scaled) - 0.5) > Math.ulp(scaled)) {
+            return (long) Math.rint(scaled);
+        }
+        BigDecimal digits = new BigDecimal(Double.toString(abs));
+        int side = new BigDecimal(abs).compareTo(digits);
+        RoundingMode mode = side > 0 ? RoundingMode.HALF_UP : side < 0 ? RoundingMode.HALF_DOWN : RoundingMode.HALF_EVEN;
+        return digits.setScale(2, mode).unscaledValue().longValue();
+    }
+
+    /**
+     * Дописує рядок у лапках з екрануванням за правилами JSON.
+     */
+    static StringBuilder appendJsonString(StringBuilder s, String value) {
+        s.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': s.append("\\\""); break;
+                case '\\': s.append("\\\\"); break;
+                case '\n': s.append("\\n"); break;
+                case '\r': s.append("\\r"); break;
+                case '\t': s.append("\\t"); break;
+                default:
+                    if (c < 0x20) s.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    else s.append(c);
+            }
+        }
+        return s.append('"');
+    }
+
+    private <A extends Appendable> A transfer(A out) throws IOException {
+        if (out == null) throw new NullPointerException("Output cannot be null");
+        if (out instanceof Writer) {
+            // Writer.append(CharSequence) створює рядок; запис масиву символів — ні.
+            int length = toChars();
+            ((Writer) out).write(chars, 0, length);
+        } else {
+            out.append(scratch, 0, scratch.length());
+        }
+        return out;
+    }
+
+    private int toChars() {
+        int length = scratch.length();
+        if (length > chars.length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            charView = CharBuffer.wrap(chars);
+        }
+        scratch.getChars(0, length, chars, 0);
+        return length;
+    }
+
+    private boolean encode(ByteBuffer out) {
+        if (out == null) throw new NullPointerException("Buffer cannot be null");
+        int length = toChars();
+        charView.clear().limit(length);
+        int start = out.position();
+        encoder.reset();
+        CoderResult result = encoder.encode(charView, out, true);
+        if (!result.isOverflow()) result = encoder.flush(out);
+        if (result.isOverflow()) {
+            out.position(start);
+            return false;
+        }
+        return true;
+    }
+
+    private ByteBuffer buffer() {
+        if (bytes == null) bytes = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        bytes.clear();
+        return bytes;
+    }
+
+    /**
+     * Кодує вміст {@code scratch} у буфер, спорожнюючи його в потік або збільшуючи за потреби.
+     *
+     * @return буфер, у який потрапив запис (новий, якщо довелося збільшити)
+     */
+    private ByteBuffer put(ByteBuffer buffer, OutputStream out) throws IOException {
+        if (encode(buffer)) return buffer;
+        drain(buffer, out);
+        while (!encode(buffer)) {
+            bytes = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer = bytes;
+        }
+        return buffer;
+    }
+
+    private void drain(ByteBuffer buffer, OutputStream out) throws IOException {
+        if (out == null) throw new NullPointerException("Output cannot be null");
+        out.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+}
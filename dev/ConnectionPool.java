@@ -0,0 +1,472 @@
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * Пул JDBC-з'єднань з кешем підготовлених запитів.
+ * Фізичні з'єднання відкриваються через {@link DriverManager} лише за потреби і після
+ * {@link Connection#close()} повертаються в пул, а не закриваються. Кожне з'єднання тримає
+ * LRU-кеш {@link PreparedStatement} за текстом SQL, тож повторні запити DAO не готуються заново.
+ * Якщо всі з'єднання зайняті, викликач чекає на звільнення не довше за заданий тайм-аут.
+ */
+public final class ConnectionPool implements DataSource, AutoCloseable {
+    /** Максимальна кількість з'єднань за замовчуванням. */
+    public static final int DEFAULT_MAX_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    /** Розмір кешу підготовлених запитів одного з'єднання за замовчуванням. */
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+    /** Час очікування вільного з'єднання за замовчуванням, мс. */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 30_000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int statementCacheSize;
+    private final long timeoutMillis;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<Physical> idle = new ConcurrentLinkedDeque<>();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder borrowed = new LongAdder();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Створює пул з параметрами за замовчуванням.
+     *
+     * @param url      JDBC URL бази даних
+     * @param user     ім'я користувача або {@code null}
+     * @param password пароль або {@code null}
+     */
+    public ConnectionPool(String url, String user, String password) {
+        this(url, user, password, DEFAULT_MAX_SIZE, DEFAULT_STATEMENT_CACHE_SIZE, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param url                JDBC URL бази даних
+     * @param user               ім'я користувача або {@code null}
+     * @param password           пароль або {@code null}
+     * @param maxSize            максимальна кількість одночасно виданих з'єднань
+     * @param statementCacheSize кількість підготовлених запитів, що кешуються на з'єднання; 0 вимикає кеш
+     * @param timeoutMillis      максимальний час очікування вільного з'єднання
+     * @throws IllegalArgumentException якщо URL пустий, {@code maxSize} менше 1
+     *                                  або інші параметри від'ємні
+     */
+    public ConnectionPool(String url, String user, String password,
+                          int maxSize, int statementCacheSize, long timeoutMillis) {
+        if (url == null) throw new NullPointerException("URL не може бути null");
+        if (url.isBlank()) throw new IllegalArgumentException("URL не може бути пустим");
+        if (maxSize < 1) throw new IllegalArgumentException("Розмір пулу має бути додатним");
+        if (statementCacheSize < 0) throw new IllegalArgumentException("Розмір кешу запитів не може бути від'ємним");
+        if (timeoutMillis < 0) throw new IllegalArgumentException("Тайм-аут не може бути від'ємним");
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.statementCacheSize = statementCacheSize;
+        this.timeoutMillis = timeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Видає з'єднання з пулу, за потреби відкриваючи нове фізичне з'єднання.
+     * Закриття отриманого з'єднання повертає його в пул.
+     *
+     * @return з'єднання, яке викликач зобов'язаний закрити
+     * @throws SQLTimeoutException якщо вільне з'єднання не з'явилося за тайм-аут
+     * @throws SQLException        якщо пул закрито або підключитися не вдалося
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Пул з'єднань закрито");
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Немає вільного з'єднання протягом " + timeoutMillis + " мс");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Очікування з'єднання перервано", e);
+        }
+        try {
+            Physical physical = takeIdle();
+            if (physical == null) {
+                physical = new Physical(DriverManager.getConnection(url, user, password));
+                opened.increment();
+            }
+            borrowed.increment();
+            return new Lease(physical).proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Physical takeIdle() {
+        Physical physical;
+        while ((physical = idle.pollFirst()) != null) {
+            if (physical.isUsable()) return physical;
+            physical.closeQuietly();
+        }
+        return null;
+    }
+
+    private void release(Physical physical) {
+        try {
+            if (closed || !physical.reset()) {
+                physical.closeQuietly();
+            } else {
+                idle.offerFirst(physical);
+                // Пул могли закрити, поки з'єднання поверталося.
+                if (closed && idle.remove(physical)) physical.closeQuietly();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Закриває всі вільні з'єднання. Видані з'єднання закриваються фізично під час повернення.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Physical physical;
+        while ((physical = idle.pollFirst()) != null) physical.closeQuietly();
+    }
+
+    /**
+     * @return кількість фізичних з'єднань, відкритих за весь час роботи пулу
+     */
+    public long getOpenedCount() {
+        return opened.sum();
+    }
+
+    /**
+     * @return кількість видач з'єднань з пулу
+     */
+    public long getBorrowCount() {
+        return borrowed.sum();
+    }
+
+    /**
+     * @return кількість підготовлених запитів, узятих з кешу
+     */
+    public long getStatementHitCount() {
+        return statementHits.sum();
+    }
+
+    /**
+     * @return кількість підготовлених запитів, що довелося готувати в базі даних
+     */
+    public long getStatementMissCount() {
+        return statementMisses.sum();
+    }
+
+    /**
+     * @return кількість з'єднань, що зараз простоюють у пулі
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Пул працює з обліковими даними, заданими при створенні");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Не є обгорткою для " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Фізичне з'єднання разом з його кешем підготовлених запитів.
+     */
+    private final class Physical {
+        final Connection connection;
+        final LinkedHashMap<String, CachedStatement> statements;
+        /** Стає {@code true} після помилки зв'язку (SQLState 08xxx); таке з'єднання не повертається в пул. */
+        volatile boolean broken;
+
+        Physical(Connection connection) {
+            this.connection = connection;
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    if (size() <= statementCacheSize) return false;
+                    CachedStatement cached = eldest.getValue();
+                    if (cached.inUse) {
+                        cached.evicted = true;
+                    } else {
+                        cached.closeQuietly();
+                    }
+                    return true;
+                }
+            };
+        }
+
+        PreparedStatement prepare(String sql, Lease lease) throws SQLException {
+            CachedStatement cached = statements.get(sql);
+            if (cached != null && !cached.inUse) {
+                statementHits.increment();
+                return cached.lend(lease.proxy);
+            }
+            statementMisses.increment();
+            PreparedStatement statement = connection.prepareStatement(sql);
+            if (statementCacheSize == 0 || cached != null) {
+                // Кеш вимкнено або той самий запит уже відкритий цим з'єднанням — такий екземпляр не кешується.
+                lease.uncached.add(statement);
+                return statement;
+            }
+            cached = new CachedStatement(statement);
+            statements.put(sql, cached);
+            return cached.lend(lease.proxy);
+        }
+
+        boolean isUsable() {
+            if (broken) return false;
+            try {
+                return !connection.isClosed();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Повертає з'єднання до початкового стану перед поверненням у пул.
+         *
+         * @return {@code false}, якщо з'єднання непридатне для подальшого використання
+         */
+        boolean reset() {
+            if (!isUsable()) return false;
+            try {
+                for (Iterator<CachedStatement> it = statements.values().iterator(); it.hasNext(); ) {
+                    CachedStatement cached = it.next();
+                    if (cached.inUse && !cached.giveBack()) it.remove();
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                connection.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closeQuietly() {
+            for (CachedStatement cached : statements.values()) cached.closeQuietly();
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // З'єднання вже непридатне.
+            }
+        }
+
+        void check(Throwable error) {
+            if (error instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08")) {
+                broken = true;
+            }
+        }
+    }
+
+    /**
+     * Видане викликачу з'єднання. Закриття повертає фізичне з'єднання в пул;
+     * після цього будь-яке звернення до обгортки завершується помилкою.
+     */
+    private final class Lease implements InvocationHandler {
+        final Physical physical;
+        final Connection proxy;
+        private final List<PreparedStatement> uncached = new ArrayList<>();
+        private boolean released;
+
+        Lease(Physical physical) {
+            this.physical = physical;
+            this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        for (PreparedStatement statement : uncached) closeQuietly(statement);
+                        uncached.clear();
+                        release(physical);
+                    }
+                    return null;
+                case "isClosed":
+                    return released;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical.connection + "]";
+                default:
+                    break;
+            }
+            if (released) throw new SQLException("З'єднання вже повернуто в пул");
+            try {
+                if (method.getName().equals("prepareStatement") && args.length == 1) {
+                    return physical.prepare((String) args[0], this);
+                }
+                return ConnectionPool.invoke(physical.connection, method, args);
+            } catch (Throwable e) {
+                physical.check(e);
+                throw e;
+            }
+        }
+
+        private void closeQuietly(PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // Запит закривається разом із поверненням з'єднання.
+            }
+        }
+    }
+
+    /**
+     * Закешований підготовлений запит. Закриття обгортки не закриває запит у базі даних,
+     * а лише очищає параметри й повертає його в кеш з'єднання.
+     */
+    private static final class CachedStatement implements InvocationHandler {
+        final PreparedStatement statement;
+        PreparedStatement proxy;
+        Connection owner;
+        boolean inUse;
+        boolean evicted;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        PreparedStatement lend(Connection owner) {
+            this.owner = owner;
+            this.inUse = true;
+            // Нова обгортка на кожну видачу, щоб закрита обгортка попереднього власника не впливала на запит.
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, this);
+            return proxy;
+        }
+
+        /**
+         * Повертає запит у кеш.
+         *
+         * @return {@code false}, якщо запит довелося закрити
+         */
+        boolean giveBack() {
+            inUse = false;
+            owner = null;
+            proxy = null;
+            if (evicted) {
+                closeQuietly();
+                return false;
+            }
+            try {
+                statement.clearParameters();
+                statement.setMaxRows(0);
+                statement.setFetchSize(0);
+                return true;
+            } catch (SQLException e) {
+                closeQuietly();
+                evicted = true;
+                return false;
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            boolean current = proxy == this.proxy;
+            switch (method.getName()) {
+                case "close":
+                    if (current) giveBack();
+                    return null;
+                case "isClosed":
+                    return !current;
+                case "getConnection":
+                    if (current) return owner;
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + statement + "]";
+                default:
+                    break;
+            }
+            if (!current) throw new SQLException("Запит уже закрито");
+            return ConnectionPool.invoke(statement, method, args);
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // Запит уже непридатний.
+            }
+        }
+    }
+}
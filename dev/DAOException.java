@@ -0,0 +1,15 @@
+/**
+ * Неперевірюваний виняток рівня доступу до даних, що обгортає {@link java.sql.SQLException}
+ * з DAO компонентів.
+ */
+public class DAOException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message опис операції, що завершилася помилкою
+     * @param cause   первинна помилка JDBC
+     */
+    public DAOException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
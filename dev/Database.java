@@ -0,0 +1,150 @@
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Точка отримання JDBC-з'єднань для DAO компонентів.
+ * З'єднання видаються зі спільного {@link ConnectionPool}, що створюється при першому зверненні,
+ * тож вартість підключення сплачується один раз, а не на кожне читання каталогу.
+ * Параметри підключення задаються системними властивостями
+ * {@value #URL_PROPERTY}, {@value #USER_PROPERTY} та {@value #PASSWORD_PROPERTY}.
+ * Профіль {@value #EMBEDDED_PROFILE} (властивість {@value #PROFILE_PROPERTY}) використовує вбудовану
+ * файлову базу H2 за шляхом {@value #PATH_PROPERTY} і сам створює таблиці компонентів,
+ * тож застосунок можна запускати й навантажувати локально без зовнішнього сервера.
+ */
+public final class Database {
+    public static final String URL_PROPERTY = "pcbuilder.db.url";
+    public static final String USER_PROPERTY = "pcbuilder.db.user";
+    public static final String PASSWORD_PROPERTY = "pcbuilder.db.password";
+    public static final String PROFILE_PROPERTY = "pcbuilder.db.profile";
+    public static final String PATH_PROPERTY = "pcbuilder.db.path";
+    public static final String POOL_SIZE_PROPERTY = "pcbuilder.db.pool.size";
+    public static final String STATEMENT_CACHE_PROPERTY = "pcbuilder.db.pool.statementCache";
+    public static final String TIMEOUT_PROPERTY = "pcbuilder.db.pool.timeoutMillis";
+
+    /** Назва профілю вбудованої файлової бази даних. */
+    public static final String EMBEDDED_PROFILE = "embedded";
+    /** Шлях до файлу вбудованої бази даних за замовчуванням (без розширення). */
+    public static final String DEFAULT_EMBEDDED_PATH = "./data/pcbuilder";
+
+    /** Таблиці всіх семи категорій у порядку {@link ComponentType}. */
+    private static final List<String> TABLES = List.of("cpu", "motherboard", "ram", "storage", "gpu", "psu", "pc_case");
+
+    /** Додаткові стовпці характеристик для перевірки сумісності, у порядку {@link ComponentType}. */
+    private static final List<List<String>> ATTRIBUTE_COLUMNS = List.of(
+            List.of("socket VARCHAR(32)", "tdp_watts INT"),
+            List.of("socket VARCHAR(32)", "ram_type VARCHAR(16)"),
+            List.of("ram_type VARCHAR(16)"),
+            List.of(),
+            List.of("tdp_watts INT"),
+            List.of("wattage INT"),
+            List.of());
+
+    private static volatile DataSource dataSource;
+
+    private Database() {
+    }
+
+    /**
+     * Видає з'єднання зі спільного пулу.
+     *
+     * @return з'єднання, яке викликач зобов'язаний закрити; закриття повертає його в пул
+     * @throws SQLException якщо підключитися не вдалося
+     * @throws IllegalStateException якщо URL бази даних не задано
+     */
+    public static Connection getConnection() throws SQLException {
+        return getDataSource().getConnection();
+    }
+
+    /**
+     * Повертає спільне джерело з'єднань, створюючи пул за системними властивостями при першому зверненні.
+     *
+     * @return джерело з'єднань
+     * @throws IllegalStateException якщо URL бази даних не задано або вбудовану базу не вдалося підготувати
+     */
+    public static DataSource getDataSource() {
+        DataSource current = dataSource;
+        if (current != null) return current;
+        synchronized (Database.class) {
+            if (dataSource == null) dataSource = createDataSource();
+            return dataSource;
+        }
+    }
+
+    /**
+     * Замінює спільне джерело з'єднань (наприклад, пулом іншої бази даних у тестах чи бенчмарках).
+     * Попередній пул, створений цим класом, закривається.
+     *
+     * @param replacement нове джерело з'єднань або {@code null}, щоб наступне звернення
+     *                    знову створило пул за системними властивостями
+     */
+    public static synchronized void setDataSource(DataSource replacement) {
+        DataSource previous = dataSource;
+        dataSource = replacement;
+        if (previous instanceof ConnectionPool pool && previous != replacement) pool.close();
+    }
+
+    /**
+     * @param type категорія
+     * @return назва таблиці категорії в базі даних
+     */
+    public static String tableName(ComponentType type) {
+        if (type == null) throw new NullPointerException("Категорія не може бути null");
+        return TABLES.get(type.ordinal());
+    }
+
+    private static DataSource createDataSource() {
+        boolean embedded = EMBEDDED_PROFILE.equalsIgnoreCase(System.getProperty(PROFILE_PROPERTY, ""));
+        String url = System.getProperty(URL_PROPERTY);
+        String user = System.getProperty(USER_PROPERTY);
+        String password = System.getProperty(PASSWORD_PROPERTY);
+        if (embedded && (url == null || url.isBlank())) {
+            url = "jdbc:h2:file:" + System.getProperty(PATH_PROPERTY, DEFAULT_EMBEDDED_PATH);
+            if (user == null) user = "sa";
+            if (password == null) password = "";
+        }
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("Не задано URL бази даних (-D" + URL_PROPERTY + "=...)"
+                    + " або профіль -D" + PROFILE_PROPERTY + "=" + EMBEDDED_PROFILE);
+        }
+        ConnectionPool pool = new ConnectionPool(url, user, password,
+                Integer.getInteger(POOL_SIZE_PROPERTY, ConnectionPool.DEFAULT_MAX_SIZE),
+                Integer.getInteger(STATEMENT_CACHE_PROPERTY, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE),
+                Long.getLong(TIMEOUT_PROPERTY, ConnectionPool.DEFAULT_TIMEOUT_MILLIS));
+        if (embedded) {
+            try {
+                createSchema(pool);
+            } catch (SQLException e) {
+                pool.close();
+                throw new IllegalStateException("Не вдалося підготувати вбудовану базу даних " + url, e);
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Створює таблиці всіх категорій, якщо їх ще немає, і додає до наявних таблиць
+     * стовпці характеристик та індекс за назвою, за яким {@link CatalogImporter} зіставляє записи без ідентифікатора.
+     *
+     * @param source джерело з'єднань бази даних
+     * @throws SQLException якщо виконати DDL не вдалося
+     */
+    public static void createSchema(DataSource source) throws SQLException {
+        try (Connection connection = source.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (int i = 0; i < TABLES.size(); i++) {
+                String table = TABLES.get(i);
+                statement.execute("CREATE TABLE IF NOT EXISTS " + table + " ("
+                        + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                        + "name VARCHAR(255) NOT NULL, "
+                        + "price DOUBLE PRECISION NOT NULL)");
+                for (String column : ATTRIBUTE_COLUMNS.get(i)) {
+                    statement.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS " + column);
+                }
+                statement.execute("CREATE INDEX IF NOT EXISTS " + table + "_name ON " + table + " (name)");
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Допоміжні функції для 64-бітних відбитків компонентів і конфігурацій.
+ * Відбитки обчислюються без створення об'єктів і добре розподілені по всіх бітах,
+ * тож їх можна використовувати як ключі в хеш-таблицях на мільйони записів.
+ */
+public final class Fingerprint {
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private Fingerprint() {
+    }
+
+    /**
+     * Перемішує біти значення (фіналізатор SplitMix64).
+     *
+     * @param value вхідне значення
+     * @return перемішане значення
+     */
+    public static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Додає значення до накопиченого відбитка з урахуванням позиції.
+     *
+     * @param hash  накопичений відбиток
+     * @param value наступне значення
+     * @return новий накопичений відбиток
+     */
+    public static long combine(long hash, long value) {
+        return mix(hash * 31 + value + SEED);
+    }
+
+    /**
+     * Обчислює 64-бітний відбиток рядка посимвольно, не копіюючи його.
+     *
+     * @param text рядок
+     * @return відбиток рядка
+     */
+    public static long of(String text) {
+        long hash = SEED ^ text.length();
+        for (int i = 0; i < text.length(); i++) hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+        return mix(hash);
+    }
+
+    /**
+     * Згортає 64-бітний відбиток у хеш-код {@code int}.
+     *
+     * @param fingerprint відбиток
+     * @return хеш-код
+     */
+    public static int toHashCode(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32));
+    }
+}
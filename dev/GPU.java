@@ -1,12 +1,9 @@
-import java.util.Objects;
-
 /**
  * Клас, що представляє відеокарту (GPU) комп'ютера.
  * Зберігає інформацію про модель відеокарти та її вартість.
  */
-public class GPU {
-    private final String name;
-    private final double price;
+public class GPU extends Component {
+    private final int tdpWatts;
 
     /**
      * Конструктор, який ініціалізує відеокарту з вказаною назвою та ціною.
@@ -17,73 +14,62 @@ public class GPU {
      * @throws NullPointerException якщо назва є null
      */
     public GPU(String name, double price) {
-        if (price < 0) throw new IllegalArgumentException("Ціна не може бути від'ємною");
-        if (name == null) throw new NullPointerException("Ім'я не може бути null");
-        if (name.isBlank()) throw new IllegalArgumentException("Ім'я не може бути пустим");
-        this.name = name;
-        this.price = price;
+        this(NO_ID, name, price);
     }
 
     /**
-     * Конструктор копіювання, який створює нову відеокарту на основі іншої.
+     * Створює відеокарту каталогу з ідентифікатором SKU, присвоєним сховищем {@link ComponentTable}.
      *
-     * @param other об'єкт GPU, дані якого копіюються
+     * @param id ідентифікатор SKU або {@link Component#NO_ID}
+     * @param name назва відеокарти
+     * @param price ціна відеокарти
      */
-    public GPU(GPU other) {
-        if (other == null) throw new NullPointerException("Об'єкт для копіювання не може бути null");
-        this.name = other.name;
-        this.price = other.price;
+    public GPU(int id, String name, double price) {
+        this(id, name, price, 0);
     }
 
     /**
-     * Повертає ціну відеокарти.
+     * Створює відеокарту каталогу з характеристиками для перевірки сумісності в {@link CompatibilityEngine}.
      *
-     * @return ціна відеокарти (тип double)
+     * @param id ідентифікатор SKU або {@link Component#NO_ID}
+     * @param name назва відеокарти
+     * @param price ціна відеокарти
+     * @param tdpWatts енергоспоживання відеокарти у ватах або 0, якщо невідоме
+     * @throws IllegalArgumentException якщо ціна чи потужність від'ємні або назва пуста
      */
-    public double getPrice() {
-        return price;
+    public GPU(int id, String name, double price, int tdpWatts) {
+        super(id, name, price);
+        if (tdpWatts < 0) throw new IllegalArgumentException("Потужність не може бути від'ємною");
+        this.tdpWatts = tdpWatts;
     }
 
     /**
-     * Повертає назву відеокарти.
+     * Конструктор копіювання, який створює нову відеокарту на основі іншої.
      *
-     * @return назва відеокарти (тип String)
+     * @param other об'єкт GPU, дані якого копіюються
      */
-    public String getName() {
-        return name;
+    public GPU(GPU other) {
+        super(other);
+        this.tdpWatts = other.tdpWatts;
     }
 
     /**
-     * Повертає рядкове представлення об'єкта GPU.
+     * @return споживана потужність у ватах або 0, якщо невідома
      */
-    @Override
-    public String toString() {
-        return "GPU{" +
-                "name='" + name + '\'' +
-                ", price=" + price +
-                '}';
+    public int getTdpWatts() {
+        return tdpWatts;
     }
 
-    /**
-     * Порівнює об'єкт GPU з іншим об'єктом на рівність.
-     *
-     * @param o об'єкт для порівняння
-     * @return true якщо об'єкти рівні, false в іншому випадку
-     */
     @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        GPU gpu = (GPU) o;
-        return Double.compare(price, gpu.price) == 0 && Objects.equals(name, gpu.name);
+    public GPU withPrice(double price) {
+        return new GPU(getId(), getName(), price, tdpWatts);
     }
 
     /**
-     * Повертає хеш-код об'єкта.
-     *
-     * @return хеш-код об'єкта
+     * @return категорія {@link ComponentType#GPU}
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(name, price);
+    public ComponentType getType() {
+        return ComponentType.GPU;
     }
-}
\ No newline at end of file
+}
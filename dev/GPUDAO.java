@@ -0,0 +1,38 @@
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * DAO відеокарт, що зберігаються в таблиці {@code gpu}.
+ */
+public class GPUDAO extends ComponentDAO<GPU> {
+
+    public GPUDAO() {
+        super(ComponentType.GPU, "gpu");
+    }
+
+    /**
+     * Окрім спільних стовпців читає характеристики відеокарти: споживана потужність; {@code NULL} означає «невідомо».
+     */
+    @Override
+    protected String columns() {
+        return "id, name, price, tdp_watts";
+    }
+
+    @Override
+    protected GPU read(ResultSet rs) throws SQLException {
+        return new GPU(rs.getInt(1), rs.getString(2), rs.getDouble(3), rs.getInt(4));
+    }
+
+    @Override
+    protected GPU map(int id, String name, double price) {
+        return new GPU(id, name, price);
+    }
+
+    /**
+     * @return усі відеокарти у порядку ідентифікаторів
+     */
+    public List<GPU> getAllGPUs() {
+        return getAll();
+    }
+}
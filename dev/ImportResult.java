@@ -0,0 +1,94 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Підсумок одного імпорту прайс-листа в {@link CatalogImporter}: кількість вставлених,
+ * оновлених і відхилених рядків по категоріях та перші повідомлення про відхилені рядки.
+ */
+public final class ImportResult {
+    /** Скільки повідомлень про відхилені рядки зберігається; решта лише рахується. */
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int CATEGORIES = ComponentType.values().length;
+
+    private final long[] inserted = new long[CATEGORIES];
+    private final long[] updated = new long[CATEGORIES];
+    private long rejected;
+    private final List<String> errors = new ArrayList<>();
+
+    ImportResult() {
+    }
+
+    void addInserted(ComponentType type, long count) {
+        inserted[type.ordinal()] += count;
+    }
+
+    void addUpdated(ComponentType type, long count) {
+        updated[type.ordinal()] += count;
+    }
+
+    void reject(long record, String message) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) errors.add("Запис " + record + ": " + message);
+    }
+
+    /**
+     * @param type категорія
+     * @return кількість нових рядків категорії
+     */
+    public long getInserted(ComponentType type) {
+        return inserted[type.ordinal()];
+    }
+
+    /**
+     * @param type категорія
+     * @return кількість наявних рядків категорії, які було оновлено
+     */
+    public long getUpdated(ComponentType type) {
+        return updated[type.ordinal()];
+    }
+
+    /**
+     * @return загальна кількість записаних рядків (вставлених і оновлених)
+     */
+    public long getWritten() {
+        long total = 0;
+        for (int i = 0; i < CATEGORIES; i++) total += inserted[i] + updated[i];
+        return total;
+    }
+
+    /**
+     * @return кількість рядків, що не пройшли перевірку й не були записані
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return перші {@value #MAX_REPORTED_ERRORS} повідомлень про відхилені рядки
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * @return категорії, в яких імпорт щось записав (їх варто інвалідувати в {@link ComponentCatalog})
+     */
+    public Set<ComponentType> getAffectedTypes() {
+        Set<ComponentType> types = EnumSet.noneOf(ComponentType.class);
+        for (ComponentType type : ComponentType.values()) {
+            if (inserted[type.ordinal()] + updated[type.ordinal()] > 0) types.add(type);
+        }
+        return types;
+    }
+
+    @Override
+    public String toString() {
+        long insertedTotal = 0;
+        for (long count : inserted) insertedTotal += count;
+        return "ImportResult{written=" + getWritten() + ", inserted=" + insertedTotal + ", rejected=" + rejected + '}';
+    }
+}
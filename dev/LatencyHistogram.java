@@ -0,0 +1,108 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гістограма затримок у наносекундах з логарифмічно-лінійними кошиками, як у HdrHistogram:
+ * кожен діапазон [2<sup>k</sup>, 2<sup>k+1</sup>) поділено на {@value #SUB_BUCKETS} рівних кошиків,
+ * тож відносна похибка перцентилів не перевищує ~3%. Запис — це обчислення номера кошика
+ * та один атомарний інкремент без блокувань і без створення об'єктів; значення понад
+ * 2<sup>{@value #MAX_EXPONENT}</sup> нс (~18 хв) потрапляють в останній кошик.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Записує одне значення.
+     *
+     * @param nanos затримка в наносекундах; від'ємні значення вважаються нулем
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.getAndIncrement(bucket(nanos));
+        total.add(nanos);
+        long current = max.get();
+        while (nanos > current && !max.compareAndSet(current, nanos)) current = max.get();
+    }
+
+    /**
+     * Записує час, що минув від {@code startNanos}, отриманого з {@link System#nanoTime()}.
+     *
+     * @param startNanos момент початку операції
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return кількість записаних значень
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) count += counts.get(i);
+        return count;
+    }
+
+    /**
+     * @return середнє значення в наносекундах або 0, якщо значень ще не було
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0.0 : (double) total.sum() / count;
+    }
+
+    /**
+     * @return найбільше записане значення в наносекундах
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Повертає значення, не більше за яке є щонайменше {@code percentile} відсотків записів,
+     * з точністю до верхньої межі кошика.
+     *
+     * @param percentile відсоток від 0 до 100
+     * @return значення в наносекундах або 0, якщо значень ще не було
+     * @throws IllegalArgumentException якщо відсоток поза межами [0, 100]
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) throw new IllegalArgumentException("Відсоток має бути від 0 до 100");
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int shift = exponent - SUB_BITS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
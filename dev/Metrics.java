@@ -0,0 +1,238 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Реєстр метрик гарячих шляхів: гістограми затримок ({@link LatencyHistogram}), лічильники частоти
+ * ({@link RateMeter}) і вимірювачі, що обчислюються під час читання (розміри каталогу, частки влучань у кеші).
+ * Місця вимірювання отримують гістограму чи лічильник один раз і зберігають посилання в полі,
+ * тож запис події не звертається до реєстру.
+ * Знімок усіх значень доступний як текст ({@link #report()}, ендпоінт {@code /metrics} у {@link BuildService})
+ * і через JMX ({@link #registerMBean()}), де кожне значення є окремим атрибутом.
+ *
+ * <p>Назви метрик: {@code dao.<категорія>} — завантаження таблиці DAO, {@code catalog.fetch} — паралельне
+ * завантаження всіх категорій у {@link ComputerAssembler#buildComputer()}, {@code build.batch} — збирання
+ * за запитом у {@link BatchBuilder}, {@code builds} — кількість і частота зібраних комп'ютерів,
+ * {@code store.fsync} — групова синхронізація журналу {@link SavedBuildStore}.
+ */
+public class Metrics {
+    /** Ім'я MBean за замовчуванням. */
+    public static final String DEFAULT_OBJECT_NAME = "pcbuilder:type=Metrics";
+
+    private static final Metrics GLOBAL = new Metrics();
+
+    private final ConcurrentHashMap<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RateMeter> meters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * @return спільний реєстр, у який пишуть DAO, каталог і збирачі
+     */
+    public static Metrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @param name назва метрики
+     * @return гістограма затримок з цією назвою (створюється при першому зверненні)
+     */
+    public LatencyHistogram timer(String name) {
+        if (name == null) throw new NullPointerException("Name cannot be null");
+        return timers.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    /**
+     * @param name назва метрики
+     * @return лічильник частоти з цією назвою (створюється при першому зверненні)
+     */
+    public RateMeter meter(String name) {
+        if (name == null) throw new NullPointerException("Name cannot be null");
+        return meters.computeIfAbsent(name, n -> new RateMeter());
+    }
+
+    /**
+     * Реєструє або замінює вимірювач, значення якого обчислюється під час читання метрик.
+     *
+     * @param name  назва метрики
+     * @param value джерело значення
+     */
+    public void gauge(String name, DoubleSupplier value) {
+        if (name == null) throw new NullPointerException("Name cannot be null");
+        if (value == null) throw new NullPointerException("Value cannot be null");
+        gauges.put(name, value);
+    }
+
+    /**
+     * Видаляє вимірювачі, назви яких починаються з {@code prefix}, наприклад після зупинки компонента.
+     *
+     * @param prefix префікс назв
+     */
+    public void removeGauges(String prefix) {
+        gauges.keySet().removeIf(name -> name.startsWith(prefix));
+    }
+
+    /**
+     * Додає вимірювачі каталогу: кількість закешованих компонентів кожної категорії,
+     * частку влучань у кеш та кількість відмов паралельного завантаження.
+     *
+     * @param prefix  префікс назв, наприклад {@code "catalog"}
+     * @param catalog каталог
+     */
+    public void registerCatalog(String prefix, ComponentCatalog catalog) {
+        if (catalog == null) throw new NullPointerException("Catalog cannot be null");
+        for (ComponentType type : ComponentType.values()) {
+            gauge(prefix + ".size." + name(type), () -> catalog.getCachedSize(type));
+        }
+        gauge(prefix + ".hit_ratio", catalog::getHitRate);
+        gauge(prefix + ".load_fallbacks", catalog::getLoadFallbackCount);
+    }
+
+    /**
+     * @param type категорія
+     * @return назва категорії для використання в назвах метрик, наприклад {@code cpu}
+     */
+    public static String name(ComponentType type) {
+        return type.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Знімає поточні значення всіх метрик. Гістограми розгортаються в значення {@code .count},
+     * {@code .mean_us}, {@code .p50_us}, {@code .p99_us} та {@code .max_us}, лічильники —
+     * у {@code .count} та {@code .per_second}.
+     *
+     * @return впорядкована за назвою таблиця значень
+     */
+    public Map<String, Double> snapshot() {
+        Map<String, Double> values = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> e : timers.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            String name = e.getKey();
+            values.put(name + ".count", (double) h.getCount());
+            values.put(name + ".mean_us", h.getMean() / 1_000);
+            values.put(name + ".p50_us", h.getValueAtPercentile(50) / 1_000.0);
+            values.put(name + ".p99_us", h.getValueAtPercentile(99) / 1_000.0);
+            values.put(name + ".max_us", h.getMax() / 1_000.0);
+        }
+        for (Map.Entry<String, RateMeter> e : meters.entrySet()) {
+            values.put(e.getKey() + ".count", (double) e.getValue().getCount());
+            values.put(e.getKey() + ".per_second", e.getValue().getRate());
+        }
+        for (Map.Entry<String, DoubleSupplier> e : gauges.entrySet()) {
+            values.put(e.getKey(), e.getValue().getAsDouble());
+        }
+        return values;
+    }
+
+    /**
+     * Записує знімок у текстовому вигляді: по рядку {@code назва значення} на кожну метрику.
+     *
+     * @param out приймач тексту
+     * @throws IOException якщо запис не вдався
+     */
+    public void writeReport(Appendable out) throws IOException {
+        for (Map.Entry<String, Double> e : snapshot().entrySet()) {
+            out.append(e.getKey()).append(' ').append(format(e.getValue())).append('\n');
+        }
+    }
+
+    /**
+     * @return знімок у текстовому вигляді
+     * @see #writeReport(Appendable)
+     */
+    public String report() {
+        StringBuilder text = new StringBuilder(1024);
+        try {
+            writeReport(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return text.toString();
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) return Long.toString((long) value);
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    /**
+     * Реєструє реєстр у платформному MBean-сервері під іменем {@value #DEFAULT_OBJECT_NAME}.
+     * Якщо MBean з таким іменем уже є, його замінено.
+     *
+     * @return ім'я зареєстрованого MBean
+     * @throws IllegalStateException якщо зареєструвати MBean не вдалося
+     */
+    public ObjectName registerMBean() {
+        try {
+            ObjectName name = new ObjectName(DEFAULT_OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+            server.registerMBean(new View(), name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Не вдалося зареєструвати MBean метрик", e);
+        }
+    }
+
+    /**
+     * Динамічний MBean: кожна метрика знімка — атрибут тільки для читання типу {@code double}.
+     */
+    private final class View implements DynamicMBean {
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Double value = snapshot().get(attribute);
+            if (value == null) throw new AttributeNotFoundException(attribute);
+            return value;
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            Map<String, Double> values = snapshot();
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                Double value = values.get(attribute);
+                if (value != null) list.add(new Attribute(attribute, value));
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) {
+            throw new UnsupportedOperationException("Метрики доступні лише для читання");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) {
+            throw new UnsupportedOperationException("Операції не підтримуються: " + actionName);
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            Map<String, Double> values = snapshot();
+            MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[values.size()];
+            int i = 0;
+            for (String name : values.keySet()) {
+                attributes[i++] = new MBeanAttributeInfo(name, "double", name, true, false, false);
+            }
+            return new MBeanInfo(Metrics.class.getName(), "PCBuilder hot-path metrics", attributes, null, null, null);
+        }
+    }
+}
@@ -1,13 +1,11 @@
-import java.util.Objects;
-
 /**
  * Клас, що представляє материнську плату комп'ютера.
  * Містить інформацію про модель плати та її вартість.
  * Надає методи для отримання характеристик плати.
  */
-public class Motherboard {
-    private final String name;
-    private final double price;
+public class Motherboard extends Component {
+    private final String socket;
+    private final String ramType;
 
     /**
      * Основной конструктор для створення об'єкта материнської плати.
@@ -17,74 +15,74 @@ public class Motherboard {
      * @throws IllegalArgumentException якщо передана ціна є від'ємною
      */
     public Motherboard(String name, double price) {
-        if (price < 0) throw new IllegalArgumentException("Ціна не може бути від'ємною");
-        if (name == null) throw new NullPointerException("Ім'я не може бути null");
-        if (name.isBlank()) throw new IllegalArgumentException("Ім'я не може бути пустим");
-        this.name = name;
-        this.price = price;
+        this(NO_ID, name, price);
     }
 
     /**
-     * Конструктор копіювання для створення нової материнської плати на основі існуючої.
+     * Створює материнську плату каталогу з ідентифікатором SKU, присвоєним сховищем {@link ComponentTable}.
      *
-     * @param other об'єкт материнської плати для копіювання
-     * @throws NullPointerException якщо переданий об'єкт є null
+     * @param id ідентифікатор SKU або {@link Component#NO_ID}
+     * @param name назва материнської плати
+     * @param price ціна материнської плати
      */
-    public Motherboard(Motherboard other) {
-        if (other == null) throw new NullPointerException("Об'єкт для копіювання не може бути null");
-        this.name = other.name;
-        this.price = other.price;
+    public Motherboard(int id, String name, double price) {
+        this(id, name, price, null, null);
     }
 
     /**
-     * Отримати поточну вартість материнської плати.
+     * Створює материнську плату каталогу з характеристиками для перевірки сумісності в {@link CompatibilityEngine}.
      *
-     * @return вартість материнської плати типу double
+     * @param id ідентифікатор SKU або {@link Component#NO_ID}
+     * @param name назва материнської плати
+     * @param price ціна материнської плати
+     * @param socket сокет процесора на платі або {@code null}, якщо невідомий
+     * @param ramType тип підтримуваної пам'яті (наприклад, "DDR5") або {@code null}, якщо невідомий
+     * @throws IllegalArgumentException якщо ціна від'ємна або назва чи характеристика пусті
      */
-    public double getPrice() {
-        return price;
+    public Motherboard(int id, String name, double price, String socket, String ramType) {
+        super(id, name, price);
+        if (socket != null && socket.isBlank()) throw new IllegalArgumentException("Сокет не може бути пустим");
+        if (ramType != null && ramType.isBlank()) throw new IllegalArgumentException("Тип пам'яті не може бути пустим");
+        this.socket = socket;
+        this.ramType = ramType;
     }
 
     /**
-     * Отримати модель материнської плати.
+     * Конструктор копіювання для створення нової материнської плати на основі існуючої.
      *
-     * @return назва моделі типу String
+     * @param other об'єкт материнської плати для копіювання
+     * @throws NullPointerException якщо переданий об'єкт є null
      */
-    public String getName() {
-        return name;
+    public Motherboard(Motherboard other) {
+        super(other);
+        this.socket = other.socket;
+        this.ramType = other.ramType;
     }
 
     /**
-     * Повертає рядкове представлення об'єкта Motherboard.
+     * @return сокет або {@code null}, якщо невідомий
      */
-    @Override
-    public String toString() {
-        return "Motherboard{" +
-                "name='" + name + '\'' +
-                ", price=" + price +
-                '}';
+    public String getSocket() {
+        return socket;
     }
 
     /**
-     * Порівнює об'єкт Storage з іншим об'єктом на рівність.
-     *
-     * @param o об'єкт для порівняння
-     * @return true якщо об'єкти рівні, false в іншому випадку
+     * @return тип пам'яті або {@code null}, якщо невідомий
      */
+    public String getRamType() {
+        return ramType;
+    }
+
     @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Motherboard that = (Motherboard) o;
-        return Double.compare(price, that.price) == 0 && Objects.equals(name, that.name);
+    public Motherboard withPrice(double price) {
+        return new Motherboard(getId(), getName(), price, socket, ramType);
     }
 
     /**
-     * Повертає хеш-код об'єкта.
-     *
-     * @return хеш-код об'єкта
+     * @return категорія {@link ComponentType#MOTHERBOARD}
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(name, price);
+    public ComponentType getType() {
+        return ComponentType.MOTHERBOARD;
     }
-}
\ No newline at end of file
+}
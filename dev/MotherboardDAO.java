@@ -0,0 +1,38 @@
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * DAO материнських плат, що зберігаються в таблиці {@code motherboard}.
+ */
+public class MotherboardDAO extends ComponentDAO<Motherboard> {
+
+    public MotherboardDAO() {
+        super(ComponentType.MOTHERBOARD, "motherboard");
+    }
+
+    /**
+     * Окрім спільних стовпців читає характеристики плати: сокет і тип пам'яті; {@code NULL} означає «невідомо».
+     */
+    @Override
+    protected String columns() {
+        return "id, name, price, socket, ram_type";
+    }
+
+    @Override
+    protected Motherboard read(ResultSet rs) throws SQLException {
+        return new Motherboard(rs.getInt(1), rs.getString(2), rs.getDouble(3), rs.getString(4), rs.getString(5));
+    }
+
+    @Override
+    protected Motherboard map(int id, String name, double price) {
+        return new Motherboard(id, name, price);
+    }
+
+    /**
+     * @return усі материнські плати у порядку ідентифікаторів
+     */
+    public List<Motherboard> getAllMotherboards() {
+        return getAll();
+    }
+}
@@ -1,13 +1,10 @@
-import java.util.Objects;
-
 /**
  * Клас, що представляє блок живлення (Power Supply Unit) комп'ютера.
  * Відповідає за зберігання інформації про модель блоку живлення та його вартість.
  * Забезпечує незмінність даних після створення об'єкта.
  */
-public class PSU {
-    private final String name;
-    private final double price;
+public class PSU extends Component {
+    private final int wattage;
 
     /**
      * Конструктор, що створює новий блок живлення з вказаними параметрами.
@@ -18,75 +15,63 @@ public class PSU {
      * @throws NullPointerException якщо назва є null
      */
     public PSU(String name, double price) {
-        if (price < 0) throw new IllegalArgumentException("Ціна не може бути від'ємною");
-        if (name == null) throw new NullPointerException("Ім'я не може бути null");
-        if (name.isBlank()) throw new IllegalArgumentException("Ім'я не може бути пустим");
-        this.name = name;
-        this.price = price;
+        this(NO_ID, name, price);
     }
 
     /**
-     * Конструктор копіювання, що створює новий блок живлення на основі існуючого.
+     * Створює блок живлення каталогу з ідентифікатором SKU, присвоєним сховищем {@link ComponentTable}.
      *
-     * @param other об'єкт для копіювання (не може бути null)
-     * @throws NullPointerException якщо переданий об'єкт є null
+     * @param id ідентифікатор SKU або {@link Component#NO_ID}
+     * @param name назва блоку живлення
+     * @param price ціна блоку живлення
      */
-    public PSU(PSU other) {
-        if (other == null) throw new NullPointerException("Об'єкт для копіювання не може бути null");
-        this.name = other.name;
-        this.price = other.price;
+    public PSU(int id, String name, double price) {
+        this(id, name, price, 0);
     }
 
     /**
-     * Повертає вартість блоку живлення.
+     * Створює блок живлення каталогу з характеристиками для перевірки сумісності в {@link CompatibilityEngine}.
      *
-     * @return вартість типу double
+     * @param id ідентифікатор SKU або {@link Component#NO_ID}
+     * @param name назва блоку живлення
+     * @param price ціна блоку живлення
+     * @param wattage номінальна потужність блока живлення у ватах або 0, якщо невідома
+     * @throws IllegalArgumentException якщо ціна чи потужність від'ємні або назва пуста
      */
-    public double getPrice() {
-        return price;
+    public PSU(int id, String name, double price, int wattage) {
+        super(id, name, price);
+        if (wattage < 0) throw new IllegalArgumentException("Потужність не може бути від'ємною");
+        this.wattage = wattage;
     }
 
     /**
-     * Повертає назву моделі блоку живлення.
+     * Конструктор копіювання, що створює новий блок живлення на основі існуючого.
      *
-     * @return назва моделі типу String
+     * @param other об'єкт для копіювання (не може бути null)
+     * @throws NullPointerException якщо переданий об'єкт є null
      */
-    public String getName() {
-        return name;
+    public PSU(PSU other) {
+        super(other);
+        this.wattage = other.wattage;
     }
 
     /**
-     * Повертає рядкове представлення об'єкта блоку живлення.
+     * @return номінальна потужність у ватах або 0, якщо невідома
      */
-    @Override
-    public String toString() {
-        return "PSU{" +
-                "name='" + name + '\'' +
-                ", price=" + price +
-                '}';
+    public int getWattage() {
+        return wattage;
     }
 
-    /**
-     * Перевіряє рівність об'єктів PSU на основі їх характеристик.
-     *
-     * @param o об'єкт для порівняння
-     * @return true якщо об'єкти ідентичні, false в іншому випадку
-     */
     @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        PSU psu = (PSU) o;
-        return Double.compare(price, psu.price) == 0 && Objects.equals(name, psu.name);
+    public PSU withPrice(double price) {
+        return new PSU(getId(), getName(), price, wattage);
     }
 
     /**
-     * Повертає хеш-код об'єкта.
-     *
-     * @return хеш-код об'єкта
+     * @return категорія {@link ComponentType#PSU}
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(name, price);
+    public ComponentType getType() {
+        return ComponentType.PSU;
     }
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * DAO блоків живлення, що зберігаються в таблиці {@code psu}.
+ */
+public class PSUDAO extends ComponentDAO<PSU> {
+
+    public PSUDAO() {
+        super(ComponentType.PSU, "psu");
+    }
+
+    /**
+     * Окрім спільних стовпців читає характеристики блока живлення: потужність; {@code NULL} означає «невідомо».
+     */
+    @Override
+    protected String columns() {
+        return "id, name, price, wattage";
+    }
+
+    @Override
+    protected PSU read(ResultSet rs) throws SQLException {
+        return new PSU(rs.getInt(1), rs.getString(2), rs.getDouble(3), rs.getInt(4));
+    }
+
+    @Override
+    protected PSU map(int id, String name, double price) {
+        return new PSU(id, name, price);
+    }
+
+    /**
+     * @return усі блоки живлення у порядку ідентифікаторів
+     */
+    public List<PSU> getAllPSUs() {
+        return getAll();
+    }
+}
@@ -0,0 +1,589 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Історія цін компонентів: окремий часовий ряд для кожної пари (категорія, ідентифікатор SKU).
+ * Ціна зберігається як ступінчаста функція: нова точка додається лише тоді, коли ціна змінилася,
+ * і діє до наступної точки. Точки лише дописуються в кінець ряду в порядку неспадання часу.
+ *
+ * <p>Ряд кодується в один масив байтів: для кожної точки — різниця часу з попередньою точкою
+ * (varint) та різниця ціни в центах (zigzag varint). Типова точка займає 2–4 байти замість десятків
+ * байтів для пари упакованих {@code Long}/{@code Double} у колекції. Кожні {@value #BLOCK_SIZE} точок
+ * записуються в розріджений індекс, тож запит за часом починає декодування з потрібного блоку.
+ *
+ * <p>Історія, відкрита через {@link #open(Path)}, зберігається в каталозі сегментних файлів:
+ * {@link #flush()} дописує новий сегмент лише з точками, доданими після попереднього скидання,
+ * а {@link #compact()} об'єднує всі сегменти в один базовий. Сегменти з'являються атомарно,
+ * тож після збою відновлюється стан на момент останнього успішного скидання.
+ * Формат сегмента (little-endian): заголовок з сигнатурою {@code PCPH}, версією, прапорцями та кількістю
+ * записів; кожен запис містить категорію, ідентифікатор, кількість точок, стан ряду перед першою точкою
+ * (час і ціну в центах) та закодовані байти точок.
+ */
+public class PriceHistory implements CatalogChangeListener {
+    /** Кількість точок між записами розрідженого індексу. */
+    public static final int BLOCK_SIZE = 64;
+    /** Найбільша кількість інтервалів в одному прорідженому запиті. */
+    public static final int MAX_BUCKETS = 1_000_000;
+
+    private static final int MAGIC = 0x48504350; // "PCPH"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 33;
+    /** Базовий сегмент містить ряди повністю; попередні сегменти ігноруються. */
+    private static final int FLAG_BASE = 1;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final ComponentType[] TYPES = ComponentType.values();
+
+    private final ConcurrentHashMap<Long, Series> series = new ConcurrentHashMap<>();
+    private final Path directory;
+    /** Номер наступного сегмента; змінюється лише під монітором історії. */
+    private long nextSegment;
+
+    /**
+     * Створює історію лише в пам'яті.
+     */
+    public PriceHistory() {
+        this.directory = null;
+    }
+
+    private PriceHistory(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Відкриває історію, збережену в каталозі сегментів, або створює порожню, якщо каталогу ще немає.
+     *
+     * @param directory каталог сегментних файлів
+     * @return відновлена історія
+     * @throws IOException якщо сегмент не вдалося прочитати або він пошкоджений
+     */
+    public static PriceHistory open(Path directory) throws IOException {
+        if (directory == null) throw new NullPointerException("Шлях не може бути null");
+        Files.createDirectories(directory);
+        PriceHistory history = new PriceHistory(directory.toAbsolutePath());
+        List<Path> segments = history.segments();
+        int base = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            ByteBuffer header = readHeader(segments.get(i));
+            if ((header.getInt(8) & FLAG_BASE) != 0) base = i;
+        }
+        for (int i = base; i < segments.size(); i++) history.replay(segments.get(i));
+        // Сегменти до базового лишаються лише після перерваного ущільнення.
+        for (int i = 0; i < base; i++) Files.deleteIfExists(segments.get(i));
+        history.nextSegment = segments.isEmpty() ? 1 : sequence(segments.get(segments.size() - 1)) + 1;
+        for (Series s : history.series.values()) s.markFlushed(s.count, s.length, s.lastTime, s.lastCents);
+        return history;
+    }
+
+    /**
+     * Додає ціну компонента на момент {@code time}. Якщо ціна не змінилася з останньої точки ряду,
+     * точка не додається.
+     *
+     * @param type  категорія
+     * @param id    ідентифікатор SKU
+     * @param time  час у мілісекундах епохи, не раніший за останню точку ряду
+     * @param price ціна
+     * @return {@code true}, якщо точку додано
+     * @throws IllegalArgumentException якщо ціна від'ємна чи не скінченна, ідентифікатор від'ємний
+     *                                  або час раніший за останню точку ряду
+     */
+    public boolean record(ComponentType type, int id, long time, double price) {
+        if (type == null) throw new NullPointerException("Категорія не може бути null");
+        if (id < 0) throw new IllegalArgumentException("Ідентифікатор не може бути від'ємним");
+        if (!(price >= 0) || Double.isInfinite(price)) throw new IllegalArgumentException("Ціна має бути скінченним невід'ємним числом");
+        return series.computeIfAbsent(key(type, id), k -> new Series()).append(time, Math.round(price * 100), true);
+    }
+
+    /**
+     * Записує нову ціну компонента з поточним часом, коли каталог повідомляє про зміну.
+     */
+    @Override
+    public void componentChanged(ComponentType type, Component previous, Component current) {
+        if (current == null || current.getId() == Component.NO_ID) return;
+        series.computeIfAbsent(key(type, current.getId()), k -> new Series())
+                .appendLatest(System.currentTimeMillis(), Math.round(current.getPrice() * 100));
+    }
+
+    /**
+     * Повертає ціну, що діяла в момент {@code time}.
+     *
+     * @param type категорія
+     * @param id   ідентифікатор SKU
+     * @param time час у мілісекундах епохи
+     * @return ціна або {@link Double#NaN}, якщо на той момент ціни ще не було
+     */
+    public double priceAt(ComponentType type, int id, long time) {
+        Series s = find(type, id);
+        return s == null ? Double.NaN : s.priceAt(time);
+    }
+
+    /**
+     * Повертає точки ряду з часом у межах {@code [from, to)}.
+     *
+     * @param type категорія
+     * @param id   ідентифікатор SKU
+     * @param from початок діапазону включно
+     * @param to   кінець діапазону не включно
+     * @return точки в порядку часу
+     */
+    public PricePoints range(ComponentType type, int id, long from, long to) {
+        if (to < from) throw new IllegalArgumentException("Кінець діапазону раніший за початок");
+        Series s = find(type, id);
+        return s == null ? PricePoints.empty() : s.range(from, to);
+    }
+
+    /**
+     * Проріджує ряд до інтервалів довжиною {@code step}, починаючи з {@code from}. Для кожного інтервалу
+     * повертаються ціна на його кінець, найменша та найбільша ціни, що діяли в його межах; інтервали
+     * до першої точки ряду пропускаються.
+     *
+     * @param type категорія
+     * @param id   ідентифікатор SKU
+     * @param from початок діапазону включно
+     * @param to   кінець діапазону не включно
+     * @param step довжина інтервалу в мілісекундах
+     * @return по одній точці на інтервал
+     * @throws IllegalArgumentException якщо крок не додатний або інтервалів більше за {@link #MAX_BUCKETS}
+     */
+    public PricePoints downsample(ComponentType type, int id, long from, long to, long step) {
+        if (to < from) throw new IllegalArgumentException("Кінець діапазону раніший за початок");
+        if (step < 1) throw new IllegalArgumentException("Крок має бути додатним");
+        long buckets = (to - from) / step + ((to - from) % step == 0 ? 0 : 1);
+        if (buckets > MAX_BUCKETS) throw new IllegalArgumentException("Забагато інтервалів: " + buckets);
+        Series s = find(type, id);
+        return s == null ? PricePoints.empty() : s.downsample(from, to, step, (int) buckets);
+    }
+
+    private Series find(ComponentType type, int id) {
+        if (type == null) throw new NullPointerException("Категорія не може бути null");
+        return series.get(key(type, id));
+    }
+
+    private static long key(ComponentType type, int id) {
+        return ((long) type.ordinal() << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return кількість рядів
+     */
+    public int getSeriesCount() {
+        return series.size();
+    }
+
+    /**
+     * @return сумарна кількість точок у всіх рядах
+     */
+    public long getPointCount() {
+        long points = 0;
+        for (Series s : series.values()) points += s.count();
+        return points;
+    }
+
+    /**
+     * @return сумарний розмір закодованих точок у байтах (без розрідженого індексу)
+     */
+    public long getEncodedBytes() {
+        long bytes = 0;
+        for (Series s : series.values()) bytes += s.encodedBytes();
+        return bytes;
+    }
+
+    /**
+     * Дописує на диск новий сегмент з точками, доданими після попереднього скидання.
+     *
+     * @throws IOException           якщо сегмент не вдалося записати
+     * @throws IllegalStateException якщо історія існує лише в пам'яті
+     */
+    public synchronized void flush() throws IOException {
+        writeSegment(false);
+    }
+
+    /**
+     * Записує всі ряди в один базовий сегмент і видаляє попередні сегменти.
+     *
+     * @throws IOException           якщо сегмент не вдалося записати
+     * @throws IllegalStateException якщо історія існує лише в пам'яті
+     */
+    public synchronized void compact() throws IOException {
+        List<Path> previous = directory == null ? List.of() : segments();
+        writeSegment(true);
+        for (Path segment : previous) Files.deleteIfExists(segment);
+    }
+
+    private void writeSegment(boolean base) throws IOException {
+        if (directory == null) throw new IllegalStateException("Історія існує лише в пам'яті");
+        List<Slice> slices = new ArrayList<>();
+        long size = HEADER_SIZE;
+        for (Map.Entry<Long, Series> e : series.entrySet()) {
+            Slice slice = e.getValue().slice(e.getKey(), base);
+            if (slice == null) continue;
+            slices.add(slice);
+            size += RECORD_HEADER_SIZE + slice.bytes.length;
+        }
+        if (slices.isEmpty() && !base) return;
+        if (size > Integer.MAX_VALUE) throw new IOException("Сегмент завеликий");
+
+        ByteBuffer data = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        data.putInt(MAGIC).putInt(VERSION).putInt(base ? FLAG_BASE : 0).putInt(slices.size());
+        for (Slice slice : slices) {
+            data.put((byte) (slice.key >>> 32)).putInt((int) slice.key).putInt(slice.count)
+                    .putLong(slice.prevTime).putLong(slice.prevCents).putInt(slice.bytes.length).put(slice.bytes);
+        }
+        data.flip();
+
+        Path target = directory.resolve(String.format("%016d%s", nextSegment, SEGMENT_SUFFIX));
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (data.hasRemaining()) out.write(data);
+                out.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        nextSegment++;
+        for (Slice slice : slices) slice.series.markFlushed(slice.endCount, slice.endLength, slice.endTime, slice.endCents);
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SEGMENT_SUFFIX)) segments.add(file);
+                else if (name.endsWith(".tmp")) Files.deleteIfExists(file);
+            }
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private static long sequence(Path segment) throws IOException {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IOException("Некоректна назва сегмента: " + name, e);
+        }
+    }
+
+    private static ByteBuffer readHeader(Path segment) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+            while (header.hasRemaining()) {
+                if (in.read(header) < 0) break;
+            }
+        }
+        if (header.position() < HEADER_SIZE || header.getInt(0) != MAGIC) {
+            throw new IOException("Файл не є сегментом історії цін: " + segment);
+        }
+        if (header.getInt(4) != VERSION) throw new IOException("Непідтримувана версія сегмента: " + header.getInt(4));
+        return header;
+    }
+
+    private void replay(Path segment) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment)).order(ByteOrder.LITTLE_ENDIAN);
+        data.position(12);
+        int records = data.getInt();
+        try {
+            for (int r = 0; r < records; r++) {
+                int ordinal = data.get();
+                int id = data.getInt();
+                int count = data.getInt();
+                long prevTime = data.getLong();
+                long prevCents = data.getLong();
+                byte[] bytes = new byte[data.getInt()];
+                data.get(bytes);
+                if (ordinal < 0 || ordinal >= TYPES.length || count < 0) throw new IOException("Пошкоджений запис у " + segment);
+                Series s = series.computeIfAbsent(key(TYPES[ordinal], id), k -> new Series());
+                if (s.lastTime() != prevTime || s.lastCents() != prevCents) {
+                    throw new IOException("Сегмент " + segment + " не продовжує ряд " + TYPES[ordinal].getDisplayName() + " #" + id);
+                }
+                Cursor cursor = new Cursor(bytes, 0, count, prevTime, prevCents);
+                while (cursor.next()) s.append(cursor.time, cursor.cents, false);
+                if (cursor.pos != bytes.length) throw new IOException("Пошкоджений запис у " + segment);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Пошкоджений сегмент " + segment, e);
+        }
+    }
+
+    /**
+     * Закодований ряд одного компонента.
+     */
+    private static final class Series {
+        private byte[] data = new byte[16];
+        private int length;
+        private int count;
+        private long lastTime;
+        private long lastCents;
+        /** Розріджений індекс: час першої точки блоку, стан ряду перед нею та зміщення її байтів. */
+        private long[] blockTime = new long[1];
+        private long[] blockPrevTime = new long[1];
+        private long[] blockPrevCents = new long[1];
+        private int[] blockOffset = new int[1];
+        private int flushedCount;
+        private int flushedLength;
+        private long flushedTime;
+        private long flushedCents;
+
+        synchronized boolean append(long time, long cents, boolean skipUnchanged) {
+            if (count > 0 && time < lastTime) throw new IllegalArgumentException("Час точки раніший за останню точку ряду");
+            if (skipUnchanged && count > 0 && cents == lastCents) return false;
+            if (count % BLOCK_SIZE == 0) {
+                int block = count / BLOCK_SIZE;
+                if (block == blockTime.length) {
+                    int capacity = block * 2;
+                    blockTime = Arrays.copyOf(blockTime, capacity);
+                    blockPrevTime = Arrays.copyOf(blockPrevTime, capacity);
+                    blockPrevCents = Arrays.copyOf(blockPrevCents, capacity);
+                    blockOffset = Arrays.copyOf(blockOffset, capacity);
+                }
+                blockTime[block] = time;
+                blockPrevTime[block] = lastTime;
+                blockPrevCents[block] = lastCents;
+                blockOffset[block] = length;
+            }
+            if (length + 20 > data.length) data = Arrays.copyOf(data, Math.max(data.length * 2, length + 20));
+            length = putVarLong(data, length, time - lastTime);
+            long delta = cents - lastCents;
+            length = putVarLong(data, length, (delta << 1) ^ (delta >> 63));
+            lastTime = time;
+            lastCents = cents;
+            count++;
+            return true;
+        }
+
+        /**
+         * Додає точку не раніше за останню: годинник може відставати від часу, переданого в {@link #record}.
+         */
+        synchronized void appendLatest(long time, long cents) {
+            append(Math.max(time, lastTime), cents, true);
+        }
+
+        synchronized long lastTime() {
+            return lastTime;
+        }
+
+        synchronized long lastCents() {
+            return lastCents;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized int encodedBytes() {
+            return length;
+        }
+
+        synchronized double priceAt(long time) {
+            if (count == 0 || blockTime[0] > time) return Double.NaN;
+            Cursor cursor = cursor(lastBlockAtOrBefore(time));
+            long cents = 0;
+            while (cursor.next() && cursor.time <= time) cents = cursor.cents;
+            return cents / 100.0;
+        }
+
+        synchronized PricePoints range(long from, long to) {
+            if (count == 0) return PricePoints.empty();
+            Cursor cursor = cursor(lastBlockBefore(from));
+            int capacity = 16;
+            long[] times = new long[capacity];
+            double[] prices = new double[capacity];
+            int size = 0;
+            while (cursor.next() && cursor.time < to) {
+                if (cursor.time < from) continue;
+                if (size == capacity) {
+                    capacity *= 2;
+                    times = Arrays.copyOf(times, capacity);
+                    prices = Arrays.copyOf(prices, capacity);
+                }
+                times[size] = cursor.time;
+                prices[size] = cursor.cents / 100.0;
+                size++;
+            }
+            return new PricePoints(times, prices, prices, prices, size);
+        }
+
+        synchronized PricePoints downsample(long from, long to, long step, int buckets) {
+            if (count == 0) return PricePoints.empty();
+            long[] times = new long[buckets];
+            double[] close = new double[buckets];
+            double[] min = new double[buckets];
+            double[] max = new double[buckets];
+            int size = 0;
+            Cursor cursor = cursor(lastBlockBefore(from));
+            boolean more = cursor.next();
+            boolean priced = false;
+            long current = 0;
+            while (more && cursor.time < from) {
+                current = cursor.cents;
+                priced = true;
+                more = cursor.next();
+            }
+            for (int b = 0; b < buckets; b++) {
+                long start = from + b * step;
+                long end = start + Math.min(step, to - start);
+                long low = current;
+                long high = current;
+                boolean any = priced;
+                while (more && cursor.time < end) {
+                    current = cursor.cents;
+                    if (!any) {
+                        low = current;
+                        high = current;
+                    }
+                    any = true;
+                    low = Math.min(low, current);
+                    high = Math.max(high, current);
+                    more = cursor.next();
+                }
+                priced = any;
+                if (!any) continue;
+                times[size] = start;
+                close[size] = current / 100.0;
+                min[size] = low / 100.0;
+                max[size] = high / 100.0;
+                size++;
+            }
+            return new PricePoints(times, close, min, max, size);
+        }
+
+        /**
+         * Копіює байти, ще не скинуті на диск (або всі байти для базового сегмента).
+         */
+        synchronized Slice slice(long key, boolean all) {
+            int fromCount = all ? 0 : flushedCount;
+            if (count == fromCount && !all) return null;
+            if (count == 0) return null;
+            int fromLength = all ? 0 : flushedLength;
+            return new Slice(this, key, count - fromCount, all ? 0 : flushedTime, all ? 0 : flushedCents,
+                    Arrays.copyOfRange(data, fromLength, length), count, length, lastTime, lastCents);
+        }
+
+        synchronized void markFlushed(int count, int length, long time, long cents) {
+            if (count < flushedCount) return;
+            flushedCount = count;
+            flushedLength = length;
+            flushedTime = time;
+            flushedCents = cents;
+        }
+
+        private Cursor cursor(int block) {
+            return new Cursor(data, blockOffset[block], count - block * BLOCK_SIZE, blockPrevTime[block], blockPrevCents[block]);
+        }
+
+        /** Останній блок, перша точка якого не пізніша за {@code time}, або 0. */
+        private int lastBlockAtOrBefore(long time) {
+            int low = 0;
+            int high = (count - 1) / BLOCK_SIZE;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (blockTime[mid] <= time) low = mid;
+                else high = mid - 1;
+            }
+            return low;
+        }
+
+        /** Останній блок, перша точка якого раніша за {@code time}, або 0. */
+        private int lastBlockBefore(long time) {
+            return time == Long.MIN_VALUE ? 0 : lastBlockAtOrBefore(time - 1);
+        }
+
+        private static int putVarLong(byte[] data, int position, long value) {
+            while ((value & ~0x7FL) != 0) {
+                data[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[position++] = (byte) value;
+            return position;
+        }
+    }
+
+    /**
+     * Послідовне декодування точок ряду, починаючи з заданого стану.
+     */
+    private static final class Cursor {
+        final byte[] data;
+        int pos;
+        int remaining;
+        long time;
+        long cents;
+
+        Cursor(byte[] data, int pos, int remaining, long time, long cents) {
+            this.data = data;
+            this.pos = pos;
+            this.remaining = remaining;
+            this.time = time;
+            this.cents = cents;
+        }
+
+        boolean next() {
+            if (remaining == 0) return false;
+            time += readVarLong();
+            long zigzag = readVarLong();
+            cents += (zigzag >>> 1) ^ -(zigzag & 1);
+            remaining--;
+            return true;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = data[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+            throw new IllegalStateException("Пошкоджене кодування varint");
+        }
+    }
+
+    /**
+     * Незмінна копія частини ряду для запису в сегмент разом зі станом ряду після неї.
+     */
+    private static final class Slice {
+        final Series series;
+        final long key;
+        final int count;
+        final long prevTime;
+        final long prevCents;
+        final byte[] bytes;
+        final int endCount;
+        final int endLength;
+        final long endTime;
+        final long endCents;
+
+        Slice(Series series, long key, int count, long prevTime, long prevCents, byte[] bytes,
+              int endCount, int endLength, long endTime, long endCents) {
+            this.series = series;
+            this.key = key;
+            this.count = count;
+            this.prevTime = prevTime;
+            this.prevCents = prevCents;
+            this.bytes = bytes;
+            this.endCount = endCount;
+            this.endLength = endLength;
+            this.endTime = endTime;
+            this.endCents = endCents;
+        }
+    }
+}
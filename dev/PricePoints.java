@@ -0,0 +1,74 @@
+import java.util.Objects;
+
+/**
+ * Результат запиту до {@link PriceHistory}: точки часового ряду цін у примітивних масивах.
+ * Для сирого діапазону мінімум і максимум кожної точки збігаються з її ціною; для проріджених
+ * запитів кожна точка — це інтервал, для якого зберігаються ціна на його кінець та діапазон цін усередині.
+ */
+public final class PricePoints {
+    private static final PricePoints EMPTY = new PricePoints(new long[0], new double[0], new double[0], new double[0], 0);
+
+    private final long[] times;
+    private final double[] prices;
+    private final double[] min;
+    private final double[] max;
+    private final int size;
+
+    PricePoints(long[] times, double[] prices, double[] min, double[] max, int size) {
+        this.times = times;
+        this.prices = prices;
+        this.min = min;
+        this.max = max;
+        this.size = size;
+    }
+
+    static PricePoints empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return кількість точок
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true}, якщо точок немає
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index номер точки
+     * @return час точки в мілісекундах епохи (для проріджених запитів — початок інтервалу)
+     */
+    public long getTime(int index) {
+        return times[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * @param index номер точки
+     * @return ціна (для проріджених запитів — ціна на кінець інтервалу)
+     */
+    public double getPrice(int index) {
+        return prices[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * @param index номер точки
+     * @return найменша ціна, що діяла в межах точки
+     */
+    public double getMin(int index) {
+        return min[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * @param index номер точки
+     * @return найбільша ціна, що діяла в межах точки
+     */
+    public double getMax(int index) {
+        return max[Objects.checkIndex(index, size)];
+    }
+}
@@ -0,0 +1,431 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Обмежений потокобезпечний кеш пропозицій {@link BuildQuote} для популярних конфігурацій.
+ * Ключ — ідентичності семи компонентів (SKU або, для компонентів без SKU, назва); при збігу ключа
+ * збережені компоненти додатково порівнюються з переданими, тож застаріла пропозиція ніколи не повертається.
+ *
+ * <p>Витіснення працює за схемою W-TinyLFU: нові записи потрапляють у невелике LRU-вікно, а основна
+ * частина поділена на випробувальний і захищений сегменти. Запис, що випадає з вікна, потрапляє в основну
+ * частину лише тоді, коли за оцінкою частоти (Count-Min Sketch з 4-бітними лічильниками, що періодично
+ * зменшуються вдвічі) він популярніший за кандидата на витіснення. Читання не блокують одне одного:
+ * якщо замок політики зайнятий, оновлення порядку для цього звернення пропускається.
+ *
+ * <p>Кеш реалізує {@link CatalogChangeListener}: після реєстрації в {@link ComponentCatalog}
+ * зміна ціни чи видалення компонента видаляє всі пропозиції, що його містять.
+ */
+public final class QuoteCache implements CatalogChangeListener {
+    /** Максимальна кількість пропозицій за замовчуванням. */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private static final ComponentType[] TYPES = ComponentType.values();
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    private final ConcurrentHashMap<Key, Node> data = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final Queue window = new Queue();
+    private final Queue probation = new Queue();
+    private final Queue protectedQueue = new Queue();
+    /** Ідентичність компонента → пропозиції, що його містять. Змінюється лише під {@link #lock}. */
+    private final Map<Long, Set<Node>> dependents = new HashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public QuoteCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize максимальна кількість пропозицій
+     * @throws IllegalArgumentException якщо {@code maximumSize} менше 1
+     */
+    public QuoteCache(int maximumSize) {
+        if (maximumSize < 1) throw new IllegalArgumentException("Ліміт розміру має бути додатним");
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (maximumSize - windowMaximum) * 4 / 5;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Повертає пропозицію для конфігурації з кешу або розраховує й кешує нову.
+     *
+     * @param computer конфігурація
+     * @return пропозиція з ціною та текстом конфігурації
+     */
+    public BuildQuote quote(Computer computer) {
+        BuildQuote cached = getIfPresent(computer);
+        if (cached != null) return cached;
+        BuildQuote quote = BuildQuote.of(computer);
+        put(Key.of(computer), computer, quote);
+        return quote;
+    }
+
+    /**
+     * @param computer конфігурація
+     * @return закешована пропозиція або {@code null}
+     */
+    public BuildQuote getIfPresent(Computer computer) {
+        if (computer == null) throw new NullPointerException("Computer cannot be null");
+        Node node = data.get(Key.of(computer));
+        Value value = node == null ? null : node.value;
+        if (value == null || !value.matches(computer)) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (lock.tryLock()) {
+            try {
+                if (node.queue >= 0) onAccess(node);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return value.quote;
+    }
+
+    private void put(Key key, Computer computer, BuildQuote quote) {
+        lock.lock();
+        try {
+            sketch.increment(key.hash);
+            Node existing = data.get(key);
+            if (existing != null) {
+                // Ключ той самий, але компоненти інші (змінилася ціна чи збіглися назви) — замінюємо вміст.
+                existing.value = new Value(computer, quote);
+                onAccess(existing);
+                return;
+            }
+            Node node = new Node(key, new Value(computer, quote));
+            data.put(key, node);
+            for (long identity : key.identities) {
+                dependents.computeIfAbsent(identity, k -> new HashSet<>(4)).add(node);
+            }
+            window.addLast(node, WINDOW);
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onAccess(Node node) {
+        sketch.increment(node.key.hash);
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                protectedQueue.addLast(node, PROTECTED);
+                while (protectedQueue.size > protectedMaximum) {
+                    Node demoted = protectedQueue.first();
+                    protectedQueue.remove(demoted);
+                    probation.addLast(demoted, PROBATION);
+                }
+                break;
+            case PROTECTED:
+                protectedQueue.moveToLast(node);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Переносить записи з переповненого вікна у випробувальний сегмент і, поки кеш переповнений,
+     * залишає з пари «кандидат з вікна / найдавніший випробувальний запис» частіший.
+     */
+    private void evict() {
+        Node candidate = null;
+        while (window.size > windowMaximum) {
+            candidate = window.first();
+            window.remove(candidate);
+            probation.addLast(candidate, PROBATION);
+        }
+        while (data.size() > maximumSize) {
+            Node victim = probation.first();
+            if (victim == null) victim = protectedQueue.first();
+            if (victim == null) victim = window.first();
+            Node evicted = victim;
+            if (candidate != null && candidate != victim && candidate.queue == PROBATION
+                    && sketch.frequency(candidate.key.hash) <= sketch.frequency(victim.key.hash)) {
+                evicted = candidate;
+            }
+            if (evicted == candidate) candidate = null;
+            removeNode(evicted);
+            evictions.increment();
+        }
+    }
+
+    private void removeNode(Node node) {
+        switch (node.queue) {
+            case WINDOW: window.remove(node); break;
+            case PROBATION: probation.remove(node); break;
+            case PROTECTED: protectedQueue.remove(node); break;
+            default: return;
+        }
+        node.queue = -1;
+        data.remove(node.key, node);
+        for (long identity : node.key.identities) {
+            Set<Node> nodes = dependents.get(identity);
+            if (nodes == null) continue;
+            nodes.remove(node);
+            if (nodes.isEmpty()) dependents.remove(identity);
+        }
+    }
+
+    /**
+     * Видаляє всі пропозиції, що містять компонент.
+     *
+     * @param component компонент, ціна якого змінилася
+     */
+    public void invalidate(Component component) {
+        if (component == null) throw new NullPointerException("Компонент не може бути null");
+        lock.lock();
+        try {
+            Set<Node> nodes = dependents.get(identity(component));
+            if (nodes == null) return;
+            for (Node node : nodes.toArray(new Node[0])) {
+                removeNode(node);
+                invalidations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Видаляє всі пропозиції.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            for (Node node : data.values().toArray(new Node[0])) removeNode(node);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Видаляє пропозиції зі зміненим або видаленим компонентом каталогу.
+     */
+    @Override
+    public void componentChanged(ComponentType type, Component previous, Component current) {
+        if (previous != null) invalidate(previous);
+    }
+
+    /**
+     * @return поточна кількість пропозицій у кеші
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * @return кількість звернень, обслужених з кешу
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return кількість звернень, для яких пропозицію довелося розрахувати
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return кількість пропозицій, витіснених через ліміт розміру
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return кількість пропозицій, видалених через зміну компонента
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Ідентичність компонента: категорія та SKU, а для компонента без SKU — категорія та відбиток назви.
+     */
+    private static long identity(Component component) {
+        long type = (long) component.getType().ordinal() << 56;
+        if (component.getId() != Component.NO_ID) return type | component.getId();
+        return type | (1L << 55) | (Fingerprint.of(component.getName()) & ((1L << 55) - 1));
+    }
+
+    /**
+     * Ключ кешу: ідентичності семи компонентів у порядку {@link ComponentType}.
+     */
+    private static final class Key {
+        final long[] identities;
+        final long hash;
+
+        private Key(long[] identities) {
+            this.identities = identities;
+            long h = 0;
+            for (long identity : identities) h = Fingerprint.combine(h, identity);
+            this.hash = h;
+        }
+
+        static Key of(Computer computer) {
+            long[] identities = new long[TYPES.length];
+            for (ComponentType type : TYPES) identities[type.ordinal()] = identity(computer.getComponent(type));
+            return new Key(identities);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).hash == hash && Arrays.equals(((Key) o).identities, identities);
+        }
+
+        @Override
+        public int hashCode() {
+            return Fingerprint.toHashCode(hash);
+        }
+    }
+
+    /**
+     * Незмінний вміст запису: компоненти, для яких розраховано пропозицію, і сама пропозиція.
+     */
+    private static final class Value {
+        final Component[] parts = new Component[TYPES.length];
+        final BuildQuote quote;
+
+        Value(Computer computer, BuildQuote quote) {
+            for (ComponentType type : TYPES) parts[type.ordinal()] = computer.getComponent(type);
+            this.quote = quote;
+        }
+
+        boolean matches(Computer computer) {
+            for (ComponentType type : TYPES) {
+                if (!parts[type.ordinal()].equals(computer.getComponent(type))) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Запис кешу та вузол одного з трьох двозв'язних списків політики витіснення.
+     * Поля політики змінюються лише під замком кешу.
+     */
+    private static final class Node {
+        final Key key;
+        volatile Value value;
+        byte queue = -1;
+        Node prev;
+        Node next;
+
+        Node(Key key, Value value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Двозв'язний список вузлів від найдавніше до найнедавніше використаного.
+     */
+    private static final class Queue {
+        private Node head;
+        private Node tail;
+        int size;
+
+        Node first() {
+            return head;
+        }
+
+        void addLast(Node node, byte queue) {
+            node.queue = queue;
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) head = node;
+            else tail.next = node;
+            tail = node;
+            size++;
+        }
+
+        void remove(Node node) {
+            if (node.prev == null) head = node.next;
+            else node.prev.next = node.next;
+            if (node.next == null) tail = node.prev;
+            else node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToLast(Node node) {
+            if (node == tail) return;
+            byte queue = node.queue;
+            remove(node);
+            addLast(node, queue);
+        }
+    }
+
+    /**
+     * Count-Min Sketch з чотирма 4-бітними лічильниками на ключ, упакованими по 16 у {@code long}.
+     * Після {@code 10 × maximumSize} інкрементів усі лічильники зменшуються вдвічі, тож давня популярність
+     * поступово забувається.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+
+        private final long[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maximumSize) {
+            int length = Integer.highestOneBit(Math.max(2, maximumSize) - 1) << 1;
+            this.table = new long[length];
+            this.mask = length - 1;
+            this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * maximumSize);
+        }
+
+        int frequency(long hash) {
+            int frequency = 15;
+            for (int i = 0; i < 4; i++) {
+                long h = Fingerprint.mix(hash + SEEDS[i]);
+                int offset = (int) ((h >>> 60) << 2);
+                frequency = Math.min(frequency, (int) ((table[(int) h & mask] >>> offset) & 15));
+            }
+            return frequency;
+        }
+
+        void increment(long hash) {
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                long h = Fingerprint.mix(hash + SEEDS[i]);
+                int index = (int) h & mask;
+                int offset = (int) ((h >>> 60) << 2);
+                if (((table[index] >>> offset) & 15) != 15) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++additions == sampleSize) {
+                for (int i = 0; i < table.length; i++) table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+                additions /= 2;
+            }
+        }
+    }
+}
@@ -1,13 +1,10 @@
-import java.util.Objects;
-
 /**
  * Клас, що представляє модуль оперативної пам'яті (RAM) комп'ютера.
  * Зберігає інформацію про назву модуля та його вартість.
  * Надає методи для роботи з об'єктами пам'яті, включаючи порівняння та копіювання.
  */
-public class RAM {
-    private final String name;
-    private final double price;
+public class RAM extends Component {
+    private final String ramType;
 
     /**
      * Конструктор, що створює новий об'єкт оперативної пам'яті.
@@ -18,74 +15,63 @@ public class RAM {
      * @throws NullPointerException якщо назва є null
      */
     public RAM(String name, double price) {
-        if (price < 0) throw new IllegalArgumentException("Ціна не може бути від'ємною");
-        if (name == null) throw new NullPointerException("Ім'я не може бути null");
-        if (name.isBlank()) throw new IllegalArgumentException("Ім'я не може бути пустим");
-        this.name = name;
-        this.price = price;
+        this(NO_ID, name, price);
     }
 
     /**
-     * Конструктор копіювання для створення нового об'єкта на основі існуючого.
+     * Створює модуль пам'яті каталогу з ідентифікатором SKU, присвоєним сховищем {@link ComponentTable}.
      *
-     * @param other об'єкт RAM для копіювання
-     * @throws NullPointerException якщо переданий об'єкт є null
+     * @param id ідентифікатор SKU або {@link Component#NO_ID}
+     * @param name назва модуля пам'яті
+     * @param price ціна модуля пам'яті
      */
-    public RAM(RAM other) {
-        if (other == null) throw new NullPointerException("Об'єкт для копіювання не може бути null");
-        this.name = other.name;
-        this.price = other.price;
+    public RAM(int id, String name, double price) {
+        this(id, name, price, null);
     }
 
     /**
-     * Повертає вартість модуля пам'яті.
+     * Створює модуль пам'яті каталогу з характеристиками для перевірки сумісності в {@link CompatibilityEngine}.
      *
-     * @return вартість модуля пам'яті
+     * @param id ідентифікатор SKU або {@link Component#NO_ID}
+     * @param name назва модуля пам'яті
+     * @param price ціна модуля пам'яті
+     * @param ramType тип пам'яті (наприклад, "DDR5") або {@code null}, якщо невідомий
+     * @throws IllegalArgumentException якщо ціна від'ємна або назва чи характеристика пусті
      */
-    public double getPrice() {
-        return price;
+    public RAM(int id, String name, double price, String ramType) {
+        super(id, name, price);
+        if (ramType != null && ramType.isBlank()) throw new IllegalArgumentException("Тип пам'яті не може бути пустим");
+        this.ramType = ramType;
     }
 
     /**
-     * Повертає назву модуля пам'яті.
+     * Конструктор копіювання для створення нового об'єкта на основі існуючого.
      *
-     * @return назва модуля пам'яті
+     * @param other об'єкт RAM для копіювання
+     * @throws NullPointerException якщо переданий об'єкт є null
      */
-    public String getName() {
-        return name;
+    public RAM(RAM other) {
+        super(other);
+        this.ramType = other.ramType;
     }
 
     /**
-     * Повертає рядкове представлення об'єкта RAM.
+     * @return тип пам'яті або {@code null}, якщо невідомий
      */
-    @Override
-    public String toString() {
-        return "RAM{" +
-                "name='" + name + '\'' +
-                ", price=" + price +
-                '}';
+    public String getRamType() {
+        return ramType;
     }
 
-    /**
-     * Порівнює об'єкт RAM з іншим об'єктом на рівність.
-     *
-     * @param o об'єкт для порівняння
-     * @return true якщо об'єкти рівні, false в іншому випадку
-     */
     @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        RAM ram = (RAM) o;
-        return Double.compare(price, ram.price) == 0 && Objects.equals(name, ram.name);
+    public RAM withPrice(double price) {
+        return new RAM(getId(), getName(), price, ramType);
     }
 
     /**
-     * Повертає хеш-код об'єкта.
-     *
-     * @return хеш-код об'єкта
+     * @return категорія {@link ComponentType#RAM}
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(name, price);
+    public ComponentType getType() {
+        return ComponentType.RAM;
     }
-}
\ No newline at end of file
+}
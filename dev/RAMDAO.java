@@ -0,0 +1,38 @@
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * DAO модулів оперативної пам'яті, що зберігаються в таблиці {@code ram}.
+ */
+public class RAMDAO extends ComponentDAO<RAM> {
+
+    public RAMDAO() {
+        super(ComponentType.RAM, "ram");
+    }
+
+    /**
+     * Окрім спільних стовпців читає характеристики пам'яті: тип; {@code NULL} означає «невідомо».
+     */
+    @Override
+    protected String columns() {
+        return "id, name, price, ram_type";
+    }
+
+    @Override
+    protected RAM read(ResultSet rs) throws SQLException {
+        return new RAM(rs.getInt(1), rs.getString(2), rs.getDouble(3), rs.getString(4));
+    }
+
+    @Override
+    protected RAM map(int id, String name, double price) {
+        return new RAM(id, name, price);
+    }
+
+    /**
+     * @return усі модулі оперативної пам'яті у порядку ідентифікаторів
+     */
+    public List<RAM> getAllRAMs() {
+        return getAll();
+    }
+}
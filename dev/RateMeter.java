@@ -0,0 +1,72 @@
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Лічильник подій з оцінкою частоти за секунду. Позначка події — один інкремент {@link LongAdder};
+ * частота обчислюється лише під час читання як приріст лічильника від контрольної точки,
+ * яка зсувається не частіше ніж раз на {@value #WINDOW_SECONDS} с, тож оцінка охоплює
+ * від одного до двох таких вікон останніх секунд.
+ */
+public final class RateMeter {
+    /** Мінімальна тривалість вікна оцінки частоти в секундах. */
+    public static final int WINDOW_SECONDS = 10;
+    private static final long WINDOW_NANOS = WINDOW_SECONDS * 1_000_000_000L;
+
+    private final LongAdder count = new LongAdder();
+    private final AtomicReference<Mark> previous;
+    private final AtomicReference<Mark> current;
+
+    public RateMeter() {
+        Mark start = new Mark(System.nanoTime(), 0);
+        this.previous = new AtomicReference<>(start);
+        this.current = new AtomicReference<>(start);
+    }
+
+    /**
+     * Позначає одну подію.
+     */
+    public void mark() {
+        count.increment();
+    }
+
+    /**
+     * Позначає {@code events} подій.
+     *
+     * @param events кількість подій
+     */
+    public void mark(long events) {
+        count.add(events);
+    }
+
+    /**
+     * @return загальна кількість подій
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return середня кількість подій за секунду в останньому вікні
+     */
+    public double getRate() {
+        long now = System.nanoTime();
+        long events = count.sum();
+        Mark latest = current.get();
+        if (now - latest.nanos >= WINDOW_NANOS && current.compareAndSet(latest, new Mark(now, events))) {
+            previous.set(latest);
+        }
+        Mark base = previous.get();
+        long elapsed = now - base.nanos;
+        return elapsed <= 0 ? 0.0 : (events - base.count) * 1e9 / elapsed;
+    }
+
+    private static final class Mark {
+        final long nanos;
+        final long count;
+
+        Mark(long nanos, long count) {
+            this.nanos = nanos;
+            this.count = count;
+        }
+    }
+}
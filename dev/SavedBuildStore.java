@@ -0,0 +1,920 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32C;
+
+/**
+ * Сховище збережених збірок: журнал лише з дописуванням, поділений на сегментні файли
+ * з записами фіксованого розміру, та індекс «ідентифікатор збірки → місце запису» в пам'яті.
+ * Збірка зберігається як {@link BuildRecord} зі знімком цін на момент збереження і отримує
+ * новий ідентифікатор, який ніколи не використовується повторно.
+ *
+ * <p>Сегмент має фіксовану ємність {@code segmentEntries} записів, файл створюється одразу повного розміру,
+ * заповнений нулями (блоки диска виділено заздалегідь), і відображається в пам'ять, тож збереження — це копіювання {@value #ENTRY_SIZE} байтів, а читання
+ * не робить системних викликів. Збереження вважається завершеним лише після {@code msync} свого запису:
+ * окремий потік синхронізує одним викликом усі записи, дописані з попередньої синхронізації
+ * (груповий коміт), тож конкурентні збереження ділять вартість однієї синхронізації.
+ *
+ * <p>Видалення та перезаписані дані лишаються в журналі як сміття; ущільнення ({@link #compact()},
+ * а також періодично, коли сміття в закритих сегментах не менше {@value #DEFAULT_GARBAGE_RATIO})
+ * переписує живі записи всіх закритих сегментів в один базовий сегмент, після появи якого попередні
+ * сегменти ігноруються й видаляються. Сегменти з'являються на диску атомарно (тимчасовий файл,
+ * {@code fsync}, перейменування).
+ *
+ * <p>Формат сегмента (little-endian): заголовок з сигнатурою {@code PCSB}, версією, прапорцями, розміром запису
+ * та наступним вільним ідентифікатором; далі записи: CRC32C решти запису, операція (збереження чи видалення),
+ * ідентифікатор збірки та запис {@link BuildCodec}. Під час відкриття кожен сегмент читається до першого
+ * порожнього або пошкодженого запису, а решта сегмента обнуляється: після збою відновлюються всі збереження,
+ * завершення яких було підтверджено.
+ */
+public final class SavedBuildStore implements AutoCloseable {
+    /** Розмір запису журналу в байтах. */
+    public static final int ENTRY_SIZE = 80;
+    /** Ємність сегмента в записах за замовчуванням (20 МБ). */
+    public static final int DEFAULT_SEGMENT_ENTRIES = 1 << 18;
+    /** Інтервал перевірки потреби в ущільненні за замовчуванням. */
+    public static final Duration DEFAULT_COMPACTION_INTERVAL = Duration.ofMinutes(1);
+    /** Частка сміття в закритих сегментах, з якої починається періодичне ущільнення. */
+    public static final double DEFAULT_GARBAGE_RATIO = 0.5;
+
+    private static final int MAGIC = 0x42534350; // "PCSB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    /** Базовий сегмент містить усі живі записи; попередні сегменти ігноруються. */
+    private static final int FLAG_BASE = 1;
+    private static final int OP_PUT = 1;
+    private static final int OP_DELETE = 2;
+    private static final int RECORD_OFFSET = 16;
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int PREALLOCATION_CHUNK = 1 << 20;
+    private static final LatencyHistogram SYNC_LATENCY = Metrics.global().timer("store.fsync");
+
+    private final Path directory;
+    private final int segmentEntries;
+    /** Ідентифікатор збірки → місце запису ({@link #location(Segment, int)}). */
+    private final Index index = new Index();
+    private final ConcurrentHashMap<Integer, Segment> handles = new ConcurrentHashMap<>();
+    private final AtomicInteger nextHandle = new AtomicInteger();
+    private final Object compactionLock = new Object();
+    private final ByteBuffer scratch = ByteBuffer.allocate(ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C checksum = new CRC32C();
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder compactionFailures = new LongAdder();
+
+    // Поля нижче змінюються лише під монітором сховища.
+    /** Сегменти в порядку появи; останній — активний. */
+    private final List<Segment> segments = new ArrayList<>();
+    private Segment active;
+    private long nextId = 1;
+    private List<Pending> pending = new ArrayList<>();
+    /** Помилка синхронізації: після неї вміст сторінкового кешу не гарантований, запис заборонено. */
+    private IOException failure;
+    private volatile boolean closed;
+
+    private Thread syncer;
+    private ScheduledExecutorService compactor;
+
+    private SavedBuildStore(Path directory, int segmentEntries) {
+        this.directory = directory;
+        this.segmentEntries = segmentEntries;
+    }
+
+    /**
+     * Відкриває сховище з параметрами за замовчуванням.
+     *
+     * @param directory каталог сегментних файлів
+     * @return відновлене сховище
+     * @throws IOException якщо сегмент не вдалося прочитати або він пошкоджений
+     * @see #open(Path, int, Duration)
+     */
+    public static SavedBuildStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_ENTRIES, DEFAULT_COMPACTION_INTERVAL);
+    }
+
+    /**
+     * Відкриває сховище, збережене в каталозі сегментів, або створює порожнє, якщо каталогу ще немає.
+     * Нові записи завжди дописуються в новий сегмент.
+     *
+     * @param directory          каталог сегментних файлів
+     * @param segmentEntries     ємність нового сегмента в записах
+     * @param compactionInterval інтервал перевірки потреби в ущільненні; {@link Duration#ZERO} вимикає
+     *                           періодичне ущільнення
+     * @return відновлене сховище
+     * @throws IOException              якщо сегмент не вдалося прочитати або він пошкоджений
+     * @throws IllegalArgumentException якщо ємність чи інтервал некоректні
+     */
+    public static SavedBuildStore open(Path directory, int segmentEntries, Duration compactionInterval) throws IOException {
+        if (directory == null) throw new NullPointerException("Шлях не може бути null");
+        if (compactionInterval == null) throw new NullPointerException("Інтервал не може бути null");
+        if (segmentEntries <= 0 || segmentEntries > (Integer.MAX_VALUE - HEADER_SIZE) / ENTRY_SIZE) {
+            throw new IllegalArgumentException("Некоректна ємність сегмента: " + segmentEntries);
+        }
+        if (compactionInterval.isNegative()) throw new IllegalArgumentException("Інтервал не може бути від'ємним");
+        Files.createDirectories(directory);
+        SavedBuildStore store = new SavedBuildStore(directory.toAbsolutePath(), segmentEntries);
+        synchronized (store) {
+            List<Path> files = store.files();
+            int base = 0;
+            long nextId = 1;
+            for (int i = 0; i < files.size(); i++) {
+                ByteBuffer header = readHeader(files.get(i));
+                if ((header.getInt(8) & FLAG_BASE) != 0) base = i;
+            }
+            for (int i = base; i < files.size(); i++) {
+                Segment segment = store.replay(files.get(i));
+                nextId = Math.max(nextId, segment.nextId);
+            }
+            // Сегменти до базового лишаються лише після перерваного ущільнення.
+            for (int i = 0; i < base; i++) Files.deleteIfExists(files.get(i));
+            store.nextId = nextId;
+            store.active = store.createSegment(files.isEmpty() ? 1 : sequence(files.get(files.size() - 1)) + 1);
+        }
+        store.syncer = Thread.ofPlatform().daemon().name("saved-builds-sync").start(store::syncLoop);
+        if (!compactionInterval.isZero()) {
+            store.compactor = Executors.newSingleThreadScheduledExecutor(
+                    task -> Thread.ofPlatform().daemon().name("saved-builds-compactor").unstarted(task));
+            long millis = Math.max(1, compactionInterval.toMillis());
+            store.compactor.scheduleWithFixedDelay(store::compactIfNeeded, millis, millis, TimeUnit.MILLISECONDS);
+        }
+        return store;
+    }
+
+    /**
+     * Зберігає збірку з поточними цінами її компонентів і чекає, доки запис стане довговічним.
+     *
+     * @param computer збірка
+     * @return ідентифікатор збереженої збірки
+     * @throws IOException              якщо запис чи синхронізація не вдалися
+     * @throws IllegalArgumentException якщо збірку не можна представити записом
+     * @see BuildRecord#of(Computer, boolean)
+     */
+    public long save(Computer computer) throws IOException {
+        return await(saveAsync(BuildRecord.of(computer, true)));
+    }
+
+    /**
+     * Зберігає запис і чекає, доки він стане довговічним.
+     *
+     * @param record запис збірки
+     * @return ідентифікатор збереженої збірки
+     * @throws IOException якщо запис чи синхронізація не вдалися
+     */
+    public long save(BuildRecord record) throws IOException {
+        return await(saveAsync(record));
+    }
+
+    /**
+     * Дописує запис у журнал і одразу повертається. Збірка доступна для читання відразу,
+     * а результат завершується ідентифікатором після групової синхронізації.
+     *
+     * @param record запис збірки
+     * @return ідентифікатор, що з'явиться після синхронізації, або {@link IOException} як причина збою
+     */
+    public CompletableFuture<Long> saveAsync(BuildRecord record) {
+        if (record == null) throw new NullPointerException("Record cannot be null");
+        try {
+            synchronized (this) {
+                long id = nextId;
+                Pending commit = append(OP_PUT, id, record);
+                nextId++;
+                return commit.future;
+            }
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Видаляє збірку і чекає, доки видалення стане довговічним.
+     *
+     * @param id ідентифікатор збірки
+     * @return {@code true}, якщо збірку було видалено
+     * @throws IOException якщо запис чи синхронізація не вдалися
+     */
+    public boolean delete(long id) throws IOException {
+        Pending commit;
+        synchronized (this) {
+            if (!index.contains(id)) return false;
+            commit = append(OP_DELETE, id, null);
+        }
+        await(commit.future);
+        return true;
+    }
+
+    /**
+     * @param id ідентифікатор збірки
+     * @return збережений запис або {@code null}, якщо такої збірки немає
+     */
+    public BuildRecord load(long id) {
+        while (true) {
+            checkOpen();
+            long location = index.get(id);
+            if (location == Index.ABSENT) return null;
+            Segment segment = handles.get(handle(location));
+            // Сегмент зникає лише після ущільнення, яке вже переписало місце в індексі.
+            if (segment == null) continue;
+            ByteBuffer entry = segment.data.slice(position(entry(location)), ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (entry.getLong(8) != id) throw new IllegalStateException("Індекс не відповідає журналу для збірки #" + id);
+            return BuildCodec.decode(entry.position(RECORD_OFFSET));
+        }
+    }
+
+    /**
+     * Завантажує збірку і відновлює її з каталогу.
+     *
+     * @param id            ідентифікатор збірки
+     * @param resolver      джерело компонентів
+     * @param snapshotPrice {@code true} — ціни на момент збереження, {@code false} — поточні ціни каталогу
+     * @return збірка або {@code null}, якщо такої збірки немає
+     * @see BuildRecord#toComputer(ComponentResolver, boolean)
+     */
+    public Computer load(long id, ComponentResolver resolver, boolean snapshotPrice) {
+        BuildRecord record = load(id);
+        return record == null ? null : record.toComputer(resolver, snapshotPrice);
+    }
+
+    /**
+     * @param id ідентифікатор збірки
+     * @return {@code true}, якщо збірка збережена
+     */
+    public boolean contains(long id) {
+        return index.contains(id);
+    }
+
+    /**
+     * @return кількість збережених збірок
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @return ідентифікатори всіх збережених збірок у порядку зростання
+     */
+    public long[] ids() {
+        long[] ids = index.keys();
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * @return кількість сегментних файлів
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * @return частка сміття (видалених і перезаписаних записів) у закритих сегментах
+     */
+    public synchronized double getGarbageRatio() {
+        long entries = 0;
+        long live = 0;
+        for (Segment segment : segments) {
+            if (segment == active) continue;
+            entries += segment.entries;
+            live += segment.live.get();
+        }
+        return entries == 0 ? 0.0 : (double) (entries - live) / entries;
+    }
+
+    /**
+     * @return кількість виконаних групових синхронізацій
+     */
+    public long getSyncCount() {
+        return syncs.sum();
+    }
+
+    /**
+     * @return кількість невдалих періодичних ущільнень
+     */
+    public long getCompactionFailureCount() {
+        return compactionFailures.sum();
+    }
+
+    /**
+     * Переписує живі записи всіх закритих сегментів в один базовий сегмент і видаляє закриті сегменти.
+     * Збереження та читання під час ущільнення не блокуються.
+     *
+     * @throws IOException якщо базовий сегмент не вдалося записати
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            List<Segment> sealed;
+            long nextIdSnapshot;
+            synchronized (this) {
+                checkOpen();
+                sealed = new ArrayList<>(segments.subList(0, segments.size() - 1));
+                nextIdSnapshot = nextId;
+            }
+            if (sealed.isEmpty() || sealed.size() == 1 && sealed.get(0).live.get() == sealed.get(0).entries) return;
+            Segment last = sealed.get(sealed.size() - 1);
+
+            // Живі записи: ті, на які досі вказує індекс.
+            long[] moved = new long[64];
+            int movedCount = 0;
+            ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + ENTRY_SIZE * 4096).order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(MAGIC).putInt(VERSION).putInt(FLAG_BASE).putInt(ENTRY_SIZE).putLong(nextIdSnapshot).putLong(0);
+            Path target = directory.resolve(segmentName(last.sequence));
+            Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    for (Segment segment : sealed) {
+                        for (int i = 0; i < segment.entries; i++) {
+                            int at = position(i);
+                            long id = segment.data.getLong(at + 8);
+                            long location = location(segment, i);
+                            if (segment.data.getInt(at + 4) != OP_PUT || index.get(id) != location) continue;
+                            if (out.remaining() < ENTRY_SIZE) {
+                                out.flip();
+                                while (out.hasRemaining()) channel.write(out);
+                                out.clear();
+                            }
+                            out.put(out.position(), segment.data, at, ENTRY_SIZE).position(out.position() + ENTRY_SIZE);
+                            if (movedCount == moved.length) moved = Arrays.copyOf(moved, movedCount * 2);
+                            moved[movedCount++] = id;
+                            moved[movedCount++] = location;
+                        }
+                    }
+                    out.flip();
+                    while (out.hasRemaining()) channel.write(out);
+                    channel.force(true);
+                }
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            syncDirectory();
+
+            Segment base = map(target, last.sequence, false);
+            base.entries = movedCount / 2;
+            base.live.set(base.entries);
+            handles.put(base.handle, base);
+            for (int i = 0; i < movedCount; i += 2) {
+                // Збірку могли перезаписати чи видалити, поки писався базовий сегмент.
+                if (!index.replace(moved[i], moved[i + 1], location(base, i / 2))) base.live.decrementAndGet();
+            }
+            synchronized (this) {
+                segments.removeAll(sealed);
+                segments.add(0, base);
+            }
+            for (Segment segment : sealed) {
+                handles.remove(segment.handle);
+                if (segment != last) Files.deleteIfExists(segment.path);
+            }
+        }
+    }
+
+    private void compactIfNeeded() {
+        try {
+            if (getGarbageRatio() >= DEFAULT_GARBAGE_RATIO) compact();
+        } catch (IOException | RuntimeException e) {
+            compactionFailures.increment();
+        }
+    }
+
+    /**
+     * Зупиняє фонові потоки, дочекавшись синхронізації всіх дописаних записів.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            notifyAll();
+        }
+        if (compactor != null) compactor.shutdown();
+        try {
+            syncer.join();
+            if (compactor != null) compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (compactionLock) {
+            handles.clear();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("Сховище закрите");
+    }
+
+    /**
+     * Дописує запис в активний сегмент і оновлює індекс. Викликається під монітором сховища.
+     */
+    private Pending append(int op, long id, BuildRecord record) throws IOException {
+        checkOpen();
+        if (failure != null) throw new IOException("Сховище недоступне для запису після збою синхронізації", failure);
+        if (active.entries == segmentEntries) roll();
+
+        ByteBuffer entry = scratch.clear();
+        Arrays.fill(entry.array(), (byte) 0);
+        entry.putInt(4, op).putLong(8, id);
+        if (record != null) BuildCodec.encode(record, entry.position(RECORD_OFFSET));
+        checksum.reset();
+        checksum.update(entry.array(), 4, ENTRY_SIZE - 4);
+        entry.putInt(0, (int) checksum.getValue());
+
+        int i = active.entries;
+        active.data.put(position(i), entry, 0, ENTRY_SIZE);
+        active.entries = i + 1;
+        long previous = op == OP_PUT ? index.put(id, location(active, i)) : index.remove(id);
+        if (previous != Index.ABSENT) release(previous);
+        if (op == OP_PUT) active.live.incrementAndGet();
+
+        Pending commit = new Pending(id);
+        pending.add(commit);
+        notifyAll();
+        return commit;
+    }
+
+    private void release(long location) {
+        Segment segment = handles.get(handle(location));
+        if (segment != null) segment.live.decrementAndGet();
+    }
+
+    /**
+     * Синхронізує й закриває заповнений активний сегмент та відкриває наступний.
+     */
+    private void roll() throws IOException {
+        Segment full = active;
+        try {
+            sync(full, full.entries);
+        } catch (UncheckedIOException e) {
+            failure = e.getCause();
+            throw e.getCause();
+        }
+        active = createSegment(full.sequence + 1);
+    }
+
+    private void sync(Segment segment, int upTo) {
+        int from;
+        synchronized (segment) {
+            from = segment.synced;
+        }
+        if (upTo <= from) return;
+        long start = System.nanoTime();
+        segment.data.force(position(from), (upTo - from) * ENTRY_SIZE);
+        SYNC_LATENCY.recordSince(start);
+        syncs.increment();
+        synchronized (segment) {
+            segment.synced = Math.max(segment.synced, upTo);
+        }
+    }
+
+    /**
+     * Потік групового коміту: синхронізує всі записи, дописані з попереднього проходу, і завершує їхні результати.
+     */
+    private void syncLoop() {
+        while (true) {
+            List<Pending> batch;
+            Segment segment;
+            int upTo;
+            synchronized (this) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+                }
+                if (pending.isEmpty()) return;
+                batch = pending;
+                pending = new ArrayList<>();
+                segment = active;
+                upTo = active.entries;
+            }
+            IOException error = null;
+            try {
+                // Записи попередніх сегментів уже синхронізовано під час їх закриття.
+                sync(segment, upTo);
+            } catch (UncheckedIOException e) {
+                error = e.getCause();
+            } catch (RuntimeException e) {
+                error = new IOException(e);
+            }
+            if (error != null) {
+                synchronized (this) {
+                    if (failure == null) failure = error;
+                }
+                for (Pending commit : batch) commit.future.completeExceptionally(error);
+            } else {
+                for (Pending commit : batch) commit.future.complete(commit.id);
+            }
+        }
+    }
+
+    private static long await(CompletableFuture<Long> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Очікування синхронізації перервано");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    private Segment createSegment(long sequence) throws IOException {
+        Path target = directory.resolve(segmentName(sequence));
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(0).putInt(ENTRY_SIZE).putLong(nextId).putLong(0).flip();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining()) channel.write(header);
+                // Файл заповнюється нулями на повний розмір, а не лише подовжується: так блоки диска виділяються
+                // зараз, і брак місця стає IOException тут, а не SIGBUS під час запису у відображення.
+                ByteBuffer zeros = ByteBuffer.allocate(PREALLOCATION_CHUNK);
+                for (long at = HEADER_SIZE, end = position(segmentEntries); at < end; ) {
+                    zeros.clear().limit((int) Math.min(PREALLOCATION_CHUNK, end - at));
+                    at += channel.write(zeros, at);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        syncDirectory();
+        Segment segment = map(target, sequence, true);
+        handles.put(segment.handle, segment);
+        segments.add(segment);
+        return segment;
+    }
+
+    private Segment map(Path path, long sequence, boolean writable) throws IOException {
+        try (FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("Сегмент завеликий: " + path);
+            MappedByteBuffer data = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    0, channel.size());
+            data.order(ByteOrder.LITTLE_ENDIAN);
+            return new Segment(nextHandle.incrementAndGet(), sequence, path, data);
+        }
+    }
+
+    /**
+     * Відтворює сегмент у індексі до першого порожнього або пошкодженого запису й обнуляє решту:
+     * записи після нього не могли бути підтверджені.
+     */
+    private Segment replay(Path path) throws IOException {
+        Segment segment = map(path, sequence(path), true);
+        ByteBuffer data = segment.data;
+        if (data.getInt(12) != ENTRY_SIZE) throw new IOException("Некоректний розмір запису в " + path);
+        segment.nextId = data.getLong(16);
+        handles.put(segment.handle, segment);
+        segments.add(segment);
+        int capacity = (data.capacity() - HEADER_SIZE) / ENTRY_SIZE;
+        CRC32C crc = new CRC32C();
+        int i = 0;
+        for (; i < capacity; i++) {
+            int at = position(i);
+            int op = data.getInt(at + 4);
+            if (op == 0) break;
+            crc.reset();
+            crc.update(data.slice(at + 4, ENTRY_SIZE - 4));
+            if ((int) crc.getValue() != data.getInt(at) || (op != OP_PUT && op != OP_DELETE)) break;
+            long id = data.getLong(at + 8);
+            segment.nextId = Math.max(segment.nextId, id + 1);
+            long previous;
+            if (op == OP_PUT) {
+                try {
+                    BuildCodec.decode(data.slice(at + RECORD_OFFSET, ENTRY_SIZE - RECORD_OFFSET).order(ByteOrder.LITTLE_ENDIAN));
+                } catch (RuntimeException e) {
+                    throw new IOException("Пошкоджений запис збірки #" + id + " у " + path, e);
+                }
+                previous = index.put(id, location(segment, i));
+                segment.live.incrementAndGet();
+            } else {
+                previous = index.remove(id);
+            }
+            if (previous != Index.ABSENT) release(previous);
+        }
+        segment.entries = i;
+        segment.synced = i;
+        int end = position(i);
+        int dirty = end;
+        for (int at = data.capacity() - 1; at >= end; at--) {
+            if (data.get(at) != 0) {
+                dirty = at + 1;
+                break;
+            }
+        }
+        if (dirty > end) {
+            for (int at = end; at < dirty; at++) data.put(at, (byte) 0);
+            segment.data.force(end, dirty - end);
+        }
+        return segment;
+    }
+
+    private List<Path> files() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path file : entries) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SEGMENT_SUFFIX)) files.add(file);
+                else if (name.endsWith(".tmp")) Files.deleteIfExists(file);
+            }
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Не всі файлові системи дозволяють синхронізувати каталог; перейменування вже виконано.
+        }
+    }
+
+    private static ByteBuffer readHeader(Path segment) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+            while (header.hasRemaining()) {
+                if (in.read(header) < 0) break;
+            }
+        }
+        if (header.position() < HEADER_SIZE || header.getInt(0) != MAGIC) {
+            throw new IOException("Файл не є сегментом збережених збірок: " + segment);
+        }
+        if (header.getInt(4) != VERSION) throw new IOException("Непідтримувана версія сегмента: " + header.getInt(4));
+        return header;
+    }
+
+    private static String segmentName(long sequence) {
+        return String.format("%016d%s", sequence, SEGMENT_SUFFIX);
+    }
+
+    private static long sequence(Path segment) throws IOException {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IOException("Некоректна назва сегмента: " + name, e);
+        }
+    }
+
+    private static int position(int entry) {
+        return HEADER_SIZE + entry * ENTRY_SIZE;
+    }
+
+    private static long location(Segment segment, int entry) {
+        return (long) segment.handle << 32 | entry;
+    }
+
+    private static int handle(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int entry(long location) {
+        return (int) location;
+    }
+
+    /**
+     * Відображений у пам'ять сегментний файл.
+     */
+    private static final class Segment {
+        final int handle;
+        final long sequence;
+        final Path path;
+        final MappedByteBuffer data;
+        final AtomicInteger live = new AtomicInteger();
+        /** Кількість дописаних записів; змінюється під монітором сховища. */
+        int entries;
+        /** Кількість синхронізованих записів; змінюється під монітором сегмента. */
+        int synced;
+        long nextId;
+
+        Segment(int handle, long sequence, Path path, MappedByteBuffer data) {
+            this.handle = handle;
+            this.sequence = sequence;
+            this.path = path;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Індекс «ідентифікатор → місце запису» у двох масивах {@code long[]} з відкритою адресацією
+     * та лінійним пробуванням, без об'єктів на кожен запис. Ідентифікатор 0 позначає порожню комірку
+     * (ідентифікатори збірок починаються з 1); видалення зсуває наступні записи ланцюжка назад, тож
+     * надгробків немає. Записувачі беруть блокування запису {@link StampedLock}, а читання спершу
+     * виконується оптимістично без блокування й повторюється під блокуванням читання, якщо таблицю
+     * змінили під час пошуку.
+     */
+    static final class Index {
+        /** Значення, що повертається для відсутнього ключа; місця записів завжди невід'ємні. */
+        static final long ABSENT = -1;
+
+        private final StampedLock lock = new StampedLock();
+        private long[] keys = new long[64];
+        private long[] values = new long[64];
+        private int size;
+
+        long get(long key) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                long value = find(keys, values, key);
+                if (lock.validate(stamp)) return value;
+            }
+            stamp = lock.readLock();
+            try {
+                return find(keys, values, key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        boolean contains(long key) {
+            return get(key) != ABSENT;
+        }
+
+        int size() {
+            long stamp = lock.tryOptimisticRead();
+            int result = size;
+            if (lock.validate(stamp)) return result;
+            stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * @return попереднє значення або {@link #ABSENT}
+         */
+        long put(long key, long value) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = slot(keys, key);
+                if (keys[slot] == key) {
+                    long previous = values[slot];
+                    values[slot] = value;
+                    return previous;
+                }
+                if ((size + 1) * 2 > keys.length) {
+                    resize(keys.length * 2);
+                    slot = slot(keys, key);
+                }
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return ABSENT;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Замінює значення, лише якщо ключ досі відповідає {@code expected}.
+         */
+        boolean replace(long key, long expected, long value) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = slot(keys, key);
+                if (keys[slot] != key || values[slot] != expected) return false;
+                values[slot] = value;
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * @return попереднє значення або {@link #ABSENT}
+         */
+        long remove(long key) {
+            long stamp = lock.writeLock();
+            try {
+                int mask = keys.length - 1;
+                int slot = slot(keys, key);
+                if (keys[slot] != key) return ABSENT;
+                long previous = values[slot];
+                // Зсув назад: переносимо в звільнену комірку записи, чия домашня позиція не між нею та ними.
+                for (int next = (slot + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+                    int home = hash(keys[next]) & mask;
+                    if (((next - home) & mask) >= ((next - slot) & mask)) {
+                        keys[slot] = keys[next];
+                        values[slot] = values[next];
+                        slot = next;
+                    }
+                }
+                keys[slot] = 0;
+                values[slot] = 0;
+                size--;
+                return previous;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * @return усі ключі без певного порядку
+         */
+        long[] keys() {
+            long stamp = lock.readLock();
+            try {
+                long[] result = new long[size];
+                int n = 0;
+                for (long key : keys) {
+                    if (key != 0) result[n++] = key;
+                }
+                return result;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys, oldValues = values;
+            keys = new long[capacity];
+            values = new long[capacity];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = slot(keys, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        /**
+         * Пошук, безпечний і для неузгодженого стану під час оптимістичного читання:
+         * масиви передаються однією парою, а пробування обмежене їх довжиною.
+         */
+        private static long find(long[] keys, long[] values, long key) {
+            if (keys.length != values.length) return ABSENT;
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask, probes = 0; probes < keys.length; i = (i + 1) & mask, probes++) {
+                long k = keys[i];
+                if (k == key) return values[i];
+                if (k == 0) return ABSENT;
+            }
+            return ABSENT;
+        }
+
+        /**
+         * @return комірка з ключем або перша порожня комірка ланцюжка
+         */
+        private static int slot(long[] keys, long key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+            return i;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ h >>> 32);
+        }
+    }
+
+    /**
+     * Результат збереження, що чекає на груповий коміт.
+     */
+    private static final class Pending {
+        final long id;
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        Pending(long id) {
+            this.id = id;
+        }
+    }
+}
@@ -1,15 +1,10 @@
-import java.util.Objects;
-
 /**
  * Клас, що представляє пристрій зберігання даних (Storage).
  * Зберігає інформацію про назву пристрою та його вартість.
  * Надає методи для роботи з об'єктами типу Storage, включаючи копіювання,
  * порівняння та отримання інформації.
  */
-public class Storage {
-    private final String name;
-    private final double price;
-
+public class Storage extends Component {
     /**
      * Основний конструктор для створення об'єкта Storage.
      *
@@ -19,74 +14,40 @@ public class Storage {
      * @throws NullPointerException якщо назва є null
      */
     public Storage(String name, double price) {
-        if (price < 0) throw new IllegalArgumentException("Ціна не може бути від'ємною");
-        if (name == null) throw new NullPointerException("Ім'я не може бути null");
-        if (name.isBlank()) throw new IllegalArgumentException("Ім'я не може бути пустим");
-        this.name = name;
-        this.price = price;
-    }
-
-    /**
-     * Конструктор копіювання для створення нового об'єкта на основі існуючого.
-     *
-     * @param other об'єкт для копіювання (не може бути null)
-     * @throws NullPointerException якщо переданий об'єкт є null
-     */
-    public Storage(Storage other) {
-        if (other == null) throw new NullPointerException("Об'єкт для копіювання не може бути null");
-        this.name = other.name;
-        this.price = other.price;
+        this(NO_ID, name, price);
     }
 
     /**
-     * Повертає вартість пристрою зберігання.
+     * Створює пристрій зберігання каталогу з ідентифікатором SKU, присвоєним сховищем {@link ComponentTable}.
      *
-     * @return вартість пристрою типу double
+     * @param id ідентифікатор SKU або {@link Component#NO_ID}
+     * @param name назва пристрою зберігання
+     * @param price ціна пристрою зберігання
      */
-    public double getPrice() {
-        return price;
+    public Storage(int id, String name, double price) {
+        super(id, name, price);
     }
 
     /**
-     * Повертає назву пристрою зберігання.
+     * Конструктор копіювання для створення нового об'єкта на основі існуючого.
      *
-     * @return назва пристрою типу String
-     */
-    public String getName() {
-        return name;
-    }
-
-    /**
-     * Повертає рядкове представлення об'єкта Storage.
+     * @param other об'єкт для копіювання (не може бути null)
+     * @throws NullPointerException якщо переданий об'єкт є null
      */
-    @Override
-    public String toString() {
-        return "Storage{" +
-                "name='" + name + '\'' +
-                ", price=" + price +
-                '}';
+    public Storage(Storage other) {
+        super(other);
     }
 
-    /**
-     * Порівнює об'єкт Storage з іншим об'єктом на рівність.
-     *
-     * @param o об'єкт для порівняння
-     * @return true якщо об'єкти рівні, false в іншому випадку
-     */
     @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Storage storage = (Storage) o;
-        return Double.compare(price, storage.price) == 0 && Objects.equals(name, storage.name);
+    public Storage withPrice(double price) {
+        return new Storage(getId(), getName(), price);
     }
 
     /**
-     * Повертає хеш-код об'єкта.
-     *
-     * @return хеш-код об'єкта
+     * @return категорія {@link ComponentType#STORAGE}
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(name, price);
+    public ComponentType getType() {
+        return ComponentType.STORAGE;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+import java.util.List;
+
+/**
+ * DAO накопичувачів, що зберігаються в таблиці {@code storage}.
+ */
+public class StorageDAO extends ComponentDAO<Storage> {
+
+    public StorageDAO() {
+        super(ComponentType.STORAGE, "storage");
+    }
+
+    @Override
+    protected Storage map(int id, String name, double price) {
+        return new Storage(id, name, price);
+    }
+
+    /**
+     * @return усі накопичувачі у порядку ідентифікаторів
+     */
+    public List<Storage> getAllStorages() {
+        return getAll();
+    }
+}
@@ -0,0 +1,157 @@
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Каталог, що публікується незмінними версіями {@link CatalogVersion} з атомарною заміною.
+ * Читачі отримують поточну версію одним volatile-читанням і ніколи не блокуються; збирання,
+ * виконане над однією версією, бачить узгоджений набір цін навіть тоді, коли паралельно
+ * публікуються оновлення. Записувачі групують зміни в пакет, який стає однією новою версією;
+ * одночасні записувачі не блокують один одного, а повторюють свій пакет над свіжішою версією.
+ * Як {@link ComponentResolver} каталог повертає компоненти поточної версії.
+ */
+public class VersionedCatalog implements ComponentResolver {
+    private final AtomicReference<CatalogVersion> current;
+    private final CopyOnWriteArrayList<CatalogChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    /**
+     * @param initial перша версія каталогу
+     */
+    public VersionedCatalog(CatalogVersion initial) {
+        if (initial == null) throw new NullPointerException("Initial version cannot be null");
+        this.current = new AtomicReference<>(initial);
+    }
+
+    /**
+     * Створює версійований каталог з поточного вмісту {@link ComponentCatalog}.
+     *
+     * @param catalog каталог, з якого читаються всі категорії
+     * @return версійований каталог з версією 1
+     */
+    public static VersionedCatalog from(ComponentCatalog catalog) {
+        if (catalog == null) throw new NullPointerException("Catalog cannot be null");
+        Map<ComponentType, List<? extends Component>> lists = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : ComponentType.values()) lists.put(type, catalog.get(type));
+        return new VersionedCatalog(CatalogVersion.of(lists));
+    }
+
+    /**
+     * Повертає поточну версію. Щоб усі компоненти збирання мали ціни з одного моменту,
+     * викликайте метод один раз і працюйте з отриманою версією.
+     *
+     * @return поточна версія
+     */
+    public CatalogVersion current() {
+        return current.get();
+    }
+
+    /**
+     * Застосовує пакет змін і публікує його як одну нову версію.
+     * Якщо інший записувач встиг опублікувати свою версію, {@code changes} виконується повторно
+     * над новою версією, тож він не повинен мати побічних ефектів поза редактором.
+     * Після публікації слухачі отримують по одному повідомленню на кожен змінений компонент
+     * і завершальний виклик {@link CatalogChangeListener#changesCompleted()}.
+     *
+     * @param changes зміни, що вносяться через редактор
+     * @return опублікована версія або поточна, якщо пакет порожній
+     * @throws RuntimeException перший виняток слухача; версію в цьому разі вже опубліковано,
+     *                          а решту слухачів повідомлено
+     */
+    public CatalogVersion update(Consumer<CatalogVersion.Editor> changes) {
+        if (changes == null) throw new NullPointerException("Changes cannot be null");
+        while (true) {
+            CatalogVersion base = current.get();
+            CatalogVersion.Editor editor = base.edit();
+            changes.accept(editor);
+            if (editor.isEmpty()) return base;
+            CatalogVersion next = editor.build();
+            if (current.compareAndSet(base, next)) {
+                updates.increment();
+                notifyListeners(editor.changes());
+                return next;
+            }
+            retries.increment();
+        }
+    }
+
+    /**
+     * Змінює ціну одного компонента.
+     *
+     * @param type  категорія
+     * @param id    ідентифікатор SKU
+     * @param price нова ціна
+     * @return опублікована версія
+     * @throws IllegalArgumentException якщо компонента немає або ціна від'ємна
+     */
+    public CatalogVersion setPrice(ComponentType type, int id, double price) {
+        return update(editor -> editor.setPrice(type, id, price));
+    }
+
+    /**
+     * Версію вже опубліковано, тож збій одного слухача не повинен позбавити повідомлення решту:
+     * перший виняток кидається після обходу всіх слухачів, наступні додаються до нього як пригнічені.
+     */
+    private void notifyListeners(List<CatalogVersion.Change> changes) {
+        RuntimeException failure = null;
+        for (CatalogChangeListener listener : listeners) {
+            try {
+                for (CatalogVersion.Change change : changes) {
+                    listener.componentChanged(change.type, change.previous, change.current);
+                }
+                listener.changesCompleted();
+            } catch (RuntimeException e) {
+                if (failure == null) failure = e;
+                else failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * @param type категорія
+     * @param id   ідентифікатор SKU
+     * @return компонент поточної версії або {@code null}, якщо такого SKU немає
+     */
+    @Override
+    public Component findById(ComponentType type, int id) {
+        return current.get().findById(type, id);
+    }
+
+    /**
+     * Реєструє слухача змін. Слухачі викликаються в потоці записувача після публікації версії.
+     *
+     * @param listener слухач
+     */
+    public void addChangeListener(CatalogChangeListener listener) {
+        if (listener == null) throw new NullPointerException("Listener cannot be null");
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener слухач
+     * @return {@code true}, якщо слухача було зареєстровано
+     */
+    public boolean removeChangeListener(CatalogChangeListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * @return кількість опублікованих версій
+     */
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    /**
+     * @return кількість повторів пакета через одночасну публікацію іншим записувачем
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+}